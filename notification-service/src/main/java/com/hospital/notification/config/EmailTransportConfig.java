@@ -0,0 +1,62 @@
+package com.hospital.notification.config;
+
+import com.hospital.notification.transport.EmailTransport;
+import com.hospital.notification.transport.LogOnlyEmailTransport;
+import com.hospital.notification.transport.SmtpConnection;
+import com.hospital.notification.transport.SmtpConnectionPool;
+import com.hospital.notification.transport.SmtpEmailTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class EmailTransportConfig {
+
+    @Value("${hospital.notification.smtp.host:localhost}")
+    private String host;
+
+    @Value("${hospital.notification.smtp.port:25}")
+    private int port;
+
+    @Value("${hospital.notification.smtp.from:no-reply@hospital.com}")
+    private String from;
+
+    @Value("${hospital.notification.smtp.helo:notification-service}")
+    private String heloName;
+
+    @Value("${hospital.notification.smtp.pool.max-connections:8}")
+    private int maxConnections;
+
+    @Value("${hospital.notification.smtp.pool.max-messages-per-connection:1000}")
+    private int maxMessagesPerConnection;
+
+    @Value("${hospital.notification.smtp.pool.max-idle:30s}")
+    private Duration maxIdle;
+
+    @Value("${hospital.notification.smtp.pool.borrow-timeout:10s}")
+    private Duration borrowTimeout;
+
+    @Value("${hospital.notification.smtp.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${hospital.notification.smtp.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Bean
+    @ConditionalOnProperty(name = "hospital.notification.smtp.enabled", havingValue = "true")
+    public EmailTransport smtpEmailTransport() {
+        SmtpConnectionPool connectionPool = new SmtpConnectionPool(
+            () -> SmtpConnection.open(host, port, connectTimeout, readTimeout, heloName),
+            maxConnections, borrowTimeout, maxIdle, maxMessagesPerConnection);
+        return new SmtpEmailTransport(connectionPool, from);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "hospital.notification.smtp.enabled", havingValue = "false", matchIfMissing = true)
+    public EmailTransport logOnlyEmailTransport() {
+        return new LogOnlyEmailTransport();
+    }
+}
@@ -1,6 +1,10 @@
 package com.hospital.notification.config;
 
+import com.hospital.notification.service.NotificationMetrics;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -8,6 +12,13 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.RetryListener;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
@@ -16,23 +27,54 @@ import java.util.Map;
 @Configuration
 public class KafkaConsumerConfig {
 
+    public static final String CONSULTATION_EVENTS_TOPIC = "consultation-events";
+    public static final String RETRY_TOPIC_SUFFIX = "-retry";
+    public static final String DEAD_LETTER_TOPIC_SUFFIX = "-dlt";
+    public static final String SINGLE_LISTENER_ID = "consultation-events-single";
+    public static final String BATCH_LISTENER_ID = "consultation-events-batch";
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
     @Value("${spring.kafka.consumer.group-id:notification-service}")
     private String groupId;
 
+    @Value("${hospital.kafka.listener.concurrency:3}")
+    private int concurrency;
+
+    @Value("${hospital.notification.batch.max-poll-records:500}")
+    private int batchMaxPollRecords;
+
+    @Value("${hospital.notification.retry.attempts:4}")
+    private int retryAttempts;
+
+    @Value("${hospital.notification.retry.initial-delay:1000}")
+    private long retryInitialDelay;
+
+    @Value("${hospital.notification.retry.multiplier:2.0}")
+    private double retryMultiplier;
+
+    @Value("${hospital.notification.retry.max-delay:30000}")
+    private long retryMaxDelay;
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerProperties());
+    }
+
+    private Map<String, Object> consumerProperties() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // Um payload que não desserializa chega ao listener com valor nulo e a exceção num header, em vez de
+        // falhar dentro do poll() e travar a partição naquele offset; o registro segue para o DLT
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, true);
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        return configProps;
     }
 
     @Bean
@@ -40,6 +82,82 @@ public class KafkaConsumerConfig {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        // Uma thread por partição atribuída; acima do número de partições as threads extras ficam ociosas
+        factory.setConcurrency(concurrency);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            DeadLetterPublishingRecoverer deadLetterPublishingRecoverer, NotificationMetrics notificationMetrics) {
+        Map<String, Object> configProps = consumerProperties();
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchMaxPollRecords);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory =
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(configProps));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        // O listener confirma o lote inteiro de uma vez, gerando um único commit de offset por poll
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(batchErrorHandler(deadLetterPublishingRecoverer, notificationMetrics));
         return factory;
     }
+
+    // Mesma política de backoff dos tópicos de retry, reaproveitada pelo lote e pelo envio assíncrono
+    @Bean
+    public ExponentialBackOffWithMaxRetries notificationRetryBackOff() {
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(retryAttempts - 1);
+        backOff.setInitialInterval(retryInitialDelay);
+        backOff.setMultiplier(retryMultiplier);
+        backOff.setMaxInterval(retryMaxDelay);
+        return backOff;
+    }
+
+    // Mesmo nome do DLT que o @RetryableTopic do listener unitário cria (dltTopicSuffix)
+    public static String deadLetterTopic(String topic) {
+        return topic + DEAD_LETTER_TOPIC_SUFFIX;
+    }
+
+    // Publica no DLT do tópico de origem; para um registro que não desserializou, publica os bytes originais
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterPublishingRecoverer(KafkaTemplate<String, Object> kafkaTemplate) {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate,
+            (record, exception) -> new TopicPartition(deadLetterTopic(record.topic()), -1));
+    }
+
+    // Tópicos de retry não suportam listeners em lote, e aqui o comportamento difere do listener unitário.
+    // Com o envio assíncrono (padrão) as falhas de email são repetidas pelo EmailDispatcher fora da thread do
+    // consumer e a partição segue andando; só exceções lançadas na própria thread do consumer chegam a este
+    // handler. Com o envio síncrono o lote é reprocessado no lugar com backoff exponencial, bloqueando a
+    // partição durante as tentativas. Em ambos os casos, esgotadas as tentativas, cada registro segue para o
+    // mesmo DLT usado pelo listener unitário
+    DefaultErrorHandler batchErrorHandler(DeadLetterPublishingRecoverer recoverer,
+                                          NotificationMetrics notificationMetrics) {
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, notificationRetryBackOff());
+        errorHandler.setRetryListeners(new RetryListener() {
+
+            @Override
+            public void failedDelivery(ConsumerRecord<?, ?> record, Exception ex, int deliveryAttempt) {
+                notificationMetrics.recordRetry(record.topic());
+            }
+
+            @Override
+            public void failedDelivery(ConsumerRecords<?, ?> records, Exception ex, int deliveryAttempt) {
+                records.partitions().stream().map(TopicPartition::topic).distinct()
+                    .forEach(notificationMetrics::recordRetry);
+            }
+
+            @Override
+            public void recovered(ConsumerRecord<?, ?> record, Exception ex) {
+                notificationMetrics.recordDeadLetter(deadLetterTopic(record.topic()));
+            }
+
+            @Override
+            public void recovered(ConsumerRecords<?, ?> records, Exception ex) {
+                records.forEach(record -> notificationMetrics.recordDeadLetter(deadLetterTopic(record.topic())));
+            }
+        });
+        return errorHandler;
+    }
 }
@@ -0,0 +1,123 @@
+package com.hospital.notification.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Journal append-only local, uma linha JSON por operação: cada operação é gravada antes de ser confirmada
+// e quem o usa reconstrói o estado na inicialização repetindo as linhas. Quando o arquivo cresce demais em
+// relação às entradas vivas ele é trocado por um snapshot delas
+public class JsonLinesJournal<E> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonLinesJournal.class);
+
+    private final Path file;
+    private final Class<E> entryType;
+    private final int compactionThreshold;
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+        .findAndAddModules()
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    private BufferedWriter writer;
+    private long entries;
+
+    public JsonLinesJournal(Path file, Class<E> entryType, int compactionThreshold) {
+        this.file = file;
+        this.entryType = entryType;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    // Entradas na ordem em que foram gravadas; em seguida o arquivo fica aberto para novas operações
+    public List<E> load() {
+        List<E> loaded = new ArrayList<>();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            if (Files.exists(file)) {
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                for (String line : lines) {
+                    if (!line.isBlank()) {
+                        read(line, loaded);
+                    }
+                }
+                entries = lines.size();
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open journal " + file, e);
+        }
+        return loaded;
+    }
+
+    private void read(String line, List<E> loaded) {
+        try {
+            loaded.add(objectMapper.readValue(line, entryType));
+        } catch (JsonProcessingException e) {
+            // Uma queda no meio da escrita deixa no máximo a última linha incompleta
+            logger.warn("Ignoring unreadable entry in journal {}: {}", file, line);
+        }
+    }
+
+    public void append(E entry) {
+        try {
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.newLine();
+            // flush a cada operação: sobrevive à queda do processo sem o custo de um fsync por linha
+            writer.flush();
+            entries++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write journal " + file, e);
+        }
+    }
+
+    public boolean needsCompaction(int liveEntries) {
+        return entries > compactionThreshold && entries > 2L * liveEntries;
+    }
+
+    // Grava as entradas vivas em um arquivo temporário e o troca atomicamente pelo journal
+    public void compact(Collection<E> liveEntries) {
+        Path snapshot = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter snapshotWriter = Files.newBufferedWriter(snapshot, StandardCharsets.UTF_8)) {
+                for (E entry : liveEntries) {
+                    snapshotWriter.write(objectMapper.writeValueAsString(entry));
+                    snapshotWriter.newLine();
+                }
+            }
+            writer.close();
+            Files.move(snapshot, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            entries = liveEntries.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compact journal " + file, e);
+        }
+    }
+
+    public void close() {
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing journal {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,29 +1,101 @@
 package com.hospital.notification.listener;
 
+import com.hospital.notification.config.KafkaConsumerConfig;
+import com.hospital.notification.service.EmailDispatcher;
+import com.hospital.notification.service.EmailMessage;
 import com.hospital.notification.service.EmailService;
+import com.hospital.notification.service.NotificationCoalescer;
+import com.hospital.notification.service.NotificationMetrics;
+import com.hospital.notification.service.ProcessedEventStore;
+import com.hospital.notification.template.NotificationTemplateEngine;
+import com.hospital.notification.template.RenderedNotification;
+import com.hospital.notification.transport.SendResult;
 import com.hospital.shared.domain.events.ConsultationCreatedEvent;
 import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
 import com.hospital.shared.domain.events.ConsultationCancelledEvent;
 import com.hospital.shared.domain.events.DomainEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.core.log.LogAccessor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
 import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class ConsultationEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(ConsultationEventListener.class);
+    private static final LogAccessor logAccessor = new LogAccessor(ConsultationEventListener.class);
+    private static final String DEAD_LETTER_TOPIC =
+        KafkaConsumerConfig.deadLetterTopic(KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC);
     private final EmailService emailService;
+    private final ProcessedEventStore processedEventStore;
+    private final NotificationMetrics notificationMetrics;
+    private final EmailDispatcher emailDispatcher;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final NotificationTemplateEngine templateEngine;
+    private final NotificationCoalescer notificationCoalescer;
+    private final DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+    // Um estado por thread de consumer (uma por partição atribuída com concurrency > 1)
+    private final ThreadLocal<DispatchChain> dispatchChain = ThreadLocal.withInitial(DispatchChain::new);
 
-    public ConsultationEventListener(EmailService emailService) {
+    public ConsultationEventListener(EmailService emailService, ProcessedEventStore processedEventStore,
+                                     NotificationMetrics notificationMetrics, EmailDispatcher emailDispatcher,
+                                     KafkaTemplate<String, Object> kafkaTemplate, NotificationTemplateEngine templateEngine,
+                                     NotificationCoalescer notificationCoalescer,
+                                     DeadLetterPublishingRecoverer deadLetterPublishingRecoverer) {
         this.emailService = emailService;
+        this.processedEventStore = processedEventStore;
+        this.notificationMetrics = notificationMetrics;
+        this.emailDispatcher = emailDispatcher;
+        this.kafkaTemplate = kafkaTemplate;
+        this.templateEngine = templateEngine;
+        this.notificationCoalescer = notificationCoalescer;
+        this.deadLetterPublishingRecoverer = deadLetterPublishingRecoverer;
     }
 
-    @KafkaListener(topics = "consultation-events", groupId = "notification-service")
+    // Falhas seguem para consultation-events-retry-N com backoff exponencial, liberando a partição principal;
+    // esgotadas as tentativas (ou em erros não recuperáveis) o evento vai para consultation-events-dlt
+    @RetryableTopic(
+            attempts = "${hospital.notification.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${hospital.notification.retry.initial-delay:1000}",
+                    multiplierExpression = "${hospital.notification.retry.multiplier:2.0}",
+                    maxDelayExpression = "${hospital.notification.retry.max-delay:30000}"),
+            retryTopicSuffix = KafkaConsumerConfig.RETRY_TOPIC_SUFFIX,
+            dltTopicSuffix = KafkaConsumerConfig.DEAD_LETTER_TOPIC_SUFFIX,
+            topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_INDEX_VALUE,
+            kafkaTemplate = "kafkaTemplate")
+    @KafkaListener(id = KafkaConsumerConfig.SINGLE_LISTENER_ID, topics = KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC, groupId = "notification-service",
+            autoStartup = "#{!${hospital.notification.batch.enabled:true}}")
     public void handleConsultationEvent(
             @Payload DomainEvent event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
@@ -34,6 +106,19 @@ public class ConsultationEventListener {
             logger.info("EVENT RECEIVED from topic {} [{}] offset {}: {}", 
                 topic, partition, offset, event.getClass().getSimpleName());
 
+            if (topic.contains(KafkaConsumerConfig.RETRY_TOPIC_SUFFIX)) {
+                notificationMetrics.recordRetry(topic);
+            }
+
+            if (processedEventStore.isDuplicate(event.getEventId())) {
+                logger.info("Duplicate event skipped: {}", event.getEventId());
+                return;
+            }
+
+            if (bufferForDigest(event)) {
+                return;
+            }
+
             switch (event.getEventType()) {
                 case "CONSULTATION_CREATED":
                     handleConsultationCreated((ConsultationCreatedEvent) event);
@@ -49,6 +134,7 @@ public class ConsultationEventListener {
                     return;
             }
             
+            processedEventStore.markProcessed(event.getEventId());
             logger.info("Event processed successfully");
             
         } catch (Exception e) {
@@ -57,6 +143,344 @@ public class ConsultationEventListener {
         }
     }
 
+    @DltHandler
+    public void handleDeadLetter(
+            @Payload DomainEvent event,
+            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+            @Header(value = KafkaHeaders.DLT_EXCEPTION_MESSAGE, required = false) byte[] exceptionMessage) {
+        notificationMetrics.recordDeadLetter(topic);
+        logger.error("EVENT SENT TO DEAD LETTER TOPIC {}: {} ({}) - {}",
+            topic, event.getEventId(), event.getEventType(),
+            exceptionMessage != null ? new String(exceptionMessage, StandardCharsets.UTF_8) : "unknown error");
+    }
+
+    @KafkaListener(id = KafkaConsumerConfig.BATCH_LISTENER_ID, topics = KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC, groupId = "notification-service",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${hospital.notification.batch.enabled:true}")
+    public void handleConsultationEventBatch(
+            List<ConsumerRecord<String, DomainEvent>> records,
+            Acknowledgment acknowledgment,
+            Consumer<?, ?> consumer) {
+        logger.info("EVENT BATCH RECEIVED: {} events", records.size());
+
+        Map<TopicPartition, Long> firstOffsets = new LinkedHashMap<>();
+        for (ConsumerRecord<String, DomainEvent> record : records) {
+            firstOffsets.putIfAbsent(new TopicPartition(record.topic(), record.partition()), record.offset());
+        }
+        if (emailDispatcher.isEnabled() && rewindAfterFailedDelivery(consumer, firstOffsets)) {
+            return;
+        }
+
+        // A k-ésima atualização de uma mesma chave (paciente) vai para a rodada k: cada rodada tem no máximo um evento
+        // por chave, então enviar as rodadas em sequência preserva a ordem por chave e cada uma ainda sai em lote
+        List<Map<DomainEvent, EmailMessage>> rounds = new ArrayList<>();
+        Map<String, Integer> updatesByKey = new HashMap<>();
+        Map<DomainEvent, EmailMessage> messagesByEvent = new LinkedHashMap<>();
+        Set<String> processedIds = new HashSet<>();
+        List<String> unrecognizedIds = new ArrayList<>();
+        for (ConsumerRecord<String, DomainEvent> record : records) {
+            DomainEvent event = record.value();
+            if (event == null) {
+                deadLetterUndeserializable(record);
+                continue;
+            }
+            // Descarta reentregas já processadas e repetições dentro do próprio lote
+            if (processedEventStore.isDuplicate(event.getEventId())
+                    || (event.getEventId() != null && !processedIds.add(event.getEventId()))) {
+                logger.info("Duplicate event skipped: {}", event.getEventId());
+                continue;
+            }
+            // Fica no journal do digest; só é marcado como processado quando o digest for enviado
+            if (bufferForDigest(event)) {
+                continue;
+            }
+            EmailMessage message = toEmailMessage(event);
+            if (message == null) {
+                logger.warn("Unrecognized event type: {}", event.getEventType());
+                if (event.getEventId() != null) {
+                    unrecognizedIds.add(event.getEventId());
+                }
+                continue;
+            }
+            int round = updatesByKey.merge(event.getPartitionKey(), 1, Integer::sum) - 1;
+            if (round == rounds.size()) {
+                rounds.add(new LinkedHashMap<>());
+            }
+            rounds.get(round).put(event, message);
+            messagesByEvent.put(event, message);
+        }
+
+        if (emailDispatcher.isEnabled()) {
+            dispatchAsync(messagesByEvent, acknowledgment, firstOffsets);
+            unrecognizedIds.forEach(processedEventStore::markProcessed);
+            return;
+        }
+
+        try {
+            sendRounds(records, rounds);
+        } catch (Exception e) {
+            logger.error("Error processing event batch: {}", e.getMessage(), e);
+            throw e;
+        }
+
+        unrecognizedIds.forEach(processedEventStore::markProcessed);
+
+        // Um único commit de offset para o lote inteiro
+        acknowledgment.acknowledge();
+    }
+
+    // Cada evento é marcado como processado assim que seu email é aceito, então a reentrega do lote não reenvia
+    // o que já saiu. Uma chave com envio recusado não envia suas atualizações seguintes, preservando a ordem por
+    // paciente; se algo não saiu, o lote volta a partir do primeiro registro não entregue, que é sempre um envio
+    // recusado (as atualizações retidas da mesma chave vêm depois dele)
+    private void sendRounds(List<ConsumerRecord<String, DomainEvent>> records,
+                            List<Map<DomainEvent, EmailMessage>> rounds) {
+        Map<DomainEvent, RuntimeException> failures = new HashMap<>();
+        Set<String> failedKeys = new HashSet<>();
+        Set<DomainEvent> undelivered = new HashSet<>();
+        for (Map<DomainEvent, EmailMessage> round : rounds) {
+            List<DomainEvent> events = new ArrayList<>(round.size());
+            for (DomainEvent event : round.keySet()) {
+                if (failedKeys.contains(event.getPartitionKey())) {
+                    undelivered.add(event);
+                } else {
+                    events.add(event);
+                }
+            }
+            if (events.isEmpty()) {
+                continue;
+            }
+            List<SendResult> results = emailService.sendBatch(events.stream().map(round::get).toList());
+            int sent = 0;
+            for (int i = 0; i < events.size(); i++) {
+                DomainEvent event = events.get(i);
+                if (results.get(i).isDelivered()) {
+                    sent++;
+                    if (event.getEventId() != null) {
+                        processedEventStore.markProcessed(event.getEventId());
+                    }
+                } else {
+                    failures.put(event, results.get(i).failure());
+                    failedKeys.add(event.getPartitionKey());
+                    undelivered.add(event);
+                }
+            }
+            logger.info("{} emails sent", sent);
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        for (ConsumerRecord<String, DomainEvent> record : records) {
+            if (undelivered.contains(record.value())) {
+                RuntimeException failure = failures.get(record.value());
+                throw new BatchListenerFailedException(
+                    failures.size() + " emails of the batch were not sent", failure, record);
+            }
+        }
+    }
+
+    // Os envios saem da thread do consumer; o lote só é confirmado quando todos os emails foram entregues
+    // (ou enviados ao DLT) e depois da confirmação do lote anterior, para que o offset nunca avance sobre
+    // um envio ainda pendente. Cada envio espera o anterior da mesma chave (paciente), inclusive de lotes
+    // anteriores, e uma falha na chave interrompe os envios seguintes dela
+    private void dispatchAsync(Map<DomainEvent, EmailMessage> messagesByEvent, Acknowledgment acknowledgment,
+                               Map<TopicPartition, Long> firstOffsets) {
+        DispatchChain chain = dispatchChain.get();
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>(messagesByEvent.size());
+        messagesByEvent.forEach((event, message) -> {
+            CompletableFuture<Void> delivery = chain.pendingByKey
+                .getOrDefault(event.getPartitionKey(), CompletableFuture.completedFuture(null))
+                .thenCompose(previous -> deliver(event, message));
+            chain.pendingByKey.put(event.getPartitionKey(), delivery);
+            deliveries.add(delivery);
+        });
+
+        CompletableFuture<Void> batchDelivered = CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new));
+        CompletableFuture<Void> acknowledged = chain.acknowledged
+            .thenCombine(batchDelivered, (previous, delivered) -> (Void) null)
+            .thenRun(acknowledgment::acknowledge);
+        acknowledged.exceptionally(exception -> {
+            logger.error("Event batch left unacknowledged, offsets will be rewound on the next poll: {}",
+                exception.getMessage());
+            return null;
+        });
+        chain.acknowledged = acknowledged;
+        chain.unacknowledged.add(new PendingBatch(firstOffsets, acknowledged));
+        logger.info("{} emails dispatched asynchronously", deliveries.size());
+    }
+
+    // Um evento reentregue enquanto o envio original ainda estava pendente só sai se aquele não foi entregue
+    private CompletableFuture<Void> deliver(DomainEvent event, EmailMessage message) {
+        if (processedEventStore.isDuplicate(event.getEventId())) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return emailDispatcher.dispatch(message)
+            .thenRun(() -> processedEventStore.markProcessed(event.getEventId()))
+            .exceptionallyCompose(exception -> deadLetter(event, exception));
+    }
+
+    // Roda na thread do consumer, a única que pode reposicionar as partições. Se a cadeia de confirmações
+    // quebrou (o DLT recusou um evento), volta cada partição ao primeiro offset ainda não confirmado, descarta
+    // o lote atual (ele será relido a partir dali) e recomeça a cadeia
+    private boolean rewindAfterFailedDelivery(Consumer<?, ?> consumer, Map<TopicPartition, Long> firstOffsets) {
+        DispatchChain chain = dispatchChain.get();
+        chain.pendingByKey.values().removeIf(CompletableFuture::isDone);
+        while (!chain.unacknowledged.isEmpty() && chain.unacknowledged.peek().acknowledged().isDone()
+                && !chain.unacknowledged.peek().acknowledged().isCompletedExceptionally()) {
+            chain.unacknowledged.poll();
+        }
+        if (!chain.acknowledged.isCompletedExceptionally()) {
+            return false;
+        }
+
+        Map<TopicPartition, Long> rewindTo = new LinkedHashMap<>();
+        List<CompletableFuture<?>> settled = new ArrayList<>();
+        for (PendingBatch batch : chain.unacknowledged) {
+            batch.firstOffsets().forEach((partition, offset) -> rewindTo.merge(partition, offset, Math::min));
+            settled.add(batch.acknowledged().handle((result, exception) -> null));
+        }
+        firstOffsets.forEach((partition, offset) -> rewindTo.merge(partition, offset, Math::min));
+        rewindTo.forEach(consumer::seek);
+        logger.warn("Rewinding {} after a failed delivery", rewindTo);
+
+        // Lotes anteriores à falha ainda podem confirmar; os novos esperam por eles, e envios ainda pendentes
+        // seguem ordenando a própria chave sem propagar a falha
+        chain.acknowledged = CompletableFuture.allOf(settled.toArray(CompletableFuture[]::new));
+        chain.pendingByKey.replaceAll((key, delivery) -> delivery.handle((result, exception) -> null));
+        chain.unacknowledged.clear();
+        return true;
+    }
+
+    private boolean bufferForDigest(DomainEvent event) {
+        if (!notificationCoalescer.isEnabled() || !(event instanceof ConsultationCreatedEvent
+                || event instanceof ConsultationRescheduledEvent || event instanceof ConsultationCancelledEvent)) {
+            return false;
+        }
+        notificationCoalescer.add(event);
+        logger.info("Event buffered for digest: {}", event.getEventId());
+        return true;
+    }
+
+    // O buffer fica no journal do coalescer: digests pendentes numa parada são retomados no próximo início,
+    // sem envio antecipado no desligamento
+    @Scheduled(fixedDelayString = "${hospital.notification.digest.poll-interval:1000}")
+    public void flushDigests() {
+        if (notificationCoalescer.isEnabled()) {
+            notificationCoalescer.drainDue().forEach(this::sendDigest);
+        }
+    }
+
+    // Um único evento restante recebe o email normal; vários viram um digest. O envio passa pelo EmailDispatcher,
+    // com as mesmas tentativas, limite de concorrência e métricas dos demais emails, e não prende a thread do
+    // @Scheduled, compartilhada com os lembretes. O digest só sai do journal depois de enviado ou de todos os
+    // seus eventos chegarem ao DLT
+    private void sendDigest(NotificationCoalescer.Digest digest) {
+        if (digest.events().isEmpty()) {
+            completeDigest(digest);
+            return;
+        }
+        // true quando entregue; false quando seus eventos foram para o DLT e não devem ser marcados como processados
+        CompletableFuture<Boolean> delivered;
+        try {
+            EmailMessage message = digest.events().size() == 1
+                ? toEmailMessage(digest.events().get(0))
+                : digestMessage(digest);
+            delivered = emailDispatcher.dispatch(message).thenApply(sent -> true);
+        } catch (Exception e) {
+            delivered = CompletableFuture.failedFuture(e);
+        }
+        delivered
+            .exceptionallyCompose(exception -> deadLetterDigest(digest, exception).thenApply(deadLettered -> false))
+            .thenAccept(sent -> {
+                if (sent) {
+                    logger.info("Digest with {} updates sent to: {}", digest.events().size(), digest.recipient());
+                    completeDigest(digest);
+                } else {
+                    notificationCoalescer.complete(digest);
+                }
+            })
+            .exceptionally(exception -> {
+                logger.error("Digest to {} kept in the journal, it will be retried on restart: {}",
+                    digest.recipient(), exception.getMessage());
+                return null;
+            });
+    }
+
+    private void completeDigest(NotificationCoalescer.Digest digest) {
+        digest.eventIds().forEach(processedEventStore::markProcessed);
+        notificationCoalescer.complete(digest);
+    }
+
+    private CompletableFuture<Void> deadLetterDigest(NotificationCoalescer.Digest digest, Throwable exception) {
+        logger.error("Error sending digest to {}: {}", digest.recipient(), exception.getMessage(), exception);
+        return CompletableFuture.allOf(digest.events().stream()
+            .map(event -> deadLetter(event, exception))
+            .toArray(CompletableFuture[]::new));
+    }
+
+    private EmailMessage digestMessage(NotificationCoalescer.Digest digest) {
+        StringBuilder updates = new StringBuilder();
+        for (DomainEvent event : digest.events()) {
+            if (!updates.isEmpty()) {
+                updates.append('\n');
+            }
+            updates.append(digestLine(event));
+        }
+        return toEmailMessage(digest.recipient(), templateEngine.render("consultation-digest",
+            NotificationTemplateEngine.variables(
+                "patientName", digest.patientName(),
+                "count", digest.events().size(),
+                "updates", updates)));
+    }
+
+    private String digestLine(DomainEvent event) {
+        if (event instanceof ConsultationCreatedEvent created) {
+            return templateEngine.renderFragment("consultation-digest-created", NotificationTemplateEngine.variables(
+                "scheduledDateTime", created.getScheduledDateTime(),
+                "doctorName", created.getDoctorName()));
+        }
+        if (event instanceof ConsultationRescheduledEvent rescheduled) {
+            return templateEngine.renderFragment("consultation-digest-rescheduled", NotificationTemplateEngine.variables(
+                "oldDateTime", rescheduled.getOldDateTime(),
+                "newDateTime", rescheduled.getNewDateTime(),
+                "doctorName", rescheduled.getDoctorName()));
+        }
+        ConsultationCancelledEvent cancelled = (ConsultationCancelledEvent) event;
+        return templateEngine.renderFragment("consultation-digest-cancelled", NotificationTemplateEngine.variables(
+            "consultationId", cancelled.getConsultationId(),
+            "reason", cancelled.getReason()));
+    }
+
+    // Publicado de forma síncrona, antes de qualquer envio do lote: se o DLT recusar, o lote inteiro volta
+    // ao error handler sem que o offset avance sobre o registro
+    private void deadLetterUndeserializable(ConsumerRecord<String, DomainEvent> record) {
+        DeserializationException exception = SerializationUtils.getExceptionFromHeader(
+            record, SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, logAccessor);
+        if (exception == null) {
+            return;
+        }
+        logger.error("Undeserializable event at {}-{} offset {}, sending to {}: {}",
+            record.topic(), record.partition(), record.offset(), DEAD_LETTER_TOPIC, exception.getMessage());
+        deadLetterPublishingRecoverer.accept(record, exception);
+        notificationMetrics.recordDeadLetter(DEAD_LETTER_TOPIC);
+    }
+
+    private CompletableFuture<Void> deadLetter(DomainEvent event, Throwable exception) {
+        logger.error("Email delivery failed for event {}, sending to {}: {}",
+            event.getEventId(), DEAD_LETTER_TOPIC, exception.getMessage());
+        return kafkaTemplate.send(DEAD_LETTER_TOPIC, event.getPartitionKey(), event)
+            .thenRun(() -> notificationMetrics.recordDeadLetter(DEAD_LETTER_TOPIC));
+    }
+
+    private EmailMessage toEmailMessage(DomainEvent event) {
+        return switch (event.getEventType()) {
+            case "CONSULTATION_CREATED" -> createdMessage((ConsultationCreatedEvent) event);
+            case "CONSULTATION_RESCHEDULED" -> rescheduledMessage((ConsultationRescheduledEvent) event);
+            case "CONSULTATION_CANCELLED" -> cancelledMessage((ConsultationCancelledEvent) event);
+            default -> null;
+        };
+    }
+
     private void handleConsultationCreated(ConsultationCreatedEvent event) {
         logger.info("PROCESSING CONSULTATION CREATION");
         logger.info("Consultation ID: {}", event.getConsultationId());
@@ -64,25 +488,19 @@ public class ConsultationEventListener {
         logger.info("Doctor: {}", event.getDoctorName());
         logger.info("Date/Time: {}", event.getScheduledDateTime());
 
-        String patientSubject = "Consultation Scheduled - Hospital";
-        String patientMessage = String.format(
-            "Hello %s!\n\n" +
-            "Your consultation has been successfully scheduled:\n" +
-            "Date: %s\n" +
-            "Doctor: %s\n\n" +
-            "Please arrive 15 minutes early.\n" +
-            "If you have any questions, please contact us.\n\n" +
-            "Best regards,\n" +
-            "Hospital Team",
-            event.getPatientName(),
-            event.getScheduledDateTime(),
-            event.getDoctorName()
-        );
-        
-        emailService.sendEmail(event.getPatientEmail(), patientSubject, patientMessage);
+        EmailMessage message = createdMessage(event);
+        emailService.send(message);
         logger.info("Confirmation email sent to: {}", event.getPatientEmail());
     }
 
+    private EmailMessage createdMessage(ConsultationCreatedEvent event) {
+        return toEmailMessage(event.getPatientEmail(), templateEngine.render("consultation-created",
+            NotificationTemplateEngine.variables(
+                "patientName", event.getPatientName(),
+                "scheduledDateTime", event.getScheduledDateTime(),
+                "doctorName", event.getDoctorName())));
+    }
+
     private void handleConsultationRescheduled(ConsultationRescheduledEvent event) {
         logger.info("PROCESSING CONSULTATION RESCHEDULING");
         logger.info("Consultation ID: {}", event.getConsultationId());
@@ -90,48 +508,48 @@ public class ConsultationEventListener {
         logger.info("Previous Date: {}", event.getOldDateTime());
         logger.info("New Date: {}", event.getNewDateTime());
         
-        String subject = "Consultation Rescheduled - Hospital";
-        String message = String.format(
-            "Hello %s!\n\n" +
-            "Your consultation has been rescheduled:\n" +
-            "Previous date: %s\n" +
-            "New date: %s\n" +
-            "Doctor: %s\n\n" +
-            "Please arrive 15 minutes early.\n" +
-            "If you have any questions, please contact us.\n\n" +
-            "Best regards,\n" +
-            "Hospital Team",
-            event.getPatientName(),
-            event.getOldDateTime(),
-            event.getNewDateTime(),
-            event.getDoctorName()
-        );
-        
-        emailService.sendEmail(event.getPatientEmail(), subject, message);
+        EmailMessage message = rescheduledMessage(event);
+        emailService.send(message);
         logger.info("Rescheduling email sent to: {}", event.getPatientEmail());
     }
 
+    private EmailMessage rescheduledMessage(ConsultationRescheduledEvent event) {
+        return toEmailMessage(event.getPatientEmail(), templateEngine.render("consultation-rescheduled",
+            NotificationTemplateEngine.variables(
+                "patientName", event.getPatientName(),
+                "oldDateTime", event.getOldDateTime(),
+                "newDateTime", event.getNewDateTime(),
+                "doctorName", event.getDoctorName())));
+    }
+
     private void handleConsultationCancelled(ConsultationCancelledEvent event) {
         logger.info("PROCESSING CONSULTATION CANCELLATION");
         logger.info("Consultation ID: {}", event.getConsultationId());
         logger.info("Patient: {}", event.getPatientName());
         logger.info("Reason: {}", event.getReason());
         
-        String subject = "Consultation Cancelled - Hospital";
-        String message = String.format(
-            "Hello %s!\n\n" +
-            "Unfortunately, your consultation has been cancelled.\n" +
-            "Reason: %s\n\n" +
-            "To reschedule, please contact us:\n" +
-            "(11) 1234-5678\n" +
-            "scheduling@hospital.com\n\n" +
-            "Best regards,\n" +
-            "Hospital Team",
-            event.getPatientName(),
-            event.getReason()
-        );
-        
-        emailService.sendEmail(event.getPatientEmail(), subject, message);
+        EmailMessage message = cancelledMessage(event);
+        emailService.send(message);
         logger.info("Cancellation email sent to: {}", event.getPatientEmail());
     }
+
+    private EmailMessage cancelledMessage(ConsultationCancelledEvent event) {
+        return toEmailMessage(event.getPatientEmail(), templateEngine.render("consultation-cancelled",
+            NotificationTemplateEngine.variables(
+                "patientName", event.getPatientName(),
+                "reason", event.getReason())));
+    }
+
+    private static EmailMessage toEmailMessage(String to, RenderedNotification notification) {
+        return new EmailMessage(to, notification.subject(), notification.text(), notification.html());
+    }
+
+    private static final class DispatchChain {
+        private CompletableFuture<Void> acknowledged = CompletableFuture.completedFuture(null);
+        private final Map<String, CompletableFuture<Void>> pendingByKey = new HashMap<>();
+        private final Deque<PendingBatch> unacknowledged = new ArrayDeque<>();
+    }
+
+    private record PendingBatch(Map<TopicPartition, Long> firstOffsets, CompletableFuture<Void> acknowledged) {
+    }
 }
@@ -0,0 +1,226 @@
+package com.hospital.notification.reminder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Roda de tempo hierárquica (Varghese & Lauck): cada nível cobre wheelSize ticks do nível anterior.
+// Inserir e cancelar são O(1); avançar o relógio custa um passo por tick mais a redistribuição dos
+// buckets dos níveis superiores quando o nível inferior completa uma volta. Um valor nunca vence antes do
+// prazo: o atraso máximo é de um tick. Não é thread-safe.
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private final Bucket<T> overdue = new Bucket<>();
+    private long currentTime;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and wheel size at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    public Timeout<T> schedule(T value, long expirationMillis) {
+        // Arredonda o prazo para o próximo tick para que o valor nunca seja entregue antes da hora
+        long deadline = expirationMillis + Math.floorMod(-expirationMillis, tickMillis);
+        Timeout<T> timeout = new Timeout<>(this, value, expirationMillis, deadline);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTime() {
+        return currentTime;
+    }
+
+    // Devolve os valores vencidos até nowMillis, na ordem dos ticks em que venceram
+    public List<T> advanceTo(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        drain(overdue, expired);
+
+        long target = nowMillis - Math.floorMod(nowMillis, tickMillis);
+        if (size == 0) {
+            // Nada pendente: salta direto para o tick atual em vez de percorrer o intervalo ocioso
+            currentTime = Math.max(currentTime, target);
+            return expired;
+        }
+
+        while (currentTime < target) {
+            currentTime += tickMillis;
+            // Níveis superiores primeiro: entradas que descem de nível podem vencer neste mesmo tick
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                Level<T> wheel = levels.get(level);
+                if (currentTime % wheel.tickMillis == 0) {
+                    Bucket<T> bucket = wheel.bucketFor(currentTime);
+                    Timeout<T> timeout;
+                    while ((timeout = bucket.poll()) != null) {
+                        place(timeout);
+                    }
+                }
+            }
+            drain(levels.get(0).bucketFor(currentTime), expired);
+            drain(overdue, expired);
+            if (size == 0) {
+                currentTime = Math.max(currentTime, target);
+            }
+        }
+        return expired;
+    }
+
+    private void drain(Bucket<T> bucket, List<T> expired) {
+        Timeout<T> timeout;
+        while ((timeout = bucket.poll()) != null) {
+            size--;
+            timeout.expired = true;
+            expired.add(timeout.value);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long deadline = timeout.deadline;
+        if (deadline <= currentTime) {
+            overdue.add(timeout);
+            return;
+        }
+        int level = 0;
+        while (true) {
+            if (level == levels.size()) {
+                Level<T> previous = levels.get(level - 1);
+                levels.add(new Level<>(previous.tickMillis * wheelSize, wheelSize));
+            }
+            Level<T> wheel = levels.get(level);
+            long levelStart = currentTime - Math.floorMod(currentTime, wheel.tickMillis);
+            if (deadline < levelStart + wheel.intervalMillis) {
+                wheel.bucketFor(deadline).add(timeout);
+                return;
+            }
+            level++;
+        }
+    }
+
+    private void remove(Timeout<T> timeout) {
+        if (timeout.bucket != null) {
+            timeout.bucket.remove(timeout);
+            size--;
+        }
+    }
+
+    public static final class Timeout<T> {
+
+        private final HierarchicalTimingWheel<T> wheel;
+        private final T value;
+        private final long expirationMillis;
+        private final long deadline;
+        private Bucket<T> bucket;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+        private boolean expired;
+        private boolean cancelled;
+
+        private Timeout(HierarchicalTimingWheel<T> wheel, T value, long expirationMillis, long deadline) {
+            this.wheel = wheel;
+            this.value = value;
+            this.expirationMillis = expirationMillis;
+            this.deadline = deadline;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        public long expirationMillis() {
+            return expirationMillis;
+        }
+
+        public boolean isExpired() {
+            return expired;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        // O(1): desliga o nó da lista duplamente encadeada do bucket em que está
+        public boolean cancel() {
+            if (expired || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            wheel.remove(this);
+            return true;
+        }
+    }
+
+    private static final class Level<T> {
+
+        private final long tickMillis;
+        private final long intervalMillis;
+        private final Bucket<T>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.intervalMillis = tickMillis * wheelSize;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+        }
+
+        Bucket<T> bucketFor(long time) {
+            return buckets[(int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) buckets.length)];
+        }
+    }
+
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            timeout.next = null;
+            if (tail == null) {
+                head = timeout;
+            } else {
+                tail.next = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.previous == null) {
+                head = timeout.next;
+            } else {
+                timeout.previous.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                tail = timeout.previous;
+            } else {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> timeout = head;
+            if (timeout != null) {
+                remove(timeout);
+            }
+            return timeout;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.hospital.notification.reminder;
+
+import java.time.LocalDateTime;
+
+public record Reminder(
+    String id,
+    Long consultationId,
+    String patientEmail,
+    String patientName,
+    String doctorName,
+    LocalDateTime scheduledDateTime,
+    long leadMinutes,
+    long fireAtMillis
+) {
+
+    public static String idOf(Long consultationId, long leadMinutes) {
+        return consultationId + ":" + leadMinutes;
+    }
+
+    public Reminder withFireAt(long fireAtMillis) {
+        return new Reminder(id, consultationId, patientEmail, patientName, doctorName, scheduledDateTime,
+            leadMinutes, fireAtMillis);
+    }
+}
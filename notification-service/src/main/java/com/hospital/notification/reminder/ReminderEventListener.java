@@ -0,0 +1,40 @@
+package com.hospital.notification.reminder;
+
+import com.hospital.notification.config.KafkaConsumerConfig;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+// Grupo de consumo próprio: os lembretes acompanham todos os eventos independentemente do
+// listener de notificações (lote, retry ou DLT), e o journal é gravado antes do commit do offset
+@Component
+@ConditionalOnProperty(name = "hospital.notification.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderEventListener.class);
+    private final ReminderScheduler reminderScheduler;
+
+    public ReminderEventListener(ReminderScheduler reminderScheduler) {
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    @KafkaListener(id = "consultation-reminders", topics = KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC, groupId = "notification-reminders")
+    public void handleConsultationEvent(@Payload DomainEvent event) {
+        if (event == null) {
+            return;
+        }
+        switch (event.getEventType()) {
+            case "CONSULTATION_CREATED" -> reminderScheduler.onConsultationCreated((ConsultationCreatedEvent) event);
+            case "CONSULTATION_RESCHEDULED" -> reminderScheduler.onConsultationRescheduled((ConsultationRescheduledEvent) event);
+            case "CONSULTATION_CANCELLED" -> reminderScheduler.onConsultationCancelled((ConsultationCancelledEvent) event);
+            default -> logger.debug("Event ignored by reminders: {}", event.getEventType());
+        }
+    }
+}
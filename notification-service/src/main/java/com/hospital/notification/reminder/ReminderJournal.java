@@ -0,0 +1,69 @@
+package com.hospital.notification.reminder;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hospital.notification.journal.JsonLinesJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Operações dos lembretes no journal: cada agendamento, cancelamento e disparo é gravado antes de ser
+// confirmado, e os lembretes vivos são reconstruídos na inicialização repetindo as operações
+class ReminderJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderJournal.class);
+
+    static final String SCHEDULED = "SCHEDULED";
+    static final String CANCELLED = "CANCELLED";
+    static final String FIRED = "FIRED";
+
+    private final JsonLinesJournal<Entry> journal;
+
+    ReminderJournal(Path file, int compactionThreshold) {
+        this.journal = new JsonLinesJournal<>(file, Entry.class, compactionThreshold);
+    }
+
+    Collection<Reminder> load() {
+        Map<String, Reminder> reminders = new LinkedHashMap<>();
+        for (Entry entry : journal.load()) {
+            switch (entry.op()) {
+                case SCHEDULED -> reminders.put(entry.reminder().id(), entry.reminder());
+                case CANCELLED -> reminders.values().removeIf(reminder -> reminder.consultationId().equals(entry.consultationId()));
+                case FIRED -> reminders.remove(entry.reminderId());
+                default -> logger.warn("Ignoring unknown reminder journal operation: {}", entry.op());
+            }
+        }
+        return reminders.values();
+    }
+
+    void scheduled(Reminder reminder) {
+        journal.append(new Entry(SCHEDULED, reminder, null, null));
+    }
+
+    void cancelled(Long consultationId) {
+        journal.append(new Entry(CANCELLED, null, consultationId, null));
+    }
+
+    void fired(String reminderId) {
+        journal.append(new Entry(FIRED, null, null, reminderId));
+    }
+
+    boolean needsCompaction(int liveReminders) {
+        return journal.needsCompaction(liveReminders);
+    }
+
+    void compact(Collection<Reminder> liveReminders) {
+        journal.compact(liveReminders.stream().map(reminder -> new Entry(SCHEDULED, reminder, null, null)).toList());
+    }
+
+    void close() {
+        journal.close();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(String op, Reminder reminder, Long consultationId, String reminderId) {
+    }
+}
@@ -0,0 +1,242 @@
+package com.hospital.notification.reminder;
+
+import com.hospital.notification.service.EmailMessage;
+import com.hospital.notification.service.EmailService;
+import com.hospital.notification.template.NotificationTemplateEngine;
+import com.hospital.notification.template.RenderedNotification;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Lembretes de consulta (por padrão 24h e 1h antes) mantidos em uma roda de tempo hierárquica:
+// agendar e cancelar são O(1) e o custo do disparo não depende de quantos lembretes estão pendentes
+@Component
+@ConditionalOnProperty(name = "hospital.notification.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReminderScheduler.class);
+    private static final String TEMPLATE = "consultation-reminder";
+    private static final int WHEEL_SIZE = 64;
+
+    private final EmailService emailService;
+    private final NotificationTemplateEngine templateEngine;
+    private final List<Duration> leadTimes;
+    private final Duration retryDelay;
+    private final ZoneId zone;
+    private final Clock clock;
+    private final ReminderJournal journal;
+    private final HierarchicalTimingWheel<Reminder> wheel;
+    private final Map<Long, List<HierarchicalTimingWheel.Timeout<Reminder>>> timeoutsByConsultation = new HashMap<>();
+    // Lembretes retirados da roda cujo envio ainda não terminou
+    private final Map<String, Reminder> inFlight = new HashMap<>();
+
+    @Autowired
+    public ReminderScheduler(EmailService emailService, NotificationTemplateEngine templateEngine,
+                             @Value("${hospital.notification.reminders.lead-times:24h,1h}") List<Duration> leadTimes,
+                             @Value("${hospital.notification.reminders.tick:1s}") Duration tick,
+                             @Value("${hospital.notification.reminders.retry-delay:1m}") Duration retryDelay,
+                             @Value("${hospital.notification.reminders.zone:}") String zone,
+                             @Value("${hospital.notification.reminders.journal.file:${hospital.notification.data-dir:data}/notification-reminders.log}") Path journalFile,
+                             @Value("${hospital.notification.reminders.journal.compaction-threshold:10000}") int compactionThreshold) {
+        this(emailService, templateEngine, leadTimes, tick, retryDelay,
+            zone.isBlank() ? ZoneId.systemDefault() : ZoneId.of(zone),
+            new ReminderJournal(journalFile, compactionThreshold), Clock.systemUTC());
+    }
+
+    ReminderScheduler(EmailService emailService, NotificationTemplateEngine templateEngine, List<Duration> leadTimes,
+                      Duration tick, Duration retryDelay, ZoneId zone, ReminderJournal journal, Clock clock) {
+        if (leadTimes.isEmpty() || leadTimes.stream().anyMatch(lead -> lead.isNegative() || lead.isZero())) {
+            throw new IllegalArgumentException("Reminder lead times must be positive");
+        }
+        this.emailService = emailService;
+        this.templateEngine = templateEngine;
+        this.leadTimes = List.copyOf(leadTimes);
+        this.retryDelay = retryDelay;
+        this.zone = zone;
+        this.clock = clock;
+        this.journal = journal;
+        this.wheel = new HierarchicalTimingWheel<>(tick.toMillis(), WHEEL_SIZE, clock.millis());
+
+        restore();
+    }
+
+    // Lembretes vencidos durante a parada ainda são enviados, desde que a consulta não tenha passado
+    private void restore() {
+        int restored = 0;
+        for (Reminder reminder : journal.load()) {
+            if (consultationMillis(reminder.scheduledDateTime()) > clock.millis()) {
+                add(reminder);
+                restored++;
+            }
+        }
+        journal.compact(pendingReminders());
+        logger.info("{} pending reminders restored", restored);
+    }
+
+    public void onConsultationCreated(ConsultationCreatedEvent event) {
+        schedule(event.getConsultationId(), event.getPatientEmail(), event.getPatientName(),
+            event.getDoctorName(), event.getScheduledDateTime());
+    }
+
+    public void onConsultationRescheduled(ConsultationRescheduledEvent event) {
+        schedule(event.getConsultationId(), event.getPatientEmail(), event.getPatientName(),
+            event.getDoctorName(), event.getNewDateTime());
+    }
+
+    public void onConsultationCancelled(ConsultationCancelledEvent event) {
+        cancel(event.getConsultationId());
+    }
+
+    // Reagendar substitui os lembretes anteriores; reentregas do mesmo evento são idempotentes
+    public synchronized void schedule(Long consultationId, String patientEmail, String patientName,
+                                      String doctorName, LocalDateTime scheduledDateTime) {
+        cancel(consultationId);
+
+        long now = clock.millis();
+        long consultationMillis = consultationMillis(scheduledDateTime);
+        for (Duration leadTime : leadTimes) {
+            long fireAt = consultationMillis - leadTime.toMillis();
+            // Consultas marcadas em cima da hora não recebem o lembrete cuja antecedência já passou
+            if (fireAt <= now) {
+                continue;
+            }
+            Reminder reminder = new Reminder(Reminder.idOf(consultationId, leadTime.toMinutes()), consultationId,
+                patientEmail, patientName, doctorName, scheduledDateTime, leadTime.toMinutes(), fireAt);
+            journal.scheduled(reminder);
+            add(reminder);
+        }
+    }
+
+    public synchronized void cancel(Long consultationId) {
+        List<HierarchicalTimingWheel.Timeout<Reminder>> timeouts = timeoutsByConsultation.remove(consultationId);
+        boolean sending = inFlight.values().removeIf(reminder -> reminder.consultationId().equals(consultationId));
+        if (timeouts != null || sending) {
+            journal.cancelled(consultationId);
+        }
+        if (timeouts != null) {
+            timeouts.forEach(HierarchicalTimingWheel.Timeout::cancel);
+        }
+    }
+
+    public synchronized int getPending() {
+        return wheel.size();
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.notification.reminders.poll-interval:1000}")
+    public void sendDueReminders() {
+        List<Reminder> due;
+        synchronized (this) {
+            due = wheel.advanceTo(clock.millis());
+            due.forEach(this::detach);
+            due.forEach(reminder -> inFlight.put(reminder.id(), reminder));
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+
+        // O envio acontece fora do lock para não bloquear o consumo de eventos. Cada lembrete é enviado e
+        // registrado como disparado por conta própria: uma falha só reenvia os que de fato não saíram
+        int sent = 0;
+        for (Reminder reminder : due) {
+            boolean delivered;
+            try {
+                emailService.send(toEmailMessage(reminder));
+                delivered = true;
+                sent++;
+            } catch (Exception e) {
+                logger.error("Error sending reminder {}: {}", reminder.id(), e.getMessage(), e);
+                delivered = false;
+            }
+            complete(reminder, delivered);
+        }
+
+        synchronized (this) {
+            logger.info("{} of {} reminders sent", sent, due.size());
+            if (journal.needsCompaction(wheel.size())) {
+                journal.compact(pendingReminders());
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        journal.compact(pendingReminders());
+        journal.close();
+    }
+
+    private synchronized void complete(Reminder reminder, boolean delivered) {
+        // Cancelado ou reagendado enquanto o envio estava em andamento
+        if (inFlight.remove(reminder.id()) != reminder) {
+            return;
+        }
+        if (delivered) {
+            journal.fired(reminder.id());
+        } else {
+            retry(reminder);
+        }
+    }
+
+    private void retry(Reminder reminder) {
+        long retryAt = clock.millis() + retryDelay.toMillis();
+        if (retryAt >= consultationMillis(reminder.scheduledDateTime())) {
+            journal.fired(reminder.id());
+            logger.warn("Reminder {} dropped, consultation starts before the next attempt", reminder.id());
+            return;
+        }
+        Reminder retried = reminder.withFireAt(retryAt);
+        journal.scheduled(retried);
+        add(retried);
+    }
+
+    private void add(Reminder reminder) {
+        timeoutsByConsultation.computeIfAbsent(reminder.consultationId(), id -> new ArrayList<>(leadTimes.size()))
+            .add(wheel.schedule(reminder, reminder.fireAtMillis()));
+    }
+
+    private void detach(Reminder reminder) {
+        List<HierarchicalTimingWheel.Timeout<Reminder>> timeouts = timeoutsByConsultation.get(reminder.consultationId());
+        if (timeouts != null) {
+            timeouts.removeIf(timeout -> timeout.value() == reminder);
+            if (timeouts.isEmpty()) {
+                timeoutsByConsultation.remove(reminder.consultationId());
+            }
+        }
+    }
+
+    private List<Reminder> pendingReminders() {
+        List<Reminder> pending = new ArrayList<>(wheel.size() + inFlight.size());
+        timeoutsByConsultation.values().forEach(timeouts -> timeouts.forEach(timeout -> pending.add(timeout.value())));
+        pending.addAll(inFlight.values());
+        return pending;
+    }
+
+    private EmailMessage toEmailMessage(Reminder reminder) {
+        RenderedNotification notification = templateEngine.render(TEMPLATE, NotificationTemplateEngine.variables(
+            "patientName", reminder.patientName(),
+            "scheduledDateTime", reminder.scheduledDateTime(),
+            "doctorName", reminder.doctorName()));
+        return new EmailMessage(reminder.patientEmail(), notification.subject(), notification.text(), notification.html());
+    }
+
+    private long consultationMillis(LocalDateTime scheduledDateTime) {
+        return scheduledDateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+}
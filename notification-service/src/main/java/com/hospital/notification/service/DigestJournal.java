@@ -0,0 +1,69 @@
+package com.hospital.notification.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hospital.notification.journal.JsonLinesJournal;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Eventos retidos para digest no journal: cada evento é gravado antes de o listener devolver o controle
+// (e o offset ser confirmado), e só sai do journal quando o digest que o contém foi enviado ou mandado ao
+// DLT. Na inicialização os eventos ainda não enviados voltam para o coalescer.
+class DigestJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(DigestJournal.class);
+
+    static final String BUFFERED = "BUFFERED";
+    static final String SENT = "SENT";
+
+    private final JsonLinesJournal<Entry> journal;
+
+    DigestJournal(Path file, int compactionThreshold) {
+        this.journal = new JsonLinesJournal<>(file, Entry.class, compactionThreshold);
+    }
+
+    // Eventos ainda não enviados, na ordem em que foram recebidos
+    Collection<Entry> load() {
+        Map<String, Entry> buffered = new LinkedHashMap<>();
+        for (Entry entry : journal.load()) {
+            switch (entry.op()) {
+                case BUFFERED -> buffered.put(entry.event().getEventId(), entry);
+                case SENT -> entry.eventIds().forEach(buffered::remove);
+                default -> logger.warn("Ignoring unknown digest journal operation: {}", entry.op());
+            }
+        }
+        return buffered.values();
+    }
+
+    Entry buffered(DomainEvent event, long receivedAt) {
+        Entry entry = new Entry(BUFFERED, event, receivedAt, null);
+        journal.append(entry);
+        return entry;
+    }
+
+    void sent(List<String> eventIds) {
+        journal.append(new Entry(SENT, null, null, eventIds));
+    }
+
+    boolean needsCompaction(int liveEvents) {
+        return journal.needsCompaction(liveEvents);
+    }
+
+    void compact(Collection<Entry> liveEvents) {
+        journal.compact(liveEvents);
+    }
+
+    void close() {
+        journal.close();
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(String op, DomainEvent event, Long receivedAt, List<String> eventIds) {
+    }
+}
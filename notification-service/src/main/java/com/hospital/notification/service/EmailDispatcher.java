@@ -0,0 +1,198 @@
+package com.hospital.notification.service;
+
+import com.hospital.notification.config.KafkaConsumerConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.BackOffExecution;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+@Component
+public class EmailDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDispatcher.class);
+    private static final String DISPATCH_TOPIC = "email-dispatch";
+    // Só os listeners que alimentam a fila; lembretes, tópicos de retry e DLT seguem consumindo
+    private static final List<String> DISPATCHING_LISTENER_IDS =
+            List.of(KafkaConsumerConfig.SINGLE_LISTENER_ID, KafkaConsumerConfig.BATCH_LISTENER_ID);
+
+    private final EmailService emailService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final NotificationMetrics notificationMetrics;
+    private final BackOff retryBackOff;
+    private final boolean enabled;
+    private final int resumeThreshold;
+    private final Semaphore sendPermits;
+    private final Semaphore queueSlots;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Timer successTimer;
+    private final Timer failureTimer;
+    private boolean paused;
+
+    public EmailDispatcher(EmailService emailService,
+                           KafkaListenerEndpointRegistry listenerRegistry,
+                           MeterRegistry meterRegistry,
+                           NotificationMetrics notificationMetrics,
+                           BackOff notificationRetryBackOff,
+                           @Value("${hospital.notification.async.enabled:true}") boolean enabled,
+                           @Value("${hospital.notification.async.concurrency:50}") int concurrency,
+                           @Value("${hospital.notification.async.queue-capacity:1000}") int queueCapacity) {
+        if (concurrency < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Dispatcher concurrency and queue capacity must be positive");
+        }
+        this.emailService = emailService;
+        this.listenerRegistry = listenerRegistry;
+        this.notificationMetrics = notificationMetrics;
+        this.retryBackOff = notificationRetryBackOff;
+        this.enabled = enabled;
+        this.resumeThreshold = queueCapacity / 2;
+        this.sendPermits = new Semaphore(concurrency);
+        this.queueSlots = new Semaphore(queueCapacity);
+        this.successTimer = timer(meterRegistry, "success");
+        this.failureTimer = timer(meterRegistry, "failure");
+        Gauge.builder("hospital.notification.email.pending", pending, AtomicInteger::get)
+                .description("Emails aguardando envio assíncrono")
+                .register(meterRegistry);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("hospital.notification.email.send")
+                .description("Latência de cada tentativa de envio de email")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    // O future só completa depois da entrega (ou do esgotamento das tentativas), permitindo confirmar o offset nesse momento
+    public CompletableFuture<Void> dispatch(EmailMessage message) {
+        // Chamado na thread do consumer, que não pode bloquear: um poll() atrasado além de max.poll.interval.ms
+        // provoca rebalance. Sem vaga, o container é pausado e o registro, já entregue pelo poll, entra como
+        // excedente; a fila passa da capacidade no máximo pelos registros de um poll
+        boolean queued = queueSlots.tryAcquire();
+        if (!queued || queueSlots.availablePermits() == 0) {
+            pauseListeners();
+        }
+        pending.incrementAndGet();
+
+        try {
+            return CompletableFuture.runAsync(() -> deliver(message), executor)
+                    .whenComplete((result, exception) -> release(queued));
+        } catch (RuntimeException e) {
+            release(queued);
+            throw e;
+        }
+    }
+
+    private void deliver(EmailMessage message) {
+        BackOffExecution backOff = retryBackOff.start();
+        while (true) {
+            try {
+                send(message);
+                return;
+            } catch (RuntimeException e) {
+                long delay = backOff.nextBackOff();
+                if (delay == BackOffExecution.STOP) {
+                    throw new CompletionException(e);
+                }
+                notificationMetrics.recordRetry(DISPATCH_TOPIC);
+                logger.warn("Email to {} failed, retrying in {} ms: {}", message.to(), delay, e.getMessage());
+                sleep(delay);
+            }
+        }
+    }
+
+    private void send(EmailMessage message) {
+        sendPermits.acquireUninterruptibly();
+        long start = System.nanoTime();
+        try {
+            emailService.send(message);
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            failureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        } finally {
+            sendPermits.release();
+        }
+    }
+
+    private void release(boolean queued) {
+        if (queued) {
+            queueSlots.release();
+        }
+        if (pending.decrementAndGet() <= resumeThreshold) {
+            resumeListeners();
+        }
+    }
+
+    private synchronized void pauseListeners() {
+        if (!paused) {
+            paused = true;
+            logger.info("Email queue full ({} pending), pausing consultation event listeners", pending.get());
+            forEachDispatchingListener(MessageListenerContainer::pause);
+        }
+    }
+
+    private synchronized void resumeListeners() {
+        if (paused) {
+            paused = false;
+            logger.info("Email queue drained ({} pending), resuming consultation event listeners", pending.get());
+            forEachDispatchingListener(MessageListenerContainer::resume);
+        }
+    }
+
+    private void forEachDispatchingListener(Consumer<MessageListenerContainer> action) {
+        DISPATCHING_LISTENER_IDS.stream()
+                .map(listenerRegistry::getListenerContainer)
+                .filter(Objects::nonNull)
+                .forEach(action);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Shutting down with {} emails still pending", pending.get());
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+    }
+}
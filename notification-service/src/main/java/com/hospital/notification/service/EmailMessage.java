@@ -0,0 +1,9 @@
+package com.hospital.notification.service;
+
+// html é opcional: quando presente o email é enviado como multipart/alternative
+public record EmailMessage(String to, String subject, String content, String html) {
+
+    public EmailMessage(String to, String subject, String content) {
+        this(to, subject, content, null);
+    }
+}
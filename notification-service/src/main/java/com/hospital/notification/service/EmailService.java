@@ -1,20 +1,55 @@
 package com.hospital.notification.service;
 
+import com.hospital.notification.transport.EmailTransport;
+import com.hospital.notification.transport.SendResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
+    private final EmailTransport emailTransport;
+
+    public EmailService(EmailTransport emailTransport) {
+        this.emailTransport = emailTransport;
+    }
 
     public void sendEmail(String to, String subject, String content) {
+        send(new EmailMessage(to, subject, content));
+    }
+
+    public void send(EmailMessage message) {
         logger.info("📧 ENVIANDO EMAIL");
-        logger.info("Para: {}", to);
-        logger.info("Assunto: {}", subject);
-        logger.info("Conteúdo: {}", content);
+        logger.info("Para: {}", message.to());
+        logger.info("Assunto: {}", message.subject());
+        logger.info("Conteúdo: {}", message.content());
+        emailTransport.send(message);
         logger.info("✅ Email enviado com sucesso!");
     }
 
+    // Um resultado por mensagem, na mesma ordem: quem chama marca como entregues só as que o servidor aceitou
+    public List<SendResult> sendBatch(List<EmailMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+
+        logger.info("📧 ENVIANDO LOTE DE {} EMAILS", messages.size());
+        for (EmailMessage message : messages) {
+            logger.debug("Para: {} | Assunto: {}", message.to(), message.subject());
+        }
+        List<SendResult> results = emailTransport.sendAll(messages);
+        long delivered = results.stream().filter(SendResult::isDelivered).count();
+        for (SendResult result : results) {
+            if (!result.isDelivered()) {
+                logger.warn("Email to {} was not sent: {}", result.message().to(), result.failure().getMessage());
+            }
+        }
+        logger.info("✅ Lote: {} de {} emails enviados com sucesso!", delivered, messages.size());
+        return results;
+    }
+
 }
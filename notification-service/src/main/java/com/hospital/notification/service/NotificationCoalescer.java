@@ -0,0 +1,240 @@
+package com.hospital.notification.service;
+
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import com.hospital.shared.domain.events.DomainEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Agrupa as notificações de um mesmo paciente durante uma janela: reagendamentos em massa
+// (ex.: a agenda inteira de um médico mudou) viram um único email em vez de um por consulta.
+// Os eventos retidos ficam em um journal local até o envio do digest, então sobrevivem a uma queda
+@Component
+public class NotificationCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxEvents;
+    private final Clock clock;
+    private final DigestJournal journal;
+    private final Map<String, PendingDigest> pendingByRecipient = new LinkedHashMap<>();
+    // Eventos gravados no journal cujo digest ainda não foi concluído, inclusive os já retirados por drainDue
+    private final Map<String, DigestJournal.Entry> unsent = new LinkedHashMap<>();
+
+    @Autowired
+    public NotificationCoalescer(@Value("${hospital.notification.digest.enabled:false}") boolean enabled,
+                                 @Value("${hospital.notification.digest.window:30s}") Duration window,
+                                 @Value("${hospital.notification.digest.max-events:50}") int maxEvents,
+                                 @Value("${hospital.notification.digest.journal.file:${hospital.notification.data-dir:data}/notification-digests.log}") Path journalFile,
+                                 @Value("${hospital.notification.digest.journal.compaction-threshold:10000}") int compactionThreshold) {
+        this(enabled, window, maxEvents, new DigestJournal(journalFile, compactionThreshold), Clock.systemUTC());
+    }
+
+    NotificationCoalescer(boolean enabled, Duration window, int maxEvents, DigestJournal journal, Clock clock) {
+        if (maxEvents < 1) {
+            throw new IllegalArgumentException("Digest max events must be positive");
+        }
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.maxEvents = maxEvents;
+        this.clock = clock;
+        this.journal = journal;
+
+        if (enabled) {
+            restore();
+        }
+    }
+
+    // Eventos recebidos antes de uma queda voltam com o instante original, sem reiniciar a janela
+    private void restore() {
+        for (DigestJournal.Entry entry : journal.load()) {
+            buffer(entry.event(), entry.receivedAt());
+            unsent.put(entry.event().getEventId(), entry);
+        }
+        journal.compact(unsent.values());
+        logger.info("{} buffered digest events restored", unsent.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized int getPending() {
+        return pendingByRecipient.size();
+    }
+
+    // O evento é gravado no journal antes de retornar: o listener pode confirmar o offset em seguida
+    public synchronized void add(DomainEvent event) {
+        String eventId = event.getEventId();
+        // Reentrega de um evento que ainda não foi enviado
+        if (eventId != null && unsent.containsKey(eventId)) {
+            return;
+        }
+        long now = clock.millis();
+        if (eventId != null) {
+            unsent.put(eventId, journal.buffered(event, now));
+        }
+        buffer(event, now);
+    }
+
+    private void buffer(DomainEvent event, long receivedAt) {
+        String recipient = recipientOf(event);
+        PendingDigest digest = pendingByRecipient.computeIfAbsent(recipient,
+            key -> new PendingDigest(key, receivedAt));
+        // Reentrega de um evento que ainda está na janela
+        if (event.getEventId() != null && !digest.eventIds.add(event.getEventId())) {
+            return;
+        }
+        digest.patientName = patientNameOf(event);
+        Long consultationId = consultationIdOf(event);
+        DomainEvent merged = merge(digest.eventsByConsultation.get(consultationId), event);
+        if (merged == null) {
+            digest.eventsByConsultation.remove(consultationId);
+        } else {
+            digest.eventsByConsultation.put(consultationId, merged);
+        }
+    }
+
+    // Digests cuja janela terminou, ou que atingiram o limite de eventos
+    public synchronized List<Digest> drainDue() {
+        long now = clock.millis();
+        List<Digest> due = new ArrayList<>();
+        Iterator<PendingDigest> iterator = pendingByRecipient.values().iterator();
+        while (iterator.hasNext()) {
+            PendingDigest digest = iterator.next();
+            if (now - digest.firstEventAt >= windowMillis || digest.eventsByConsultation.size() >= maxEvents) {
+                iterator.remove();
+                due.add(digest.toDigest());
+            }
+        }
+        return due;
+    }
+
+    public synchronized List<Digest> drainAll() {
+        List<Digest> all = new ArrayList<>(pendingByRecipient.size());
+        pendingByRecipient.values().forEach(digest -> all.add(digest.toDigest()));
+        pendingByRecipient.clear();
+        return all;
+    }
+
+    // Chamado quando o digest foi enviado ou mandado ao DLT; até lá seus eventos voltam após um reinício
+    public synchronized void complete(Digest digest) {
+        if (digest.eventIds().isEmpty()) {
+            return;
+        }
+        journal.sent(digest.eventIds());
+        digest.eventIds().forEach(unsent::remove);
+        if (journal.needsCompaction(unsent.size())) {
+            journal.compact(unsent.values());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (enabled) {
+            journal.compact(unsent.values());
+            journal.close();
+        }
+    }
+
+    // Mantém apenas o estado final de cada consulta: reagendamentos sucessivos viram um só (da data
+    // original para a última), e uma consulta criada e cancelada na mesma janela não gera email
+    private static DomainEvent merge(DomainEvent previous, DomainEvent event) {
+        if (previous == null) {
+            return event;
+        }
+        if (event instanceof ConsultationRescheduledEvent rescheduled) {
+            if (previous instanceof ConsultationCreatedEvent created) {
+                ConsultationCreatedEvent merged = new ConsultationCreatedEvent(created.getConsultationId(),
+                    created.getPatientId(), created.getDoctorId(), rescheduled.getNewDateTime(),
+                    created.getPatientEmail(), created.getPatientName(), rescheduled.getDoctorName());
+                merged.setEventId(created.getEventId());
+                return merged;
+            }
+            if (previous instanceof ConsultationRescheduledEvent earlier) {
+                ConsultationRescheduledEvent merged = new ConsultationRescheduledEvent(earlier.getConsultationId(),
+                    earlier.getPatientId(), earlier.getOldDateTime(), rescheduled.getNewDateTime(),
+                    rescheduled.getPatientEmail(), rescheduled.getPatientName(), rescheduled.getDoctorName());
+                merged.setEventId(earlier.getEventId());
+                return merged;
+            }
+        }
+        if (event instanceof ConsultationCancelledEvent && previous instanceof ConsultationCreatedEvent) {
+            return null;
+        }
+        return event;
+    }
+
+    private static String recipientOf(DomainEvent event) {
+        if (event instanceof ConsultationCreatedEvent created) {
+            return created.getPatientEmail();
+        }
+        if (event instanceof ConsultationRescheduledEvent rescheduled) {
+            return rescheduled.getPatientEmail();
+        }
+        if (event instanceof ConsultationCancelledEvent cancelled) {
+            return cancelled.getPatientEmail();
+        }
+        throw new IllegalArgumentException("Event cannot be coalesced: " + event.getEventType());
+    }
+
+    private static String patientNameOf(DomainEvent event) {
+        if (event instanceof ConsultationCreatedEvent created) {
+            return created.getPatientName();
+        }
+        if (event instanceof ConsultationRescheduledEvent rescheduled) {
+            return rescheduled.getPatientName();
+        }
+        return ((ConsultationCancelledEvent) event).getPatientName();
+    }
+
+    private static Long consultationIdOf(DomainEvent event) {
+        if (event instanceof ConsultationCreatedEvent created) {
+            return created.getConsultationId();
+        }
+        if (event instanceof ConsultationRescheduledEvent rescheduled) {
+            return rescheduled.getConsultationId();
+        }
+        return ((ConsultationCancelledEvent) event).getConsultationId();
+    }
+
+    // eventIds inclui os eventos absorvidos, que também precisam ser marcados como processados
+    public record Digest(String recipient, String patientName, List<DomainEvent> events, List<String> eventIds) {
+    }
+
+    private static final class PendingDigest {
+
+        private final String recipient;
+        private final long firstEventAt;
+        private final Map<Long, DomainEvent> eventsByConsultation = new LinkedHashMap<>();
+        private final Set<String> eventIds = new LinkedHashSet<>();
+        private String patientName;
+
+        PendingDigest(String recipient, long firstEventAt) {
+            this.recipient = recipient;
+            this.firstEventAt = firstEventAt;
+        }
+
+        Digest toDigest() {
+            return new Digest(recipient, patientName, List.copyOf(eventsByConsultation.values()), new ArrayList<>(eventIds));
+        }
+    }
+}
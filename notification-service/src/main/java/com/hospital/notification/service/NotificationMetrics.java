@@ -0,0 +1,30 @@
+package com.hospital.notification.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public NotificationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordRetry(String topic) {
+        counter("hospital.notification.retries", topic).increment();
+    }
+
+    public void recordDeadLetter(String topic) {
+        counter("hospital.notification.dead-letters", topic).increment();
+    }
+
+    // O registry reaproveita o contador existente para o mesmo nome e tags
+    private Counter counter(String name, String topic) {
+        return Counter.builder(name)
+                .tag("topic", topic)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,166 @@
+package com.hospital.notification.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class ProcessedEventStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedEventStore.class);
+
+    private static final int MAGIC = 0x4E455644;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 24;
+    private static final int CAPACITY_OFFSET = 4;
+    private static final int WRITE_COUNT_OFFSET = 8;
+
+    private final int capacity;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<UUID, Integer> slotByEventId;
+    private long writeCount;
+
+    @Autowired
+    public ProcessedEventStore(@Value("${hospital.notification.dedupe.file:${hospital.notification.data-dir:data}/notification-processed-events.dat}") Path file,
+                               @Value("${hospital.notification.dedupe.capacity:100000}") int capacity,
+                               @Value("${hospital.notification.dedupe.ttl:7d}") Duration ttl) {
+        this(file, capacity, ttl, Clock.systemUTC());
+    }
+
+    ProcessedEventStore(Path file, int capacity, Duration ttl, Clock clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Dedupe capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.slotByEventId = new HashMap<>(capacity * 4 / 3 + 1);
+
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to open dedupe store " + file, e);
+        }
+
+        load(file);
+    }
+
+    // Arquivo em anel de registros fixos (UUID + instante de processamento); o mapa em memória indexa os slots válidos
+    private void load(Path file) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(CAPACITY_OFFSET) != capacity) {
+            logger.info("Initializing dedupe store {} with capacity {}", file, capacity);
+            for (int position = 0; position < buffer.capacity(); position += Long.BYTES) {
+                buffer.putLong(position, 0L);
+            }
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(CAPACITY_OFFSET, capacity);
+            buffer.putLong(WRITE_COUNT_OFFSET, 0L);
+            writeCount = 0;
+            return;
+        }
+
+        writeCount = buffer.getLong(WRITE_COUNT_OFFSET);
+        long now = clock.millis();
+        for (int slot = 0; slot < capacity; slot++) {
+            int position = positionOf(slot);
+            long processedAt = buffer.getLong(position + 16);
+            if (processedAt > 0 && !isExpired(processedAt, now)) {
+                slotByEventId.put(new UUID(buffer.getLong(position), buffer.getLong(position + 8)), slot);
+            }
+        }
+        logger.info("Dedupe store {} loaded with {} recent events", file, slotByEventId.size());
+    }
+
+    public synchronized boolean isDuplicate(String eventId) {
+        if (eventId == null) {
+            return false;
+        }
+        UUID key = toKey(eventId);
+        Integer slot = slotByEventId.get(key);
+        if (slot == null) {
+            return false;
+        }
+        if (isExpired(buffer.getLong(positionOf(slot) + 16), clock.millis())) {
+            slotByEventId.remove(key);
+            return false;
+        }
+        return true;
+    }
+
+    public synchronized void markProcessed(String eventId) {
+        if (eventId == null || isDuplicate(eventId)) {
+            return;
+        }
+
+        int slot = (int) (writeCount % capacity);
+        int position = positionOf(slot);
+
+        // O slot mais antigo do anel é sobrescrito; sua entrada no índice só é removida se ainda apontar para ele
+        if (buffer.getLong(position + 16) > 0) {
+            slotByEventId.remove(new UUID(buffer.getLong(position), buffer.getLong(position + 8)), slot);
+        }
+
+        UUID key = toKey(eventId);
+        buffer.putLong(position, key.getMostSignificantBits());
+        buffer.putLong(position + 8, key.getLeastSignificantBits());
+        buffer.putLong(position + 16, clock.millis());
+        slotByEventId.put(key, slot);
+
+        writeCount++;
+        buffer.putLong(WRITE_COUNT_OFFSET, writeCount);
+    }
+
+    public synchronized int size() {
+        return slotByEventId.size();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            logger.warn("Unable to close dedupe store: {}", e.getMessage());
+        }
+    }
+
+    private boolean isExpired(long processedAt, long now) {
+        return now - processedAt >= ttlMillis;
+    }
+
+    private static int positionOf(int slot) {
+        return HEADER_SIZE + slot * RECORD_SIZE;
+    }
+
+    private static UUID toKey(String eventId) {
+        try {
+            return UUID.fromString(eventId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(eventId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.hospital.notification.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Template já dividido em trechos literais e variáveis {{nome}}; renderizar é só concatenar no buffer
+final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean escapeHtml;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] variables, boolean escapeHtml) {
+        this.literals = literals;
+        this.variables = variables;
+        this.escapeHtml = escapeHtml;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    static CompiledTemplate compile(String source, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed template variable at position " + open);
+            }
+            String variable = source.substring(open + OPEN.length(), close).trim();
+            if (variable.isEmpty()) {
+                throw new IllegalArgumentException("Empty template variable at position " + open);
+            }
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new), escapeHtml);
+    }
+
+    int estimatedLength() {
+        return literalLength + variables.length * 16;
+    }
+
+    void renderTo(Map<String, ?> values, StringBuilder out) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String variable = variables[i];
+            if (!values.containsKey(variable)) {
+                throw new IllegalArgumentException("Missing template variable: " + variable);
+            }
+            String value = String.valueOf(values.get(variable));
+            if (escapeHtml) {
+                appendEscaped(value, out);
+            } else {
+                out.append(value);
+            }
+        }
+        out.append(literals[variables.length]);
+    }
+
+    private static void appendEscaped(String value, StringBuilder out) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.hospital.notification.template;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class NotificationTemplateEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationTemplateEngine.class);
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    // Buffer reaproveitado por thread: a renderização não aloca nada além da String final
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final Locale defaultLocale;
+    private final long reloadIntervalMillis;
+    private final Clock clock;
+    private final Map<String, LoadedTemplate> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public NotificationTemplateEngine(ResourceLoader resourceLoader,
+                                      @Value("${hospital.notification.templates.location:classpath:templates/notifications/}") String location,
+                                      @Value("${hospital.notification.templates.default-locale:}") String defaultLocale,
+                                      @Value("${hospital.notification.templates.reload-interval:0s}") Duration reloadInterval) {
+        this(resourceLoader, location, defaultLocale, reloadInterval, Clock.systemUTC());
+    }
+
+    NotificationTemplateEngine(ResourceLoader resourceLoader, String location, String defaultLocale,
+                               Duration reloadInterval, Clock clock) {
+        this.resourceLoader = resourceLoader;
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.defaultLocale = defaultLocale.isBlank() ? Locale.ROOT : Locale.forLanguageTag(defaultLocale.replace('_', '-'));
+        this.reloadIntervalMillis = reloadInterval.toMillis();
+        this.clock = clock;
+    }
+
+    public static Map<String, Object> variables(Object... namesAndValues) {
+        if (namesAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Template variables must be given as name/value pairs");
+        }
+        // HashMap aceita valores nulos, que são renderizados como "null" (mesmo comportamento do String.format)
+        Map<String, Object> variables = new HashMap<>(namesAndValues.length);
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            variables.put((String) namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return variables;
+    }
+
+    public RenderedNotification render(String name, Map<String, ?> variables) {
+        return render(name, defaultLocale, variables);
+    }
+
+    public RenderedNotification render(String name, Locale locale, Map<String, ?> variables) {
+        NotificationTemplate template = resolve(name, locale, false);
+        return new RenderedNotification(
+            render(template.subject(), variables),
+            render(template.text(), variables),
+            template.html() != null ? render(template.html(), variables) : null);
+    }
+
+    // Trecho de texto sem assunto nem HTML, montado dentro de outra notificação (ex.: cada linha de um digest)
+    public String renderFragment(String name, Map<String, ?> variables) {
+        return render(resolve(name, defaultLocale, true).text(), variables);
+    }
+
+    private static String render(CompiledTemplate template, Map<String, ?> variables) {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffer = new StringBuilder(1024);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        buffer.ensureCapacity(template.estimatedLength());
+        template.renderTo(variables, buffer);
+        return buffer.toString();
+    }
+
+    private NotificationTemplate resolve(String name, Locale locale, boolean fragment) {
+        String key = name + "|" + locale.toLanguageTag();
+        LoadedTemplate observed = cache.get(key);
+        if (observed != null && !isStale(observed)) {
+            return observed.template();
+        }
+        // Se outra thread já recarregou enquanto esperávamos, reaproveita a versão nova
+        return cache.compute(key, (ignored, existing) ->
+            existing != null && existing != observed ? existing : load(name, locale, fragment, existing)).template();
+    }
+
+    private boolean isStale(LoadedTemplate loaded) {
+        if (reloadIntervalMillis <= 0) {
+            return false;
+        }
+        long now = clock.millis();
+        if (now - loaded.checkedAt() < reloadIntervalMillis) {
+            return false;
+        }
+        loaded.touch(now);
+        return lastModified(loaded.sources()) != loaded.lastModified();
+    }
+
+    // Procura nome_idioma_PAÍS, depois nome_idioma e por fim o template sem sufixo de idioma.
+    // Um fragmento tem apenas o .txt, sem a quebra de linha final
+    private LoadedTemplate load(String name, Locale locale, boolean fragment, LoadedTemplate previous) {
+        for (String candidate : candidates(name, locale)) {
+            Resource subject = resourceLoader.getResource(location + candidate + ".subject");
+            Resource text = resourceLoader.getResource(location + candidate + ".txt");
+            if ((!fragment && !subject.exists()) || !text.exists()) {
+                continue;
+            }
+            Resource html = resourceLoader.getResource(location + candidate + ".html");
+            List<Resource> sources = new ArrayList<>(fragment ? List.of(text) : List.of(subject, text));
+            if (!fragment && html.exists()) {
+                sources.add(html);
+            }
+
+            try {
+                NotificationTemplate template = new NotificationTemplate(
+                    fragment ? null : CompiledTemplate.compile(read(subject).strip(), false),
+                    CompiledTemplate.compile(fragment ? read(text).strip() : read(text), false),
+                    !fragment && html.exists() ? CompiledTemplate.compile(read(html), true) : null);
+                if (previous != null) {
+                    logger.info("Notification template {} reloaded from {}", name, location + candidate);
+                }
+                return new LoadedTemplate(template, sources, lastModified(sources), clock.millis());
+            } catch (RuntimeException e) {
+                if (previous != null) {
+                    // Uma edição inválida não derruba o envio: mantém a última versão compilada
+                    logger.error("Invalid notification template {}, keeping previous version: {}", candidate, e.getMessage());
+                    return previous;
+                }
+                throw e;
+            }
+        }
+        throw new IllegalArgumentException("Notification template not found: " + location + name);
+    }
+
+    private static List<String> candidates(String name, Locale locale) {
+        List<String> candidates = new ArrayList<>(3);
+        if (!locale.getLanguage().isEmpty()) {
+            if (!locale.getCountry().isEmpty()) {
+                candidates.add(name + "_" + locale.getLanguage() + "_" + locale.getCountry());
+            }
+            candidates.add(name + "_" + locale.getLanguage());
+        }
+        candidates.add(name);
+        return candidates;
+    }
+
+    // Uma única quebra de linha no fim do arquivo é ignorada, para que editores não alterem o texto enviado
+    private static String read(Resource resource) {
+        try {
+            String content = resource.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+            return content.endsWith("\n") ? content.substring(0, content.length() - 1) : content;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read notification template " + resource, e);
+        }
+    }
+
+    private static long lastModified(List<Resource> sources) {
+        long lastModified = 0;
+        for (Resource source : sources) {
+            try {
+                lastModified = Math.max(lastModified, source.exists() ? source.lastModified() : -1);
+            } catch (IOException e) {
+                return -1;
+            }
+        }
+        return lastModified;
+    }
+
+    private record NotificationTemplate(CompiledTemplate subject, CompiledTemplate text, CompiledTemplate html) {
+    }
+
+    private static final class LoadedTemplate {
+
+        private final NotificationTemplate template;
+        private final List<Resource> sources;
+        private final long lastModified;
+        private volatile long checkedAt;
+
+        LoadedTemplate(NotificationTemplate template, List<Resource> sources, long lastModified, long checkedAt) {
+            this.template = template;
+            this.sources = sources;
+            this.lastModified = lastModified;
+            this.checkedAt = checkedAt;
+        }
+
+        NotificationTemplate template() {
+            return template;
+        }
+
+        List<Resource> sources() {
+            return sources;
+        }
+
+        long lastModified() {
+            return lastModified;
+        }
+
+        long checkedAt() {
+            return checkedAt;
+        }
+
+        void touch(long now) {
+            checkedAt = now;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.hospital.notification.template;
+
+public record RenderedNotification(String subject, String text, String html) {
+}
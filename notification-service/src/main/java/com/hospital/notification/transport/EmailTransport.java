@@ -0,0 +1,25 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public interface EmailTransport {
+
+    void send(EmailMessage message);
+
+    // Um resultado por mensagem, na mesma ordem; uma mensagem recusada não impede o envio das seguintes
+    default List<SendResult> sendAll(List<EmailMessage> messages) {
+        List<SendResult> results = new ArrayList<>(messages.size());
+        for (EmailMessage message : messages) {
+            try {
+                send(message);
+                results.add(SendResult.delivered(message));
+            } catch (RuntimeException e) {
+                results.add(SendResult.failed(message, e));
+            }
+        }
+        return results;
+    }
+}
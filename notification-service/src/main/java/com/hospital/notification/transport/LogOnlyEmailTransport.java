@@ -0,0 +1,16 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Transporte padrão enquanto o SMTP não está habilitado: o EmailService já registra o conteúdo no log
+public class LogOnlyEmailTransport implements EmailTransport {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogOnlyEmailTransport.class);
+
+    @Override
+    public void send(EmailMessage message) {
+        logger.debug("SMTP disabled, email to {} was only logged", message.to());
+    }
+}
@@ -0,0 +1,19 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+
+// Resultado de uma mensagem de um lote; failure é nulo quando o servidor aceitou a mensagem
+public record SendResult(EmailMessage message, RuntimeException failure) {
+
+    public static SendResult delivered(EmailMessage message) {
+        return new SendResult(message, null);
+    }
+
+    public static SendResult failed(EmailMessage message, RuntimeException failure) {
+        return new SendResult(message, failure);
+    }
+
+    public boolean isDelivered() {
+        return failure == null;
+    }
+}
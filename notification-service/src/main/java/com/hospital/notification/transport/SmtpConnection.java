@@ -0,0 +1,325 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+// Cliente SMTP mínimo (RFC 5321) sobre uma conexão de longa duração, com PIPELINING (RFC 2920) quando anunciado
+public class SmtpConnection implements Closeable {
+
+    private static final String CRLF = "\r\n";
+    private static final int MAX_LINE_LENGTH = 998;
+
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final OutputStream output;
+    private final Set<String> extensions = new HashSet<>();
+    private final long createdAt;
+    private long lastUsedAt;
+    private int messagesSent;
+    private boolean broken;
+
+    SmtpConnection(Socket socket, String heloName) throws IOException {
+        this.socket = socket;
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+        this.output = new BufferedOutputStream(socket.getOutputStream());
+        this.createdAt = System.nanoTime();
+        this.lastUsedAt = createdAt;
+
+        expect(readReply(), 220, "greeting");
+        writeCommand("EHLO " + heloName);
+        flush();
+        Reply ehlo = readReply();
+        if (ehlo.code() == 250) {
+            for (int i = 1; i < ehlo.lines().length; i++) {
+                extensions.add(ehlo.lines()[i].split(" ")[0].toUpperCase(Locale.ROOT));
+            }
+        } else {
+            writeCommand("HELO " + heloName);
+            flush();
+            expect(readReply(), 250, "HELO");
+        }
+    }
+
+    public static SmtpConnection open(String host, int port, Duration connectTimeout, Duration readTimeout, String heloName) {
+        Socket socket = new Socket();
+        try {
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            socket.connect(new InetSocketAddress(host, port), (int) connectTimeout.toMillis());
+            socket.setSoTimeout((int) readTimeout.toMillis());
+            return new SmtpConnection(socket, heloName);
+        } catch (IOException e) {
+            closeQuietly(socket);
+            throw new UncheckedIOException("Unable to connect to SMTP server " + host + ":" + port, e);
+        } catch (RuntimeException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    public boolean supportsPipelining() {
+        return extensions.contains("PIPELINING");
+    }
+
+    public void send(String from, EmailMessage message) {
+        if (broken) {
+            throw new IllegalStateException("SMTP connection is no longer usable");
+        }
+        requireAddress(from);
+        requireAddress(message.to());
+        try {
+            boolean eightBit = extensions.contains("8BITMIME") && fitsInLines(message.content())
+                    && (message.html() == null || fitsInLines(message.html()));
+            String mailFrom = "MAIL FROM:<" + from + ">" + (eightBit ? " BODY=8BITMIME" : "");
+            String rcptTo = "RCPT TO:<" + message.to() + ">";
+
+            Reply mailReply;
+            Reply rcptReply;
+            Reply dataReply;
+            if (supportsPipelining()) {
+                // Envelope inteiro em um único round trip; as respostas chegam na mesma ordem dos comandos
+                writeCommand(mailFrom);
+                writeCommand(rcptTo);
+                writeCommand("DATA");
+                flush();
+                mailReply = readReply();
+                rcptReply = readReply();
+                dataReply = readReply();
+            } else {
+                mailReply = command(mailFrom);
+                rcptReply = mailReply.isPositive() ? command(rcptTo) : null;
+                dataReply = rcptReply != null && rcptReply.isPositive() ? command("DATA") : null;
+            }
+
+            if (!mailReply.isPositive() || rcptReply == null || !rcptReply.isPositive()
+                    || dataReply == null || dataReply.code() != 354) {
+                Reply rejected = !mailReply.isPositive() ? mailReply
+                        : rcptReply == null || !rcptReply.isPositive() ? rcptReply : dataReply;
+                if (dataReply != null && dataReply.code() == 354) {
+                    // O servidor aceitou o DATA mesmo com o envelope recusado: encerra a mensagem vazia antes do RSET
+                    writeRaw("." + CRLF);
+                    flush();
+                    readReply();
+                }
+                reset();
+                throw new IllegalStateException("SMTP server rejected email to " + message.to() + ": " + rejected);
+            }
+
+            writeRaw(MimeWriter.write(from, message, eightBit));
+            writeRaw("." + CRLF);
+            flush();
+            expect(readReply(), 250, "message data");
+
+            messagesSent++;
+            lastUsedAt = System.nanoTime();
+        } catch (IOException e) {
+            broken = true;
+            throw new UncheckedIOException("SMTP connection failed while sending to " + message.to(), e);
+        }
+    }
+
+    public boolean isUsable() {
+        return !broken && !socket.isClosed();
+    }
+
+    public int getMessagesSent() {
+        return messagesSent;
+    }
+
+    public Duration getIdleTime() {
+        return Duration.ofNanos(System.nanoTime() - lastUsedAt);
+    }
+
+    public Duration getAge() {
+        return Duration.ofNanos(System.nanoTime() - createdAt);
+    }
+
+    @Override
+    public void close() {
+        if (!broken && !socket.isClosed()) {
+            try {
+                writeCommand("QUIT");
+                flush();
+                readReply();
+            } catch (IOException | RuntimeException ignored) {
+                // O servidor pode já ter encerrado a conexão
+            }
+        }
+        broken = true;
+        closeQuietly(socket);
+    }
+
+    private void reset() throws IOException {
+        Reply reply = command("RSET");
+        if (!reply.isPositive()) {
+            broken = true;
+        }
+    }
+
+    private Reply command(String command) throws IOException {
+        writeCommand(command);
+        flush();
+        return readReply();
+    }
+
+    private void writeCommand(String command) throws IOException {
+        writeRaw(command + CRLF);
+    }
+
+    private void writeRaw(String data) throws IOException {
+        output.write(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void flush() throws IOException {
+        output.flush();
+    }
+
+    private Reply readReply() throws IOException {
+        StringBuilder text = new StringBuilder();
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null || line.length() < 3) {
+                broken = true;
+                throw new IOException("SMTP server closed the connection");
+            }
+            if (!text.isEmpty()) {
+                text.append('\n');
+            }
+            text.append(line.length() > 4 ? line.substring(4) : "");
+        } while (line.length() > 3 && line.charAt(3) == '-');
+
+        try {
+            return new Reply(Integer.parseInt(line.substring(0, 3)), text.toString().split("\n"));
+        } catch (NumberFormatException e) {
+            broken = true;
+            throw new IOException("Malformed SMTP reply: " + line);
+        }
+    }
+
+    private void expect(Reply reply, int code, String step) throws IOException {
+        if (reply.code() != code) {
+            broken = true;
+            throw new IOException("Unexpected SMTP reply to " + step + ": " + reply);
+        }
+    }
+
+    private static void requireAddress(String address) {
+        if (address == null || address.isBlank() || address.chars().anyMatch(c -> c < 0x21 || c == '<' || c == '>')) {
+            throw new IllegalArgumentException("Invalid email address: " + address);
+        }
+    }
+
+    private static boolean fitsInLines(String content) {
+        for (String line : content.split("\n", -1)) {
+            if (line.length() > MAX_LINE_LENGTH) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Nada a fazer ao descartar a conexão
+        }
+    }
+
+    record Reply(int code, String[] lines) {
+
+        boolean isPositive() {
+            return code >= 200 && code < 400;
+        }
+
+        @Override
+        public String toString() {
+            return code + " " + String.join(" ", lines);
+        }
+    }
+
+    static final class MimeWriter {
+
+        private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME;
+
+        private MimeWriter() {
+        }
+
+        static String write(String from, EmailMessage message, boolean eightBit) {
+            StringBuilder mime = new StringBuilder(message.content().length() + 512);
+            mime.append("Date: ").append(DATE_FORMAT.format(ZonedDateTime.now())).append(CRLF);
+            mime.append("From: <").append(from).append('>').append(CRLF);
+            mime.append("To: <").append(message.to()).append('>').append(CRLF);
+            mime.append("Subject: ").append(encodeHeader(message.subject())).append(CRLF);
+            mime.append("Message-ID: <").append(UUID.randomUUID()).append('@').append(domainOf(from)).append('>').append(CRLF);
+            mime.append("MIME-Version: 1.0").append(CRLF);
+            if (message.html() == null) {
+                appendPart(mime, "text/plain", message.content(), eightBit);
+            } else {
+                // Clientes exibem a última alternativa que conseguem renderizar: texto primeiro, HTML por último
+                String boundary = "=_" + UUID.randomUUID();
+                mime.append("Content-Type: multipart/alternative; boundary=\"").append(boundary).append('"').append(CRLF);
+                mime.append(CRLF);
+                mime.append("--").append(boundary).append(CRLF);
+                appendPart(mime, "text/plain", message.content(), eightBit);
+                mime.append("--").append(boundary).append(CRLF);
+                appendPart(mime, "text/html", message.html(), eightBit);
+                mime.append("--").append(boundary).append("--").append(CRLF);
+            }
+            return mime.toString();
+        }
+
+        private static void appendPart(StringBuilder mime, String contentType, String content, boolean eightBit) {
+            mime.append("Content-Type: ").append(contentType).append("; charset=UTF-8").append(CRLF);
+            if (eightBit) {
+                mime.append("Content-Transfer-Encoding: 8bit").append(CRLF).append(CRLF);
+                for (String line : content.replace("\r\n", "\n").split("\n", -1)) {
+                    // Dot-stuffing: linhas iniciadas por '.' recebem um ponto extra (RFC 5321, 4.5.2)
+                    if (line.startsWith(".")) {
+                        mime.append('.');
+                    }
+                    mime.append(line).append(CRLF);
+                }
+            } else {
+                mime.append("Content-Transfer-Encoding: base64").append(CRLF).append(CRLF);
+                String encoded = Base64.getMimeEncoder(76, CRLF.getBytes(StandardCharsets.US_ASCII))
+                        .encodeToString(content.getBytes(StandardCharsets.UTF_8));
+                mime.append(encoded).append(CRLF);
+            }
+        }
+
+        static String encodeHeader(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x20 || c > 0x7E) {
+                    return "=?UTF-8?B?" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8)) + "?=";
+                }
+            }
+            return value;
+        }
+
+        private static String domainOf(String address) {
+            int at = address.indexOf('@');
+            return at >= 0 ? address.substring(at + 1) : "localhost";
+        }
+    }
+}
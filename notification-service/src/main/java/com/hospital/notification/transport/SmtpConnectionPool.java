@@ -0,0 +1,124 @@
+package com.hospital.notification.transport;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class SmtpConnectionPool implements Closeable {
+
+    private final Supplier<SmtpConnection> connectionFactory;
+    private final Semaphore permits;
+    private final Duration borrowTimeout;
+    private final Duration maxIdle;
+    private final int maxMessagesPerConnection;
+    private final Deque<SmtpConnection> idle = new ArrayDeque<>();
+    private int opened;
+    private boolean closed;
+
+    public SmtpConnectionPool(Supplier<SmtpConnection> connectionFactory, int maxConnections, Duration borrowTimeout,
+                              Duration maxIdle, int maxMessagesPerConnection) {
+        if (maxConnections < 1 || maxMessagesPerConnection < 1) {
+            throw new IllegalArgumentException("SMTP pool limits must be positive");
+        }
+        this.connectionFactory = connectionFactory;
+        this.permits = new Semaphore(maxConnections, true);
+        this.borrowTimeout = borrowTimeout;
+        this.maxIdle = maxIdle;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+    }
+
+    public SmtpConnection borrow() {
+        try {
+            if (!permits.tryAcquire(borrowTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            SmtpConnection connection = takeIdle();
+            if (connection != null) {
+                return connection;
+            }
+            connection = connectionFactory.get();
+            synchronized (this) {
+                opened++;
+            }
+            return connection;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(SmtpConnection connection) {
+        try {
+            synchronized (this) {
+                // LIFO: a conexão usada mais recentemente é a mais provável de ainda estar aberta no servidor
+                if (!closed && isReusable(connection)) {
+                    idle.push(connection);
+                    return;
+                }
+            }
+            discard(connection);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public synchronized int getOpenConnections() {
+        return opened;
+    }
+
+    public synchronized int getIdleConnections() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        Deque<SmtpConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(idle);
+            idle.clear();
+        }
+        toClose.forEach(this::discard);
+    }
+
+    private SmtpConnection takeIdle() {
+        while (true) {
+            SmtpConnection connection;
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("SMTP connection pool is closed");
+                }
+                connection = idle.poll();
+            }
+            if (connection == null) {
+                return null;
+            }
+            // Servidores encerram conexões ociosas; é mais barato reabrir do que descobrir o timeout no meio de um envio
+            if (connection.isUsable() && connection.getIdleTime().compareTo(maxIdle) < 0) {
+                return connection;
+            }
+            discard(connection);
+        }
+    }
+
+    private boolean isReusable(SmtpConnection connection) {
+        return connection.isUsable() && connection.getMessagesSent() < maxMessagesPerConnection;
+    }
+
+    private void discard(SmtpConnection connection) {
+        connection.close();
+        synchronized (this) {
+            opened--;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+import jakarta.annotation.PreDestroy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SmtpEmailTransport implements EmailTransport {
+
+    private final SmtpConnectionPool connectionPool;
+    private final String from;
+
+    public SmtpEmailTransport(SmtpConnectionPool connectionPool, String from) {
+        this.connectionPool = connectionPool;
+        this.from = from;
+    }
+
+    @Override
+    public void send(EmailMessage message) {
+        SmtpConnection connection = connectionPool.borrow();
+        try {
+            connection.send(from, message);
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+
+    // O lote inteiro usa uma única conexão do pool, evitando um handshake por mensagem. Um destinatário
+    // recusado (ex.: 550) só falha a própria mensagem: o RSET deixa a conexão pronta para a seguinte. Se a
+    // conexão cair, as mensagens restantes falham com o mesmo erro sem serem tentadas
+    @Override
+    public List<SendResult> sendAll(List<EmailMessage> messages) {
+        if (messages.isEmpty()) {
+            return List.of();
+        }
+        List<SendResult> results = new ArrayList<>(messages.size());
+        SmtpConnection connection = connectionPool.borrow();
+        try {
+            RuntimeException connectionFailure = null;
+            for (EmailMessage message : messages) {
+                if (connectionFailure != null) {
+                    results.add(SendResult.failed(message, connectionFailure));
+                    continue;
+                }
+                try {
+                    connection.send(from, message);
+                    results.add(SendResult.delivered(message));
+                } catch (RuntimeException e) {
+                    results.add(SendResult.failed(message, e));
+                    if (!connection.isUsable()) {
+                        connectionFailure = e;
+                    }
+                }
+            }
+        } finally {
+            connectionPool.release(connection);
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void close() {
+        connectionPool.close();
+    }
+}
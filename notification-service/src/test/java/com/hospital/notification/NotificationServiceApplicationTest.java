@@ -14,7 +14,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @EmbeddedKafka(partitions = 1, topics = "consultation-events")
 @TestPropertySource(properties = {
     "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
-    "spring.kafka.consumer.auto-offset-reset=earliest"
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "hospital.notification.data-dir=target/test-data"
 })
 @DirtiesContext
 @DisplayName("NotificationServiceApplication Tests")
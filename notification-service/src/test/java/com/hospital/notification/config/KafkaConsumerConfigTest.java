@@ -12,10 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.test.context.EmbeddedKafka;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Map;
 
@@ -26,7 +30,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestPropertySource(properties = {
     "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
     "spring.kafka.consumer.group-id=test-group",
-    "spring.kafka.consumer.auto-offset-reset=earliest"
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "hospital.notification.data-dir=target/test-data"
 })
 @DirtiesContext
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,9 @@ class KafkaConsumerConfigTest {
     @Autowired
     private ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory;
 
+    @Autowired
+    private ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory;
+
     @Nested
     @DisplayName("Consumer Factory Tests")
     class ConsumerFactoryTests {
@@ -85,8 +93,10 @@ class KafkaConsumerConfigTest {
         void shouldConfigureValueDeserializerCorrectly() {
             Map<String, Object> configs = consumerFactory.getConfigurationProperties();
             
-            assertEquals(JsonDeserializer.class, 
+            assertEquals(ErrorHandlingDeserializer.class, 
                 configs.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG));
+            assertEquals(JsonDeserializer.class,
+                configs.get(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS));
         }
 
         @Test
@@ -138,6 +148,44 @@ class KafkaConsumerConfigTest {
         @DisplayName("Should have default concurrency settings")
         void shouldHaveDefaultConcurrencySettings() {
             assertNotNull(kafkaListenerContainerFactory);
+            assertEquals(3, ReflectionTestUtils.getField(kafkaListenerContainerFactory, "concurrency"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Listener Container Factory Tests")
+    class BatchListenerContainerFactoryTests {
+
+        @Test
+        @DisplayName("Should configure batch listener with manual acknowledgment")
+        void shouldConfigureBatchListenerWithManualAcknowledgment() {
+            assertTrue(batchKafkaListenerContainerFactory.isBatchListener());
+            assertEquals(ContainerProperties.AckMode.MANUAL,
+                batchKafkaListenerContainerFactory.getContainerProperties().getAckMode());
+        }
+
+        @Test
+        @DisplayName("Should limit records per poll")
+        void shouldLimitRecordsPerPoll() {
+            Map<String, Object> configs = batchKafkaListenerContainerFactory.getConsumerFactory().getConfigurationProperties();
+
+            assertEquals(500, configs.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
+            assertEquals(consumerFactory.getConfigurationProperties().get(ConsumerConfig.GROUP_ID_CONFIG),
+                configs.get(ConsumerConfig.GROUP_ID_CONFIG));
+        }
+
+        @Test
+        @DisplayName("Should retry failed batches and publish exhausted records to the dead letter topic")
+        void shouldConfigureBatchErrorHandler() {
+            assertInstanceOf(DefaultErrorHandler.class,
+                ReflectionTestUtils.getField(batchKafkaListenerContainerFactory, "commonErrorHandler"));
+        }
+
+        @Test
+        @DisplayName("Should keep single record factory unchanged")
+        void shouldKeepSingleRecordFactoryUnchanged() {
+            assertNotEquals(Boolean.TRUE, kafkaListenerContainerFactory.isBatchListener());
+            assertFalse(consumerFactory.getConfigurationProperties().containsKey(ConsumerConfig.MAX_POLL_RECORDS_CONFIG));
         }
     }
 
@@ -235,7 +283,7 @@ class KafkaConsumerConfigTest {
             Class<?> valueDeserializer = (Class<?>) configs.get(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG);
             
             assertEquals(StringDeserializer.class, keyDeserializer);
-            assertEquals(JsonDeserializer.class, valueDeserializer);
+            assertEquals(ErrorHandlingDeserializer.class, valueDeserializer);
         }
     }
 }
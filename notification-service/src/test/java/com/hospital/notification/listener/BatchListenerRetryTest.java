@@ -0,0 +1,81 @@
+package com.hospital.notification.listener;
+
+import com.hospital.notification.config.KafkaConsumerConfig;
+import com.hospital.notification.service.EmailService;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+// Com o envio síncrono o listener em lote não usa os tópicos de retry: o lote é reprocessado no lugar e,
+// esgotadas as tentativas, o registro vai para o mesmo DLT do listener unitário
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"consultation-events", "consultation-events-dlt"})
+@TestPropertySource(properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "hospital.notification.data-dir=target/test-data-batch-retry",
+    "hospital.notification.batch.enabled=true",
+    "hospital.notification.async.enabled=false",
+    "hospital.notification.reminders.enabled=false",
+    "hospital.notification.retry.attempts=2",
+    "hospital.notification.retry.initial-delay=10",
+    "hospital.notification.retry.max-delay=10"
+})
+@DirtiesContext
+@DisplayName("Batch Listener Retry Tests")
+class BatchListenerRetryTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    private EmailService emailService;
+
+    @Test
+    @DisplayName("Should retry a failing batch in place and publish its records to the dead letter topic")
+    void shouldRetryInPlaceAndDeadLetter() throws Exception {
+        when(emailService.sendBatch(anyList())).thenThrow(new RuntimeException("SMTP relay unavailable"));
+        ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+            1L, 2L, 3L, LocalDateTime.of(2024, 12, 25, 10, 30), "patient@test.com", "Patient", "Dr. Smith");
+
+        kafkaTemplate.send(KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC, event.getPartitionKey(), event).get();
+
+        String deadLetterTopic = KafkaConsumerConfig.deadLetterTopic(KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC);
+        Map<String, Object> props = KafkaTestUtils.consumerProps("batch-retry-test", "false", embeddedKafka);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, deadLetterTopic);
+
+            ConsumerRecord<String, String> deadLetter =
+                KafkaTestUtils.getSingleRecord(consumer, deadLetterTopic, Duration.ofSeconds(30));
+
+            assertEquals(event.getPartitionKey(), deadLetter.key());
+            assertTrue(deadLetter.value().contains(event.getEventId()));
+        }
+        verify(emailService, times(2)).sendBatch(anyList());
+    }
+}
@@ -4,11 +4,24 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import com.hospital.notification.service.EmailDispatcher;
+import com.hospital.notification.service.EmailMessage;
 import com.hospital.notification.service.EmailService;
+import com.hospital.notification.service.NotificationCoalescer;
+import com.hospital.notification.service.NotificationMetrics;
+import com.hospital.notification.service.ProcessedEventStore;
+import com.hospital.notification.template.NotificationTemplateEngine;
+import com.hospital.notification.transport.SendResult;
 import com.hospital.shared.domain.events.ConsultationCancelledEvent;
 import com.hospital.shared.domain.events.ConsultationCreatedEvent;
 import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
 import com.hospital.shared.domain.events.DomainEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.RecordBatch;
+import org.apache.kafka.common.record.TimestampType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -17,12 +30,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.stubbing.Answer;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
-
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -33,9 +64,36 @@ class ConsultationEventListenerTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private ProcessedEventStore processedEventStore;
+
+    @Mock
+    private NotificationMetrics notificationMetrics;
+
+    @Mock
+    private EmailDispatcher emailDispatcher;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+
+    @Mock
+    private DeadLetterPublishingRecoverer deadLetterPublishingRecoverer;
+
+    @Spy
+    private NotificationTemplateEngine templateEngine = new NotificationTemplateEngine(
+        new DefaultResourceLoader(), "classpath:templates/notifications/", "", Duration.ZERO);
+
+    @Mock
+    private Consumer<String, Object> consumer;
+
     @InjectMocks
     private ConsultationEventListener listener;
 
+    private long nextOffset;
+
     private ListAppender<ILoggingEvent> listAppender;
     private Logger logger;
 
@@ -62,17 +120,15 @@ class ConsultationEventListenerTest {
 
             listener.handleConsultationEvent(event, "consultation-events", 0, 100L);
 
-            ArgumentCaptor<String> toCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<String> subjectCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
 
-            verify(emailService).sendEmail(toCaptor.capture(), subjectCaptor.capture(), contentCaptor.capture());
+            verify(emailService).send(messageCaptor.capture());
 
-            assertEquals("patient@test.com", toCaptor.getValue());
-            assertEquals("Consultation Scheduled - Hospital", subjectCaptor.getValue());
-            assertTrue(contentCaptor.getValue().contains("John Doe"));
-            assertTrue(contentCaptor.getValue().contains("Dr. Smith"));
-            assertTrue(contentCaptor.getValue().contains("2024-12-25T10:30"));
+            assertEquals("patient@test.com", messageCaptor.getValue().to());
+            assertEquals("Consultation Scheduled - Hospital", messageCaptor.getValue().subject());
+            assertTrue(messageCaptor.getValue().content().contains("John Doe"));
+            assertTrue(messageCaptor.getValue().content().contains("Dr. Smith"));
+            assertTrue(messageCaptor.getValue().content().contains("2024-12-25T10:30"));
 
             var logsList = listAppender.list;
             assertTrue(logsList.stream().anyMatch(log -> 
@@ -92,10 +148,10 @@ class ConsultationEventListenerTest {
 
             listener.handleConsultationEvent(event, "consultation-events", 0, 100L);
 
-            ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
-            verify(emailService).sendEmail(anyString(), anyString(), contentCaptor.capture());
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
+            verify(emailService).send(messageCaptor.capture());
 
-            String content = contentCaptor.getValue();
+            String content = messageCaptor.getValue().content();
             assertTrue(content.contains("Hello Jane Smith!"));
             assertTrue(content.contains("Date: 2024-12-25T14:45"));
             assertTrue(content.contains("Doctor: Dr. Johnson"));
@@ -120,16 +176,14 @@ class ConsultationEventListenerTest {
 
             listener.handleConsultationEvent(event, "consultation-events", 0, 101L);
 
-            ArgumentCaptor<String> toCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<String> subjectCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
 
-            verify(emailService).sendEmail(toCaptor.capture(), subjectCaptor.capture(), contentCaptor.capture());
+            verify(emailService).send(messageCaptor.capture());
 
-            assertEquals("patient@test.com", toCaptor.getValue());
-            assertEquals("Consultation Rescheduled - Hospital", subjectCaptor.getValue());
+            assertEquals("patient@test.com", messageCaptor.getValue().to());
+            assertEquals("Consultation Rescheduled - Hospital", messageCaptor.getValue().subject());
             
-            String content = contentCaptor.getValue();
+            String content = messageCaptor.getValue().content();
             assertTrue(content.contains("John Doe"));
             assertTrue(content.contains("Dr. Smith"));
             assertTrue(content.contains("Previous date: 2024-12-25T10:30"));
@@ -151,16 +205,14 @@ class ConsultationEventListenerTest {
 
             listener.handleConsultationEvent(event, "consultation-events", 0, 102L);
 
-            ArgumentCaptor<String> toCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<String> subjectCaptor = ArgumentCaptor.forClass(String.class);
-            ArgumentCaptor<String> contentCaptor = ArgumentCaptor.forClass(String.class);
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
 
-            verify(emailService).sendEmail(toCaptor.capture(), subjectCaptor.capture(), contentCaptor.capture());
+            verify(emailService).send(messageCaptor.capture());
 
-            assertEquals("patient@test.com", toCaptor.getValue());
-            assertEquals("Consultation Cancelled - Hospital", subjectCaptor.getValue());
+            assertEquals("patient@test.com", messageCaptor.getValue().to());
+            assertEquals("Consultation Cancelled - Hospital", messageCaptor.getValue().subject());
             
-            String content = contentCaptor.getValue();
+            String content = messageCaptor.getValue().content();
             assertTrue(content.contains("John Doe"));
             assertTrue(content.contains("Reason: Doctor unavailable"));
             assertTrue(content.contains("(11) 1234-5678"));
@@ -179,7 +231,7 @@ class ConsultationEventListenerTest {
 
             listener.handleConsultationEvent(unknownEvent, "consultation-events", 0, 103L);
 
-            verify(emailService, never()).sendEmail(anyString(), anyString(), anyString());
+            verify(emailService, never()).send(any());
             
             var logsList = listAppender.list;
             assertTrue(logsList.stream().anyMatch(log -> 
@@ -198,7 +250,7 @@ class ConsultationEventListenerTest {
             );
             
             doThrow(new RuntimeException("Email service error"))
-                .when(emailService).sendEmail(anyString(), anyString(), anyString());
+                .when(emailService).send(any());
 
             assertThrows(RuntimeException.class, () -> 
                 listener.handleConsultationEvent(event, "consultation-events", 0, 104L)
@@ -278,6 +330,640 @@ class ConsultationEventListenerTest {
         }
     }
 
+    // Entrega o lote como o container faria, com offsets consecutivos na partição 0
+    private void receiveBatch(List<DomainEvent> events, Acknowledgment acknowledgment) {
+        receiveBatch(events, acknowledgment, nextOffset);
+    }
+
+    private void receiveBatch(List<DomainEvent> events, Acknowledgment acknowledgment, long firstOffset) {
+        List<ConsumerRecord<String, DomainEvent>> records = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            DomainEvent event = events.get(i);
+            records.add(new ConsumerRecord<>("consultation-events", 0, firstOffset + i,
+                event != null ? event.getPartitionKey() : null, event));
+        }
+        nextOffset = firstOffset + events.size();
+        listener.handleConsultationEventBatch(records, acknowledgment, consumer);
+    }
+
+    private static Answer<List<SendResult>> deliverAll() {
+        return invocation -> invocation.<List<EmailMessage>>getArgument(0).stream().map(SendResult::delivered).toList();
+    }
+
+    // Registro como o ErrorHandlingDeserializer entrega um payload que não desserializou
+    private ConsumerRecord<String, DomainEvent> undeserializableRecord(long offset) {
+        RecordHeaders headers = new RecordHeaders();
+        SerializationUtils.deserializationException(headers, "not json".getBytes(StandardCharsets.UTF_8),
+            new IllegalStateException("Unexpected character"), false);
+        return new ConsumerRecord<>("consultation-events", 0, offset, RecordBatch.NO_TIMESTAMP,
+            TimestampType.NO_TIMESTAMP_TYPE, -1, -1, "patient-1", null, headers, Optional.empty());
+    }
+
+    @Nested
+    @DisplayName("Batch Listener Tests")
+    class BatchListenerTests {
+
+        @Mock
+        private Acknowledgment acknowledgment;
+
+        @Test
+        @DisplayName("Should send events of different consultations in a single bulk send")
+        void shouldSendEventsOfDifferentConsultationsInSingleBulkSend() {
+            LocalDateTime scheduledDateTime = LocalDateTime.of(2024, 12, 25, 10, 30);
+            List<DomainEvent> events = List.of(
+                new ConsultationCreatedEvent(1L, 2L, 3L, scheduledDateTime, "first@test.com", "First", "Dr. Smith"),
+                new ConsultationCancelledEvent(2L, 4L, "Doctor unavailable", "second@test.com", "Second"),
+                new ConsultationCreatedEvent(3L, 5L, 3L, scheduledDateTime, "third@test.com", "Third", "Dr. Smith"));
+            List<List<EmailMessage>> batches = recordBatches();
+
+            receiveBatch(events, acknowledgment);
+
+            assertEquals(1, batches.size());
+            assertEquals(List.of("first@test.com", "second@test.com", "third@test.com"),
+                batches.get(0).stream().map(EmailMessage::to).toList());
+            assertEquals("Consultation Scheduled - Hospital", batches.get(0).get(0).subject());
+            assertTrue(batches.get(0).get(0).content().startsWith("Hello First!"));
+            assertEquals("Consultation Cancelled - Hospital", batches.get(0).get(1).subject());
+            verify(emailService, never()).send(any());
+            verify(acknowledgment, times(1)).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should keep the order of updates to the same consultation")
+        void shouldKeepOrderOfUpdatesToSameConsultation() {
+            LocalDateTime scheduledDateTime = LocalDateTime.of(2024, 12, 25, 10, 30);
+            List<DomainEvent> events = List.of(
+                new ConsultationCreatedEvent(1L, 2L, 3L, scheduledDateTime, "first@test.com", "First", "Dr. Smith"),
+                new ConsultationCreatedEvent(2L, 4L, 3L, scheduledDateTime, "second@test.com", "Second", "Dr. Smith"),
+                new ConsultationCancelledEvent(1L, 2L, "Patient request", "first@test.com", "First"));
+            List<List<EmailMessage>> batches = recordBatches();
+
+            receiveBatch(events, acknowledgment);
+
+            assertEquals(2, batches.size());
+            assertEquals(List.of("Consultation Scheduled - Hospital", "Consultation Scheduled - Hospital"),
+                batches.get(0).stream().map(EmailMessage::subject).toList());
+            assertEquals(List.of("Consultation Cancelled - Hospital"),
+                batches.get(1).stream().map(EmailMessage::subject).toList());
+        }
+
+        @Test
+        @DisplayName("Should mark delivered rounds as processed when a later round fails")
+        void shouldMarkDeliveredRoundsWhenLaterRoundFails() {
+            ConsultationCreatedEvent created = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+            ConsultationCancelledEvent cancelled = new ConsultationCancelledEvent(
+                1L, 2L, "Patient request", "patient@test.com", "John Doe");
+            when(emailService.sendBatch(anyList()))
+                .thenAnswer(deliverAll())
+                .thenThrow(new RuntimeException("Email service error"));
+
+            assertThrows(RuntimeException.class,
+                () -> receiveBatch(List.of(created, cancelled), acknowledgment));
+
+            verify(processedEventStore).markProcessed(created.getEventId());
+            verify(processedEventStore, never()).markProcessed(cancelled.getEventId());
+            verify(acknowledgment, never()).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should mark accepted emails and rewind the batch to the rejected one")
+        void shouldMarkAcceptedEmailsAndRewindToRejectedOne() {
+            LocalDateTime scheduledDateTime = LocalDateTime.of(2024, 12, 25, 10, 30);
+            ConsultationCreatedEvent accepted = new ConsultationCreatedEvent(
+                1L, 2L, 3L, scheduledDateTime, "first@test.com", "First", "Dr. Smith");
+            ConsultationCreatedEvent rejected = new ConsultationCreatedEvent(
+                2L, 4L, 3L, scheduledDateTime, "unknown@test.com", "Second", "Dr. Smith");
+            ConsultationCancelledEvent withheld = new ConsultationCancelledEvent(
+                2L, 4L, "Patient request", "unknown@test.com", "Second");
+            when(emailService.sendBatch(anyList())).thenAnswer(invocation -> {
+                List<EmailMessage> messages = invocation.getArgument(0);
+                return messages.stream()
+                    .map(message -> message.to().equals("unknown@test.com")
+                        ? SendResult.failed(message, new IllegalStateException("550 Mailbox unavailable"))
+                        : SendResult.delivered(message))
+                    .toList();
+            });
+
+            BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> receiveBatch(List.of(accepted, rejected, withheld), acknowledgment, 0));
+
+            assertSame(rejected, exception.getRecord().value());
+            assertEquals(1, exception.getRecord().offset());
+            // A atualização seguinte do mesmo paciente fica para a reentrega, depois da recusada
+            verify(emailService, times(1)).sendBatch(anyList());
+            verify(processedEventStore).markProcessed(accepted.getEventId());
+            verify(processedEventStore, never()).markProcessed(rejected.getEventId());
+            verify(processedEventStore, never()).markProcessed(withheld.getEventId());
+            verify(acknowledgment, never()).acknowledge();
+        }
+
+        private List<List<EmailMessage>> recordBatches() {
+            List<List<EmailMessage>> batches = new ArrayList<>();
+            when(emailService.sendBatch(anyList())).thenAnswer(invocation -> {
+                List<EmailMessage> messages = invocation.getArgument(0);
+                batches.add(messages);
+                return messages.stream().map(SendResult::delivered).toList();
+            });
+            return batches;
+        }
+
+        @Test
+        @DisplayName("Should produce the same email text as the single record listener")
+        @SuppressWarnings("unchecked")
+        void shouldProduceTheSameEmailTextAsTheSingleRecordListener() {
+            ConsultationRescheduledEvent event = new ConsultationRescheduledEvent(
+                1L, 2L, LocalDateTime.of(2024, 12, 20, 10, 0), LocalDateTime.of(2024, 12, 25, 14, 45),
+                "patient@test.com", "Jane Smith", "Dr. Brown");
+            ArgumentCaptor<List<EmailMessage>> batchCaptor = ArgumentCaptor.forClass(List.class);
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
+
+            listener.handleConsultationEvent(event, "consultation-events", 0, 100L);
+            receiveBatch(List.of(event), acknowledgment);
+
+            verify(emailService).send(messageCaptor.capture());
+            assertEquals("patient@test.com", messageCaptor.getValue().to());
+            assertEquals("Consultation Rescheduled - Hospital", messageCaptor.getValue().subject());
+            verify(emailService).sendBatch(batchCaptor.capture());
+            assertEquals(messageCaptor.getValue().content(), batchCaptor.getValue().get(0).content());
+        }
+
+        @Test
+        @DisplayName("Should skip unknown and null events and still acknowledge")
+        void shouldSkipUnknownAndNullEventsAndStillAcknowledge() {
+            List<DomainEvent> events = Arrays.asList(new TestDomainEvent("UNKNOWN_EVENT"), null);
+
+            receiveBatch(events, acknowledgment);
+
+            verify(emailService, never()).sendBatch(anyList());
+            verify(acknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should send an undeserializable record to the dead letter topic and deliver the rest")
+        void shouldDeadLetterUndeserializableRecordAndDeliverTheRest() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+            ConsumerRecord<String, DomainEvent> poison = undeserializableRecord(0);
+            when(emailService.sendBatch(anyList())).thenAnswer(deliverAll());
+
+            listener.handleConsultationEventBatch(List.of(poison,
+                new ConsumerRecord<>("consultation-events", 0, 1, event.getPartitionKey(), event)),
+                acknowledgment, consumer);
+
+            verify(deadLetterPublishingRecoverer).accept(eq(poison), any(DeserializationException.class));
+            verify(notificationMetrics).recordDeadLetter("consultation-events-dlt");
+            verify(emailService).sendBatch(anyList());
+            verify(acknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should not acknowledge when bulk send fails")
+        void shouldNotAcknowledgeWhenBulkSendFails() {
+            List<DomainEvent> events = List.of(new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith"));
+            when(emailService.sendBatch(anyList())).thenThrow(new RuntimeException("Email service error"));
+
+            assertThrows(RuntimeException.class, () -> receiveBatch(events, acknowledgment));
+
+            verify(acknowledgment, never()).acknowledge();
+        }
+    }
+
+    @Nested
+    @DisplayName("Duplicate Event Tests")
+    class DuplicateEventTests {
+
+        @Mock
+        private Acknowledgment acknowledgment;
+
+        @Test
+        @DisplayName("Should skip an event that was already processed")
+        void shouldSkipAlreadyProcessedEvent() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+            when(processedEventStore.isDuplicate(event.getEventId())).thenReturn(true);
+
+            listener.handleConsultationEvent(event, "consultation-events", 0, 100L);
+
+            verify(emailService, never()).send(any());
+            verify(processedEventStore, never()).markProcessed(anyString());
+            assertTrue(listAppender.list.stream().anyMatch(log ->
+                log.getMessage().equals("Duplicate event skipped: {}") &&
+                log.getArgumentArray()[0].equals(event.getEventId())
+            ));
+        }
+
+        @Test
+        @DisplayName("Should mark the event as processed only after the email is sent")
+        void shouldMarkProcessedAfterSending() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+
+            listener.handleConsultationEvent(event, "consultation-events", 0, 100L);
+
+            var inOrder = inOrder(emailService, processedEventStore);
+            inOrder.verify(emailService).send(argThat(message -> message.to().equals("patient@test.com")));
+            inOrder.verify(processedEventStore).markProcessed(event.getEventId());
+        }
+
+        @Test
+        @DisplayName("Should not mark the event as processed when sending fails")
+        void shouldNotMarkProcessedWhenSendingFails() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+            doThrow(new RuntimeException("Email service error"))
+                .when(emailService).send(any());
+
+            assertThrows(RuntimeException.class, () ->
+                listener.handleConsultationEvent(event, "consultation-events", 0, 100L));
+
+            verify(processedEventStore, never()).markProcessed(anyString());
+        }
+
+        @Test
+        @DisplayName("Should drop processed and repeated events from a batch")
+        @SuppressWarnings("unchecked")
+        void shouldDropProcessedAndRepeatedEventsFromBatch() {
+            LocalDateTime scheduledDateTime = LocalDateTime.of(2024, 12, 25, 10, 30);
+            ConsultationCreatedEvent alreadyProcessed = new ConsultationCreatedEvent(
+                1L, 2L, 3L, scheduledDateTime, "first@test.com", "First", "Dr. Smith");
+            ConsultationCreatedEvent fresh = new ConsultationCreatedEvent(
+                2L, 4L, 3L, scheduledDateTime, "second@test.com", "Second", "Dr. Smith");
+            when(processedEventStore.isDuplicate(anyString()))
+                .thenAnswer(invocation -> alreadyProcessed.getEventId().equals(invocation.getArgument(0)));
+            ArgumentCaptor<List<EmailMessage>> batchCaptor = ArgumentCaptor.forClass(List.class);
+
+            receiveBatch(List.of(alreadyProcessed, fresh, fresh), acknowledgment);
+
+            verify(emailService).sendBatch(batchCaptor.capture());
+            assertEquals(List.of("second@test.com"), batchCaptor.getValue().stream().map(EmailMessage::to).toList());
+            verify(processedEventStore).markProcessed(fresh.getEventId());
+            verify(processedEventStore, never()).markProcessed(alreadyProcessed.getEventId());
+            verify(acknowledgment).acknowledge();
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry And Dead Letter Tests")
+    class RetryAndDeadLetterTests {
+
+        @Test
+        @DisplayName("Should count deliveries coming from a retry topic")
+        void shouldCountDeliveriesFromRetryTopic() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+
+            listener.handleConsultationEvent(event, "consultation-events-retry-1", 0, 10L);
+
+            verify(notificationMetrics).recordRetry("consultation-events-retry-1");
+            verify(emailService).send(argThat(message -> message.to().equals("patient@test.com")));
+        }
+
+        @Test
+        @DisplayName("Should not count deliveries from the main topic as retries")
+        void shouldNotCountMainTopicDeliveriesAsRetries() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+
+            listener.handleConsultationEvent(event, "consultation-events", 0, 10L);
+
+            verify(notificationMetrics, never()).recordRetry(anyString());
+        }
+
+        @Test
+        @DisplayName("Should count and log events that reach the dead letter topic")
+        void shouldCountAndLogDeadLetters() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                1L, 2L, 3L, LocalDateTime.now(), "patient@test.com", "John Doe", "Dr. Smith");
+
+            listener.handleDeadLetter(event, "consultation-events-dlt",
+                "SMTP relay unavailable".getBytes(StandardCharsets.UTF_8));
+
+            verify(notificationMetrics).recordDeadLetter("consultation-events-dlt");
+            verify(emailService, never()).send(any());
+            assertTrue(listAppender.list.stream().anyMatch(log ->
+                log.getLevel() == Level.ERROR &&
+                log.getMessage().equals("EVENT SENT TO DEAD LETTER TOPIC {}: {} ({}) - {}") &&
+                log.getArgumentArray()[3].equals("SMTP relay unavailable")
+            ));
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Dispatch Tests")
+    class AsyncDispatchTests {
+
+        @Mock
+        private Acknowledgment acknowledgment;
+
+        private final ConsultationCreatedEvent first = new ConsultationCreatedEvent(
+            1L, 2L, 3L, LocalDateTime.of(2024, 12, 25, 10, 30), "first@test.com", "First", "Dr. Smith");
+        private final ConsultationCancelledEvent second = new ConsultationCancelledEvent(
+            2L, 4L, "Doctor unavailable", "second@test.com", "Second");
+
+        @BeforeEach
+        void enableAsyncDispatch() {
+            when(emailDispatcher.isEnabled()).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("Should acknowledge the batch only after every email is delivered")
+        void shouldAcknowledgeOnlyAfterDelivery() {
+            CompletableFuture<Void> firstDelivery = new CompletableFuture<>();
+            CompletableFuture<Void> secondDelivery = new CompletableFuture<>();
+            when(emailDispatcher.dispatch(any(EmailMessage.class))).thenReturn(firstDelivery, secondDelivery);
+
+            receiveBatch(List.of(first, second), acknowledgment);
+
+            verify(acknowledgment, never()).acknowledge();
+            firstDelivery.complete(null);
+            verify(acknowledgment, never()).acknowledge();
+            secondDelivery.complete(null);
+
+            verify(acknowledgment).acknowledge();
+            verify(processedEventStore).markProcessed(first.getEventId());
+            verify(processedEventStore).markProcessed(second.getEventId());
+            verify(emailService, never()).sendBatch(anyList());
+        }
+
+        @Test
+        @DisplayName("Should keep acknowledgments in batch order")
+        void shouldKeepAcknowledgmentsInBatchOrder() {
+            Acknowledgment secondAcknowledgment = mock(Acknowledgment.class);
+            CompletableFuture<Void> firstDelivery = new CompletableFuture<>();
+            when(emailDispatcher.dispatch(any(EmailMessage.class)))
+                .thenReturn(firstDelivery, CompletableFuture.completedFuture(null));
+
+            receiveBatch(List.of(first), acknowledgment);
+            receiveBatch(List.of(second), secondAcknowledgment);
+
+            verify(secondAcknowledgment, never()).acknowledge();
+            firstDelivery.complete(null);
+
+            var inOrder = inOrder(acknowledgment, secondAcknowledgment);
+            inOrder.verify(acknowledgment).acknowledge();
+            inOrder.verify(secondAcknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should send undeliverable events to the dead letter topic before acknowledging")
+        void shouldDeadLetterUndeliverableEvents() {
+            when(emailDispatcher.dispatch(any(EmailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP relay unavailable")));
+            when(kafkaTemplate.send("consultation-events-dlt", "2", first))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+            receiveBatch(List.of(first), acknowledgment);
+
+            verify(notificationMetrics).recordDeadLetter("consultation-events-dlt");
+            verify(processedEventStore, never()).markProcessed(anyString());
+            verify(acknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should leave the batch unacknowledged when the dead letter topic is unreachable")
+        void shouldNotAcknowledgeWhenDeadLetterFails() {
+            when(emailDispatcher.dispatch(any(EmailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP relay unavailable")));
+            when(kafkaTemplate.send("consultation-events-dlt", "2", first))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+            receiveBatch(List.of(first), acknowledgment);
+
+            verify(acknowledgment, never()).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should rewind and acknowledge again after the dead letter topic fails")
+        void shouldRewindAndAcknowledgeAgainAfterDeadLetterFails() {
+            Acknowledgment secondAcknowledgment = mock(Acknowledgment.class);
+            Acknowledgment redeliveryAcknowledgment = mock(Acknowledgment.class);
+            when(emailDispatcher.dispatch(any(EmailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP relay unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+            when(kafkaTemplate.send("consultation-events-dlt", "2", first))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+            receiveBatch(List.of(first), acknowledgment, 10);
+            receiveBatch(List.of(second), secondAcknowledgment, 11);
+
+            // O lote seguinte é descartado e a partição volta ao primeiro offset não confirmado
+            verify(consumer).seek(new TopicPartition("consultation-events", 0), 10L);
+            verify(emailDispatcher, times(1)).dispatch(any(EmailMessage.class));
+            verify(secondAcknowledgment, never()).acknowledge();
+
+            receiveBatch(List.of(first, second), redeliveryAcknowledgment, 10);
+
+            verify(redeliveryAcknowledgment).acknowledge();
+            verify(processedEventStore).markProcessed(first.getEventId());
+            verify(processedEventStore).markProcessed(second.getEventId());
+            verify(acknowledgment, never()).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should send updates of the same patient one after the other")
+        void shouldSendUpdatesOfSamePatientInOrder() {
+            ConsultationCancelledEvent cancelled = new ConsultationCancelledEvent(
+                1L, 2L, "Doctor unavailable", "first@test.com", "First");
+            CompletableFuture<Void> firstDelivery = new CompletableFuture<>();
+            when(emailDispatcher.dispatch(any(EmailMessage.class)))
+                .thenReturn(firstDelivery, CompletableFuture.completedFuture(null));
+
+            receiveBatch(List.of(first), acknowledgment);
+            receiveBatch(List.of(cancelled), mock(Acknowledgment.class));
+
+            verify(emailDispatcher, times(1)).dispatch(any(EmailMessage.class));
+            firstDelivery.complete(null);
+
+            ArgumentCaptor<EmailMessage> sent = ArgumentCaptor.forClass(EmailMessage.class);
+            verify(emailDispatcher, times(2)).dispatch(sent.capture());
+            assertTrue(sent.getAllValues().get(1).subject().contains("Cancel"));
+        }
+
+        @Test
+        @DisplayName("Should stop sending a patient's updates after an undeliverable one")
+        void shouldStopPatientUpdatesAfterUndeliverableOne() {
+            ConsultationCancelledEvent cancelled = new ConsultationCancelledEvent(
+                1L, 2L, "Doctor unavailable", "first@test.com", "First");
+            when(emailDispatcher.dispatch(any(EmailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP relay unavailable")));
+            when(kafkaTemplate.send("consultation-events-dlt", "2", first))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+            receiveBatch(List.of(first, cancelled), acknowledgment);
+
+            verify(emailDispatcher, times(1)).dispatch(any(EmailMessage.class));
+            verify(acknowledgment, never()).acknowledge();
+        }
+    }
+
+    @Nested
+    @DisplayName("Digest Tests")
+    class DigestTests {
+
+        @Mock
+        private Acknowledgment acknowledgment;
+
+        private final ConsultationRescheduledEvent first = new ConsultationRescheduledEvent(
+            1L, 2L, LocalDateTime.of(2024, 12, 25, 10, 0), LocalDateTime.of(2024, 12, 26, 10, 0),
+            "patient@test.com", "John Doe", "Dr. Smith");
+        private final ConsultationRescheduledEvent second = new ConsultationRescheduledEvent(
+            5L, 2L, LocalDateTime.of(2024, 12, 25, 11, 0), LocalDateTime.of(2024, 12, 26, 11, 0),
+            "patient@test.com", "John Doe", "Dr. Smith");
+
+        @BeforeEach
+        void enableDigest() {
+            when(notificationCoalescer.isEnabled()).thenReturn(true);
+        }
+
+        @Test
+        @DisplayName("Should buffer events instead of sending them immediately")
+        void shouldBufferEvents() {
+            listener.handleConsultationEvent(first, "consultation-events", 0, 100L);
+
+            verify(notificationCoalescer).add(first);
+            verify(emailService, never()).send(any());
+            verify(processedEventStore, never()).markProcessed(anyString());
+        }
+
+        @Test
+        @DisplayName("Should buffer batch events and still acknowledge the batch")
+        void shouldBufferBatchEvents() {
+            receiveBatch(List.of(first, second), acknowledgment);
+
+            verify(notificationCoalescer).add(first);
+            verify(notificationCoalescer).add(second);
+            verify(emailService, never()).sendBatch(anyList());
+            verify(processedEventStore, never()).markProcessed(anyString());
+            verify(acknowledgment).acknowledge();
+        }
+
+        @Test
+        @DisplayName("Should send a single digest for several updates through the dispatcher")
+        void shouldSendSingleDigest() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(first, second), List.of(first.getEventId(), second.getEventId()));
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(digest));
+            when(emailDispatcher.dispatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            listener.flushDigests();
+
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
+            verify(emailDispatcher).dispatch(messageCaptor.capture());
+            assertEquals("patient@test.com", messageCaptor.getValue().to());
+            assertEquals("Consultation Updates - Hospital", messageCaptor.getValue().subject());
+            assertTrue(messageCaptor.getValue().content().contains("There were 2 updates"));
+            assertTrue(messageCaptor.getValue().content().contains(
+                "- Rescheduled: 2024-12-25T10:00 -> 2024-12-26T10:00 with Dr. Smith\n"
+                    + "- Rescheduled: 2024-12-25T11:00 -> 2024-12-26T11:00 with Dr. Smith"));
+            verify(emailService, never()).send(any());
+            verify(processedEventStore).markProcessed(first.getEventId());
+            verify(processedEventStore).markProcessed(second.getEventId());
+            verify(notificationCoalescer).complete(digest);
+        }
+
+        @Test
+        @DisplayName("Should render each digest line from its template")
+        void shouldRenderDigestLinesFromTemplates() {
+            ConsultationCreatedEvent created = new ConsultationCreatedEvent(
+                7L, 2L, 3L, LocalDateTime.of(2024, 12, 27, 9, 0), "patient@test.com", "John Doe", "Dr. Brown");
+            ConsultationCancelledEvent cancelled = new ConsultationCancelledEvent(
+                8L, 2L, "Doctor unavailable", "patient@test.com", "John Doe");
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(created, cancelled),
+                List.of(created.getEventId(), cancelled.getEventId()))));
+            when(emailDispatcher.dispatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            listener.flushDigests();
+
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
+            verify(emailDispatcher).dispatch(messageCaptor.capture());
+            assertTrue(messageCaptor.getValue().content().contains(
+                "- Scheduled: 2024-12-27T09:00 with Dr. Brown\n- Cancelled: consultation 8 (Doctor unavailable)"));
+            verify(templateEngine).renderFragment(eq("consultation-digest-created"), anyMap());
+            verify(templateEngine).renderFragment(eq("consultation-digest-cancelled"), anyMap());
+        }
+
+        @Test
+        @DisplayName("Should not wait for the delivery on the scheduler thread")
+        void shouldNotWaitForDeliveryOnSchedulerThread() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(first, second), List.of(first.getEventId(), second.getEventId()));
+            CompletableFuture<Void> delivery = new CompletableFuture<>();
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(digest));
+            when(emailDispatcher.dispatch(any())).thenReturn(delivery);
+
+            listener.flushDigests();
+
+            verify(notificationCoalescer, never()).complete(any());
+            delivery.complete(null);
+            verify(notificationCoalescer).complete(digest);
+        }
+
+        @Test
+        @DisplayName("Should send the regular email when only one update remains")
+        void shouldSendRegularEmailForSingleUpdate() {
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(first), List.of(first.getEventId(), "superseded-event"))));
+            when(emailDispatcher.dispatch(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+            listener.flushDigests();
+
+            ArgumentCaptor<EmailMessage> messageCaptor = ArgumentCaptor.forClass(EmailMessage.class);
+            verify(emailDispatcher).dispatch(messageCaptor.capture());
+            assertEquals("Consultation Rescheduled - Hospital", messageCaptor.getValue().subject());
+            verify(processedEventStore).markProcessed("superseded-event");
+        }
+
+        @Test
+        @DisplayName("Should not send anything when every update cancelled out")
+        void shouldNotSendEmptyDigest() {
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(), List.of("created-event", "cancelled-event"))));
+
+            listener.flushDigests();
+
+            verifyNoInteractions(emailDispatcher);
+            verify(processedEventStore).markProcessed("created-event");
+            verify(processedEventStore).markProcessed("cancelled-event");
+        }
+
+        @Test
+        @DisplayName("Should send digest events to the dead letter topic once the dispatcher gives up")
+        void shouldDeadLetterFailedDigest() {
+            NotificationCoalescer.Digest digest = new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(first, second), List.of(first.getEventId(), second.getEventId()));
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(digest));
+            when(emailDispatcher.dispatch(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP relay unavailable")));
+            when(kafkaTemplate.send(eq("consultation-events-dlt"), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+            listener.flushDigests();
+
+            verify(kafkaTemplate).send("consultation-events-dlt", "2", first);
+            verify(kafkaTemplate).send("consultation-events-dlt", "2", second);
+            verify(processedEventStore, never()).markProcessed(anyString());
+            verify(notificationCoalescer).complete(digest);
+        }
+
+        @Test
+        @DisplayName("Should keep the digest in the journal when the dead letter topic is unreachable")
+        void shouldKeepDigestWhenDeadLetterFails() {
+            when(notificationCoalescer.drainDue()).thenReturn(List.of(new NotificationCoalescer.Digest(
+                "patient@test.com", "John Doe", List.of(first), List.of(first.getEventId()))));
+            when(emailDispatcher.dispatch(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("SMTP relay unavailable")));
+            when(kafkaTemplate.send("consultation-events-dlt", "2", first))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+            listener.flushDigests();
+
+            verify(notificationCoalescer, never()).complete(any());
+        }
+    }
+
     private static class TestDomainEvent extends DomainEvent {
         public TestDomainEvent(String eventType) {
             super(eventType);
@@ -0,0 +1,88 @@
+package com.hospital.notification.listener;
+
+import com.hospital.notification.config.KafkaConsumerConfig;
+import com.hospital.notification.service.EmailMessage;
+import com.hospital.notification.service.EmailService;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+// Um payload que não desserializa vai para o DLT com os bytes originais, e o evento seguinte da partição
+// continua sendo entregue
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"consultation-events", "consultation-events-dlt"})
+@TestPropertySource(properties = {
+    "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+    "spring.kafka.consumer.auto-offset-reset=earliest",
+    "hospital.notification.data-dir=target/test-data-undeserializable",
+    "hospital.notification.reminders.enabled=false"
+})
+@DirtiesContext
+@DisplayName("Undeserializable Event Tests")
+class UndeserializableEventTest {
+
+    private static final String MALFORMED_PAYLOAD = "{not json";
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @MockBean
+    private EmailService emailService;
+
+    @Test
+    @DisplayName("Should publish a malformed payload to the dead letter topic without stalling the partition")
+    void shouldDeadLetterMalformedPayload() throws Exception {
+        ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+            1L, 2L, 3L, LocalDateTime.of(2024, 12, 25, 10, 30), "patient@test.com", "Patient", "Dr. Smith");
+        try (Producer<String, String> producer = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(embeddedKafka), new StringSerializer(), new StringSerializer())
+                .createProducer()) {
+            producer.send(new ProducerRecord<>(KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC, "patient-9",
+                MALFORMED_PAYLOAD)).get();
+        }
+        kafkaTemplate.send(KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC, event.getPartitionKey(), event).get();
+
+        String deadLetterTopic = KafkaConsumerConfig.deadLetterTopic(KafkaConsumerConfig.CONSULTATION_EVENTS_TOPIC);
+        Map<String, Object> props = KafkaTestUtils.consumerProps("undeserializable-test", "false", embeddedKafka);
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            embeddedKafka.consumeFromAnEmbeddedTopic(consumer, deadLetterTopic);
+
+            ConsumerRecord<String, String> deadLetter =
+                KafkaTestUtils.getSingleRecord(consumer, deadLetterTopic, Duration.ofSeconds(30));
+
+            assertEquals("patient-9", deadLetter.key());
+            assertEquals(MALFORMED_PAYLOAD, deadLetter.value());
+        }
+        verify(emailService, timeout(30_000))
+            .send(argThat((EmailMessage message) -> "patient@test.com".equals(message.to())));
+    }
+}
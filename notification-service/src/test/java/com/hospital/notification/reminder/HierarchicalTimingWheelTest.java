@@ -0,0 +1,114 @@
+package com.hospital.notification.reminder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("HierarchicalTimingWheel Tests")
+class HierarchicalTimingWheelTest {
+
+    @Test
+    @DisplayName("Should never expire values before their expiration time")
+    void shouldExpireValuesWhenTickIsReached() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        wheel.schedule("a", 30);
+        wheel.schedule("b", 55);
+
+        assertEquals(List.of(), wheel.advanceTo(29));
+        assertEquals(List.of("a"), wheel.advanceTo(39));
+        assertEquals(List.of(), wheel.advanceTo(55));
+        assertEquals(List.of("b"), wheel.advanceTo(60));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should cascade values scheduled beyond the first level")
+    void shouldCascadeValuesFromHigherLevels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        // Níveis de 40, 160 e 640 ms
+        wheel.schedule("far", 1000);
+        wheel.schedule("middle", 150);
+
+        assertEquals(List.of(), wheel.advanceTo(140));
+        assertEquals(List.of("middle"), wheel.advanceTo(150));
+        assertEquals(List.of(), wheel.advanceTo(990));
+        assertEquals(List.of("far"), wheel.advanceTo(1000));
+    }
+
+    @Test
+    @DisplayName("Should cancel a pending value")
+    void shouldCancelPendingValue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", 500);
+        wheel.schedule("b", 500);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advanceTo(500));
+    }
+
+    @Test
+    @DisplayName("Should not cancel a value that already expired")
+    void shouldNotCancelExpiredValue() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+        HierarchicalTimingWheel.Timeout<String> timeout = wheel.schedule("a", 20);
+
+        wheel.advanceTo(20);
+
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should return overdue values on the next advance")
+    void shouldReturnOverdueValues() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 1000);
+        wheel.schedule("late", 500);
+
+        assertEquals(List.of("late"), wheel.advanceTo(1000));
+    }
+
+    @Test
+    @DisplayName("Should skip idle time when nothing is pending")
+    void shouldSkipIdleTime() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, 0);
+
+        wheel.advanceTo(Long.MAX_VALUE / 2);
+
+        assertEquals(Long.MAX_VALUE / 2 - Math.floorMod(Long.MAX_VALUE / 2, 10), wheel.currentTime());
+    }
+
+    @Test
+    @DisplayName("Should expire every value on the first tick at or after its expiration")
+    void shouldExpireEveryValueAtItsTick() {
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(10, 4, 0);
+        Random random = new Random(42);
+        List<HierarchicalTimingWheel.Timeout<Long>> cancelled = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long expiration = random.nextInt(50_000);
+            HierarchicalTimingWheel.Timeout<Long> timeout = wheel.schedule(expiration, expiration);
+            if (i % 5 == 0) {
+                timeout.cancel();
+                cancelled.add(timeout);
+            }
+        }
+
+        int expired = 0;
+        for (long now = 0; now <= 50_000; now += 10) {
+            for (long expiration : wheel.advanceTo(now)) {
+                assertEquals(now, expiration + Math.floorMod(-expiration, 10));
+                expired++;
+            }
+        }
+
+        assertEquals(2000 - cancelled.size(), expired);
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,73 @@
+package com.hospital.notification.reminder;
+
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReminderEventListener Tests")
+class ReminderEventListenerTest {
+
+    @Mock
+    private ReminderScheduler reminderScheduler;
+
+    @InjectMocks
+    private ReminderEventListener listener;
+
+    @Test
+    @DisplayName("Should schedule reminders for a created consultation")
+    void shouldScheduleRemindersForCreatedConsultation() {
+        ConsultationCreatedEvent event = new ConsultationCreatedEvent(1L, 10L, 20L,
+            LocalDateTime.of(2024, 12, 27, 10, 0), "patient@email.com", "John Doe", "Dr. Smith");
+
+        listener.handleConsultationEvent(event);
+
+        verify(reminderScheduler).onConsultationCreated(event);
+    }
+
+    @Test
+    @DisplayName("Should reschedule reminders for a rescheduled consultation")
+    void shouldRescheduleReminders() {
+        ConsultationRescheduledEvent event = new ConsultationRescheduledEvent(1L, 10L,
+            LocalDateTime.of(2024, 12, 27, 10, 0), LocalDateTime.of(2024, 12, 28, 10, 0),
+            "patient@email.com", "John Doe", "Dr. Smith");
+
+        listener.handleConsultationEvent(event);
+
+        verify(reminderScheduler).onConsultationRescheduled(event);
+    }
+
+    @Test
+    @DisplayName("Should cancel reminders for a cancelled consultation")
+    void shouldCancelReminders() {
+        ConsultationCancelledEvent event = new ConsultationCancelledEvent(1L, 10L, "Patient request",
+            "patient@email.com", "John Doe");
+
+        listener.handleConsultationEvent(event);
+
+        verify(reminderScheduler).onConsultationCancelled(event);
+    }
+
+    @Test
+    @DisplayName("Should ignore unknown and null events")
+    void shouldIgnoreUnknownEvents() {
+        DomainEvent unknownEvent = new DomainEvent("UNKNOWN_EVENT") {
+        };
+
+        listener.handleConsultationEvent(unknownEvent);
+        listener.handleConsultationEvent(null);
+
+        verifyNoInteractions(reminderScheduler);
+    }
+}
@@ -0,0 +1,340 @@
+package com.hospital.notification.reminder;
+
+import com.hospital.notification.service.EmailMessage;
+import com.hospital.notification.service.EmailService;
+import com.hospital.notification.template.NotificationTemplateEngine;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReminderScheduler Tests")
+class ReminderSchedulerTest {
+
+    private static final LocalDateTime CONSULTATION_TIME = LocalDateTime.of(2024, 12, 27, 10, 0);
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private EmailService emailService;
+
+    @Captor
+    private ArgumentCaptor<EmailMessage> messageCaptor;
+
+    private final NotificationTemplateEngine templateEngine = new NotificationTemplateEngine(
+        new DefaultResourceLoader(), "classpath:templates/notifications/", "", Duration.ZERO);
+
+    private MutableClock clock;
+    private ReminderScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-12-25T10:00:00Z"));
+        scheduler = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Nested
+    @DisplayName("Scheduling Tests")
+    class SchedulingTests {
+
+        @Test
+        @DisplayName("Should schedule reminders 24 hours and 1 hour before the consultation")
+        void shouldScheduleBothReminders() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+
+            assertEquals(2, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should skip reminders whose lead time has already passed")
+        void shouldSkipRemindersAlreadyPast() {
+            scheduler.onConsultationCreated(createdEvent(1L, LocalDateTime.of(2024, 12, 25, 12, 0)));
+
+            assertEquals(1, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should replace reminders when the same consultation is scheduled again")
+        void shouldReplaceRemindersOnRedelivery() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+
+            assertEquals(2, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should cancel all reminders of a cancelled consultation")
+        void shouldCancelReminders() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.onConsultationCreated(createdEvent(2L, CONSULTATION_TIME));
+
+            scheduler.onConsultationCancelled(new ConsultationCancelledEvent(1L, 10L, "Patient request",
+                "patient@email.com", "John Doe"));
+            clock.advance(Duration.ofDays(1));
+            scheduler.sendDueReminders();
+
+            verify(emailService, times(1)).send(any());
+            assertEquals(1, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should move reminders to the new date when a consultation is rescheduled")
+        void shouldMoveRemindersOnReschedule() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            LocalDateTime newDateTime = CONSULTATION_TIME.plusDays(3);
+
+            scheduler.onConsultationRescheduled(new ConsultationRescheduledEvent(1L, 10L, CONSULTATION_TIME,
+                newDateTime, "patient@email.com", "John Doe", "Dr. Smith"));
+            clock.advance(Duration.ofDays(2));
+            scheduler.sendDueReminders();
+
+            verifyNoInteractions(emailService);
+            assertEquals(2, scheduler.getPending());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sending Tests")
+    class SendingTests {
+
+        @Test
+        @DisplayName("Should send the reminder rendered from the template when it is due")
+        void shouldSendReminderWhenDue() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+
+            clock.advance(Duration.ofHours(24).minusSeconds(1));
+            scheduler.sendDueReminders();
+            verifyNoInteractions(emailService);
+
+            clock.advance(Duration.ofSeconds(1));
+            scheduler.sendDueReminders();
+
+            verify(emailService).send(messageCaptor.capture());
+            EmailMessage message = messageCaptor.getValue();
+            assertEquals("patient@email.com", message.to());
+            assertEquals("Consultation Reminder - Hospital", message.subject());
+            assertTrue(message.content().contains("Hello John Doe!"));
+            assertTrue(message.content().contains("Date: " + CONSULTATION_TIME));
+            assertTrue(message.content().contains("Doctor: Dr. Smith"));
+            assertNotNull(message.html());
+            assertEquals(1, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should retry a failed reminder after the retry delay")
+        void shouldRetryFailedReminder() {
+            doThrow(new RuntimeException("SMTP unavailable")).doNothing().when(emailService).send(any());
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            clock.advance(Duration.ofHours(24));
+
+            scheduler.sendDueReminders();
+            assertEquals(2, scheduler.getPending());
+
+            clock.advance(Duration.ofMinutes(1));
+            scheduler.sendDueReminders();
+
+            verify(emailService, times(2)).send(any());
+            assertEquals(1, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should only retry the reminders that failed in a round")
+        void shouldOnlyRetryFailedReminders() {
+            doNothing().doThrow(new RuntimeException("SMTP unavailable")).doNothing().when(emailService).send(any());
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.onConsultationCreated(createdEvent(2L, CONSULTATION_TIME));
+            clock.advance(Duration.ofHours(24));
+
+            scheduler.sendDueReminders();
+            assertEquals(3, scheduler.getPending());
+
+            clock.advance(Duration.ofMinutes(1));
+            scheduler.sendDueReminders();
+
+            verify(emailService, times(3)).send(any());
+            assertEquals(2, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should journal each delivered reminder so a restart only resends the failed ones")
+        void shouldJournalEachDeliveredReminder() {
+            doNothing().doThrow(new RuntimeException("SMTP unavailable")).when(emailService).send(any());
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.onConsultationCreated(createdEvent(2L, CONSULTATION_TIME));
+            clock.advance(Duration.ofHours(24));
+            scheduler.sendDueReminders();
+
+            ReminderScheduler restarted = open();
+            clearInvocations(emailService);
+            doNothing().when(emailService).send(any());
+            clock.advance(Duration.ofMinutes(1));
+            restarted.sendDueReminders();
+
+            verify(emailService, times(1)).send(any());
+            restarted.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Persistence Tests")
+    class PersistenceTests {
+
+        @Test
+        @DisplayName("Should restore pending reminders after a restart")
+        void shouldRestorePendingRemindersAfterRestart() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.close();
+
+            scheduler = open();
+
+            assertEquals(2, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should restore pending reminders after a crash without shutdown")
+        void shouldRestorePendingRemindersAfterCrash() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.onConsultationCreated(createdEvent(2L, CONSULTATION_TIME));
+            scheduler.onConsultationCancelled(new ConsultationCancelledEvent(2L, 10L, "Patient request",
+                "patient@email.com", "John Doe"));
+
+            ReminderScheduler restarted = open();
+
+            assertEquals(2, restarted.getPending());
+            restarted.close();
+        }
+
+        @Test
+        @DisplayName("Should not send a reminder twice across restarts")
+        void shouldNotDuplicateSentReminders() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            clock.advance(Duration.ofHours(24));
+            scheduler.sendDueReminders();
+            scheduler.close();
+
+            scheduler = open();
+            scheduler.sendDueReminders();
+
+            verify(emailService, times(1)).send(any());
+            assertEquals(1, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should send reminders that became due while the service was down")
+        void shouldSendRemindersMissedDuringDowntime() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.close();
+            clock.advance(Duration.ofHours(30));
+
+            scheduler = open();
+            scheduler.sendDueReminders();
+
+            verify(emailService, times(1)).send(any());
+            assertEquals(1, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should drop reminders of consultations that already happened")
+        void shouldDropRemindersOfPastConsultations() {
+            scheduler.onConsultationCreated(createdEvent(1L, CONSULTATION_TIME));
+            scheduler.close();
+            clock.advance(Duration.ofDays(3));
+
+            scheduler = open();
+
+            assertEquals(0, scheduler.getPending());
+        }
+
+        @Test
+        @DisplayName("Should compact the journal to the pending reminders")
+        void shouldCompactJournal() throws IOException {
+            for (long id = 1; id <= 20; id++) {
+                scheduler.onConsultationCreated(createdEvent(id, CONSULTATION_TIME));
+                scheduler.onConsultationCancelled(new ConsultationCancelledEvent(id, 10L, "Patient request",
+                    "patient@email.com", "John Doe"));
+            }
+            scheduler.onConsultationCreated(createdEvent(99L, CONSULTATION_TIME));
+
+            scheduler.close();
+
+            assertEquals(2, Files.readAllLines(journalFile()).size());
+            scheduler = open();
+            assertEquals(2, scheduler.getPending());
+        }
+    }
+
+    private ReminderScheduler open() {
+        return new ReminderScheduler(emailService, templateEngine, List.of(Duration.ofHours(24), Duration.ofHours(1)),
+            Duration.ofSeconds(1), Duration.ofMinutes(1), ZoneOffset.UTC, new ReminderJournal(journalFile(), 10), clock);
+    }
+
+    private Path journalFile() {
+        return tempDir.resolve("reminders.log");
+    }
+
+    private static ConsultationCreatedEvent createdEvent(Long consultationId, LocalDateTime scheduledDateTime) {
+        return new ConsultationCreatedEvent(consultationId, 10L, 20L, scheduledDateTime,
+            "patient@email.com", "John Doe", "Dr. Smith");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
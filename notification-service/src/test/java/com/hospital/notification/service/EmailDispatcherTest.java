@@ -0,0 +1,182 @@
+package com.hospital.notification.service;
+
+import com.hospital.notification.config.KafkaConsumerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailDispatcher Tests")
+class EmailDispatcherTest {
+
+    private static final EmailMessage MESSAGE = new EmailMessage("patient@test.com", "Subject", "Content");
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    private NotificationMetrics notificationMetrics;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Should deliver the email off the caller thread and record its latency")
+    void shouldDeliverAndRecordLatency() {
+        dispatcher = dispatcher(4, 100);
+
+        dispatcher.dispatch(MESSAGE).join();
+
+        verify(emailService).send(MESSAGE);
+        assertEquals(1, meterRegistry.get("hospital.notification.email.send").tag("outcome", "success").timer().count());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed send before completing")
+    void shouldRetryFailedSend() {
+        dispatcher = dispatcher(4, 100);
+        doThrow(new RuntimeException("SMTP relay unavailable"))
+            .doNothing()
+            .when(emailService).send(any());
+
+        dispatcher.dispatch(MESSAGE).join();
+
+        verify(emailService, times(2)).send(any());
+        verify(notificationMetrics).recordRetry("email-dispatch");
+        assertEquals(1, meterRegistry.get("hospital.notification.email.send").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should complete exceptionally once every attempt fails")
+    void shouldFailAfterExhaustingAttempts() {
+        dispatcher = dispatcher(4, 100);
+        doThrow(new RuntimeException("SMTP relay unavailable"))
+            .when(emailService).send(any());
+
+        CompletableFuture<Void> delivery = dispatcher.dispatch(MESSAGE);
+
+        CompletionException exception = assertThrows(CompletionException.class, delivery::join);
+        assertEquals("SMTP relay unavailable", exception.getCause().getMessage());
+        verify(emailService, times(3)).send(any());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    @DisplayName("Should never run more sends at once than the concurrency limit")
+    void shouldLimitConcurrentSends() {
+        dispatcher = dispatcher(2, 100);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return null;
+        }).when(emailService).send(any());
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            deliveries.add(dispatcher.dispatch(MESSAGE));
+        }
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+
+        assertTrue(maxInFlight.get() <= 2);
+        verify(emailService, times(10)).send(any());
+    }
+
+    @Test
+    @DisplayName("Should pause the consultation event listeners when the queue is full and resume them once it drains")
+    void shouldPauseAndResumeListeners() throws InterruptedException {
+        dispatcher = dispatcher(2, 2);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(listenerRegistry.getListenerContainer(KafkaConsumerConfig.BATCH_LISTENER_ID)).thenReturn(container);
+        CountDownLatch relayAvailable = new CountDownLatch(1);
+        doAnswer(invocation -> relayAvailable.await(5, TimeUnit.SECONDS))
+            .when(emailService).send(any());
+
+        CompletableFuture<Void> first = dispatcher.dispatch(MESSAGE);
+        CompletableFuture<Void> second = dispatcher.dispatch(MESSAGE);
+
+        verify(container).pause();
+        verify(container, never()).resume();
+
+        relayAvailable.countDown();
+        CompletableFuture.allOf(first, second).join();
+
+        verify(container).resume();
+        verify(listenerRegistry, atLeastOnce()).getListenerContainer(KafkaConsumerConfig.SINGLE_LISTENER_ID);
+        verify(listenerRegistry, never()).getListenerContainers();
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    @DisplayName("Should not block the caller when the queue is already full")
+    void shouldNotBlockWhenQueueIsFull() {
+        dispatcher = dispatcher(1, 1);
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(listenerRegistry.getListenerContainer(KafkaConsumerConfig.BATCH_LISTENER_ID)).thenReturn(container);
+        CountDownLatch relayAvailable = new CountDownLatch(1);
+        doAnswer(invocation -> relayAvailable.await(5, TimeUnit.SECONDS))
+            .when(emailService).send(any());
+
+        List<CompletableFuture<Void>> deliveries = assertTimeoutPreemptively(Duration.ofSeconds(1),
+            () -> List.of(dispatcher.dispatch(MESSAGE), dispatcher.dispatch(MESSAGE), dispatcher.dispatch(MESSAGE)));
+
+        assertEquals(3, dispatcher.getPending());
+        verify(container, atLeastOnce()).pause();
+
+        relayAvailable.countDown();
+        CompletableFuture.allOf(deliveries.toArray(CompletableFuture[]::new)).join();
+
+        verify(emailService, times(3)).send(any());
+        assertEquals(0, dispatcher.getPending());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid limits")
+    void shouldRejectInvalidLimits() {
+        dispatcher = dispatcher(1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> dispatcher(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> dispatcher(10, 0));
+    }
+
+    private EmailDispatcher dispatcher(int concurrency, int queueCapacity) {
+        return new EmailDispatcher(emailService, listenerRegistry, meterRegistry, notificationMetrics,
+            new FixedBackOff(0, 2), true, concurrency, queueCapacity);
+    }
+}
@@ -4,23 +4,30 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import com.hospital.notification.transport.EmailTransport;
+import com.hospital.notification.transport.SendResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 @DisplayName("EmailService Tests")
 class EmailServiceTest {
 
     private EmailService emailService;
+    private EmailTransport emailTransport;
     private ListAppender<ILoggingEvent> listAppender;
     private Logger logger;
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailService();
+        emailTransport = mock(EmailTransport.class);
+        emailService = new EmailService(emailTransport);
         
         logger = (Logger) LoggerFactory.getLogger(EmailService.class);
         listAppender = new ListAppender<>();
@@ -126,4 +133,80 @@ class EmailServiceTest {
         var logsList = listAppender.list;
         assertEquals(15, logsList.size());
     }
+
+    @Test
+    @DisplayName("Should send batch with a single summary log")
+    void shouldSendBatchWithASingleSummaryLog() {
+        List<EmailMessage> messages = List.of(
+            new EmailMessage("patient1@test.com", "Subject 1", "Content 1"),
+            new EmailMessage("patient2@test.com", "Subject 2", "Content 2"),
+            new EmailMessage("patient3@test.com", "Subject 3", "Content 3"));
+        when(emailTransport.sendAll(messages)).thenReturn(messages.stream().map(SendResult::delivered).toList());
+
+        List<SendResult> results = emailService.sendBatch(messages);
+
+        assertTrue(results.stream().allMatch(SendResult::isDelivered));
+        var infoLogs = listAppender.list.stream().filter(log -> log.getLevel() == Level.INFO).toList();
+        assertEquals(2, infoLogs.size());
+        assertEquals("📧 ENVIANDO LOTE DE {} EMAILS", infoLogs.get(0).getMessage());
+        assertEquals(3, infoLogs.get(0).getArgumentArray()[0]);
+    }
+
+    @Test
+    @DisplayName("Should ignore empty batch")
+    void shouldIgnoreEmptyBatch() {
+        assertTrue(emailService.sendBatch(List.of()).isEmpty());
+        assertTrue(listAppender.list.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return the rejected email of a batch and log it")
+    void shouldReturnRejectedEmailOfBatch() {
+        EmailMessage delivered = new EmailMessage("patient1@test.com", "Subject 1", "Content 1");
+        EmailMessage rejected = new EmailMessage("unknown@test.com", "Subject 2", "Content 2");
+        when(emailTransport.sendAll(List.of(delivered, rejected))).thenReturn(List.of(
+            SendResult.delivered(delivered),
+            SendResult.failed(rejected, new IllegalStateException("SMTP server rejected email"))));
+
+        List<SendResult> results = emailService.sendBatch(List.of(delivered, rejected));
+
+        assertTrue(results.get(0).isDelivered());
+        assertFalse(results.get(1).isDelivered());
+        assertTrue(listAppender.list.stream().anyMatch(log -> log.getLevel() == Level.WARN
+            && log.getFormattedMessage().contains("unknown@test.com")));
+    }
+
+    @Test
+    @DisplayName("Should deliver email through the transport")
+    void shouldDeliverEmailThroughTransport() {
+        emailService.sendEmail("patient@test.com", "Subject", "Content");
+
+        verify(emailTransport).send(new EmailMessage("patient@test.com", "Subject", "Content"));
+    }
+
+    @Test
+    @DisplayName("Should deliver batch through the transport in a single call")
+    void shouldDeliverBatchThroughTransport() {
+        List<EmailMessage> messages = List.of(
+            new EmailMessage("patient1@test.com", "Subject 1", "Content 1"),
+            new EmailMessage("patient2@test.com", "Subject 2", "Content 2"));
+
+        emailService.sendBatch(messages);
+
+        verify(emailTransport).sendAll(messages);
+        verify(emailTransport, never()).send(any());
+    }
+
+    @Test
+    @DisplayName("Should not report success when the transport fails")
+    void shouldNotReportSuccessWhenTransportFails() {
+        doThrow(new IllegalStateException("SMTP server rejected email"))
+            .when(emailTransport).send(any());
+
+        assertThrows(IllegalStateException.class,
+            () -> emailService.sendEmail("patient@test.com", "Subject", "Content"));
+
+        assertTrue(listAppender.list.stream()
+            .noneMatch(log -> log.getMessage().equals("✅ Email enviado com sucesso!")));
+    }
 }
@@ -0,0 +1,265 @@
+package com.hospital.notification.service;
+
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationCoalescer Tests")
+class NotificationCoalescerTest {
+
+    private static final LocalDateTime MONDAY_9 = LocalDateTime.of(2024, 12, 23, 9, 0);
+    private static final LocalDateTime TUESDAY_9 = LocalDateTime.of(2024, 12, 24, 9, 0);
+    private static final LocalDateTime WEDNESDAY_9 = LocalDateTime.of(2024, 12, 25, 9, 0);
+
+    @TempDir
+    Path tempDir;
+
+    private MutableClock clock;
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-12-20T10:00:00Z"));
+        coalescer = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.close();
+    }
+
+    @Test
+    @DisplayName("Should release a digest only after the window elapses")
+    void shouldReleaseDigestAfterWindow() {
+        coalescer.add(rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9));
+        clock.advance(Duration.ofSeconds(29));
+        coalescer.add(rescheduled(2L, "patient@test.com", MONDAY_9, TUESDAY_9));
+
+        assertTrue(coalescer.drainDue().isEmpty());
+
+        clock.advance(Duration.ofSeconds(1));
+        List<NotificationCoalescer.Digest> due = coalescer.drainDue();
+
+        assertEquals(1, due.size());
+        assertEquals("patient@test.com", due.get(0).recipient());
+        assertEquals("John Doe", due.get(0).patientName());
+        assertEquals(2, due.get(0).events().size());
+        assertEquals(0, coalescer.getPending());
+    }
+
+    @Test
+    @DisplayName("Should keep a separate digest per recipient")
+    void shouldGroupByRecipient() {
+        coalescer.add(rescheduled(1L, "first@test.com", MONDAY_9, TUESDAY_9));
+        coalescer.add(rescheduled(2L, "second@test.com", MONDAY_9, TUESDAY_9));
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertEquals(2, coalescer.drainDue().size());
+    }
+
+    @Test
+    @DisplayName("Should collapse successive reschedules of the same consultation")
+    void shouldCollapseSupersededReschedules() {
+        ConsultationRescheduledEvent first = rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9);
+        ConsultationRescheduledEvent second = rescheduled(1L, "patient@test.com", TUESDAY_9, WEDNESDAY_9);
+        coalescer.add(first);
+        coalescer.add(second);
+
+        NotificationCoalescer.Digest digest = coalescer.drainAll().get(0);
+
+        assertEquals(1, digest.events().size());
+        ConsultationRescheduledEvent merged = (ConsultationRescheduledEvent) digest.events().get(0);
+        assertEquals(MONDAY_9, merged.getOldDateTime());
+        assertEquals(WEDNESDAY_9, merged.getNewDateTime());
+        assertEquals(List.of(first.getEventId(), second.getEventId()), digest.eventIds());
+    }
+
+    @Test
+    @DisplayName("Should turn a creation followed by a reschedule into a creation at the new date")
+    void shouldMergeRescheduleIntoCreation() {
+        coalescer.add(new ConsultationCreatedEvent(1L, 2L, 3L, MONDAY_9, "patient@test.com", "John Doe", "Dr. Smith"));
+        coalescer.add(rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9));
+
+        NotificationCoalescer.Digest digest = coalescer.drainAll().get(0);
+
+        ConsultationCreatedEvent merged = (ConsultationCreatedEvent) digest.events().get(0);
+        assertEquals(TUESDAY_9, merged.getScheduledDateTime());
+        assertEquals(3L, merged.getDoctorId());
+    }
+
+    @Test
+    @DisplayName("Should drop a consultation created and cancelled in the same window")
+    void shouldDropCreatedThenCancelled() {
+        coalescer.add(new ConsultationCreatedEvent(1L, 2L, 3L, MONDAY_9, "patient@test.com", "John Doe", "Dr. Smith"));
+        coalescer.add(new ConsultationCancelledEvent(1L, 2L, "Patient request", "patient@test.com", "John Doe"));
+
+        NotificationCoalescer.Digest digest = coalescer.drainAll().get(0);
+
+        assertTrue(digest.events().isEmpty());
+        assertEquals(2, digest.eventIds().size());
+    }
+
+    @Test
+    @DisplayName("Should keep the cancellation when a rescheduled consultation is cancelled")
+    void shouldKeepCancellationAfterReschedule() {
+        coalescer.add(rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9));
+        coalescer.add(new ConsultationCancelledEvent(1L, 2L, "Patient request", "patient@test.com", "John Doe"));
+
+        NotificationCoalescer.Digest digest = coalescer.drainAll().get(0);
+
+        assertEquals(1, digest.events().size());
+        assertInstanceOf(ConsultationCancelledEvent.class, digest.events().get(0));
+    }
+
+    @Test
+    @DisplayName("Should ignore a redelivered event still in the window")
+    void shouldIgnoreRedeliveredEvent() {
+        ConsultationRescheduledEvent event = rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9);
+        coalescer.add(event);
+        coalescer.add(event);
+
+        assertEquals(List.of(event.getEventId()), coalescer.drainAll().get(0).eventIds());
+    }
+
+    @Test
+    @DisplayName("Should release a digest early when it reaches the event limit")
+    void shouldReleaseDigestAtEventLimit() {
+        for (long id = 1; id <= 3; id++) {
+            coalescer.add(rescheduled(id, "patient@test.com", MONDAY_9, TUESDAY_9));
+        }
+
+        assertEquals(3, coalescer.drainDue().get(0).events().size());
+    }
+
+    @Test
+    @DisplayName("Should restore buffered events after a crash without restarting the window")
+    void shouldRestoreBufferedEventsAfterCrash() {
+        coalescer.add(rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9));
+        clock.advance(Duration.ofSeconds(10));
+        coalescer.add(rescheduled(2L, "patient@test.com", MONDAY_9, TUESDAY_9));
+
+        NotificationCoalescer restarted = open();
+        clock.advance(Duration.ofSeconds(20));
+
+        List<NotificationCoalescer.Digest> due = restarted.drainDue();
+        assertEquals(1, due.size());
+        assertEquals(2, due.get(0).events().size());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should restore a drained digest that was not completed")
+    void shouldRestoreDrainedDigestNotCompleted() {
+        coalescer.add(rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9));
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(1, coalescer.drainDue().size());
+        coalescer.close();
+
+        coalescer = open();
+
+        assertEquals(1, coalescer.getPending());
+    }
+
+    @Test
+    @DisplayName("Should not restore events of a completed digest")
+    void shouldNotRestoreCompletedDigest() {
+        coalescer.add(rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9));
+        clock.advance(Duration.ofSeconds(30));
+        coalescer.complete(coalescer.drainDue().get(0));
+
+        NotificationCoalescer restarted = open();
+
+        assertEquals(0, restarted.getPending());
+        restarted.close();
+    }
+
+    @Test
+    @DisplayName("Should ignore a redelivered event whose digest is still being sent")
+    void shouldIgnoreRedeliveryOfDrainedEvent() {
+        ConsultationRescheduledEvent event = rescheduled(1L, "patient@test.com", MONDAY_9, TUESDAY_9);
+        coalescer.add(event);
+        clock.advance(Duration.ofSeconds(30));
+        coalescer.drainDue();
+
+        coalescer.add(event);
+
+        assertEquals(0, coalescer.getPending());
+    }
+
+    @Test
+    @DisplayName("Should compact the journal to the events not yet sent")
+    void shouldCompactJournal() throws IOException {
+        for (long id = 1; id <= 20; id++) {
+            coalescer.add(rescheduled(id, "patient" + id + "@test.com", MONDAY_9, TUESDAY_9));
+        }
+        clock.advance(Duration.ofSeconds(30));
+        coalescer.drainDue().forEach(coalescer::complete);
+        coalescer.add(rescheduled(99L, "patient@test.com", MONDAY_9, TUESDAY_9));
+
+        coalescer.close();
+
+        assertEquals(1, Files.readAllLines(journalFile()).size());
+        coalescer = open();
+        assertEquals(1, coalescer.getPending());
+    }
+
+    private NotificationCoalescer open() {
+        return new NotificationCoalescer(true, Duration.ofSeconds(30), 3, new DigestJournal(journalFile(), 10), clock);
+    }
+
+    private Path journalFile() {
+        return tempDir.resolve("digests.log");
+    }
+
+    private static ConsultationRescheduledEvent rescheduled(Long consultationId, String email,
+                                                           LocalDateTime oldDateTime, LocalDateTime newDateTime) {
+        return new ConsultationRescheduledEvent(consultationId, 2L, oldDateTime, newDateTime, email, "John Doe", "Dr. Smith");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
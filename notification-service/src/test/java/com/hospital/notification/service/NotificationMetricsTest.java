@@ -0,0 +1,43 @@
+package com.hospital.notification.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationMetrics Tests")
+class NotificationMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationMetrics notificationMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        notificationMetrics = new NotificationMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should count retries per topic")
+    void shouldCountRetriesPerTopic() {
+        notificationMetrics.recordRetry("consultation-events-retry-0");
+        notificationMetrics.recordRetry("consultation-events-retry-0");
+        notificationMetrics.recordRetry("consultation-events-retry-1");
+
+        assertEquals(2.0, meterRegistry.get("hospital.notification.retries")
+            .tag("topic", "consultation-events-retry-0").counter().count());
+        assertEquals(1.0, meterRegistry.get("hospital.notification.retries")
+            .tag("topic", "consultation-events-retry-1").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should count dead letters per topic")
+    void shouldCountDeadLettersPerTopic() {
+        notificationMetrics.recordDeadLetter("consultation-events-dlt");
+
+        assertEquals(1.0, meterRegistry.get("hospital.notification.dead-letters")
+            .tag("topic", "consultation-events-dlt").counter().count());
+    }
+}
@@ -0,0 +1,161 @@
+package com.hospital.notification.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ProcessedEventStore Tests")
+class ProcessedEventStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MutableClock clock;
+    private ProcessedEventStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-12-25T10:00:00Z"));
+        store = open(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    @DisplayName("Should report an event as duplicate only after it is marked as processed")
+    void shouldReportDuplicateAfterMarkProcessed() {
+        String eventId = UUID.randomUUID().toString();
+
+        assertFalse(store.isDuplicate(eventId));
+        store.markProcessed(eventId);
+
+        assertTrue(store.isDuplicate(eventId));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    @DisplayName("Should keep processed events across restarts")
+    void shouldKeepProcessedEventsAcrossRestarts() {
+        String eventId = UUID.randomUUID().toString();
+        store.markProcessed(eventId);
+        store.close();
+
+        store = open(4);
+
+        assertTrue(store.isDuplicate(eventId));
+    }
+
+    @Test
+    @DisplayName("Should forget events older than the TTL")
+    void shouldForgetEventsOlderThanTtl() {
+        String eventId = UUID.randomUUID().toString();
+        store.markProcessed(eventId);
+
+        clock.advance(Duration.ofHours(2));
+
+        assertFalse(store.isDuplicate(eventId));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should not load expired events on restart")
+    void shouldNotLoadExpiredEventsOnRestart() {
+        store.markProcessed(UUID.randomUUID().toString());
+        store.close();
+        clock.advance(Duration.ofHours(2));
+
+        store = open(4);
+
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the oldest event when capacity is exceeded")
+    void shouldEvictOldestEventWhenCapacityIsExceeded() {
+        String oldest = UUID.randomUUID().toString();
+        store.markProcessed(oldest);
+        for (int i = 0; i < 4; i++) {
+            store.markProcessed(UUID.randomUUID().toString());
+        }
+
+        assertFalse(store.isDuplicate(oldest));
+        assertEquals(4, store.size());
+    }
+
+    @Test
+    @DisplayName("Should accept event ids that are not UUIDs")
+    void shouldAcceptNonUuidEventIds() {
+        store.markProcessed("legacy-event-1");
+
+        assertTrue(store.isDuplicate("legacy-event-1"));
+        assertFalse(store.isDuplicate("legacy-event-2"));
+    }
+
+    @Test
+    @DisplayName("Should reset the file when capacity changes")
+    void shouldResetFileWhenCapacityChanges() {
+        String eventId = UUID.randomUUID().toString();
+        store.markProcessed(eventId);
+        store.close();
+
+        store = open(8);
+
+        assertFalse(store.isDuplicate(eventId));
+    }
+
+    @Test
+    @DisplayName("Should ignore null event ids")
+    void shouldIgnoreNullEventIds() {
+        store.markProcessed(null);
+
+        assertFalse(store.isDuplicate(null));
+        assertEquals(0, store.size());
+    }
+
+    private ProcessedEventStore open(int capacity) {
+        return new ProcessedEventStore(tempDir.resolve("processed-events.dat"), capacity, Duration.ofHours(1), clock);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.hospital.notification.template;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("NotificationTemplateEngine Tests")
+class NotificationTemplateEngineTest {
+
+    private static final LocalDateTime SCHEDULED = LocalDateTime.of(2024, 12, 25, 10, 30);
+
+    private NotificationTemplateEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new NotificationTemplateEngine(new DefaultResourceLoader(), "classpath:templates/notifications/", "", Duration.ZERO);
+    }
+
+    @Nested
+    @DisplayName("Bundled Template Tests")
+    class BundledTemplateTests {
+
+        @Test
+        @DisplayName("Should render the creation email exactly as the previous String.format version")
+        void shouldRenderCreatedTemplateExactly() {
+            RenderedNotification rendered = engine.render("consultation-created", NotificationTemplateEngine.variables(
+                "patientName", "John Doe", "scheduledDateTime", SCHEDULED, "doctorName", "Dr. Smith"));
+
+            assertEquals("Consultation Scheduled - Hospital", rendered.subject());
+            assertEquals(String.format(
+                "Hello %s!\n\n" +
+                "Your consultation has been successfully scheduled:\n" +
+                "Date: %s\n" +
+                "Doctor: %s\n\n" +
+                "Please arrive 15 minutes early.\n" +
+                "If you have any questions, please contact us.\n\n" +
+                "Best regards,\n" +
+                "Hospital Team",
+                "John Doe", SCHEDULED, "Dr. Smith"), rendered.text());
+        }
+
+        @Test
+        @DisplayName("Should render the rescheduling email exactly as the previous String.format version")
+        void shouldRenderRescheduledTemplateExactly() {
+            LocalDateTime newDateTime = SCHEDULED.plusDays(1);
+            RenderedNotification rendered = engine.render("consultation-rescheduled", NotificationTemplateEngine.variables(
+                "patientName", "John Doe", "oldDateTime", SCHEDULED, "newDateTime", newDateTime, "doctorName", "Dr. Smith"));
+
+            assertEquals("Consultation Rescheduled - Hospital", rendered.subject());
+            assertEquals(String.format(
+                "Hello %s!\n\n" +
+                "Your consultation has been rescheduled:\n" +
+                "Previous date: %s\n" +
+                "New date: %s\n" +
+                "Doctor: %s\n\n" +
+                "Please arrive 15 minutes early.\n" +
+                "If you have any questions, please contact us.\n\n" +
+                "Best regards,\n" +
+                "Hospital Team",
+                "John Doe", SCHEDULED, newDateTime, "Dr. Smith"), rendered.text());
+        }
+
+        @Test
+        @DisplayName("Should render the cancellation email exactly as the previous String.format version")
+        void shouldRenderCancelledTemplateExactly() {
+            RenderedNotification rendered = engine.render("consultation-cancelled", NotificationTemplateEngine.variables(
+                "patientName", "John Doe", "reason", null));
+
+            assertEquals("Consultation Cancelled - Hospital", rendered.subject());
+            assertEquals(String.format(
+                "Hello %s!\n\n" +
+                "Unfortunately, your consultation has been cancelled.\n" +
+                "Reason: %s\n\n" +
+                "To reschedule, please contact us:\n" +
+                "(11) 1234-5678\n" +
+                "scheduling@hospital.com\n\n" +
+                "Best regards,\n" +
+                "Hospital Team",
+                "John Doe", null), rendered.text());
+        }
+
+        @Test
+        @DisplayName("Should escape variables in the HTML part only")
+        void shouldEscapeHtmlPart() {
+            RenderedNotification rendered = engine.render("consultation-cancelled", NotificationTemplateEngine.variables(
+                "patientName", "<b>John</b>", "reason", "Tom & Jerry"));
+
+            assertTrue(rendered.text().startsWith("Hello <b>John</b>!"));
+            assertTrue(rendered.html().contains("Hello &lt;b&gt;John&lt;/b&gt;!"));
+            assertTrue(rendered.html().contains("Tom &amp; Jerry"));
+        }
+
+        @Test
+        @DisplayName("Should only bundle templates for the default locale")
+        void shouldOnlyBundleDefaultLocaleTemplates() {
+            RenderedNotification rendered = engine.render("consultation-created", Locale.forLanguageTag("pt-BR"),
+                NotificationTemplateEngine.variables(
+                    "patientName", "João", "scheduledDateTime", SCHEDULED, "doctorName", "Dra. Silva"));
+
+            assertEquals("Consultation Scheduled - Hospital", rendered.subject());
+        }
+
+        @Test
+        @DisplayName("Should render a digest line fragment without subject or trailing newline")
+        void shouldRenderDigestLineFragment() {
+            String line = engine.renderFragment("consultation-digest-rescheduled", NotificationTemplateEngine.variables(
+                "oldDateTime", SCHEDULED, "newDateTime", SCHEDULED.plusDays(1), "doctorName", "Dr. Smith"));
+
+            assertEquals("- Rescheduled: 2024-12-25T10:30 -> 2024-12-26T10:30 with Dr. Smith", line);
+        }
+    }
+
+    @Nested
+    @DisplayName("Locale Tests")
+    class LocaleTests {
+
+        @TempDir
+        Path templates;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            Files.writeString(templates.resolve("greeting.subject"), "Hello");
+            Files.writeString(templates.resolve("greeting.txt"), "Hello {{name}}");
+            Files.writeString(templates.resolve("greeting_pt_BR.subject"), "Olá");
+            Files.writeString(templates.resolve("greeting_pt_BR.txt"), "Olá {{name}}");
+        }
+
+        @Test
+        @DisplayName("Should pick the locale variant and fall back to the default template")
+        void shouldResolveLocaleVariants() {
+            NotificationTemplateEngine fileEngine = new NotificationTemplateEngine(
+                new DefaultResourceLoader(), templates.toUri().toString(), "", Duration.ZERO);
+
+            RenderedNotification brazilian = fileEngine.render("greeting", Locale.forLanguageTag("pt-BR"), Map.of("name", "João"));
+            RenderedNotification french = fileEngine.render("greeting", Locale.FRANCE, Map.of("name", "Jean"));
+
+            assertEquals("Olá", brazilian.subject());
+            assertEquals("Olá João", brazilian.text());
+            assertNull(brazilian.html());
+            assertEquals("Hello", french.subject());
+        }
+
+        @Test
+        @DisplayName("Should use the configured default locale")
+        void shouldUseConfiguredDefaultLocale() {
+            NotificationTemplateEngine brazilianEngine = new NotificationTemplateEngine(
+                new DefaultResourceLoader(), templates.toUri().toString(), "pt_BR", Duration.ZERO);
+
+            assertEquals("Olá", brazilianEngine.render("greeting", Map.of("name", "João")).subject());
+        }
+    }
+
+    @Nested
+    @DisplayName("Error Handling Tests")
+    class ErrorHandlingTests {
+
+        @Test
+        @DisplayName("Should reject a missing variable")
+        void shouldRejectMissingVariable() {
+            assertThrows(IllegalArgumentException.class, () ->
+                engine.render("consultation-cancelled", NotificationTemplateEngine.variables("patientName", "John")));
+        }
+
+        @Test
+        @DisplayName("Should reject an unknown template")
+        void shouldRejectUnknownTemplate() {
+            assertThrows(IllegalArgumentException.class, () -> engine.render("unknown", Map.of()));
+        }
+
+        @Test
+        @DisplayName("Should reject an unclosed placeholder")
+        void shouldRejectUnclosedPlaceholder() {
+            assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Hello {{name", false));
+        }
+
+        @Test
+        @DisplayName("Should reject odd variable pairs")
+        void shouldRejectOddVariablePairs() {
+            assertThrows(IllegalArgumentException.class, () -> NotificationTemplateEngine.variables("patientName"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reload Tests")
+    class ReloadTests {
+
+        @TempDir
+        Path templates;
+
+        private MutableClock clock;
+        private NotificationTemplateEngine fileEngine;
+
+        @BeforeEach
+        void setUp() throws IOException {
+            clock = new MutableClock(Instant.parse("2024-12-25T10:00:00Z"));
+            write("reminder.subject", "Reminder");
+            write("reminder.txt", "Hi {{name}}\n");
+            fileEngine = new NotificationTemplateEngine(new DefaultResourceLoader(), templates.toUri().toString(), "",
+                Duration.ofSeconds(5), clock);
+        }
+
+        @Test
+        @DisplayName("Should pick up an edited template after the reload interval")
+        void shouldReloadEditedTemplate() throws IOException {
+            assertEquals("Hi Ana", fileEngine.render("reminder", Map.of("name", "Ana")).text());
+
+            write("reminder.txt", "Hello again {{name}}\n");
+            assertEquals("Hi Ana", fileEngine.render("reminder", Map.of("name", "Ana")).text());
+
+            clock.advance(Duration.ofSeconds(6));
+            assertEquals("Hello again Ana", fileEngine.render("reminder", Map.of("name", "Ana")).text());
+        }
+
+        @Test
+        @DisplayName("Should keep the previous version when an edit is invalid")
+        void shouldKeepPreviousVersionOnInvalidEdit() throws IOException {
+            fileEngine.render("reminder", Map.of("name", "Ana"));
+
+            write("reminder.txt", "Broken {{name\n");
+            clock.advance(Duration.ofSeconds(6));
+
+            assertEquals("Hi Ana", fileEngine.render("reminder", Map.of("name", "Ana")).text());
+        }
+
+        private void write(String name, String content) throws IOException {
+            Path file = templates.resolve(name);
+            FileTime previous = Files.exists(file) ? Files.getLastModifiedTime(file) : FileTime.fromMillis(0);
+            Files.writeString(file, content);
+            // Garante um mtime diferente mesmo em sistemas de arquivos com resolução de 1 segundo
+            Files.setLastModifiedTime(file, FileTime.fromMillis(previous.toMillis() + 10_000));
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.hospital.notification.transport;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Servidor SMTP em memória para testes e benchmarks sem rede; a latência simulada é aplicada a cada round trip
+class FakeSmtpServer implements AutoCloseable {
+
+    record ReceivedMessage(String from, List<String> recipients, String data) {
+
+        String body() {
+            return data.substring(data.indexOf("\r\n\r\n") + 4);
+        }
+
+        String header(String name) {
+            for (String line : data.split("\r\n")) {
+                if (line.isEmpty()) {
+                    break;
+                }
+                if (line.regionMatches(true, 0, name + ":", 0, name.length() + 1)) {
+                    return line.substring(name.length() + 1).trim();
+                }
+            }
+            return null;
+        }
+    }
+
+    private final ServerSocket serverSocket;
+    private final boolean pipelining;
+    private final Duration roundTripDelay;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentLinkedQueue<ReceivedMessage> messages = new ConcurrentLinkedQueue<>();
+    private final Set<String> rejectedRecipients = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private volatile boolean closed;
+
+    FakeSmtpServer(boolean pipelining) throws IOException {
+        this(pipelining, Duration.ZERO);
+    }
+
+    FakeSmtpServer(boolean pipelining, Duration roundTripDelay) throws IOException {
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        this.pipelining = pipelining;
+        this.roundTripDelay = roundTripDelay;
+        executor.submit(this::acceptLoop);
+    }
+
+    int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    List<ReceivedMessage> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    int getConnections() {
+        return connections.get();
+    }
+
+    int getRoundTrips() {
+        return roundTrips.get();
+    }
+
+    void rejectRecipient(String recipient) {
+        rejectedRecipients.add(recipient);
+    }
+
+    SmtpConnection connect() {
+        return SmtpConnection.open("localhost", getPort(), Duration.ofSeconds(2), Duration.ofSeconds(5), "test-client");
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                executor.submit(() -> handle(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            writer.write("220 fake.smtp ESMTP ready\r\n");
+            flush(reader, writer);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO")) {
+                    writer.write("250-fake.smtp\r\n");
+                    if (pipelining) {
+                        writer.write("250-PIPELINING\r\n");
+                    }
+                    writer.write("250-8BITMIME\r\n");
+                    writer.write("250 SIZE 10485760\r\n");
+                } else if (command.startsWith("HELO") || command.startsWith("NOOP")) {
+                    writer.write("250 OK\r\n");
+                } else if (command.startsWith("MAIL FROM:")) {
+                    from = address(line);
+                    recipients.clear();
+                    writer.write("250 OK\r\n");
+                } else if (command.startsWith("RCPT TO:")) {
+                    String recipient = address(line);
+                    if (from == null) {
+                        writer.write("503 Need MAIL command\r\n");
+                    } else if (rejectedRecipients.contains(recipient)) {
+                        writer.write("550 Mailbox unavailable\r\n");
+                    } else {
+                        recipients.add(recipient);
+                        writer.write("250 OK\r\n");
+                    }
+                } else if (command.equals("DATA")) {
+                    if (recipients.isEmpty()) {
+                        writer.write("554 No valid recipients\r\n");
+                    } else {
+                        writer.write("354 End data with <CR><LF>.<CR><LF>\r\n");
+                        flush(reader, writer);
+                        messages.add(new ReceivedMessage(from, List.copyOf(recipients), readData(reader)));
+                        from = null;
+                        recipients.clear();
+                        writer.write("250 OK queued\r\n");
+                    }
+                } else if (command.equals("RSET")) {
+                    from = null;
+                    recipients.clear();
+                    writer.write("250 OK\r\n");
+                } else if (command.equals("QUIT")) {
+                    writer.write("221 Bye\r\n");
+                    writer.flush();
+                    return;
+                } else {
+                    writer.write("500 Unrecognized command\r\n");
+                }
+                flush(reader, writer);
+            }
+        } catch (IOException | InterruptedException e) {
+            // Cliente desconectou ou o servidor foi encerrado
+        }
+    }
+
+    // Só responde quando o cliente para de enviar, como um servidor real com PIPELINING: cada flush é um round trip
+    private void flush(BufferedReader reader, BufferedWriter writer) throws IOException, InterruptedException {
+        if (!reader.ready()) {
+            roundTrips.incrementAndGet();
+            if (!roundTripDelay.isZero()) {
+                Thread.sleep(roundTripDelay);
+            }
+            writer.flush();
+        }
+    }
+
+    private static String readData(BufferedReader reader) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith(".") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private static String address(String line) {
+        int start = line.indexOf('<');
+        int end = line.indexOf('>');
+        return start >= 0 && end > start ? line.substring(start + 1, end) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+}
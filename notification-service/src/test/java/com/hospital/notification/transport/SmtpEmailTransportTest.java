@@ -0,0 +1,244 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SmtpEmailTransport Tests")
+class SmtpEmailTransportTest {
+
+    private FakeSmtpServer server;
+    private SmtpEmailTransport transport;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (transport != null) {
+            transport.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delivery Tests")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Should deliver a plain text email with MIME headers")
+        void shouldDeliverPlainTextEmail() throws IOException {
+            start(true, 4, 100);
+
+            transport.send(new EmailMessage("patient@test.com", "Consultation Scheduled - Hospital", "Hello John!\n\nSee you soon."));
+
+            FakeSmtpServer.ReceivedMessage received = server.getMessages().get(0);
+            assertEquals("no-reply@hospital.com", received.from());
+            assertEquals(List.of("patient@test.com"), received.recipients());
+            assertEquals("Consultation Scheduled - Hospital", received.header("Subject"));
+            assertEquals("text/plain; charset=UTF-8", received.header("Content-Type"));
+            assertEquals("8bit", received.header("Content-Transfer-Encoding"));
+            assertEquals("Hello John!\r\n\r\nSee you soon.\r\n", received.body());
+        }
+
+        @Test
+        @DisplayName("Should send text and HTML parts as multipart/alternative")
+        void shouldSendMultipartAlternative() throws IOException {
+            start(true, 4, 100);
+
+            transport.send(new EmailMessage("patient@test.com", "Subject", "Hello John!", "<p>Hello John!</p>"));
+
+            FakeSmtpServer.ReceivedMessage received = server.getMessages().get(0);
+            assertTrue(received.header("Content-Type").startsWith("multipart/alternative; boundary="));
+            String body = received.body();
+            assertTrue(body.indexOf("Content-Type: text/plain; charset=UTF-8") < body.indexOf("Content-Type: text/html; charset=UTF-8"));
+            assertTrue(body.contains("Hello John!\r\n"));
+            assertTrue(body.contains("<p>Hello John!</p>\r\n"));
+        }
+
+        @Test
+        @DisplayName("Should dot-stuff lines that start with a period")
+        void shouldDotStuffLeadingPeriods() throws IOException {
+            start(true, 4, 100);
+
+            transport.send(new EmailMessage("patient@test.com", "Subject", ".\n..hidden\nend"));
+
+            assertEquals(".\r\n..hidden\r\nend\r\n", server.getMessages().get(0).body());
+        }
+
+        @Test
+        @DisplayName("Should encode non-ASCII subjects")
+        void shouldEncodeNonAsciiSubjects() throws IOException {
+            start(true, 4, 100);
+
+            transport.send(new EmailMessage("patient@test.com", "Consulta remarcada - atenção", "Olá!"));
+
+            String subject = server.getMessages().get(0).header("Subject");
+            assertTrue(subject.startsWith("=?UTF-8?B?"));
+            String decoded = new String(Base64.getDecoder().decode(subject.substring(10, subject.length() - 2)), StandardCharsets.UTF_8);
+            assertEquals("Consulta remarcada - atenção", decoded);
+            assertEquals("Olá!\r\n", server.getMessages().get(0).body());
+        }
+
+        @Test
+        @DisplayName("Should deliver without pipelining when the server does not advertise it")
+        void shouldDeliverWithoutPipelining() throws IOException {
+            start(false, 4, 100);
+
+            transport.sendAll(List.of(
+                new EmailMessage("first@test.com", "Subject 1", "Content 1"),
+                new EmailMessage("second@test.com", "Subject 2", "Content 2")));
+
+            assertEquals(2, server.getMessages().size());
+            assertEquals(List.of("second@test.com"), server.getMessages().get(1).recipients());
+        }
+
+        @Test
+        @DisplayName("Should reject addresses that could inject SMTP commands")
+        void shouldRejectInvalidAddresses() throws IOException {
+            start(true, 4, 100);
+
+            assertThrows(IllegalArgumentException.class, () -> transport.send(
+                new EmailMessage("patient@test.com>\r\nRCPT TO:<other@test.com", "Subject", "Content")));
+            assertTrue(server.getMessages().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Connection Reuse Tests")
+    class ConnectionReuseTests {
+
+        @Test
+        @DisplayName("Should reuse a single connection for consecutive sends")
+        void shouldReuseConnection() throws IOException {
+            start(true, 4, 100);
+
+            for (int i = 0; i < 5; i++) {
+                transport.send(new EmailMessage("patient" + i + "@test.com", "Subject", "Content"));
+            }
+
+            assertEquals(5, server.getMessages().size());
+            assertEquals(1, server.getConnections());
+        }
+
+        @Test
+        @DisplayName("Should open a new connection after the per-connection message limit")
+        void shouldRecycleConnectionAfterLimit() throws IOException {
+            start(true, 4, 2);
+
+            for (int i = 0; i < 3; i++) {
+                transport.send(new EmailMessage("patient" + i + "@test.com", "Subject", "Content"));
+            }
+
+            assertEquals(3, server.getMessages().size());
+            assertEquals(2, server.getConnections());
+        }
+
+        @Test
+        @DisplayName("Should keep the connection usable after a rejected recipient")
+        void shouldKeepConnectionAfterRejectedRecipient() throws IOException {
+            start(true, 4, 100);
+            server.rejectRecipient("unknown@test.com");
+
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> transport.send(new EmailMessage("unknown@test.com", "Subject", "Content")));
+            transport.send(new EmailMessage("patient@test.com", "Subject", "Content"));
+
+            assertTrue(exception.getMessage().contains("550"));
+            assertEquals(1, server.getMessages().size());
+            assertEquals(1, server.getConnections());
+        }
+
+        @Test
+        @DisplayName("Should keep sending the batch after a rejected recipient")
+        void shouldKeepSendingBatchAfterRejectedRecipient() throws IOException {
+            start(true, 4, 100);
+            server.rejectRecipient("unknown@test.com");
+
+            List<SendResult> results = transport.sendAll(List.of(
+                new EmailMessage("first@test.com", "Subject 1", "Content 1"),
+                new EmailMessage("unknown@test.com", "Subject 2", "Content 2"),
+                new EmailMessage("third@test.com", "Subject 3", "Content 3")));
+
+            assertTrue(results.get(0).isDelivered());
+            assertFalse(results.get(1).isDelivered());
+            assertTrue(results.get(1).failure().getMessage().contains("550"));
+            assertTrue(results.get(2).isDelivered());
+            assertEquals(List.of(List.of("first@test.com"), List.of("third@test.com")),
+                server.getMessages().stream().map(FakeSmtpServer.ReceivedMessage::recipients).toList());
+            assertEquals(1, server.getConnections());
+        }
+
+        @Test
+        @DisplayName("Should never open more connections than the pool allows")
+        void shouldLimitPoolSize() throws IOException {
+            start(true, 2, 100);
+            List<CompletableFuture<Void>> sends = new ArrayList<>();
+
+            try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+                for (int i = 0; i < 40; i++) {
+                    EmailMessage message = new EmailMessage("patient" + i + "@test.com", "Subject", "Content");
+                    sends.add(CompletableFuture.runAsync(() -> transport.send(message), executor));
+                }
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+            }
+
+            assertEquals(40, server.getMessages().size());
+            assertTrue(server.getConnections() <= 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Pipelining Tests")
+    class PipeliningTests {
+
+        @Test
+        @DisplayName("Should detect pipelining support from EHLO")
+        void shouldDetectPipelining() throws IOException {
+            server = new FakeSmtpServer(true);
+            try (SmtpConnection connection = server.connect()) {
+                assertTrue(connection.supportsPipelining());
+            }
+        }
+
+        @Test
+        @DisplayName("Should need fewer round trips per message when pipelining")
+        void shouldNeedFewerRoundTripsWhenPipelining() throws IOException {
+            int pipelined = roundTripsToSend(true, 10);
+            int sequential = roundTripsToSend(false, 10);
+
+            assertTrue(pipelined < sequential, pipelined + " >= " + sequential);
+        }
+
+        private int roundTripsToSend(boolean pipelining, int count) throws IOException {
+            try (FakeSmtpServer smtpServer = new FakeSmtpServer(pipelining);
+                 SmtpConnection connection = smtpServer.connect()) {
+                int before = smtpServer.getRoundTrips();
+                for (int i = 0; i < count; i++) {
+                    connection.send("no-reply@hospital.com", new EmailMessage("patient@test.com", "Subject", "Content"));
+                }
+                return smtpServer.getRoundTrips() - before;
+            }
+        }
+    }
+
+    private void start(boolean pipelining, int maxConnections, int maxMessagesPerConnection) throws IOException {
+        server = new FakeSmtpServer(pipelining);
+        transport = new SmtpEmailTransport(
+            new SmtpConnectionPool(server::connect, maxConnections, Duration.ofSeconds(5), Duration.ofMinutes(1), maxMessagesPerConnection),
+            "no-reply@hospital.com");
+    }
+}
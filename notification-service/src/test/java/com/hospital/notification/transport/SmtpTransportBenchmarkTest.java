@@ -0,0 +1,66 @@
+package com.hospital.notification.transport;
+
+import com.hospital.notification.service.EmailMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Executado apenas com -Pbenchmark; mede a vazão de entrega contra o servidor SMTP local com latência simulada
+@Tag("benchmark")
+@DisplayName("SMTP Transport Benchmark")
+class SmtpTransportBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportBenchmarkTest.class);
+
+    private static final int MESSAGES = 500;
+    private static final int SENDERS = 8;
+    private static final Duration ROUND_TRIP = Duration.ofMillis(2);
+
+    @Test
+    @DisplayName("Pooled pipelined connections should outperform a connection per message")
+    void pooledPipelinedConnectionsShouldOutperformConnectionPerMessage() throws IOException {
+        double connectionPerMessage = throughput(false, 1);
+        double pooledPipelined = throughput(true, Integer.MAX_VALUE);
+
+        logger.info("SMTP throughput: connection per message {} msg/s, pooled + pipelined {} msg/s ({}x)",
+            String.format("%.0f", connectionPerMessage), String.format("%.0f", pooledPipelined),
+            String.format("%.1f", pooledPipelined / connectionPerMessage));
+        assertTrue(pooledPipelined > connectionPerMessage);
+    }
+
+    private double throughput(boolean pipelining, int maxMessagesPerConnection) throws IOException {
+        try (FakeSmtpServer server = new FakeSmtpServer(pipelining, ROUND_TRIP)) {
+            SmtpEmailTransport transport = new SmtpEmailTransport(
+                new SmtpConnectionPool(server::connect, SENDERS, Duration.ofSeconds(30), Duration.ofMinutes(1), maxMessagesPerConnection),
+                "no-reply@hospital.com");
+            List<CompletableFuture<Void>> sends = new ArrayList<>(MESSAGES);
+
+            long start = System.nanoTime();
+            try (ExecutorService executor = Executors.newFixedThreadPool(SENDERS)) {
+                for (int i = 0; i < MESSAGES; i++) {
+                    EmailMessage message = new EmailMessage("patient" + i + "@test.com", "Consultation Scheduled - Hospital",
+                        "Hello Patient " + i + "!\n\nYour consultation has been successfully scheduled.");
+                    sends.add(CompletableFuture.runAsync(() -> transport.send(message), executor));
+                }
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+            }
+            long elapsed = System.nanoTime() - start;
+            transport.close();
+
+            assertEquals(MESSAGES, server.getMessages().size());
+            return MESSAGES / (elapsed / 1_000_000_000.0);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package com.hospital.scheduling;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 @EntityScan(basePackages = {"com.hospital.shared.domain", "com.hospital.scheduling"})
 public class SchedulingServiceApplication {
 
@@ -0,0 +1,10 @@
+package com.hospital.scheduling.application.dtos;
+
+import java.time.LocalDateTime;
+
+public record AvailableSlotResponse(
+        Long doctorId,
+        String doctorName,
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime) {
+}
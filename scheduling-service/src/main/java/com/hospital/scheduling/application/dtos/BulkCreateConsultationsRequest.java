@@ -0,0 +1,11 @@
+package com.hospital.scheduling.application.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BulkCreateConsultationsRequest(
+        @NotEmpty(message = "Informe ao menos uma consulta")
+        List<@Valid CreateConsultationRequest> consultations) {
+}
@@ -0,0 +1,8 @@
+package com.hospital.scheduling.application.dtos;
+
+import java.util.List;
+
+public record BulkCreateConsultationsResponse(
+        int created,
+        List<ConsultationResponse> consultations) {
+}
@@ -0,0 +1,47 @@
+package com.hospital.scheduling.application.dtos;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+
+public record ConsultationCursor(
+        LocalDateTime scheduledDateTime,
+        Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public ConsultationCursor {
+        Objects.requireNonNull(scheduledDateTime, "Cursor scheduled date and time are required");
+        Objects.requireNonNull(id, "Cursor id is required");
+    }
+
+    public static ConsultationCursor from(ConsultationResponse consultation) {
+        return new ConsultationCursor(consultation.scheduledDateTime(), consultation.id());
+    }
+
+    public static ConsultationCursor from(ConsultationSummaryResponse consultation) {
+        return new ConsultationCursor(consultation.scheduledDateTime(), consultation.id());
+    }
+
+    public static ConsultationCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = decoded.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ConsultationCursor(
+                    LocalDateTime.parse(decoded.substring(0, separatorIndex)),
+                    Long.valueOf(decoded.substring(separatorIndex + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = scheduledDateTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,10 @@
+package com.hospital.scheduling.application.dtos;
+
+import java.util.List;
+
+public record ConsultationPageResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor) {
+}
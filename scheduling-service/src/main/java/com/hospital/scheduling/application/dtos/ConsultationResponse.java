@@ -1,5 +1,6 @@
 package com.hospital.scheduling.application.dtos;
 
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
 import com.hospital.shared.domain.entities.Consultation;
 import com.hospital.shared.domain.enums.ConsultationStatus;
 
@@ -10,6 +11,8 @@ public record ConsultationResponse(
         Long patientId,
         Long doctorId,
         LocalDateTime scheduledDateTime,
+        Integer durationMinutes,
+        LocalDateTime endDateTime,
         LocalDateTime actualStartTime,
         LocalDateTime actualEndTime,
         ConsultationStatus status,
@@ -29,6 +32,8 @@ public record ConsultationResponse(
                 consultation.getPatientId(),
                 consultation.getDoctorId(),
                 consultation.getScheduledDateTime(),
+                consultation.getDurationMinutes(),
+                consultation.getEndDateTime(),
                 consultation.getActualStartTime(),
                 consultation.getActualEndTime(),
                 consultation.getStatus(),
@@ -44,9 +49,32 @@ public record ConsultationResponse(
         );
     }
 
+    public static ConsultationResponse fromSummary(ConsultationSummary summary) {
+        return new ConsultationResponse(
+                summary.id(),
+                summary.patientId(),
+                summary.doctorId(),
+                summary.scheduledDateTime(),
+                summary.durationMinutes(),
+                summary.endDateTime(),
+                summary.actualStartTime(),
+                summary.actualEndTime(),
+                summary.status(),
+                null,
+                null,
+                null,
+                null,
+                summary.createdAt(),
+                summary.updatedAt(),
+                null,
+                null,
+                null
+        );
+    }
+
     public ConsultationResponse withUserInfo(String patientName, String patientEmail, String doctorName) {
         return new ConsultationResponse(
-                id, patientId, doctorId, scheduledDateTime, actualStartTime, actualEndTime,
+                id, patientId, doctorId, scheduledDateTime, durationMinutes, endDateTime, actualStartTime, actualEndTime,
                 status, notes, symptoms, diagnosis, prescription, createdAt, updatedAt,
                 patientName, patientEmail, doctorName);
     }
@@ -0,0 +1,48 @@
+package com.hospital.scheduling.application.dtos;
+
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+
+import java.time.LocalDateTime;
+
+public record ConsultationSummaryResponse(
+        Long id,
+        Long patientId,
+        Long doctorId,
+        LocalDateTime scheduledDateTime,
+        Integer durationMinutes,
+        LocalDateTime endDateTime,
+        LocalDateTime actualStartTime,
+        LocalDateTime actualEndTime,
+        ConsultationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String patientName,
+        String patientEmail,
+        String doctorName) {
+
+    public static ConsultationSummaryResponse fromSummary(ConsultationSummary summary) {
+        return new ConsultationSummaryResponse(
+                summary.id(),
+                summary.patientId(),
+                summary.doctorId(),
+                summary.scheduledDateTime(),
+                summary.durationMinutes(),
+                summary.endDateTime(),
+                summary.actualStartTime(),
+                summary.actualEndTime(),
+                summary.status(),
+                summary.createdAt(),
+                summary.updatedAt(),
+                null,
+                null,
+                null
+        );
+    }
+
+    public ConsultationSummaryResponse withUserInfo(String patientName, String patientEmail, String doctorName) {
+        return new ConsultationSummaryResponse(
+                id, patientId, doctorId, scheduledDateTime, durationMinutes, endDateTime, actualStartTime, actualEndTime,
+                status, createdAt, updatedAt, patientName, patientEmail, doctorName);
+    }
+}
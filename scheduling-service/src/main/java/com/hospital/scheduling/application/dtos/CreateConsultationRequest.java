@@ -1,7 +1,9 @@
 package com.hospital.scheduling.application.dtos;
 
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 import java.time.LocalDateTime;
 
@@ -11,5 +13,12 @@ public record CreateConsultationRequest(
 
         @NotNull(message = "ID do médico é obrigatório") Long doctorId,
 
-        @NotNull(message = "Data e hora da consulta são obrigatórias") @Future(message = "Data da consulta deve ser no futuro") LocalDateTime scheduledDateTime) {
+        @NotNull(message = "Data e hora da consulta são obrigatórias") @Future(message = "Data da consulta deve ser no futuro") LocalDateTime scheduledDateTime,
+
+        // Opcional: sem valor, a consulta dura Consultation.DEFAULT_DURATION_MINUTES
+        @Positive(message = "Duração da consulta deve ser positiva") @Max(value = 480, message = "Duração da consulta deve ser de no máximo 480 minutos") Integer durationMinutes) {
+
+    public CreateConsultationRequest(Long patientId, Long doctorId, LocalDateTime scheduledDateTime) {
+        this(patientId, doctorId, scheduledDateTime, null);
+    }
 }
@@ -0,0 +1,195 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Ocupação de cada médico por dia como um bitset de células de 5 minutos (288 bits em 5 longs).
+// Uma busca de horários livres combina palavras inteiras: livre = expediente & ~ocupado, e um AND com cópias
+// deslocadas de si mesmo deixa ligadas só as células que iniciam uma sequência livre do tamanho da consulta.
+@Service
+public class AvailabilityEngine {
+
+    static final int SLOT_MINUTES = 5;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private final ConsultationRepository consultationRepository;
+    private final int firstWorkingSlot;
+    private final int lastWorkingSlot;
+    private final long[] startSlots;
+
+    @Autowired
+    public AvailabilityEngine(ConsultationRepository consultationRepository,
+                              @Value("${hospital.availability.day-start:08:00}") String dayStart,
+                              @Value("${hospital.availability.day-end:18:00}") String dayEnd,
+                              @Value("${hospital.availability.slot-step-minutes:15}") int stepMinutes) {
+        this(consultationRepository, LocalTime.parse(dayStart), LocalTime.parse(dayEnd), stepMinutes);
+    }
+
+    AvailabilityEngine(ConsultationRepository consultationRepository, LocalTime dayStart, LocalTime dayEnd,
+                       int stepMinutes) {
+        if (!dayStart.isBefore(dayEnd)) {
+            throw new IllegalArgumentException("Working day must start before it ends");
+        }
+        if (stepMinutes <= 0 || stepMinutes % SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("Slot step must be a positive multiple of " + SLOT_MINUTES + " minutes");
+        }
+        this.consultationRepository = consultationRepository;
+        this.firstWorkingSlot = Math.ceilDiv(dayStart.toSecondOfDay() / 60, SLOT_MINUTES);
+        this.lastWorkingSlot = dayEnd.toSecondOfDay() / 60 / SLOT_MINUTES;
+
+        // Horários oferecidos: a cada stepMinutes a partir do início do expediente
+        this.startSlots = new long[WORDS_PER_DAY];
+        for (int slot = firstWorkingSlot; slot < lastWorkingSlot; slot += stepMinutes / SLOT_MINUTES) {
+            startSlots[slot >>> 6] |= 1L << slot;
+        }
+    }
+
+    // Horários livres em [from, to) ordenados por início e médico. Só oferece horários inteiros dentro do
+    // expediente de um mesmo dia, começando nos passos configurados
+    public List<FreeSlot> findFreeSlots(Collection<Long> doctorIds, LocalDateTime from, LocalDateTime to,
+                                        int durationMinutes, int limit) {
+        int length = Math.ceilDiv(durationMinutes, SLOT_MINUTES);
+        long fromSlot = Math.ceilDiv(toEpochMinutes(from), SLOT_MINUTES);
+        long toSlot = Math.floorDiv(toEpochMinutes(to), SLOT_MINUTES);
+        List<Long> doctors = doctorIds.stream().distinct().sorted().toList();
+        if (doctors.isEmpty() || fromSlot >= toSlot) {
+            return List.of();
+        }
+        Map<Long, Map<Long, long[]>> occupancy = loadOccupancy(doctors, from, to);
+        List<FreeSlot> result = new ArrayList<>(limit);
+
+        for (long day = Math.floorDiv(fromSlot, SLOTS_PER_DAY); day <= Math.floorDiv(toSlot, SLOTS_PER_DAY)
+                && result.size() < limit; day++) {
+            long dayStartSlot = day * SLOTS_PER_DAY;
+            long[] window = new long[WORDS_PER_DAY];
+            setBits(window, (int) Math.max(firstWorkingSlot, fromSlot - dayStartSlot),
+                    (int) Math.min(lastWorkingSlot, toSlot - dayStartSlot), true);
+
+            long[][] starts = new long[doctors.size()][];
+            for (int d = 0; d < doctors.size(); d++) {
+                Map<Long, long[]> days = occupancy.get(doctors.get(d));
+                long[] occupied = days != null ? days.get(day) : null;
+
+                starts[d] = new long[WORDS_PER_DAY];
+                for (int w = 0; w < WORDS_PER_DAY; w++) {
+                    starts[d][w] = window[w] & (occupied != null ? ~occupied[w] : -1L);
+                }
+                keepRunStarts(starts[d], length);
+                for (int w = 0; w < WORDS_PER_DAY; w++) {
+                    starts[d][w] &= startSlots[w];
+                }
+            }
+
+            collectEarliest(starts, doctors, dayStartSlot, durationMinutes, limit, result);
+        }
+        return result;
+    }
+
+    // Intercala os médicos palavra a palavra: o menor bit ligado em qualquer um deles é o próximo início,
+    // então só os horários devolvidos são materializados, sem ordenar todos os candidatos do dia
+    private static void collectEarliest(long[][] starts, List<Long> doctors, long dayStartSlot, int durationMinutes,
+                                        int limit, List<FreeSlot> result) {
+        for (int w = 0; w < WORDS_PER_DAY && result.size() < limit; w++) {
+            long any = 0;
+            for (long[] doctorStarts : starts) {
+                any |= doctorStarts[w];
+            }
+            while (any != 0 && result.size() < limit) {
+                long lowest = any & -any;
+                long slot = dayStartSlot + ((long) w << 6) + Long.numberOfTrailingZeros(lowest);
+                LocalDateTime start = fromEpochMinutes(slot * SLOT_MINUTES);
+                for (int d = 0; d < doctors.size() && result.size() < limit; d++) {
+                    if ((starts[d][w] & lowest) != 0) {
+                        result.add(new FreeSlot(doctors.get(d), start, start.plusMinutes(durationMinutes)));
+                    }
+                }
+                any &= ~lowest;
+            }
+        }
+    }
+
+    // Uma única consulta de faixa no índice (doctor_id, scheduled_date_time, end_date_time) traz as consultas
+    // ativas dos médicos que tocam a janela; o banco é a única fonte da agenda, sem cópia em memória por instância
+    private Map<Long, Map<Long, long[]>> loadOccupancy(List<Long> doctors, LocalDateTime from, LocalDateTime to) {
+        Map<Long, Map<Long, long[]>> occupancy = new HashMap<>();
+        for (ConsultationSlot slot : consultationRepository.findActiveSlots(doctors, from, to)) {
+            long start = toEpochMinutes(slot.scheduledDateTime());
+            markOccupied(occupancy.computeIfAbsent(slot.doctorId(), id -> new HashMap<>()),
+                    start, start + slot.durationMinutes());
+        }
+        return occupancy;
+    }
+
+    // Uma célula parcialmente ocupada conta como ocupada; consultas que cruzam a meia-noite marcam os dois dias
+    private static void markOccupied(Map<Long, long[]> days, long startMinute, long endMinute) {
+        long slot = Math.floorDiv(startMinute, SLOT_MINUTES);
+        long endSlot = Math.ceilDiv(endMinute, SLOT_MINUTES);
+        while (slot < endSlot) {
+            long day = Math.floorDiv(slot, SLOTS_PER_DAY);
+            long dayStartSlot = day * SLOTS_PER_DAY;
+            long dayEndSlot = Math.min(endSlot, dayStartSlot + SLOTS_PER_DAY);
+
+            long[] words = days.computeIfAbsent(day, d -> new long[WORDS_PER_DAY]);
+            setBits(words, (int) (slot - dayStartSlot), (int) (dayEndSlot - dayStartSlot), true);
+            slot = dayEndSlot;
+        }
+    }
+
+    // Depois de k passos, o bit i fica ligado só se as células i..i+k-1 estavam todas livres; dobrando o
+    // deslocamento a cada AND, uma consulta de 480 minutos (96 células) custa 7 passes sobre 5 palavras
+    static void keepRunStarts(long[] words, int length) {
+        int covered = 1;
+        while (covered * 2 <= length) {
+            andShiftedRight(words, covered);
+            covered *= 2;
+        }
+        if (covered < length) {
+            andShiftedRight(words, length - covered);
+        }
+    }
+
+    // words[i] &= words[i + shift], bit a bit; em ordem crescente cada palavra só lê palavras ainda não alteradas
+    private static void andShiftedRight(long[] words, int shift) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int w = 0; w < words.length; w++) {
+            long low = w + wordShift < words.length ? words[w + wordShift] : 0L;
+            long high = w + wordShift + 1 < words.length ? words[w + wordShift + 1] : 0L;
+            words[w] &= bitShift == 0 ? low : (low >>> bitShift) | (high << (64 - bitShift));
+        }
+    }
+
+    static void setBits(long[] words, int from, int to, boolean value) {
+        while (from < to) {
+            int w = from >>> 6;
+            int end = Math.min(to, (w + 1) << 6);
+            long mask = (-1L >>> (64 - (end - from))) << from;
+            words[w] = value ? words[w] | mask : words[w] & ~mask;
+            from = end;
+        }
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinutes(long epochMinutes) {
+        return LocalDateTime.ofEpochSecond(epochMinutes * 60, 0, ZoneOffset.UTC);
+    }
+
+    public record FreeSlot(Long doctorId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    }
+}
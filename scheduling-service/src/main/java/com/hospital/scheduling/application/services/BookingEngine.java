@@ -0,0 +1,125 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Reserva o intervalo [início, fim) de uma consulta na agenda do médico antes de gravá-la.
+// Roda dentro da transação do caso de uso: o lock na linha do médico só é liberado no commit, depois
+// que a consulta já foi gravada, então duas marcações concorrentes nunca passam pela mesma verificação.
+@Service
+public class BookingEngine {
+
+    private final ConsultationRepository consultationRepository;
+    private final DoctorScheduleIndex doctorScheduleIndex;
+
+    public BookingEngine(ConsultationRepository consultationRepository, DoctorScheduleIndex doctorScheduleIndex) {
+        this.consultationRepository = consultationRepository;
+        this.doctorScheduleIndex = doctorScheduleIndex;
+    }
+
+    // Consulta nova (id nulo) ou remarcada (a própria consulta é ignorada na verificação)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Consultation consultation) {
+        // Conflito evidente é rejeitado pelo índice em memória, sem entrar na fila do lock. Uma ausência no índice
+        // não dispensa a verificação sob lock: ele só recebe as marcações de outras instâncias depois do commit
+        // e do relay do outbox, então um intervalo livre no índice ainda pode ter sido ocupado agora há pouco
+        doctorScheduleIndex.ensureAvailable(consultation.getDoctorId(), consultation.getScheduledDateTime(),
+                consultation.getDurationMinutes(), consultation.getId());
+
+        consultationRepository.lockDoctorSchedule(consultation.getDoctorId());
+        if (overlapsStoredConsultation(consultation)) {
+            throw new IllegalArgumentException(ConsultationRepository.SLOT_CONFLICT_MESSAGE);
+        }
+    }
+
+    // Lote novo: os erros indicam a posição do item na lista recebida
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserveAll(List<Consultation> consultations) {
+        // Posições de cada médico ordenadas por início, com os médicos em ordem crescente de id
+        Map<Long, List<Integer>> positionsByDoctor = IntStream.range(0, consultations.size()).boxed()
+                .sorted(Comparator.comparing((Integer i) -> consultations.get(i).getScheduledDateTime()))
+                .collect(Collectors.groupingBy(i -> consultations.get(i).getDoctorId(), TreeMap::new,
+                        Collectors.toList()));
+        positionsByDoctor.values().forEach(positions -> rejectOverlapsWithinBatch(consultations, positions));
+
+        for (int i = 0; i < consultations.size(); i++) {
+            Consultation consultation = consultations.get(i);
+            try {
+                doctorScheduleIndex.ensureAvailable(consultation.getDoctorId(), consultation.getScheduledDateTime(),
+                        consultation.getDurationMinutes(), null);
+            } catch (IllegalArgumentException e) {
+                throw invalidItem(i, e.getMessage());
+            }
+        }
+
+        // Locks sempre em ordem crescente de médico: dois lotes com médicos em comum não entram em deadlock
+        positionsByDoctor.keySet().forEach(consultationRepository::lockDoctorSchedule);
+
+        // Uma única leitura por médico, da faixa que o lote ocupa na agenda dele, em vez de um existsOverlapping
+        // por item enquanto todos os locks estão presos; o cruzamento com os itens é feito em memória
+        int conflict = Integer.MAX_VALUE;
+        for (Map.Entry<Long, List<Integer>> entry : positionsByDoctor.entrySet()) {
+            List<Integer> positions = entry.getValue();
+            List<ConsultationSlot> stored = consultationRepository.findActiveSlots(List.of(entry.getKey()),
+                            consultations.get(positions.get(0)).getScheduledDateTime(),
+                            consultations.get(positions.get(positions.size() - 1)).getEndDateTime())
+                    .stream()
+                    .sorted(Comparator.comparing(ConsultationSlot::scheduledDateTime))
+                    .toList();
+            conflict = Math.min(conflict, firstOverlapWithStored(consultations, positions, stored));
+        }
+        if (conflict != Integer.MAX_VALUE) {
+            throw invalidItem(conflict, ConsultationRepository.SLOT_CONFLICT_MESSAGE);
+        }
+    }
+
+    private boolean overlapsStoredConsultation(Consultation consultation) {
+        return consultationRepository.existsOverlapping(consultation.getDoctorId(),
+                consultation.getScheduledDateTime(), consultation.getEndDateTime(), consultation.getId());
+    }
+
+    // Posições de um mesmo médico em ordem de início; basta comparar cada item com o anterior
+    private static void rejectOverlapsWithinBatch(List<Consultation> consultations, List<Integer> positions) {
+        for (int k = 1; k < positions.size(); k++) {
+            Consultation previous = consultations.get(positions.get(k - 1));
+            Consultation current = consultations.get(positions.get(k));
+            if (previous.overlaps(current.getScheduledDateTime(), current.getEndDateTime())) {
+                throw invalidItem(Math.max(positions.get(k - 1), positions.get(k)),
+                        ConsultationRepository.SLOT_CONFLICT_MESSAGE);
+            }
+        }
+    }
+
+    // Itens (já sem sobreposição entre si) e consultas gravadas, ambos em ordem de início: as gravadas que
+    // terminam antes do item não alcançam os seguintes e ficam para trás. Retorna a menor posição em conflito
+    private static int firstOverlapWithStored(List<Consultation> consultations, List<Integer> positions,
+                                              List<ConsultationSlot> stored) {
+        int conflict = Integer.MAX_VALUE;
+        int next = 0;
+        for (int position : positions) {
+            Consultation item = consultations.get(position);
+            while (next < stored.size() && !stored.get(next).endDateTime().isAfter(item.getScheduledDateTime())) {
+                next++;
+            }
+            if (next < stored.size() && stored.get(next).scheduledDateTime().isBefore(item.getEndDateTime())) {
+                conflict = Math.min(conflict, position);
+            }
+        }
+        return conflict;
+    }
+
+    private static IllegalArgumentException invalidItem(int index, String message) {
+        return new IllegalArgumentException("Item " + index + ": " + message);
+    }
+}
@@ -0,0 +1,72 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.User;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ConsultationEnricher {
+
+    private final UserRepository userRepository;
+
+    public ConsultationEnricher(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public List<ConsultationResponse> enrich(List<ConsultationResponse> consultations) {
+        Map<Long, User> users = loadUsers(consultations, ConsultationResponse::patientId, ConsultationResponse::doctorId);
+
+        return consultations.stream()
+                .map(consultation -> {
+                    User patient = users.get(consultation.patientId());
+                    User doctor = users.get(consultation.doctorId());
+                    return consultation.withUserInfo(
+                            patient != null ? patient.getName() : null,
+                            patient != null ? patient.getEmail() : null,
+                            doctor != null ? doctor.getName() : null);
+                })
+                .toList();
+    }
+
+    public List<ConsultationSummaryResponse> enrichSummaries(List<ConsultationSummaryResponse> consultations) {
+        Map<Long, User> users = loadUsers(consultations, ConsultationSummaryResponse::patientId, ConsultationSummaryResponse::doctorId);
+
+        return consultations.stream()
+                .map(consultation -> {
+                    User patient = users.get(consultation.patientId());
+                    User doctor = users.get(consultation.doctorId());
+                    return consultation.withUserInfo(
+                            patient != null ? patient.getName() : null,
+                            patient != null ? patient.getEmail() : null,
+                            doctor != null ? doctor.getName() : null);
+                })
+                .toList();
+    }
+
+    // Uma única consulta IN para todos os pacientes e médicos da lista, em vez de um findById por linha
+    private <T> Map<Long, User> loadUsers(List<T> consultations, Function<T, Long> patientId, Function<T, Long> doctorId) {
+        if (consultations.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (T consultation : consultations) {
+            ids.add(patientId.apply(consultation));
+            ids.add(doctorId.apply(consultation));
+        }
+        ids.remove(null);
+
+        return userRepository.findAllByIds(ids)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,217 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Agenda ativa de cada médico em memória, como intervalos [início, início + duração) em minutos desde a época,
+// ordenados por início. Responde "há sobreposição?" em O(log n) sem ir ao banco; quando aponta um
+// conflito, o banco confirma, e o lock do médico com a verificação no banco continuam sendo a palavra final.
+// É alimentado pelo tópico de eventos de consulta, então reflete as marcações de todas as instâncias.
+@Service
+public class DoctorScheduleIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorScheduleIndex.class);
+
+    private final ConsultationRepository consultationRepository;
+    private final Clock clock;
+    private final Map<Long, DoctorSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Slot> slotsByConsultation = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DoctorScheduleIndex(ConsultationRepository consultationRepository) {
+        this(consultationRepository, Clock.systemDefaultZone());
+    }
+
+    DoctorScheduleIndex(ConsultationRepository consultationRepository, Clock clock) {
+        this.consultationRepository = consultationRepository;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        LocalDateTime from = LocalDateTime.now(clock).minusMinutes(Consultation.MAX_DURATION_MINUTES);
+        int loaded = 0;
+        for (ConsultationSlot slot : consultationRepository.findActiveSlotsFrom(from)) {
+            put(slot.id(), slot.doctorId(), slot.scheduledDateTime(), slot.durationMinutes());
+            loaded++;
+        }
+        logger.info("Índice de agenda carregado com {} consultas ativas", loaded);
+    }
+
+    // Eventos chegam pelo Kafka depois do commit e do relay do outbox; um atraso ou um evento fora de ordem
+    // só deixa o índice defasado, o que o banco corrige em ensureAvailable
+    public void apply(DomainEvent event) {
+        if (event instanceof ConsultationCreatedEvent created) {
+            if (created.getConsultationId() != null && created.getDoctorId() != null
+                    && created.getScheduledDateTime() != null) {
+                put(created.getConsultationId(), created.getDoctorId(), created.getScheduledDateTime(),
+                        durationOrDefault(created.getDurationMinutes()));
+            }
+        } else if (event instanceof ConsultationRescheduledEvent rescheduled) {
+            if (rescheduled.getConsultationId() != null && rescheduled.getNewDateTime() != null) {
+                move(rescheduled.getConsultationId(), rescheduled.getDoctorId(), rescheduled.getNewDateTime(),
+                        rescheduled.getDurationMinutes());
+            }
+        } else if (event instanceof ConsultationCancelledEvent cancelled) {
+            if (cancelled.getConsultationId() != null) {
+                remove(cancelled.getConsultationId());
+            }
+        }
+    }
+
+    public Optional<Long> findConflict(Long doctorId, LocalDateTime scheduledDateTime, int durationMinutes,
+                                       Long ignoredConsultationId) {
+        DoctorSchedule schedule = schedules.get(doctorId);
+        if (schedule == null) {
+            return Optional.empty();
+        }
+        long start = toEpochMinutes(scheduledDateTime);
+        return schedule.findOverlap(start, start + durationMinutes, ignoredConsultationId);
+    }
+
+    // O índice pode estar atrasado em relação ao banco (evento pós-commit ainda não aplicado ou perdido):
+    // cada conflito apontado é relido do banco e, se não se confirmar, a entrada é corrigida
+    public void ensureAvailable(Long doctorId, LocalDateTime scheduledDateTime, int durationMinutes,
+                                Long ignoredConsultationId) {
+        LocalDateTime end = scheduledDateTime.plusMinutes(durationMinutes);
+        Optional<Long> conflict;
+        while ((conflict = findConflict(doctorId, scheduledDateTime, durationMinutes, ignoredConsultationId)).isPresent()) {
+            Long conflictingId = conflict.get();
+            Optional<Consultation> current = consultationRepository.findById(conflictingId);
+
+            if (current.isPresent() && current.get().isActive() && current.get().getDoctorId().equals(doctorId)
+                    && current.get().overlaps(scheduledDateTime, end)) {
+                throw new IllegalArgumentException(ConsultationRepository.SLOT_CONFLICT_MESSAGE);
+            }
+
+            logger.debug("Entrada defasada da consulta {} corrigida no índice de agenda", conflictingId);
+            remove(conflictingId);
+            current.filter(Consultation::isActive)
+                    .ifPresent(c -> put(c.getId(), c.getDoctorId(), c.getScheduledDateTime(), c.getDurationMinutes()));
+        }
+    }
+
+    // Consultas já encerradas não podem mais conflitar com nada que venha a ser agendado
+    @Scheduled(fixedDelayString = "${hospital.scheduling.index.prune-interval-ms:3600000}")
+    public synchronized void prune() {
+        long now = toEpochMinutes(LocalDateTime.now(clock));
+        schedules.values().forEach(schedule -> schedule.removeEndedBefore(now)
+                .forEach(slot -> slotsByConsultation.remove(slot.consultationId(), slot)));
+    }
+
+    public int size() {
+        return slotsByConsultation.size();
+    }
+
+    private synchronized void put(Long consultationId, Long doctorId, LocalDateTime scheduledDateTime, int durationMinutes) {
+        remove(consultationId);
+        long start = toEpochMinutes(scheduledDateTime);
+        Slot slot = new Slot(consultationId, doctorId, start, start + durationMinutes);
+        schedules.computeIfAbsent(doctorId, id -> new DoctorSchedule()).add(slot);
+        slotsByConsultation.put(consultationId, slot);
+    }
+
+    // Eventos antigos de remarcação não trazem médico nem duração: valem os da entrada atual. Sem ela e sem
+    // médico, a consulta fica fora do índice e só o banco a enxerga
+    private synchronized void move(Long consultationId, Long doctorId, LocalDateTime scheduledDateTime,
+                                   Integer durationMinutes) {
+        Slot current = slotsByConsultation.get(consultationId);
+        Long targetDoctor = doctorId != null ? doctorId : current != null ? Long.valueOf(current.doctorId()) : null;
+        if (targetDoctor == null) {
+            remove(consultationId);
+            return;
+        }
+        int duration = durationMinutes != null ? durationMinutes
+                : current != null ? (int) (current.end() - current.start()) : Consultation.DEFAULT_DURATION_MINUTES;
+        put(consultationId, targetDoctor, scheduledDateTime, duration);
+    }
+
+    private synchronized void remove(Long consultationId) {
+        Slot slot = slotsByConsultation.remove(consultationId);
+        if (slot != null) {
+            schedules.get(slot.doctorId()).remove(slot);
+        }
+    }
+
+    private static int durationOrDefault(Integer durationMinutes) {
+        return durationMinutes != null ? durationMinutes : Consultation.DEFAULT_DURATION_MINUTES;
+    }
+
+    private static long toEpochMinutes(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    record Slot(long consultationId, long doctorId, long start, long end) {
+    }
+
+    private static final class DoctorSchedule {
+
+        private static final Comparator<Slot> BY_START = Comparator.comparingLong(Slot::start)
+                .thenComparingLong(Slot::consultationId);
+
+        private final TreeSet<Slot> slots = new TreeSet<>(BY_START);
+        private long maxLength;
+
+        synchronized void add(Slot slot) {
+            slots.add(slot);
+            maxLength = Math.max(maxLength, slot.end() - slot.start());
+        }
+
+        synchronized void remove(Slot slot) {
+            slots.remove(slot);
+        }
+
+        // Só intervalos que começam em (start - maxLength, end) podem cruzar [start, end)
+        synchronized Optional<Long> findOverlap(long start, long end, Long ignoredConsultationId) {
+            Slot from = new Slot(Long.MIN_VALUE, 0, start - maxLength + 1, 0);
+            Slot to = new Slot(Long.MIN_VALUE, 0, end, 0);
+            for (Slot slot : slots.subSet(from, true, to, false)) {
+                if (slot.end() > start
+                        && (ignoredConsultationId == null || slot.consultationId() != ignoredConsultationId)) {
+                    return Optional.of(slot.consultationId());
+                }
+            }
+            return Optional.empty();
+        }
+
+        synchronized List<Slot> removeEndedBefore(long now) {
+            List<Slot> ended = new ArrayList<>();
+            Iterator<Slot> iterator = slots.iterator();
+            while (iterator.hasNext()) {
+                Slot slot = iterator.next();
+                if (slot.start() >= now) {
+                    break;
+                }
+                if (slot.end() <= now) {
+                    iterator.remove();
+                    ended.add(slot);
+                }
+            }
+            return ended;
+        }
+    }
+}
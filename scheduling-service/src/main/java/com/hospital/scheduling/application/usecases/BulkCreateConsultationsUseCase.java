@@ -0,0 +1,120 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsRequest;
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsResponse;
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.CreateConsultationRequest;
+import com.hospital.scheduling.application.services.BookingEngine;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.scheduling.infrastructure.events.EventPublisher;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class BulkCreateConsultationsUseCase {
+
+    private final ConsultationRepository consultationRepository;
+    private final UserRepository userRepository;
+    private final EventPublisher eventPublisher;
+    private final BookingEngine bookingEngine;
+    private final int maxSize;
+
+    public BulkCreateConsultationsUseCase(ConsultationRepository consultationRepository,
+                                          UserRepository userRepository,
+                                          EventPublisher eventPublisher,
+                                          BookingEngine bookingEngine,
+                                          @Value("${hospital.consultations.bulk.max-size:5000}") int maxSize) {
+        this.consultationRepository = consultationRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.bookingEngine = bookingEngine;
+        this.maxSize = maxSize;
+    }
+
+    // Tudo ou nada: qualquer item inválido (ou horário já ocupado no banco) desfaz o lote inteiro
+    @Transactional
+    public BulkCreateConsultationsResponse execute(BulkCreateConsultationsRequest request) {
+        List<CreateConsultationRequest> items = request.consultations();
+        if (items.size() > maxSize) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxSize + " consultations");
+        }
+
+        // Pacientes e médicos de todo o lote em uma única consulta, em vez de dois findById por item
+        Set<Long> userIds = items.stream()
+                .flatMap(item -> Stream.of(item.patientId(), item.doctorId()))
+                .collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllByIds(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Consultation> consultations = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CreateConsultationRequest item = items.get(i);
+            User patient = users.get(item.patientId());
+            User doctor = users.get(item.doctorId());
+
+            if (patient == null) {
+                throw invalidItem(i, "Patient not found");
+            }
+            if (patient.getUserType() != UserType.PACIENTE) {
+                throw invalidItem(i, "Specified user is not a patient");
+            }
+            if (doctor == null) {
+                throw invalidItem(i, "Doctor not found");
+            }
+            if (doctor.getUserType() != UserType.MEDICO) {
+                throw invalidItem(i, "Specified user is not a doctor");
+            }
+
+            try {
+                consultations.add(new Consultation(item.patientId(), item.doctorId(), item.scheduledDateTime(),
+                        item.durationMinutes() != null ? item.durationMinutes() : Consultation.DEFAULT_DURATION_MINUTES));
+            } catch (IllegalArgumentException e) {
+                throw invalidItem(i, e.getMessage());
+            }
+        }
+
+        // Sobreposições dentro do lote e com consultas já gravadas, sob lock dos médicos envolvidos
+        bookingEngine.reserveAll(consultations);
+        List<Consultation> savedConsultations = consultationRepository.saveAll(consultations);
+
+        List<ConsultationResponse> responses = new ArrayList<>(savedConsultations.size());
+        for (Consultation saved : savedConsultations) {
+            User patient = users.get(saved.getPatientId());
+            User doctor = users.get(saved.getDoctorId());
+
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                    saved.getId(),
+                    patient.getId(),
+                    doctor.getId(),
+                    saved.getScheduledDateTime(),
+                    patient.getEmail(),
+                    patient.getName(),
+                    doctor.getName());
+            event.setDurationMinutes(saved.getDurationMinutes());
+            eventPublisher.publishEvent(event);
+
+            responses.add(ConsultationResponse.fromEntity(saved)
+                    .withUserInfo(patient.getName(), patient.getEmail(), doctor.getName()));
+        }
+
+        return new BulkCreateConsultationsResponse(responses.size(), responses);
+    }
+
+    private static IllegalArgumentException invalidItem(int index, String message) {
+        return new IllegalArgumentException("Item " + index + ": " + message);
+    }
+}
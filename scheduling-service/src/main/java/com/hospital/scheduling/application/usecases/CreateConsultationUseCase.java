@@ -2,6 +2,7 @@ package com.hospital.scheduling.application.usecases;
 
 import com.hospital.scheduling.application.dtos.ConsultationResponse;
 import com.hospital.scheduling.application.dtos.CreateConsultationRequest;
+import com.hospital.scheduling.application.services.BookingEngine;
 import com.hospital.scheduling.domain.repositories.ConsultationRepository;
 import com.hospital.scheduling.domain.repositories.UserRepository;
 import com.hospital.scheduling.infrastructure.events.EventPublisher;
@@ -18,13 +19,16 @@ public class CreateConsultationUseCase {
     private final ConsultationRepository consultationRepository;
     private final UserRepository userRepository;
     private final EventPublisher eventPublisher;
+    private final BookingEngine bookingEngine;
 
     public CreateConsultationUseCase(ConsultationRepository consultationRepository,
                                      UserRepository userRepository,
-                                     EventPublisher eventPublisher) {
+                                     EventPublisher eventPublisher,
+                                     BookingEngine bookingEngine) {
         this.consultationRepository = consultationRepository;
         this.userRepository = userRepository;
         this.eventPublisher = eventPublisher;
+        this.bookingEngine = bookingEngine;
     }
 
     @Transactional
@@ -43,16 +47,15 @@ public class CreateConsultationUseCase {
             throw new IllegalArgumentException("Specified user is not a doctor");
         }
 
-        if (consultationRepository.existsByDoctorIdAndScheduledDateTime(
-                request.doctorId(), request.scheduledDateTime())) {
-            throw new IllegalArgumentException("Doctor already has a consultation scheduled at this time");
-        }
-
         Consultation consultation = new Consultation(
                 request.patientId(),
                 request.doctorId(),
-                request.scheduledDateTime());
+                request.scheduledDateTime(),
+                request.durationMinutes() != null ? request.durationMinutes() : Consultation.DEFAULT_DURATION_MINUTES);
 
+        // Sobreposição com outra consulta do médico é rejeitada aqui, sob lock do médico até o commit;
+        // a restrição única (doctor_id, active_slot) continua valendo no insert
+        bookingEngine.reserve(consultation);
         Consultation savedConsultation = consultationRepository.save(consultation);
 
         ConsultationCreatedEvent event = new ConsultationCreatedEvent(
@@ -63,6 +66,7 @@ public class CreateConsultationUseCase {
                 patient.getEmail(),
                 patient.getName(),
                 doctor.getName());
+        event.setDurationMinutes(savedConsultation.getDurationMinutes());
         eventPublisher.publishEvent(event);
 
         ConsultationResponse response = ConsultationResponse.fromEntity(savedConsultation);
@@ -0,0 +1,56 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ExportConsultationsUseCase {
+
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final ConsultationRepository consultationRepository;
+    private final ObjectMapper objectMapper;
+
+    public ExportConsultationsUseCase(ConsultationRepository consultationRepository, ObjectMapper objectMapper) {
+        this.consultationRepository = consultationRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public long execute(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ConsultationResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+
+        try (Stream<Consultation> consultations = consultationRepository.streamAll();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Consultation> iterator = consultations.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, ConsultationResponse.fromEntity(iterator.next()));
+                generator.writeRaw('\n');
+                written++;
+
+                if (written == 1 || written % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return written;
+    }
+}
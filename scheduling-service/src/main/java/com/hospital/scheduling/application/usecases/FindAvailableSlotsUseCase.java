@@ -0,0 +1,88 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.hospital.scheduling.application.dtos.AvailableSlotResponse;
+import com.hospital.scheduling.application.services.AvailabilityEngine;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class FindAvailableSlotsUseCase {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+    public static final int DEFAULT_RANGE_DAYS = 7;
+    public static final int MAX_RANGE_DAYS = 31;
+
+    private final AvailabilityEngine availabilityEngine;
+    private final UserRepository userRepository;
+
+    public FindAvailableSlotsUseCase(AvailabilityEngine availabilityEngine, UserRepository userRepository) {
+        this.availabilityEngine = availabilityEngine;
+        this.userRepository = userRepository;
+    }
+
+    // Sem doctorIds, a busca cobre todos os médicos ativos
+    @Transactional(readOnly = true)
+    public List<AvailableSlotResponse> execute(List<Long> doctorIds, LocalDateTime from, LocalDateTime to,
+                                               Integer durationMinutes, Integer limit) {
+        int duration = durationMinutes != null ? durationMinutes : Consultation.DEFAULT_DURATION_MINUTES;
+        if (duration < 1 || duration > Consultation.MAX_DURATION_MINUTES) {
+            throw new IllegalArgumentException(
+                    "Consultation duration must be between 1 and " + Consultation.MAX_DURATION_MINUTES + " minutes");
+        }
+        int maxResults = limit != null ? limit : DEFAULT_LIMIT;
+        if (maxResults < 1 || maxResults > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        // Horários no passado nunca são oferecidos
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from != null && from.isAfter(now) ? from : now;
+        LocalDateTime end = to != null ? to : start.plusDays(DEFAULT_RANGE_DAYS);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Search end must be after its start");
+        }
+        if (end.isAfter(start.plusDays(MAX_RANGE_DAYS))) {
+            throw new IllegalArgumentException("Search range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        Map<Long, User> doctors = resolveDoctors(doctorIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return availabilityEngine.findFreeSlots(doctors.keySet(), start, end, duration, maxResults)
+                .stream()
+                .map(slot -> new AvailableSlotResponse(slot.doctorId(), doctors.get(slot.doctorId()).getName(),
+                        slot.startDateTime(), slot.endDateTime()))
+                .toList();
+    }
+
+    private List<User> resolveDoctors(List<Long> doctorIds) {
+        if (doctorIds == null || doctorIds.isEmpty()) {
+            return userRepository.findActiveUsersByType(UserType.MEDICO);
+        }
+
+        Set<Long> ids = new HashSet<>(doctorIds);
+        List<User> users = userRepository.findAllByIds(ids);
+        if (users.size() != ids.size()) {
+            throw new IllegalArgumentException("Doctor not found");
+        }
+        if (users.stream().anyMatch(user -> user.getUserType() != UserType.MEDICO)) {
+            throw new IllegalArgumentException("Specified user is not a doctor");
+        }
+        return users.stream()
+                .filter(User::isActive)
+                .toList();
+    }
+}
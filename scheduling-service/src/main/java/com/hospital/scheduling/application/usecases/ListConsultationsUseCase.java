@@ -0,0 +1,107 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.hospital.scheduling.application.dtos.ConsultationCursor;
+import com.hospital.scheduling.application.dtos.ConsultationPageResponse;
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
+import com.hospital.scheduling.application.services.ConsultationEnricher;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+@Service
+public class ListConsultationsUseCase {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final ConsultationRepository consultationRepository;
+    private final ConsultationEnricher consultationEnricher;
+
+    public ListConsultationsUseCase(ConsultationRepository consultationRepository,
+                                    ConsultationEnricher consultationEnricher) {
+        this.consultationRepository = consultationRepository;
+        this.consultationEnricher = consultationEnricher;
+    }
+
+    @Transactional(readOnly = true)
+    public ConsultationPageResponse<ConsultationResponse> execute(String cursor, Integer size) {
+        return findPage(cursor, size, consultationEnricher::enrich);
+    }
+
+    @Transactional(readOnly = true)
+    public ConsultationPageResponse<ConsultationSummaryResponse> executeSummaries(String cursor, Integer size) {
+        return findSummaryPage(cursor, size, consultationEnricher::enrichSummaries);
+    }
+
+    // Sem nomes e email: no GraphQL esses campos vêm do DataLoader, só quando a query os seleciona
+    @Transactional(readOnly = true)
+    public ConsultationPageResponse<ConsultationResponse> executeWithoutUserInfo(String cursor, Integer size) {
+        return findPage(cursor, size, UnaryOperator.identity());
+    }
+
+    @Transactional(readOnly = true)
+    public ConsultationPageResponse<ConsultationSummaryResponse> executeSummariesWithoutUserInfo(String cursor, Integer size) {
+        return findSummaryPage(cursor, size, UnaryOperator.identity());
+    }
+
+    private ConsultationPageResponse<ConsultationResponse> findPage(String cursor, Integer size,
+                                                                   UnaryOperator<List<ConsultationResponse>> enrich) {
+        int pageSize = resolvePageSize(size);
+        ConsultationCursor after = decodeCursor(cursor);
+
+        List<ConsultationResponse> rows = consultationRepository.findPage(
+                        after != null ? after.scheduledDateTime() : null,
+                        after != null ? after.id() : null,
+                        pageSize + 1)
+                .stream()
+                .map(ConsultationResponse::fromEntity)
+                .toList();
+
+        return toPage(rows, pageSize, ConsultationCursor::from, enrich);
+    }
+
+    private ConsultationPageResponse<ConsultationSummaryResponse> findSummaryPage(String cursor, Integer size,
+                                                                                 UnaryOperator<List<ConsultationSummaryResponse>> enrich) {
+        int pageSize = resolvePageSize(size);
+        ConsultationCursor after = decodeCursor(cursor);
+
+        List<ConsultationSummaryResponse> rows = consultationRepository.findSummaryPage(
+                        after != null ? after.scheduledDateTime() : null,
+                        after != null ? after.id() : null,
+                        pageSize + 1)
+                .stream()
+                .map(ConsultationSummaryResponse::fromSummary)
+                .toList();
+
+        return toPage(rows, pageSize, ConsultationCursor::from, enrich);
+    }
+
+    // As consultas buscam um registro a mais para saber se existe próxima página sem precisar de COUNT
+    private <T> ConsultationPageResponse<T> toPage(List<T> rows, int pageSize,
+                                                   Function<T, ConsultationCursor> cursorOf,
+                                                   UnaryOperator<List<T>> enrich) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new ConsultationPageResponse<>(enrich.apply(content), pageSize, hasNext, nextCursor);
+    }
+
+    private ConsultationCursor decodeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() ? ConsultationCursor.decode(cursor) : null;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+}
@@ -2,6 +2,7 @@ package com.hospital.scheduling.application.usecases;
 
 import com.hospital.scheduling.application.dtos.ConsultationResponse;
 import com.hospital.scheduling.application.dtos.UpdateConsultationRequest;
+import com.hospital.scheduling.application.services.BookingEngine;
 import com.hospital.scheduling.domain.repositories.ConsultationRepository;
 import com.hospital.scheduling.domain.repositories.UserRepository;
 import com.hospital.scheduling.infrastructure.events.EventPublisher;
@@ -19,13 +20,16 @@ public class UpdateConsultationUseCase {
     private final ConsultationRepository consultationRepository;
     private final UserRepository userRepository;
     private final EventPublisher eventPublisher;
+    private final BookingEngine bookingEngine;
 
     public UpdateConsultationUseCase(ConsultationRepository consultationRepository,
                                      UserRepository userRepository,
-                                     EventPublisher eventPublisher) {
+                                     EventPublisher eventPublisher,
+                                     BookingEngine bookingEngine) {
         this.consultationRepository = consultationRepository;
         this.userRepository = userRepository;
         this.eventPublisher = eventPublisher;
+        this.bookingEngine = bookingEngine;
     }
 
     @Transactional
@@ -35,14 +39,6 @@ public class UpdateConsultationUseCase {
 
         boolean dateTimeChanged = !consultation.getScheduledDateTime().equals(request.scheduledDateTime());
 
-        if (dateTimeChanged) {
-            Long doctorId = request.doctorId() != null ? request.doctorId() : consultation.getDoctorId();
-
-            if (consultationRepository.existsByDoctorIdAndScheduledDateTime(doctorId, request.scheduledDateTime())) {
-                throw new IllegalArgumentException("Doctor already has a consultation scheduled at this time");
-            }
-        }
-
         Long patientId = request.patientId() != null ? request.patientId() : consultation.getPatientId();
         Long doctorId = request.doctorId() != null ? request.doctorId() : consultation.getDoctorId();
 
@@ -55,6 +51,7 @@ public class UpdateConsultationUseCase {
 
         if (dateTimeChanged) {
             consultation.reschedule(request.scheduledDateTime());
+            bookingEngine.reserve(consultation);
         }
 
         Consultation savedConsultation = consultationRepository.save(consultation);
@@ -69,6 +66,9 @@ public class UpdateConsultationUseCase {
                     patient.getName(),
                     doctor.getName()
             );
+            // Médico e duração permitem que outras instâncias movam a consulta no DoctorScheduleIndex
+            event.setDoctorId(savedConsultation.getDoctorId());
+            event.setDurationMinutes(savedConsultation.getDurationMinutes());
             eventPublisher.publishEvent(event);
         }
 
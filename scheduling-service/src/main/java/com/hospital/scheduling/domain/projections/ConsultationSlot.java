@@ -0,0 +1,14 @@
+package com.hospital.scheduling.domain.projections;
+
+import java.time.LocalDateTime;
+
+public record ConsultationSlot(
+        Long id,
+        Long doctorId,
+        LocalDateTime scheduledDateTime,
+        int durationMinutes) {
+
+    public LocalDateTime endDateTime() {
+        return scheduledDateTime.plusMinutes(durationMinutes);
+    }
+}
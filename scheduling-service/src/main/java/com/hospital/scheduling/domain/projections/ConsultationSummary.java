@@ -0,0 +1,22 @@
+package com.hospital.scheduling.domain.projections;
+
+import com.hospital.shared.domain.enums.ConsultationStatus;
+
+import java.time.LocalDateTime;
+
+public record ConsultationSummary(
+        Long id,
+        Long patientId,
+        Long doctorId,
+        LocalDateTime scheduledDateTime,
+        int durationMinutes,
+        LocalDateTime actualStartTime,
+        LocalDateTime actualEndTime,
+        ConsultationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public LocalDateTime endDateTime() {
+        return scheduledDateTime.plusMinutes(durationMinutes);
+    }
+}
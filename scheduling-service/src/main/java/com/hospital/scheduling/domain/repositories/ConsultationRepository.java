@@ -1,26 +1,53 @@
 package com.hospital.scheduling.domain.repositories;
 
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
 import com.hospital.shared.domain.entities.Consultation;
 import com.hospital.shared.domain.enums.ConsultationStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ConsultationRepository {
 
+    // Mensagem de todo conflito de agenda, seja apontado pelo índice, pela verificação sob lock ou pela constraint
+    String SLOT_CONFLICT_MESSAGE = "Doctor already has a consultation scheduled at this time";
+
     Consultation save(Consultation consultation);
 
+    List<Consultation> saveAll(List<Consultation> consultations);
+
     Optional<Consultation> findById(Long id);
 
     List<Consultation> findAll();
 
+    List<Consultation> findPage(LocalDateTime afterScheduledDateTime, Long afterId, int limit);
+
+    List<ConsultationSummary> findSummaryPage(LocalDateTime afterScheduledDateTime, Long afterId, int limit);
+
+    Stream<Consultation> streamAll();
+
     List<Consultation> findByPatientId(Long patientId);
 
     List<Consultation> findFutureConsultationsByPatientId(Long patientId);
 
     List<Consultation> findByPatientIdAndStatus(Long patientId, ConsultationStatus status);
 
-    boolean existsByDoctorIdAndScheduledDateTime(Long doctorId, LocalDateTime scheduledDateTime);
+    List<ConsultationSummary> findSummariesByPatientId(Long patientId);
+
+    List<ConsultationSummary> findFutureSummariesByPatientId(Long patientId);
+
+    List<ConsultationSummary> findSummariesByPatientIdAndStatus(Long patientId, ConsultationStatus status);
+
+    List<ConsultationSlot> findActiveSlots(Collection<Long> doctorIds, LocalDateTime from, LocalDateTime to);
+
+    List<ConsultationSlot> findActiveSlotsFrom(LocalDateTime from);
+
+    boolean existsOverlapping(Long doctorId, LocalDateTime start, LocalDateTime end, Long ignoredConsultationId);
+
+    void lockDoctorSchedule(Long doctorId);
 
 }
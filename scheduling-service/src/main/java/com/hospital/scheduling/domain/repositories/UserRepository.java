@@ -1,7 +1,9 @@
 package com.hospital.scheduling.domain.repositories;
 
 import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,8 +15,12 @@ public interface UserRepository {
 
     Optional<User> findByEmail(String email);
 
+    List<User> findAllByIds(Collection<Long> ids);
+
     List<User> findActiveUsers();
 
+    List<User> findActiveUsersByType(UserType userType);
+
     boolean existsByEmail(String email);
 
 }
@@ -0,0 +1,24 @@
+package com.hospital.scheduling.infrastructure.config;
+
+import com.hospital.scheduling.application.dtos.UserResponse;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.User;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Configuration
+public class GraphQlDataLoaderConfig {
+
+    public GraphQlDataLoaderConfig(BatchLoaderRegistry batchLoaderRegistry, UserRepository userRepository) {
+        // Um DataLoader por requisição: todos os ids de usuário pedidos no mesmo nível da query viram um único IN
+        batchLoaderRegistry.forTypePair(Long.class, UserResponse.class)
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromCallable(() ->
+                        userRepository.findAllByIds(ids)
+                                .stream()
+                                .collect(Collectors.toMap(User::getId, UserResponse::fromEntity, (first, second) -> first))));
+    }
+}
@@ -1,11 +1,15 @@
 package com.hospital.scheduling.infrastructure.config;
 
+import com.hospital.scheduling.infrastructure.security.CustomUserDetails;
+import com.hospital.scheduling.infrastructure.security.TokenRevocationService;
 import com.hospital.scheduling.infrastructure.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,10 +24,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtTokenUtil jwtTokenUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final boolean stateless;
 
-    public JwtRequestFilter(UserDetailsServiceImpl userDetailsService, JwtTokenUtil jwtTokenUtil) {
+    public JwtRequestFilter(UserDetailsServiceImpl userDetailsService,
+                            JwtTokenUtil jwtTokenUtil,
+                            TokenRevocationService tokenRevocationService,
+                            @Value("${hospital.security.jwt.stateless:true}") boolean stateless) {
         this.userDetailsService = userDetailsService;
         this.jwtTokenUtil = jwtTokenUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.stateless = stateless;
     }
 
     @Override
@@ -33,16 +44,19 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         final String requestTokenHeader = request.getHeader("Authorization");
 
         String username = null;
-        String jwtToken = null;
+        Claims claims = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
+            String jwtToken = requestTokenHeader.substring(7);
             try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.error("Unable to get JWT Token", e);
+                // Assinatura verificada uma única vez; as claims são reutilizadas na validação abaixo
+                claims = jwtTokenUtil.parseToken(jwtToken);
+                username = claims.getSubject();
             } catch (ExpiredJwtException e) {
+                // O JwtTokenUtil deixa passar a expiração; os demais erros de parse chegam como IllegalArgumentException
                 logger.error("JWT Token has expired", e);
+            } catch (IllegalArgumentException e) {
+                logger.error("Unable to get JWT Token", e);
             } catch (Exception e) {
                 logger.error("Error processing JWT Token", e);
             }
@@ -53,9 +67,9 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = resolveUserDetails(claims, username);
 
-                if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+                if (jwtTokenUtil.validateToken(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
                     usernamePasswordAuthenticationToken
@@ -69,4 +83,17 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private UserDetails resolveUserDetails(Claims claims, String username) {
+        if (stateless) {
+            CustomUserDetails fromClaims = jwtTokenUtil.getUserDetailsFromClaims(claims);
+            if (fromClaims != null) {
+                if (!fromClaims.isEnabled() || tokenRevocationService.isRevoked(fromClaims.getId(), jwtTokenUtil.getIssuedAt(claims))) {
+                    throw new IllegalArgumentException("Revoked or inactive JWT token for user: " + username);
+                }
+                return fromClaims;
+            }
+        }
+        return this.userDetailsService.loadUserByUsername(username);
+    }
 }
@@ -1,12 +1,16 @@
 package com.hospital.scheduling.infrastructure.config;
 
+import com.hospital.scheduling.infrastructure.security.CustomUserDetails;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,63 +22,98 @@ public class JwtTokenUtil {
 
     private static final String SECRET = "hospital-system-secret-key-for-jwt-token-generation-must-be-long-enough-to-be-secure";
     private static final int JWT_TOKEN_VALIDITY = 5 * 60 * 60;
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_ACTIVE = "active";
+    // iat tem precisão de segundos; o instante exato de emissão vai junto para comparar com tokens_valid_after
+    private static final String CLAIM_ISSUED_AT_MILLIS = "iat_ms";
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
-    }
+    // Chave e parser são imutáveis e thread-safe: criados uma vez e reutilizados em todas as requisições
+    private final SecretKey signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser jwtParser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
 
     public String getUsernameFromToken(String token) {
         return getClaimFromToken(token, Claims::getSubject);
     }
 
+    public Date getIssuedAt(Claims claims) {
+        Long issuedAtMillis = claims.get(CLAIM_ISSUED_AT_MILLIS, Long.class);
+        return issuedAtMillis != null ? new Date(issuedAtMillis) : claims.getIssuedAt();
+    }
+
     public Date getExpirationDateFromToken(String token) {
         return getClaimFromToken(token, Claims::getExpiration);
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
+        final Claims claims = parseToken(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims getAllClaimsFromToken(String token) {
+    // Um token expirado sai como ExpiredJwtException, para que quem chama o diferencie de um token inválido
+    public Claims parseToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
+        } catch (ExpiredJwtException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalArgumentException("Invalid JWT token", e);
         }
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    private boolean isTokenExpired(Claims claims) {
+        final Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            claims.put(CLAIM_USER_ID, customUserDetails.getId());
+            claims.put(CLAIM_ROLE, customUserDetails.getUserType());
+            claims.put(CLAIM_ACTIVE, customUserDetails.isEnabled());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
+    public CustomUserDetails getUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Boolean active = claims.get(CLAIM_ACTIVE, Boolean.class);
+
+        // Tokens emitidos antes da inclusão das claims continuam exigindo a busca do usuário
+        if (userId == null || role == null || active == null || claims.getSubject() == null) {
+            return null;
+        }
+
+        return new CustomUserDetails(userId, claims.getSubject(), role, active);
+    }
+
     private String createToken(Map<String, Object> claims, String subject) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .claims(claims)
+                .claim(CLAIM_ISSUED_AT_MILLIS, now)
                 .subject(subject)
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY * 1000L))
-                .signWith(getSigningKey())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + JWT_TOKEN_VALIDITY * 1000L))
+                .signWith(signingKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = getUsernameFromToken(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            return validateToken(parseToken(token), userDetails);
         } catch (Exception e) {
             return false;
         }
     }
 
+    public boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
 }
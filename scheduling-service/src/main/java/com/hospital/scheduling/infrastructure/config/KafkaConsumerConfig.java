@@ -0,0 +1,42 @@
+package com.hospital.scheduling.infrastructure.config;
+
+import com.hospital.shared.domain.events.DomainEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    // Consumer do DoctorScheduleIndex: cada instância usa um grupo próprio (ver ScheduleIndexListener). Na
+    // primeira subida lê só o que chega dali em diante, já que o estado anterior é carregado do banco; nas
+    // seguintes retoma do offset confirmado, e reaplicar eventos já refletidos no banco não altera o índice
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, DomainEvent> scheduleIndexListenerContainerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.hospital.shared.domain.events");
+        configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, DomainEvent.class.getName());
+
+        ConcurrentKafkaListenerContainerFactory<String, DomainEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(configProps));
+        return factory;
+    }
+}
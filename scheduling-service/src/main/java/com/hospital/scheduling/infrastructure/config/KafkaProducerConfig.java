@@ -1,10 +1,12 @@
 package com.hospital.scheduling.infrastructure.config;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -19,6 +21,15 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${hospital.kafka.topic.consultation-events:consultation-events}")
+    private String consultationEventsTopic;
+
+    @Value("${hospital.kafka.topic.partitions:6}")
+    private int topicPartitions;
+
+    @Value("${hospital.kafka.topic.replicas:1}")
+    private int topicReplicas;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
@@ -27,6 +38,8 @@ public class KafkaProducerConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
         configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
         configProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
         configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, 33554432);
@@ -38,4 +51,14 @@ public class KafkaProducerConfig {
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    // Eventos são chaveados pelo id do paciente: todos os eventos de um destinatário chegam ao mesmo consumer
+    // (necessário para o digest) e, como cada consulta tem um só paciente, a ordem por consulta é mantida
+    @Bean
+    public NewTopic consultationEventsTopic() {
+        return TopicBuilder.name(consultationEventsTopic)
+                .partitions(topicPartitions)
+                .replicas(topicReplicas)
+                .build();
+    }
 }
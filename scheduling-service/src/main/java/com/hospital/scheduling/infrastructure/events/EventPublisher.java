@@ -1,42 +1,39 @@
 package com.hospital.scheduling.infrastructure.events;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaEntity;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaRepository;
 import com.hospital.shared.domain.events.DomainEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
-
-import java.util.concurrent.CompletableFuture;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EventPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(EventPublisher.class);
-    private static final String TOPIC_NAME = "consultation-events";
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+    private final ObjectMapper objectMapper;
 
-    public EventPublisher(KafkaTemplate<String, Object> kafkaTemplate) {
-        this.kafkaTemplate = kafkaTemplate;
+    public EventPublisher(OutboxEventJpaRepository outboxEventJpaRepository, ObjectMapper objectMapper) {
+        this.outboxEventJpaRepository = outboxEventJpaRepository;
+        this.objectMapper = objectMapper;
     }
 
+    // O evento é gravado na mesma transação da alteração da consulta; o OutboxRelay publica no Kafka após o commit
+    @Transactional(propagation = Propagation.MANDATORY)
     public void publishEvent(DomainEvent event) {
         try {
-            CompletableFuture<SendResult<String, Object>> future = kafkaTemplate.send(TOPIC_NAME, event.getEventId(),
-                    event);
-
-            future.whenComplete((result, exception) -> {
-                if (exception == null) {
-                    logger.info("Evento {} publicado com sucesso no tópico {} com offset {}",
-                            event.getEventType(), TOPIC_NAME, result.getRecordMetadata().offset());
-                } else {
-                    logger.error("Falha ao publicar evento {} no tópico {}: {}",
-                            event.getEventType(), TOPIC_NAME, exception.getMessage());
-                }
-            });
-        } catch (Exception e) {
-            logger.error("Erro ao enviar evento {} para Kafka: {}", event.getEventType(), e.getMessage(), e);
+            String payload = objectMapper.writeValueAsString(event);
+            outboxEventJpaRepository.save(new OutboxEventJpaEntity(
+                    event.getEventId(), event.getEventType(), event.getPartitionKey(), payload));
+            logger.debug("Evento {} registrado no outbox", event.getEventType());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar evento " + event.getEventType(), e);
         }
     }
 }
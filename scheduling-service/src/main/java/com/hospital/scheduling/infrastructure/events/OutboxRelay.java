@@ -0,0 +1,136 @@
+package com.hospital.scheduling.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaEntity;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaRepository;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final String topicName;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final TransactionOperations transactionOperations;
+
+    @Autowired
+    public OutboxRelay(OutboxEventJpaRepository outboxEventJpaRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${hospital.kafka.topic.consultation-events:consultation-events}") String topicName,
+                       @Value("${hospital.outbox.batch-size:100}") int batchSize,
+                       @Value("${hospital.outbox.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this(outboxEventJpaRepository, kafkaTemplate, objectMapper, new TransactionTemplate(transactionManager),
+                topicName, batchSize, sendTimeoutMs);
+    }
+
+    OutboxRelay(OutboxEventJpaRepository outboxEventJpaRepository,
+                KafkaTemplate<String, Object> kafkaTemplate,
+                ObjectMapper objectMapper,
+                TransactionOperations transactionOperations,
+                String topicName,
+                int batchSize,
+                long sendTimeoutMs) {
+        this.outboxEventJpaRepository = outboxEventJpaRepository;
+        this.transactionOperations = transactionOperations;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.topicName = topicName;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${hospital.outbox.relay-interval-ms:500}")
+    public void drain() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    // As linhas ficam travadas até o commit, que também remove as publicadas: com várias instâncias
+    // cada evento é reivindicado por uma só
+    public int relayBatch() {
+        Integer relayed = transactionOperations.execute(status -> relayClaimedBatch());
+        return relayed != null ? relayed : 0;
+    }
+
+    private int relayClaimedBatch() {
+        List<OutboxEventJpaEntity> batch = outboxEventJpaRepository.claimOldest(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Linhas mais antigas que as reivindicadas estão travadas por outra instância. Publicar este lote agora
+        // poderia passar à frente de eventos anteriores da mesma chave; a instância que as detém segue drenando
+        Long oldestId = outboxEventJpaRepository.findOldestId();
+        if (oldestId != null && !oldestId.equals(batch.get(0).getId())) {
+            logger.debug("Outbox sendo drenado por outra instância a partir do evento {}", oldestId);
+            return 0;
+        }
+
+        // Envia o lote inteiro antes de aguardar, para que o produtor agrupe as mensagens
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(batch.size());
+        List<Long> relayedIds = new ArrayList<>(batch.size());
+        for (OutboxEventJpaEntity outboxEvent : batch) {
+            DomainEvent event = deserialize(outboxEvent);
+            futures.add(event != null
+                    ? kafkaTemplate.send(topicName, outboxEvent.getMessageKey(), event)
+                    : CompletableFuture.completedFuture(null));
+        }
+
+        // Remove apenas o prefixo confirmado pelo broker, preservando a ordem dos eventos restantes
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                futures.get(i).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                relayedIds.add(batch.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Falha ao publicar evento {} do outbox no tópico {}: {}",
+                        batch.get(i).getEventId(), topicName, e.getMessage());
+                break;
+            }
+        }
+
+        if (!relayedIds.isEmpty()) {
+            outboxEventJpaRepository.deleteAllByIdInBatch(relayedIds);
+            logger.debug("{} eventos do outbox publicados no tópico {}", relayedIds.size(), topicName);
+        }
+
+        return relayedIds.size();
+    }
+
+    private DomainEvent deserialize(OutboxEventJpaEntity outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), DomainEvent.class);
+        } catch (Exception e) {
+            logger.error("Evento {} do outbox descartado: payload inválido ({})",
+                    outboxEvent.getEventId(), e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hospital.scheduling.infrastructure.events;
+
+import com.hospital.scheduling.application.services.DoctorScheduleIndex;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+// Mantém o DoctorScheduleIndex desta instância em dia com as marcações de todas as instâncias. O grupo é
+// próprio de cada instância para que ela receba todas as partições, e não uma fatia delas, e estável entre
+// reinícios para que o broker não acumule um grupo abandonado a cada subida
+@Component
+public class ScheduleIndexListener {
+
+    private final DoctorScheduleIndex doctorScheduleIndex;
+
+    public ScheduleIndexListener(DoctorScheduleIndex doctorScheduleIndex) {
+        this.doctorScheduleIndex = doctorScheduleIndex;
+    }
+
+    @KafkaListener(id = "scheduling-schedule-index",
+            topics = "${hospital.kafka.topic.consultation-events:consultation-events}",
+            groupId = "scheduling-schedule-index-${hospital.scheduling.instance-id:local}",
+            containerFactory = "scheduleIndexListenerContainerFactory")
+    public void onConsultationEvent(DomainEvent event) {
+        doctorScheduleIndex.apply(event);
+    }
+}
@@ -0,0 +1,142 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.scheduling.infrastructure.cache.BoundedTtlCache;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Repository
+@Primary
+public class CachingUserRepository implements UserRepository {
+
+    private final UserRepository delegate;
+    private final BoundedTtlCache<Long, User> byId;
+    private final BoundedTtlCache<String, User> byEmail;
+    private final Counter byIdHits;
+    private final Counter byIdMisses;
+    private final Counter byEmailHits;
+    private final Counter byEmailMisses;
+    private final Object populateLock = new Object();
+    // Incrementada a cada eviction: uma carga que começou antes dela não é guardada no cache
+    private long generation;
+
+    @Autowired
+    public CachingUserRepository(UserRepositoryImpl delegate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${hospital.cache.users.max-size:1000}") int maxSize,
+                                 @Value("${hospital.cache.users.ttl:5m}") Duration ttl) {
+        this(delegate, meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    CachingUserRepository(UserRepository delegate, MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.byId = new BoundedTtlCache<>(maxSize, ttl, clock);
+        this.byEmail = new BoundedTtlCache<>(maxSize, ttl, clock);
+        this.byIdHits = counter(meterRegistry, "id", "hit");
+        this.byIdMisses = counter(meterRegistry, "id", "miss");
+        this.byEmailHits = counter(meterRegistry, "email", "hit");
+        this.byEmailMisses = counter(meterRegistry, "email", "miss");
+        meterRegistry.gauge("hospital.user.cache.size", List.of(), byId, BoundedTtlCache::size);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String key, String result) {
+        return Counter.builder("hospital.user.cache.requests")
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public User save(User user) {
+        User saved = delegate.save(user);
+        // Cobre activate/deactivate e demais alterações, que só chegam ao banco por aqui. Até o commit outra
+        // requisição ainda lê a linha antiga e pode cacheá-la, então a entrada é removida de novo no fim da transação
+        evict(saved.getId());
+        AfterTransaction.run(() -> evict(saved.getId()));
+        return saved;
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return lookup(byId, id, byIdHits, byIdMisses, delegate::findById);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return lookup(byEmail, email, byEmailHits, byEmailMisses, delegate::findByEmail);
+    }
+
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public List<User> findActiveUsers() {
+        return delegate.findActiveUsers();
+    }
+
+    @Override
+    public List<User> findActiveUsersByType(UserType userType) {
+        return delegate.findActiveUsersByType(userType);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return delegate.existsByEmail(email);
+    }
+
+    public void evict(Long userId) {
+        synchronized (populateLock) {
+            generation++;
+            byId.invalidate(userId);
+            byEmail.invalidateIf(cached -> userId.equals(cached.getId()));
+        }
+    }
+
+    private <K> Optional<User> lookup(BoundedTtlCache<K, User> cache, K key, Counter hits, Counter misses,
+                                      Function<K, Optional<User>> loader) {
+        Optional<User> cached = cache.get(key);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.map(CachingUserRepository::copyOf);
+        }
+
+        misses.increment();
+        long loadGeneration;
+        synchronized (populateLock) {
+            loadGeneration = generation;
+        }
+        Optional<User> loaded = loader.apply(key);
+        loaded.ifPresent(user -> {
+            synchronized (populateLock) {
+                // Uma eviction durante a carga pode ter invalidado o que foi lido: o resultado não é guardado
+                if (generation == loadGeneration) {
+                    byId.put(user.getId(), copyOf(user));
+                    byEmail.put(user.getEmail(), copyOf(user));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    // User é mutável; o cache guarda e devolve cópias para que alterações do chamador não vazem entre requisições
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getUserType(),
+                user.getCrm(), user.getCoren(), user.getCpf(), user.getCreatedAt(), user.getUpdatedAt(),
+                user.isActive());
+    }
+}
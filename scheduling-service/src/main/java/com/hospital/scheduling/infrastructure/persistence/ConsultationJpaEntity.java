@@ -7,11 +7,15 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "consultations")
+@Table(name = "consultations", indexes = {
+        @Index(name = "idx_consultations_patient_status_date", columnList = "patient_id, status, scheduled_date_time"),
+        @Index(name = "idx_consultations_doctor_start_end", columnList = "doctor_id, scheduled_date_time, end_date_time")
+})
 public class ConsultationJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consultations_seq")
+    @SequenceGenerator(name = "consultations_seq", sequenceName = "consultations_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "patient_id", nullable = false)
@@ -23,6 +27,13 @@ public class ConsultationJpaEntity {
     @Column(name = "scheduled_date_time", nullable = false)
     private LocalDateTime scheduledDateTime;
 
+    @Column(name = "duration_minutes", nullable = false)
+    private int durationMinutes = Consultation.DEFAULT_DURATION_MINUTES;
+
+    // Coluna gerada no banco (início + duração); mapeada só para leitura nas consultas de conflito
+    @Column(name = "end_date_time", insertable = false, updatable = false)
+    private LocalDateTime endDateTime;
+
     @Column(name = "actual_start_time")
     private LocalDateTime actualStartTime;
 
@@ -51,6 +62,10 @@ public class ConsultationJpaEntity {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     protected ConsultationJpaEntity() {
     }
 
@@ -59,6 +74,7 @@ public class ConsultationJpaEntity {
         this.patientId = consultation.getPatientId();
         this.doctorId = consultation.getDoctorId();
         this.scheduledDateTime = consultation.getScheduledDateTime();
+        this.durationMinutes = consultation.getDurationMinutes();
         this.actualStartTime = consultation.getActualStartTime();
         this.actualEndTime = consultation.getActualEndTime();
         this.status = consultation.getStatus();
@@ -68,18 +84,22 @@ public class ConsultationJpaEntity {
         this.prescription = consultation.getPrescription();
         this.createdAt = consultation.getCreatedAt();
         this.updatedAt = consultation.getUpdatedAt();
+        this.version = consultation.getVersion();
     }
 
     public Consultation toDomainEntity() {
-        return new Consultation(id, patientId, doctorId, scheduledDateTime,
+        Consultation consultation = new Consultation(id, patientId, doctorId, scheduledDateTime, durationMinutes,
                 actualStartTime, actualEndTime, status, notes,
                 symptoms, diagnosis, prescription, createdAt, updatedAt);
+        consultation.setVersion(version);
+        return consultation;
     }
 
     public void updateFromDomainEntity(Consultation consultation) {
         this.patientId = consultation.getPatientId();
         this.doctorId = consultation.getDoctorId();
         this.scheduledDateTime = consultation.getScheduledDateTime();
+        this.durationMinutes = consultation.getDurationMinutes();
         this.actualStartTime = consultation.getActualStartTime();
         this.actualEndTime = consultation.getActualEndTime();
         this.status = consultation.getStatus();
@@ -122,6 +142,18 @@ public class ConsultationJpaEntity {
         this.scheduledDateTime = scheduledDateTime;
     }
 
+    public int getDurationMinutes() {
+        return durationMinutes;
+    }
+
+    public void setDurationMinutes(int durationMinutes) {
+        this.durationMinutes = durationMinutes;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
     public LocalDateTime getActualStartTime() {
         return actualStartTime;
     }
@@ -193,4 +225,12 @@ public class ConsultationJpaEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
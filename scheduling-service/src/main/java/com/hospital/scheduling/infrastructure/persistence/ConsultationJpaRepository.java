@@ -1,17 +1,30 @@
 package com.hospital.scheduling.infrastructure.persistence;
 
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
 import com.hospital.shared.domain.enums.ConsultationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ConsultationJpaRepository extends JpaRepository<ConsultationJpaEntity, Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.hospital.scheduling.domain.projections.ConsultationSummary("
+            + "c.id, c.patientId, c.doctorId, c.scheduledDateTime, c.durationMinutes, c.actualStartTime, c.actualEndTime, "
+            + "c.status, c.createdAt, c.updatedAt) FROM ConsultationJpaEntity c ";
+
     List<ConsultationJpaEntity> findByPatientId(Long patientId);
 
     List<ConsultationJpaEntity> findByPatientIdAndStatus(Long patientId, ConsultationStatus status);
@@ -20,5 +33,83 @@ public interface ConsultationJpaRepository extends JpaRepository<ConsultationJpa
     List<ConsultationJpaEntity> findFutureConsultationsByPatientId(@Param("patientId") Long patientId,
                                                                    @Param("now") LocalDateTime now);
 
-    boolean existsByDoctorIdAndScheduledDateTime(Long doctorId, LocalDateTime scheduledDateTime);
+    @Query("SELECT c FROM ConsultationJpaEntity c ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    List<ConsultationJpaEntity> findFirstPage(Pageable pageable);
+
+    @Query("SELECT c FROM ConsultationJpaEntity c WHERE c.scheduledDateTime > :scheduledDateTime OR (c.scheduledDateTime = :scheduledDateTime AND c.id > :id) ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    List<ConsultationJpaEntity> findPageAfter(@Param("scheduledDateTime") LocalDateTime scheduledDateTime,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    List<ConsultationSummary> findSummaryFirstPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.scheduledDateTime > :scheduledDateTime OR (c.scheduledDateTime = :scheduledDateTime AND c.id > :id) ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    List<ConsultationSummary> findSummaryPageAfter(@Param("scheduledDateTime") LocalDateTime scheduledDateTime,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.patientId = :patientId ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    List<ConsultationSummary> findSummariesByPatientId(@Param("patientId") Long patientId);
+
+    @Query(SUMMARY_SELECT + "WHERE c.patientId = :patientId AND c.scheduledDateTime > :now AND c.status = 'AGENDADA' ORDER BY c.scheduledDateTime ASC")
+    List<ConsultationSummary> findFutureSummariesByPatientId(@Param("patientId") Long patientId,
+                                                             @Param("now") LocalDateTime now);
+
+    @Query(SUMMARY_SELECT + "WHERE c.patientId = :patientId AND c.status = :status ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    List<ConsultationSummary> findSummariesByPatientIdAndStatus(@Param("patientId") Long patientId,
+                                                                @Param("status") ConsultationStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ConsultationJpaEntity c ORDER BY c.scheduledDateTime ASC, c.id ASC")
+    Stream<ConsultationJpaEntity> streamAllOrdered();
+
+    // Consultas ativas dos médicos que tocam [start, end); mesma faixa do índice usada em existsOverlapping
+    @Query("SELECT new com.hospital.scheduling.domain.projections.ConsultationSlot(c.id, c.doctorId, c.scheduledDateTime, c.durationMinutes) "
+            + "FROM ConsultationJpaEntity c WHERE c.doctorId IN :doctorIds AND c.scheduledDateTime > :earliestStart "
+            + "AND c.scheduledDateTime < :end AND c.endDateTime > :start AND c.status <> 'CANCELADA'")
+    List<ConsultationSlot> findActiveSlots(@Param("doctorIds") Collection<Long> doctorIds,
+                                           @Param("earliestStart") LocalDateTime earliestStart,
+                                           @Param("start") LocalDateTime start,
+                                           @Param("end") LocalDateTime end);
+
+    // Carga inicial do DoctorScheduleIndex: consultas ativas de todos os médicos a partir de :from
+    @Query("SELECT new com.hospital.scheduling.domain.projections.ConsultationSlot(c.id, c.doctorId, c.scheduledDateTime, c.durationMinutes) "
+            + "FROM ConsultationJpaEntity c WHERE c.status <> 'CANCELADA' AND c.scheduledDateTime >= :from")
+    List<ConsultationSlot> findActiveSlotsFrom(@Param("from") LocalDateTime from);
+
+    // Sobreposição de [start, end) com outra consulta ativa do médico. O limite inferior earliestStart
+    // (start menos a duração máxima) torna a busca uma faixa do índice (doctor_id, scheduled_date_time, end_date_time)
+    @Query("SELECT CASE WHEN COUNT(c) > 0 THEN true ELSE false END FROM ConsultationJpaEntity c "
+            + "WHERE c.doctorId = :doctorId AND c.scheduledDateTime > :earliestStart AND c.scheduledDateTime < :end "
+            + "AND c.endDateTime > :start AND c.status <> 'CANCELADA' "
+            + "AND (:ignoredId IS NULL OR c.id <> :ignoredId)")
+    boolean existsOverlapping(@Param("doctorId") Long doctorId,
+                              @Param("earliestStart") LocalDateTime earliestStart,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("ignoredId") Long ignoredId);
+
+    // Grava todas as colunas mutáveis em um único UPDATE, condicionado à versão lida pelo caso de uso;
+    // retorna 0 quando outra transação alterou (ou removeu) a consulta nesse meio tempo
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ConsultationJpaEntity c SET "
+            + "c.patientId = :#{#consultation.patientId}, "
+            + "c.doctorId = :#{#consultation.doctorId}, "
+            + "c.scheduledDateTime = :#{#consultation.scheduledDateTime}, "
+            + "c.durationMinutes = :#{#consultation.durationMinutes}, "
+            + "c.actualStartTime = :#{#consultation.actualStartTime}, "
+            + "c.actualEndTime = :#{#consultation.actualEndTime}, "
+            + "c.status = :#{#consultation.status}, "
+            + "c.notes = :#{#consultation.notes}, "
+            + "c.symptoms = :#{#consultation.symptoms}, "
+            + "c.diagnosis = :#{#consultation.diagnosis}, "
+            + "c.prescription = :#{#consultation.prescription}, "
+            + "c.updatedAt = :#{#consultation.updatedAt}, "
+            + "c.version = c.version + 1 "
+            + "WHERE c.id = :#{#consultation.id} AND c.version = :#{#consultation.version}")
+    int updateIfVersionMatches(@Param("consultation") ConsultationJpaEntity consultation);
 }
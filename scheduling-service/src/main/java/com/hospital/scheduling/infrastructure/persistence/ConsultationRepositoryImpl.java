@@ -1,44 +1,117 @@
 package com.hospital.scheduling.infrastructure.persistence;
 
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
 import com.hospital.scheduling.domain.repositories.ConsultationRepository;
 import com.hospital.shared.domain.entities.Consultation;
 import com.hospital.shared.domain.enums.ConsultationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class ConsultationRepositoryImpl implements ConsultationRepository {
 
+    static final String SLOT_CONSTRAINT = "uk_consultations_doctor_active_slot";
+
     private final ConsultationJpaRepository consultationJpaRepository;
+    private final int batchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public ConsultationRepositoryImpl(ConsultationJpaRepository consultationJpaRepository) {
+    public ConsultationRepositoryImpl(ConsultationJpaRepository consultationJpaRepository,
+                                      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
         this.consultationJpaRepository = consultationJpaRepository;
+        this.batchSize = batchSize;
     }
 
     @Override
     public Consultation save(Consultation consultation) {
-        ConsultationJpaEntity entity;
-
         if (consultation.getId() != null) {
-            entity = consultationJpaRepository.findById(consultation.getId())
-                    .orElseThrow(
-                            () -> new IllegalArgumentException("Consulta não encontrada: " + consultation.getId()));
-            entity.updateFromDomainEntity(consultation);
-        } else {
-            entity = new ConsultationJpaEntity(consultation);
+            return update(consultation);
         }
 
-        ConsultationJpaEntity savedEntity = consultationJpaRepository.save(entity);
+        ConsultationJpaEntity savedEntity;
+        try {
+            // flush imediato: a violação da restrição única aparece aqui, e não no commit
+            savedEntity = consultationJpaRepository.saveAndFlush(new ConsultationJpaEntity(consultation));
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
         Consultation savedConsultation = savedEntity.toDomainEntity();
+        savedConsultation.setId(savedEntity.getId());
+
+        return savedConsultation;
+    }
 
-        if (consultation.getId() == null) {
-            savedConsultation.setId(savedEntity.getId());
+    // Só inserções: cada bloco de batchSize consultas vira um único INSERT em lote e é removido do contexto
+    // de persistência logo após o flush, para que milhares de entidades não fiquem acumuladas na sessão
+    @Override
+    public List<Consultation> saveAll(List<Consultation> consultations) {
+        List<Consultation> savedConsultations = new ArrayList<>(consultations.size());
+
+        for (int from = 0; from < consultations.size(); from += batchSize) {
+            List<ConsultationJpaEntity> chunk = consultations.subList(from, Math.min(from + batchSize, consultations.size()))
+                    .stream()
+                    .map(ConsultationJpaEntity::new)
+                    .toList();
+            try {
+                consultationJpaRepository.saveAll(chunk);
+                consultationJpaRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw translate(e);
+            }
+            entityManager.clear();
+
+            chunk.forEach(entity -> savedConsultations.add(entity.toDomainEntity()));
         }
 
-        return savedConsultation;
+        return savedConsultations;
+    }
+
+    // Consulta já carregada pelo caso de uso: um único UPDATE condicionado à versão lida,
+    // sem recarregar a linha antes de gravar
+    private Consultation update(Consultation consultation) {
+        if (consultation.getVersion() == null) {
+            throw new IllegalArgumentException("Versão da consulta é obrigatória para atualização: " + consultation.getId());
+        }
+
+        int updated;
+        try {
+            updated = consultationJpaRepository.updateIfVersionMatches(new ConsultationJpaEntity(consultation));
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+        if (updated == 0) {
+            throw new OptimisticLockingFailureException(
+                    "Consulta " + consultation.getId() + " foi alterada ou removida por outra transação");
+        }
+
+        consultation.setVersion(consultation.getVersion() + 1);
+        return consultation;
+    }
+
+    private static RuntimeException translate(DataIntegrityViolationException e) {
+        return isSlotConflict(e) ? new IllegalArgumentException(SLOT_CONFLICT_MESSAGE) : e;
+    }
+
+    private static boolean isSlotConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(SLOT_CONSTRAINT);
     }
 
     @Override
@@ -55,6 +128,36 @@ public class ConsultationRepositoryImpl implements ConsultationRepository {
                 .toList();
     }
 
+    @Override
+    public List<Consultation> findPage(LocalDateTime afterScheduledDateTime, Long afterId, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        List<ConsultationJpaEntity> entities = afterScheduledDateTime == null || afterId == null
+                ? consultationJpaRepository.findFirstPage(pageRequest)
+                : consultationJpaRepository.findPageAfter(afterScheduledDateTime, afterId, pageRequest);
+
+        return entities.stream()
+                .map(ConsultationJpaEntity::toDomainEntity)
+                .toList();
+    }
+
+    @Override
+    public List<ConsultationSummary> findSummaryPage(LocalDateTime afterScheduledDateTime, Long afterId, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        return afterScheduledDateTime == null || afterId == null
+                ? consultationJpaRepository.findSummaryFirstPage(pageRequest)
+                : consultationJpaRepository.findSummaryPageAfter(afterScheduledDateTime, afterId, pageRequest);
+    }
+
+    @Override
+    public Stream<Consultation> streamAll() {
+        // Desanexa cada entidade após a conversão para manter o contexto de persistência vazio durante o cursor
+        return consultationJpaRepository.streamAllOrdered()
+                .map(entity -> {
+                    entityManager.detach(entity);
+                    return entity.toDomainEntity();
+                });
+    }
+
     @Override
     public List<Consultation> findByPatientId(Long patientId) {
         return consultationJpaRepository.findByPatientId(patientId)
@@ -80,8 +183,44 @@ public class ConsultationRepositoryImpl implements ConsultationRepository {
     }
 
     @Override
-    public boolean existsByDoctorIdAndScheduledDateTime(Long doctorId, LocalDateTime scheduledDateTime) {
-        return consultationJpaRepository.existsByDoctorIdAndScheduledDateTime(doctorId, scheduledDateTime);
+    public List<ConsultationSummary> findSummariesByPatientId(Long patientId) {
+        return consultationJpaRepository.findSummariesByPatientId(patientId);
+    }
+
+    @Override
+    public List<ConsultationSummary> findFutureSummariesByPatientId(Long patientId) {
+        return consultationJpaRepository.findFutureSummariesByPatientId(patientId, LocalDateTime.now());
+    }
+
+    @Override
+    public List<ConsultationSummary> findSummariesByPatientIdAndStatus(Long patientId, ConsultationStatus status) {
+        return consultationJpaRepository.findSummariesByPatientIdAndStatus(patientId, status);
+    }
+
+    @Override
+    public List<ConsultationSlot> findActiveSlots(Collection<Long> doctorIds, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime earliestStart = from.minusMinutes(Consultation.MAX_DURATION_MINUTES);
+        return consultationJpaRepository.findActiveSlots(doctorIds, earliestStart, from, to);
+    }
+
+    @Override
+    public List<ConsultationSlot> findActiveSlotsFrom(LocalDateTime from) {
+        return consultationJpaRepository.findActiveSlotsFrom(from);
+    }
+
+    @Override
+    public boolean existsOverlapping(Long doctorId, LocalDateTime start, LocalDateTime end, Long ignoredConsultationId) {
+        LocalDateTime earliestStart = start.minusMinutes(Consultation.MAX_DURATION_MINUTES);
+        return consultationJpaRepository.existsOverlapping(doctorId, earliestStart, start, end, ignoredConsultationId);
+    }
+
+    // SELECT ... FOR UPDATE na linha do médico: marcações concorrentes do mesmo médico esperam o commit
+    // da anterior antes de verificar sobreposição; médicos diferentes não disputam o mesmo lock
+    @Override
+    public void lockDoctorSchedule(Long doctorId) {
+        if (entityManager.find(UserJpaEntity.class, doctorId, LockModeType.PESSIMISTIC_WRITE) == null) {
+            throw new IllegalArgumentException("Doctor not found");
+        }
     }
 
 }
@@ -0,0 +1,24 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventJpaEntity, Long> {
+
+    // Reivindica as linhas mais antigas ainda livres: as travadas por outra instância são puladas em vez de
+    // esperadas. Consulta nativa porque o H2Dialect do Hibernate ignora o hint SKIP_LOCKED e geraria um
+    // FOR UPDATE bloqueante; H2 e PostgreSQL aceitam a mesma sintaxe.
+    // A ordem é a de gravação (created_at), não a do id: cada instância reserva blocos de ids, então um evento
+    // gravado depois pode ter id menor. Um evento causado por outro já commitado é sempre gravado depois dele
+    @Query(value = "SELECT * FROM outbox_events ORDER BY created_at ASC, id ASC LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEventJpaEntity> claimOldest(@Param("limit") int limit);
+
+    @Query(value = "SELECT id FROM outbox_events ORDER BY created_at ASC, id ASC LIMIT 1", nativeQuery = true)
+    Long findOldestId();
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 public class UserJpaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -45,6 +46,9 @@ public class UserJpaEntity {
     @Column(nullable = false)
     private boolean active = true;
 
+    @Column(name = "tokens_valid_after")
+    private Long tokensValidAfter;
+
     protected UserJpaEntity() {
     }
 
@@ -166,4 +170,12 @@ public class UserJpaEntity {
     public void setActive(boolean active) {
         this.active = active;
     }
+
+    public Long getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    public void setTokensValidAfter(Long tokensValidAfter) {
+        this.tokensValidAfter = tokensValidAfter;
+    }
 }
@@ -1,7 +1,9 @@
 package com.hospital.scheduling.infrastructure.persistence;
 
+import com.hospital.shared.domain.enums.UserType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,5 +17,11 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, Long> {
     @Query("SELECT u FROM UserJpaEntity u WHERE u.active = true")
     List<UserJpaEntity> findByActiveTrue();
 
+    @Query("SELECT u FROM UserJpaEntity u WHERE u.active = true AND u.userType = :userType")
+    List<UserJpaEntity> findActiveByUserType(@Param("userType") UserType userType);
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.tokensValidAfter FROM UserJpaEntity u WHERE u.id = :id")
+    Optional<Long> findTokensValidAfterById(@Param("id") Long id);
 }
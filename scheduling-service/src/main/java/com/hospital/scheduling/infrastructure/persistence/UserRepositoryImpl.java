@@ -1,9 +1,13 @@
 package com.hospital.scheduling.infrastructure.persistence;
 
 import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.scheduling.infrastructure.security.TokenRevocationService;
 import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +15,11 @@ import java.util.Optional;
 public class UserRepositoryImpl implements UserRepository {
 
     private final UserJpaRepository userJpaRepository;
+    private final TokenRevocationService tokenRevocationService;
 
-    public UserRepositoryImpl(UserJpaRepository userJpaRepository) {
+    public UserRepositoryImpl(UserJpaRepository userJpaRepository, TokenRevocationService tokenRevocationService) {
         this.userJpaRepository = userJpaRepository;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -23,6 +29,12 @@ public class UserRepositoryImpl implements UserRepository {
         if (user.getId() != null) {
             entity = userJpaRepository.findById(user.getId())
                     .orElseThrow(() -> new IllegalArgumentException("Usuário não encontrado: " + user.getId()));
+            if (affectsIssuedTokens(entity, user)) {
+                entity.setTokensValidAfter(Instant.now().toEpochMilli());
+                // O corte só fica visível no commit: invalida o cache de revogação desta instância depois dele
+                Long userId = user.getId();
+                AfterTransaction.run(() -> tokenRevocationService.evict(userId));
+            }
             entity.updateFromDomainEntity(user);
         } else {
             entity = new UserJpaEntity(user);
@@ -38,6 +50,14 @@ public class UserRepositoryImpl implements UserRepository {
         return savedUser;
     }
 
+    // Tokens stateless carregam email, perfil e status; qualquer mudança nesses dados invalida os tokens já emitidos
+    private boolean affectsIssuedTokens(UserJpaEntity current, User updated) {
+        return current.isActive() != updated.isActive()
+                || current.getUserType() != updated.getUserType()
+                || !current.getEmail().equals(updated.getEmail())
+                || !current.getPassword().equals(updated.getPassword());
+    }
+
     @Override
     public Optional<User> findById(Long id) {
         return userJpaRepository.findById(id)
@@ -50,6 +70,18 @@ public class UserRepositoryImpl implements UserRepository {
                 .map(UserJpaEntity::toDomainEntity);
     }
 
+    @Override
+    public List<User> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        return userJpaRepository.findAllById(ids)
+                .stream()
+                .map(UserJpaEntity::toDomainEntity)
+                .toList();
+    }
+
     @Override
     public List<User> findActiveUsers() {
         return userJpaRepository.findByActiveTrue()
@@ -58,6 +90,14 @@ public class UserRepositoryImpl implements UserRepository {
                 .toList();
     }
 
+    @Override
+    public List<User> findActiveUsersByType(UserType userType) {
+        return userJpaRepository.findActiveByUserType(userType)
+                .stream()
+                .map(UserJpaEntity::toDomainEntity)
+                .toList();
+    }
+
     @Override
     public boolean existsByEmail(String email) {
         return userJpaRepository.existsByEmail(email);
@@ -24,10 +24,22 @@ public class CustomUserDetails implements UserDetails {
         this.active = user.isActive();
     }
 
+    public CustomUserDetails(Long id, String email, String userType, boolean active) {
+        this.id = id;
+        this.email = email;
+        this.password = null;
+        this.userType = userType;
+        this.active = active;
+    }
+
     public Long getId() {
         return id;
     }
 
+    public String getUserType() {
+        return userType;
+    }
+
     @Override
     public String getUsername() {
         return email;
@@ -0,0 +1,70 @@
+package com.hospital.scheduling.infrastructure.security;
+
+import com.hospital.scheduling.infrastructure.cache.BoundedTtlCache;
+import com.hospital.scheduling.infrastructure.persistence.UserJpaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+@Service
+public class TokenRevocationService {
+
+    // Marca "usuário sem corte" no cache, para que a ausência de corte também seja cacheada
+    private static final long NO_CUTOFF = 0L;
+
+    private final UserJpaRepository userJpaRepository;
+    private final BoundedTtlCache<Long, Long> validAfterByUser;
+    private final Object populateLock = new Object();
+    // Incrementada a cada eviction: uma leitura que começou antes dela não é guardada no cache
+    private long generation;
+
+    @Autowired
+    public TokenRevocationService(UserJpaRepository userJpaRepository,
+                                  @Value("${hospital.security.revocation-cache.max-size:10000}") int maxSize,
+                                  @Value("${hospital.security.revocation-cache.ttl:5s}") Duration ttl) {
+        this(userJpaRepository, maxSize, ttl, Clock.systemUTC());
+    }
+
+    TokenRevocationService(UserJpaRepository userJpaRepository, int maxSize, Duration ttl, Clock clock) {
+        this.userJpaRepository = userJpaRepository;
+        this.validAfterByUser = new BoundedTtlCache<>(maxSize, ttl, clock);
+    }
+
+    // tokens_valid_after (epoch em ms) é gravado pelo UserRepositoryImpl na mesma transação da mudança. Nesta
+    // instância o cache é invalidado após o commit; nas demais a mudança vale no máximo um TTL depois
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        long validAfter = tokensValidAfter(userId);
+        return validAfter != NO_CUTOFF && (issuedAt == null || issuedAt.getTime() < validAfter);
+    }
+
+    public void evict(Long userId) {
+        synchronized (populateLock) {
+            generation++;
+            validAfterByUser.invalidate(userId);
+        }
+    }
+
+    private long tokensValidAfter(Long userId) {
+        Optional<Long> cached = validAfterByUser.get(userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long observedGeneration;
+        synchronized (populateLock) {
+            observedGeneration = generation;
+        }
+        long validAfter = userJpaRepository.findTokensValidAfterById(userId).orElse(NO_CUTOFF);
+        synchronized (populateLock) {
+            if (generation == observedGeneration) {
+                validAfterByUser.put(userId, validAfter);
+            }
+        }
+        return validAfter;
+    }
+}
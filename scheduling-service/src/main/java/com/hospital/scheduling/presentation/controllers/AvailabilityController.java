@@ -0,0 +1,42 @@
+package com.hospital.scheduling.presentation.controllers;
+
+import com.hospital.scheduling.application.dtos.AvailableSlotResponse;
+import com.hospital.scheduling.application.usecases.FindAvailableSlotsUseCase;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability")
+@CrossOrigin(origins = "*")
+public class AvailabilityController {
+
+    private final FindAvailableSlotsUseCase findAvailableSlotsUseCase;
+
+    public AvailabilityController(FindAvailableSlotsUseCase findAvailableSlotsUseCase) {
+        this.findAvailableSlotsUseCase = findAvailableSlotsUseCase;
+    }
+
+    @GetMapping("/slots")
+    @PreAuthorize("hasRole('MEDICO') or hasRole('ENFERMEIRO')")
+    public ResponseEntity<List<AvailableSlotResponse>> getAvailableSlots(
+            @RequestParam(value = "doctorIds", required = false) List<Long> doctorIds,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "durationMinutes", required = false) Integer durationMinutes,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+
+        try {
+            return ResponseEntity.ok(findAvailableSlotsUseCase.execute(doctorIds, from, to, durationMinutes, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package com.hospital.scheduling.presentation.controllers;
 
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsRequest;
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsResponse;
 import com.hospital.scheduling.application.dtos.CancelConsultationRequest;
+import com.hospital.scheduling.application.dtos.ConsultationPageResponse;
 import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
 import com.hospital.scheduling.application.dtos.CreateConsultationRequest;
 import com.hospital.scheduling.application.dtos.UpdateConsultationRequest;
+import com.hospital.scheduling.application.services.ConsultationEnricher;
+import com.hospital.scheduling.application.usecases.BulkCreateConsultationsUseCase;
 import com.hospital.scheduling.application.usecases.CancelConsultationUseCase;
 import com.hospital.scheduling.application.usecases.CreateConsultationUseCase;
+import com.hospital.scheduling.application.usecases.ExportConsultationsUseCase;
+import com.hospital.scheduling.application.usecases.ListConsultationsUseCase;
 import com.hospital.scheduling.application.usecases.UpdateConsultationUseCase;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
 import com.hospital.scheduling.domain.repositories.ConsultationRepository;
 import com.hospital.shared.domain.entities.Consultation;
 import jakarta.validation.Valid;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,19 +38,31 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class ConsultationController {
     private final CreateConsultationUseCase createConsultationUseCase;
+    private final BulkCreateConsultationsUseCase bulkCreateConsultationsUseCase;
     private final UpdateConsultationUseCase updateConsultationUseCase;
     private final CancelConsultationUseCase cancelConsultationUseCase;
+    private final ListConsultationsUseCase listConsultationsUseCase;
+    private final ExportConsultationsUseCase exportConsultationsUseCase;
+    private final ConsultationEnricher consultationEnricher;
     private final ConsultationRepository consultationRepository;
 
     public ConsultationController(
             CreateConsultationUseCase createConsultationUseCase,
+            BulkCreateConsultationsUseCase bulkCreateConsultationsUseCase,
             UpdateConsultationUseCase updateConsultationUseCase,
             CancelConsultationUseCase cancelConsultationUseCase,
+            ListConsultationsUseCase listConsultationsUseCase,
+            ExportConsultationsUseCase exportConsultationsUseCase,
+            ConsultationEnricher consultationEnricher,
             ConsultationRepository consultationRepository
     ) {
         this.createConsultationUseCase = createConsultationUseCase;
+        this.bulkCreateConsultationsUseCase = bulkCreateConsultationsUseCase;
         this.updateConsultationUseCase = updateConsultationUseCase;
         this.cancelConsultationUseCase = cancelConsultationUseCase;
+        this.listConsultationsUseCase = listConsultationsUseCase;
+        this.exportConsultationsUseCase = exportConsultationsUseCase;
+        this.consultationEnricher = consultationEnricher;
         this.consultationRepository = consultationRepository;
     }
 
@@ -55,22 +81,49 @@ public class ConsultationController {
         }
     }
 
-    @GetMapping
+    @PostMapping("/batch")
     @PreAuthorize("hasRole('MEDICO') or hasRole('ENFERMEIRO')")
-    public ResponseEntity<List<ConsultationResponse>> getAllConsultations() {
+    public ResponseEntity<BulkCreateConsultationsResponse> createConsultations(
+            @Valid @RequestBody BulkCreateConsultationsRequest request) {
 
         try {
-            List<Consultation> consultations = consultationRepository.findAll();
-            List<ConsultationResponse> responses = consultations.stream()
-                    .map(ConsultationResponse::fromEntity)
-                    .collect(Collectors.toList());
+            BulkCreateConsultationsResponse response = bulkCreateConsultationsUseCase.execute(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (IllegalArgumentException e) {
+            // "Item i: ..." indica ao cliente qual posição do lote foi rejeitada
+            return ResponseEntity.of(ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage())).build();
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('MEDICO') or hasRole('ENFERMEIRO')")
+    public ResponseEntity<ConsultationPageResponse<ConsultationSummaryResponse>> getAllConsultations(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
 
-            return ResponseEntity.ok(responses);
+        try {
+            ConsultationPageResponse<ConsultationSummaryResponse> page = listConsultationsUseCase.executeSummaries(cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('MEDICO') or hasRole('ENFERMEIRO')")
+    public ResponseEntity<StreamingResponseBody> exportConsultations() {
+        StreamingResponseBody body = exportConsultationsUseCase::execute;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"consultations.ndjson\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('MEDICO') or hasRole('ENFERMEIRO') or (hasRole('PACIENTE') and @customSecurityService.canAccessConsultation(#id, authentication))")
     public ResponseEntity<ConsultationResponse> getConsultationById(@PathVariable("id") Long id) {
@@ -100,6 +153,8 @@ public class ConsultationController {
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -117,6 +172,8 @@ public class ConsultationController {
             return ResponseEntity.ok().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -124,15 +181,15 @@ public class ConsultationController {
 
     @GetMapping("/patient/{patientId}")
     @PreAuthorize("hasRole('MEDICO') or hasRole('ENFERMEIRO') or (hasRole('PACIENTE') and @customSecurityService.isOwnerOrAuthorized(#patientId, authentication))")
-    public ResponseEntity<List<ConsultationResponse>> getConsultationsByPatient(@PathVariable("patientId") Long patientId) {
+    public ResponseEntity<List<ConsultationSummaryResponse>> getConsultationsByPatient(@PathVariable("patientId") Long patientId) {
 
         try {
-            List<Consultation> consultations = consultationRepository.findByPatientId(patientId);
-            List<ConsultationResponse> responses = consultations.stream()
-                    .map(ConsultationResponse::fromEntity)
+            List<ConsultationSummary> consultations = consultationRepository.findSummariesByPatientId(patientId);
+            List<ConsultationSummaryResponse> responses = consultations.stream()
+                    .map(ConsultationSummaryResponse::fromSummary)
                     .collect(Collectors.toList());
 
-            return ResponseEntity.ok(responses);
+            return ResponseEntity.ok(consultationEnricher.enrichSummaries(responses));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
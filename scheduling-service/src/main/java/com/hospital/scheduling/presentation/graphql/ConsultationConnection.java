@@ -0,0 +1,30 @@
+package com.hospital.scheduling.presentation.graphql;
+
+import com.hospital.scheduling.application.dtos.ConsultationCursor;
+import com.hospital.scheduling.application.dtos.ConsultationPageResponse;
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+
+import java.util.List;
+
+public record ConsultationConnection(
+        List<Edge> edges,
+        PageInfo pageInfo) {
+
+    public static ConsultationConnection fromPage(ConsultationPageResponse<ConsultationResponse> page) {
+        List<Edge> edges = page.content().stream()
+                .map(consultation -> new Edge(ConsultationCursor.from(consultation).encode(), consultation))
+                .toList();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).cursor();
+        return new ConsultationConnection(edges, new PageInfo(page.hasNext(), endCursor));
+    }
+
+    public record Edge(
+            String cursor,
+            ConsultationResponse node) {
+    }
+
+    public record PageInfo(
+            boolean hasNextPage,
+            String endCursor) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.hospital.scheduling.presentation.graphql;
+
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.UserResponse;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@SchemaMapping(typeName = "Consultation")
+public class ConsultationFieldResolver {
+
+    @SchemaMapping
+    public CompletableFuture<UserResponse> patient(ConsultationResponse consultation,
+                                                   DataLoader<Long, UserResponse> userLoader) {
+        return userLoader.load(consultation.patientId());
+    }
+
+    @SchemaMapping
+    public CompletableFuture<UserResponse> doctor(ConsultationResponse consultation,
+                                                  DataLoader<Long, UserResponse> userLoader) {
+        return userLoader.load(consultation.doctorId());
+    }
+
+    @SchemaMapping
+    public CompletableFuture<String> patientName(ConsultationResponse consultation,
+                                                 DataLoader<Long, UserResponse> userLoader) {
+        if (consultation.patientName() != null) {
+            return CompletableFuture.completedFuture(consultation.patientName());
+        }
+        return userLoader.load(consultation.patientId())
+                .thenApply(user -> user != null ? user.name() : null);
+    }
+
+    @SchemaMapping
+    public CompletableFuture<String> patientEmail(ConsultationResponse consultation,
+                                                  DataLoader<Long, UserResponse> userLoader) {
+        if (consultation.patientEmail() != null) {
+            return CompletableFuture.completedFuture(consultation.patientEmail());
+        }
+        return userLoader.load(consultation.patientId())
+                .thenApply(user -> user != null ? user.email() : null);
+    }
+
+    @SchemaMapping
+    public CompletableFuture<String> doctorName(ConsultationResponse consultation,
+                                                DataLoader<Long, UserResponse> userLoader) {
+        if (consultation.doctorName() != null) {
+            return CompletableFuture.completedFuture(consultation.doctorName());
+        }
+        return userLoader.load(consultation.doctorId())
+                .thenApply(user -> user != null ? user.name() : null);
+    }
+}
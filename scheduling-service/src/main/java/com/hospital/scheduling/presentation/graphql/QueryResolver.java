@@ -1,19 +1,32 @@
 package com.hospital.scheduling.presentation.graphql;
 
+import com.hospital.scheduling.application.dtos.AvailableSlotResponse;
+import com.hospital.scheduling.application.dtos.ConsultationPageResponse;
 import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
 import com.hospital.scheduling.application.dtos.UserResponse;
+import com.hospital.scheduling.application.usecases.FindAvailableSlotsUseCase;
+import com.hospital.scheduling.application.usecases.ListConsultationsUseCase;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
 import com.hospital.scheduling.domain.repositories.ConsultationRepository;
 import com.hospital.scheduling.domain.repositories.UserRepository;
 import com.hospital.scheduling.infrastructure.security.CustomUserDetails;
 import com.hospital.shared.domain.entities.Consultation;
 import com.hospital.shared.domain.entities.User;
 import com.hospital.shared.domain.enums.ConsultationStatus;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.schema.DataFetchingFieldSelectionSet;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.GraphQlExceptionHandler;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.execution.ErrorType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -21,12 +34,21 @@ import java.util.stream.Collectors;
 @Controller
 public class QueryResolver {
 
+    private static final List<String> CLINICAL_TEXT_FIELDS = List.of("notes", "symptoms", "diagnosis", "prescription");
+
     private final UserRepository userRepository;
     private final ConsultationRepository consultationRepository;
+    private final ListConsultationsUseCase listConsultationsUseCase;
+    private final FindAvailableSlotsUseCase findAvailableSlotsUseCase;
 
-    public QueryResolver(UserRepository userRepository, ConsultationRepository consultationRepository) {
+    public QueryResolver(UserRepository userRepository,
+                         ConsultationRepository consultationRepository,
+                         ListConsultationsUseCase listConsultationsUseCase,
+                         FindAvailableSlotsUseCase findAvailableSlotsUseCase) {
         this.userRepository = userRepository;
         this.consultationRepository = consultationRepository;
+        this.listConsultationsUseCase = listConsultationsUseCase;
+        this.findAvailableSlotsUseCase = findAvailableSlotsUseCase;
     }
 
     @QueryMapping
@@ -54,6 +76,19 @@ public class QueryResolver {
                 .collect(Collectors.toList());
     }
 
+    @QueryMapping
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public ConsultationConnection consultationsConnection(@Argument("first") Integer first,
+                                                          @Argument("after") String after,
+                                                          DataFetchingFieldSelectionSet selectionSet) {
+        if (selectsClinicalText(selectionSet, "edges/node/")) {
+            return ConsultationConnection.fromPage(listConsultationsUseCase.executeWithoutUserInfo(after, first));
+        }
+
+        ConsultationPageResponse<ConsultationResponse> page = toFullPage(listConsultationsUseCase.executeSummariesWithoutUserInfo(after, first));
+        return ConsultationConnection.fromPage(page);
+    }
+
     @QueryMapping
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
     public ConsultationResponse consultation(@Argument("id") Long id, Authentication authentication) {
@@ -75,7 +110,9 @@ public class QueryResolver {
 
     @QueryMapping
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or hasAuthority('ROLE_PACIENTE')")
-    public List<ConsultationResponse> patientConsultations(@Argument("patientId") Long patientId, Authentication authentication) {
+    public List<ConsultationResponse> patientConsultations(@Argument("patientId") Long patientId,
+                                                           Authentication authentication,
+                                                           DataFetchingFieldSelectionSet selectionSet) {
         if (authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_PACIENTE"))) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             if (!userDetails.getId().equals(patientId)) {
@@ -83,6 +120,10 @@ public class QueryResolver {
             }
         }
 
+        if (!selectsClinicalText(selectionSet, "")) {
+            return toResponses(consultationRepository.findSummariesByPatientId(patientId));
+        }
+
         List<Consultation> consultations = consultationRepository.findByPatientId(patientId);
         return consultations.stream()
                 .map(ConsultationResponse::fromEntity)
@@ -91,7 +132,9 @@ public class QueryResolver {
 
     @QueryMapping
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or hasAuthority('ROLE_PACIENTE')")
-    public List<ConsultationResponse> patientHistory(@Argument("patientId") Long patientId, Authentication authentication) {
+    public List<ConsultationResponse> patientHistory(@Argument("patientId") Long patientId,
+                                                     Authentication authentication,
+                                                     DataFetchingFieldSelectionSet selectionSet) {
         if (authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_PACIENTE"))) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             if (!userDetails.getId().equals(patientId)) {
@@ -99,6 +142,10 @@ public class QueryResolver {
             }
         }
 
+        if (!selectsClinicalText(selectionSet, "")) {
+            return toResponses(consultationRepository.findSummariesByPatientId(patientId));
+        }
+
         List<Consultation> consultations = consultationRepository.findByPatientId(patientId);
         return consultations.stream()
                 .map(ConsultationResponse::fromEntity)
@@ -107,7 +154,9 @@ public class QueryResolver {
 
     @QueryMapping
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or hasAuthority('ROLE_PACIENTE')")
-    public List<ConsultationResponse> patientUpcomingConsultations(@Argument("patientId") Long patientId, Authentication authentication) {
+    public List<ConsultationResponse> patientUpcomingConsultations(@Argument("patientId") Long patientId,
+                                                                   Authentication authentication,
+                                                                   DataFetchingFieldSelectionSet selectionSet) {
         if (authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_PACIENTE"))) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             if (!userDetails.getId().equals(patientId)) {
@@ -115,6 +164,10 @@ public class QueryResolver {
             }
         }
 
+        if (!selectsClinicalText(selectionSet, "")) {
+            return toResponses(consultationRepository.findFutureSummariesByPatientId(patientId));
+        }
+
         List<Consultation> consultations = consultationRepository.findFutureConsultationsByPatientId(patientId);
         return consultations.stream()
                 .map(ConsultationResponse::fromEntity)
@@ -126,7 +179,8 @@ public class QueryResolver {
     @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO') or hasAuthority('ROLE_PACIENTE')")
     public List<ConsultationResponse> patientConsultationsByStatus(@Argument("patientId") Long patientId,
                                                                    @Argument("status") ConsultationStatus status,
-                                                                   Authentication authentication) {
+                                                                   Authentication authentication,
+                                                                   DataFetchingFieldSelectionSet selectionSet) {
         if (authentication.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_PACIENTE"))) {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
             if (!userDetails.getId().equals(patientId)) {
@@ -134,10 +188,73 @@ public class QueryResolver {
             }
         }
 
+        if (!selectsClinicalText(selectionSet, "")) {
+            return toResponses(consultationRepository.findSummariesByPatientIdAndStatus(patientId, status));
+        }
+
         List<Consultation> consultations = consultationRepository.findByPatientIdAndStatus(patientId, status);
         return consultations.stream()
                 .map(ConsultationResponse::fromEntity)
                 .collect(Collectors.toList());
     }
 
+    @QueryMapping
+    @PreAuthorize("hasAuthority('ROLE_MEDICO') or hasAuthority('ROLE_ENFERMEIRO')")
+    public List<AvailableSlotResponse> availableSlots(@Argument("doctorIds") List<Long> doctorIds,
+                                                      @Argument("from") String from,
+                                                      @Argument("to") String to,
+                                                      @Argument("durationMinutes") Integer durationMinutes,
+                                                      @Argument("first") Integer first) {
+        return findAvailableSlotsUseCase.execute(doctorIds, parseDateTime("from", from), parseDateTime("to", to),
+                durationMinutes, first);
+    }
+
+    // Argumentos inválidos viram erro de validação, como o 400 dos controllers REST, e não INTERNAL_ERROR
+    @GraphQlExceptionHandler
+    public GraphQLError handleIllegalArgument(IllegalArgumentException e) {
+        return GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.BAD_REQUEST)
+                .message(e.getMessage())
+                .build();
+    }
+
+    private static LocalDateTime parseDateTime(String argument, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + argument + ": expected an ISO date-time");
+        }
+    }
+
+    private boolean selectsClinicalText(DataFetchingFieldSelectionSet selectionSet, String pathPrefix) {
+        return selectionSet == null || CLINICAL_TEXT_FIELDS.stream()
+                .anyMatch(field -> selectionSet.contains(pathPrefix + field));
+    }
+
+    private List<ConsultationResponse> toResponses(List<ConsultationSummary> summaries) {
+        return summaries.stream()
+                .map(ConsultationResponse::fromSummary)
+                .collect(Collectors.toList());
+    }
+
+    private ConsultationPageResponse<ConsultationResponse> toFullPage(ConsultationPageResponse<ConsultationSummaryResponse> page) {
+        return new ConsultationPageResponse<>(
+                page.content().stream().map(this::toResponse).toList(),
+                page.size(),
+                page.hasNext(),
+                page.nextCursor());
+    }
+
+    private ConsultationResponse toResponse(ConsultationSummaryResponse summary) {
+        return new ConsultationResponse(
+                summary.id(), summary.patientId(), summary.doctorId(), summary.scheduledDateTime(),
+                summary.durationMinutes(), summary.endDateTime(),
+                summary.actualStartTime(), summary.actualEndTime(), summary.status(),
+                null, null, null, null,
+                summary.createdAt(), summary.updatedAt(),
+                summary.patientName(), summary.patientEmail(), summary.doctorName());
+    }
 }
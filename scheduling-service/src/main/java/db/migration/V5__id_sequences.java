@@ -0,0 +1,49 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Ids passam a vir de sequências com o mesmo incremento do allocationSize de cada @SequenceGenerator: com
+// blocos de 50 o Hibernate agrupa os INSERTs em lotes JDBC, o que IDENTITY impede. As colunas continuam
+// GENERATED BY DEFAULT AS IDENTITY, que aceita o id informado pelo Hibernate. Cada sequência começa acima
+// do maior id da sua tabela, para não colidir com linhas já geradas por IDENTITY.
+public class V5__id_sequences extends BaseJavaMigration {
+
+    private static final Map<String, Sequence> SEQUENCES = new LinkedHashMap<>();
+
+    static {
+        SEQUENCES.put("users_seq", new Sequence("users", 50));
+        SEQUENCES.put("consultations_seq", new Sequence("consultations", 50));
+        SEQUENCES.put("outbox_events_seq", new Sequence("outbox_events", 50));
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            for (Map.Entry<String, Sequence> entry : SEQUENCES.entrySet()) {
+                Sequence sequence = entry.getValue();
+                // O otimizador pooled do Hibernate trata o valor do nextval como o topo do bloco e entrega
+                // ids a partir de (valor - allocationSize + 1), então o início precisa de uma folga de um bloco
+                long start = maxId(statement, sequence.table()) + sequence.allocationSize();
+                statement.execute("CREATE SEQUENCE " + entry.getKey() + " START WITH " + start
+                        + " INCREMENT BY " + sequence.allocationSize());
+            }
+        }
+    }
+
+    private long maxId(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private record Sequence(String table, int allocationSize) {
+    }
+}
@@ -0,0 +1,40 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=create-drop
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100) NOT NULL,
+    email       VARCHAR(150) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    user_type   VARCHAR(20)  NOT NULL,
+    crm         VARCHAR(20),
+    coren       VARCHAR(20),
+    cpf         VARCHAR(14),
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL,
+    active      BOOLEAN      NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE consultations (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id           BIGINT       NOT NULL,
+    doctor_id            BIGINT       NOT NULL,
+    scheduled_date_time  TIMESTAMP(6) NOT NULL,
+    actual_start_time    TIMESTAMP(6),
+    actual_end_time      TIMESTAMP(6),
+    status               VARCHAR(20)  NOT NULL,
+    notes                TEXT,
+    symptoms             TEXT,
+    diagnosis            TEXT,
+    prescription         TEXT,
+    created_at           TIMESTAMP(6) NOT NULL,
+    updated_at           TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE outbox_events (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id     VARCHAR(36)  NOT NULL,
+    event_type   VARCHAR(50)  NOT NULL,
+    message_key  VARCHAR(100) NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Consultas do paciente: findByPatientId (prefixo), findByPatientIdAndStatus e
+-- findFutureConsultationsByPatientId (igualdade em status + intervalo na data, já ordenado)
+CREATE INDEX idx_consultations_patient_status_date ON consultations (patient_id, status, scheduled_date_time);
+
+-- Verificação de conflito de horário do médico na marcação (existsByDoctorIdAndScheduledDateTime)
+CREATE INDEX idx_consultations_doctor_date ON consultations (doctor_id, scheduled_date_time);
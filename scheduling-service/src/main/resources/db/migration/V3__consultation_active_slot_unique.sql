@@ -0,0 +1,7 @@
+-- Um médico não pode ter duas consultas ativas no mesmo horário. O H2 não tem índice parcial, então a
+-- coluna gerada só tem valor para consultas não canceladas; como NULLs não conflitam na restrição única,
+-- canceladas liberam o horário (equivale a UNIQUE (doctor_id, scheduled_date_time) WHERE status <> 'CANCELADA')
+ALTER TABLE consultations ADD COLUMN active_slot TIMESTAMP(6)
+    GENERATED ALWAYS AS (CASE WHEN status <> 'CANCELADA' THEN scheduled_date_time END);
+
+ALTER TABLE consultations ADD CONSTRAINT uk_consultations_doctor_active_slot UNIQUE (doctor_id, active_slot);
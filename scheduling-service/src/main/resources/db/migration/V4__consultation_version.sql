@@ -0,0 +1,2 @@
+-- Versão para lock otimista: atualizações gravam com WHERE version = ? em um único UPDATE
+ALTER TABLE consultations ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,9 @@
+-- Duração da consulta; o fim é uma coluna gerada (início + duração), então nunca diverge dos dois
+ALTER TABLE consultations ADD COLUMN duration_minutes INT DEFAULT 30 NOT NULL;
+ALTER TABLE consultations ADD COLUMN end_date_time TIMESTAMP(6)
+    GENERATED ALWAYS AS (DATEADD(MINUTE, duration_minutes, scheduled_date_time));
+
+-- Conflito de agenda por sobreposição: faixa em scheduled_date_time (limitada pela duração máxima) e
+-- end_date_time filtrado no próprio índice. Substitui o índice (doctor_id, scheduled_date_time), que é prefixo deste.
+CREATE INDEX idx_consultations_doctor_start_end ON consultations (doctor_id, scheduled_date_time, end_date_time);
+DROP INDEX idx_consultations_doctor_date;
@@ -0,0 +1,4 @@
+-- Tokens JWT emitidos antes deste instante (epoch em ms, comparado com a claim iat_ms; o iat em segundos deixaria
+-- passar tokens emitidos no mesmo segundo da mudança) deixam de ser aceitos.
+-- Fica no banco para valer em todas as instâncias e sobreviver a reinícios.
+ALTER TABLE users ADD COLUMN tokens_valid_after BIGINT;
@@ -0,0 +1,2 @@
+-- O relay reivindica o outbox em ordem de gravação (created_at, id); os ids vêm em blocos por instância
+CREATE INDEX idx_outbox_events_created_at ON outbox_events (created_at, id);
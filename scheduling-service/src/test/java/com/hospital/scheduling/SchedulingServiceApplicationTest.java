@@ -0,0 +1,100 @@
+package com.hospital.scheduling;
+
+import com.hospital.scheduling.application.services.DoctorScheduleIndex;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.scheduling.infrastructure.persistence.CachingUserRepository;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@EmbeddedKafka(partitions = 1, topics = "consultation-events")
+@TestPropertySource(properties = "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}")
+@DirtiesContext
+@DisplayName("SchedulingServiceApplication Tests")
+class SchedulingServiceApplicationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DoctorScheduleIndex doctorScheduleIndex;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${hospital.kafka.topic.partitions:6}")
+    private int topicPartitions;
+
+    @Test
+    @DisplayName("Should load the application context with the caching user repository as primary")
+    void shouldLoadApplicationContext() {
+        assertInstanceOf(CachingUserRepository.class, userRepository);
+    }
+
+    @Test
+    @DisplayName("Should feed the doctor schedule index from the consultation events topic")
+    void shouldFeedScheduleIndexFromConsultationEvents() throws Exception {
+        // O tópico é ampliado pelo NewTopic da aplicação; o índice precisa estar em todas as partições
+        ContainerTestUtils.waitForAssignment(
+                kafkaListenerEndpointRegistry.getListenerContainer("scheduling-schedule-index"), topicPartitions);
+        LocalDateTime slot = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        ConsultationCreatedEvent created = new ConsultationCreatedEvent(
+                900L, 901L, 902L, slot, "patient@email.com", "Patient", "Dr. Smith");
+        created.setDurationMinutes(60);
+
+        kafkaTemplate.send("consultation-events", created.getPartitionKey(), created).get();
+        awaitTrue(() -> doctorScheduleIndex.findConflict(902L, slot.plusMinutes(45), 30, null).isPresent());
+
+        ConsultationCancelledEvent cancelled = new ConsultationCancelledEvent(
+                900L, 901L, "Doctor unavailable", "patient@email.com", "Patient");
+        kafkaTemplate.send("consultation-events", cancelled.getPartitionKey(), cancelled).get();
+        awaitTrue(() -> doctorScheduleIndex.findConflict(902L, slot, 30, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should expose the health check without authentication")
+    void shouldExposeHealthWithoutAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should require authentication for actuator metrics")
+    void shouldRequireAuthenticationForMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 10s");
+            Thread.sleep(50);
+        }
+    }
+}
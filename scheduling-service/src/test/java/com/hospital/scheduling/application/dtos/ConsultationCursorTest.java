@@ -0,0 +1,46 @@
+package com.hospital.scheduling.application.dtos;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsultationCursor DTO Tests")
+class ConsultationCursorTest {
+
+    @Test
+    @DisplayName("Should encode and decode cursor preserving date time and id")
+    void shouldEncodeAndDecodeCursorPreservingDateTimeAndId() {
+        ConsultationCursor cursor = new ConsultationCursor(LocalDateTime.of(2030, 5, 10, 14, 30, 15), 42L);
+
+        ConsultationCursor decoded = ConsultationCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Should produce URL safe cursor")
+    void shouldProduceUrlSafeCursor() {
+        String encoded = new ConsultationCursor(LocalDateTime.of(2030, 5, 10, 14, 30), 7L).encode();
+
+        assertFalse(encoded.contains("+"));
+        assertFalse(encoded.contains("/"));
+        assertFalse(encoded.contains("="));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursor")
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> ConsultationCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> ConsultationCursor.decode("%%%"));
+    }
+
+    @Test
+    @DisplayName("Should require date time and id")
+    void shouldRequireDateTimeAndId() {
+        assertThrows(NullPointerException.class, () -> new ConsultationCursor(null, 1L));
+        assertThrows(NullPointerException.class, () -> new ConsultationCursor(LocalDateTime.now(), null));
+    }
+}
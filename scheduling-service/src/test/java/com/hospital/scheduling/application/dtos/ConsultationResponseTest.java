@@ -19,6 +19,8 @@ class ConsultationResponseTest {
         Long patientId = 2L;
         Long doctorId = 3L;
         LocalDateTime scheduledDateTime = LocalDateTime.now().plusDays(1);
+        Integer durationMinutes = 45;
+        LocalDateTime endDateTime = scheduledDateTime.plusMinutes(45);
         LocalDateTime actualStartTime = LocalDateTime.now();
         LocalDateTime actualEndTime = LocalDateTime.now().plusHours(1);
         ConsultationStatus status = ConsultationStatus.CONCLUIDA;
@@ -33,7 +35,7 @@ class ConsultationResponseTest {
         String doctorName = "Dr. Maria Santos";
 
         ConsultationResponse response = new ConsultationResponse(
-            id, patientId, doctorId, scheduledDateTime, actualStartTime, actualEndTime,
+            id, patientId, doctorId, scheduledDateTime, durationMinutes, endDateTime, actualStartTime, actualEndTime,
             status, notes, symptoms, diagnosis, prescription, createdAt, updatedAt,
             patientName, patientEmail, doctorName
         );
@@ -42,6 +44,8 @@ class ConsultationResponseTest {
         assertEquals(patientId, response.patientId());
         assertEquals(doctorId, response.doctorId());
         assertEquals(scheduledDateTime, response.scheduledDateTime());
+        assertEquals(durationMinutes, response.durationMinutes());
+        assertEquals(endDateTime, response.endDateTime());
         assertEquals(actualStartTime, response.actualStartTime());
         assertEquals(actualEndTime, response.actualEndTime());
         assertEquals(status, response.status());
@@ -68,6 +72,8 @@ class ConsultationResponseTest {
         assertEquals(consultation.getPatientId(), response.patientId());
         assertEquals(consultation.getDoctorId(), response.doctorId());
         assertEquals(consultation.getScheduledDateTime(), response.scheduledDateTime());
+        assertEquals(30, response.durationMinutes());
+        assertEquals(consultation.getScheduledDateTime().plusMinutes(30), response.endDateTime());
         assertEquals(consultation.getActualStartTime(), response.actualStartTime());
         assertEquals(consultation.getActualEndTime(), response.actualEndTime());
         assertEquals(consultation.getStatus(), response.status());
@@ -140,7 +146,7 @@ class ConsultationResponseTest {
         LocalDateTime updatedAt = LocalDateTime.now();
 
         ConsultationResponse originalResponse = new ConsultationResponse(
-            1L, 2L, 3L, scheduledDateTime, actualStartTime, actualEndTime,
+            1L, 2L, 3L, scheduledDateTime, 30, scheduledDateTime.plusMinutes(30), actualStartTime, actualEndTime,
             ConsultationStatus.CONCLUIDA, "Consulta OK", "Febre", "Gripe", "Paracetamol",
             createdAt, updatedAt, null, null, null
         );
@@ -193,13 +199,13 @@ class ConsultationResponseTest {
         LocalDateTime updatedAt = LocalDateTime.now();
 
         ConsultationResponse response1 = new ConsultationResponse(
-            1L, 2L, 3L, scheduledDateTime, null, null, ConsultationStatus.AGENDADA,
+            1L, 2L, 3L, scheduledDateTime, 30, scheduledDateTime.plusMinutes(30), null, null, ConsultationStatus.AGENDADA,
             null, null, null, null, createdAt, updatedAt,
             "João Silva", "joao@email.com", "Dr. Maria"
         );
 
         ConsultationResponse response2 = new ConsultationResponse(
-            1L, 2L, 3L, scheduledDateTime, null, null, ConsultationStatus.AGENDADA,
+            1L, 2L, 3L, scheduledDateTime, 30, scheduledDateTime.plusMinutes(30), null, null, ConsultationStatus.AGENDADA,
             null, null, null, null, createdAt, updatedAt,
             "João Silva", "joao@email.com", "Dr. Maria"
         );
@@ -216,13 +222,13 @@ class ConsultationResponseTest {
         LocalDateTime now = LocalDateTime.now();
 
         ConsultationResponse response1 = new ConsultationResponse(
-            1L, 2L, 3L, scheduledDateTime1, null, null, ConsultationStatus.AGENDADA,
+            1L, 2L, 3L, scheduledDateTime1, 30, scheduledDateTime1.plusMinutes(30), null, null, ConsultationStatus.AGENDADA,
             null, null, null, null, now, now,
             "João Silva", "joao@email.com", "Dr. Maria"
         );
 
         ConsultationResponse response2 = new ConsultationResponse(
-            2L, 3L, 4L, scheduledDateTime2, null, null, ConsultationStatus.CANCELADA,
+            2L, 3L, 4L, scheduledDateTime2, 30, scheduledDateTime2.plusMinutes(30), null, null, ConsultationStatus.CANCELADA,
             null, null, null, null, now, now,
             "Ana Silva", "ana@email.com", "Dr. Carlos"
         );
@@ -237,7 +243,7 @@ class ConsultationResponseTest {
         LocalDateTime now = LocalDateTime.now();
 
         ConsultationResponse response = new ConsultationResponse(
-            1L, 2L, 3L, scheduledDateTime, null, null, ConsultationStatus.AGENDADA,
+            1L, 2L, 3L, scheduledDateTime, 30, scheduledDateTime.plusMinutes(30), null, null, ConsultationStatus.AGENDADA,
             null, null, null, null, now, now,
             "João Silva", "joao@email.com", "Dr. Maria Santos"
         );
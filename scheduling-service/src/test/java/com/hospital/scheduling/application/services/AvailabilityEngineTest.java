@@ -0,0 +1,184 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.application.services.AvailabilityEngine.FreeSlot;
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AvailabilityEngine Tests")
+class AvailabilityEngineTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 3, 5, 0, 0);
+
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    private AvailabilityEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new AvailabilityEngine(consultationRepository, LocalTime.of(8, 0), LocalTime.of(18, 0), 15);
+    }
+
+    @Nested
+    @DisplayName("Free Slot Search Tests")
+    class FreeSlotSearchTests {
+
+        @Test
+        @DisplayName("Should offer slots from the start of the working day on each step")
+        void shouldOfferSlotsOnEachStep() {
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), DAY, DAY.plusDays(1), 30, 3);
+
+            assertEquals(List.of(at(8, 0), at(8, 15), at(8, 30)), starts(slots));
+            assertEquals(at(8, 30), slots.get(0).endDateTime());
+            assertEquals(2L, slots.get(0).doctorId());
+        }
+
+        @Test
+        @DisplayName("Should skip slots that overlap an active consultation")
+        void shouldSkipOccupiedSlots() {
+            stubSlots(new ConsultationSlot(1L, 2L, at(8, 30), 30));
+
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), DAY, DAY.plusDays(1), 30, 3);
+
+            assertEquals(List.of(at(8, 0), at(9, 0), at(9, 15)), starts(slots));
+        }
+
+        @Test
+        @DisplayName("Should only offer slots long enough for the requested duration")
+        void shouldRequireWholeDurationFree() {
+            stubSlots(new ConsultationSlot(1L, 2L, at(10, 0), 30));
+
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), DAY, DAY.plusDays(1), 120, 3);
+
+            assertEquals(List.of(at(8, 0), at(10, 30), at(10, 45)), starts(slots));
+            assertEquals(at(10, 0), slots.get(0).endDateTime());
+        }
+
+        @Test
+        @DisplayName("Should order slots of several doctors by start time and doctor")
+        void shouldMergeDoctorsInStartOrder() {
+            stubSlots(new ConsultationSlot(1L, 2L, at(8, 0), 60));
+
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(3L, 2L), DAY, DAY.plusDays(1), 30, 6);
+
+            assertEquals(List.of(at(8, 0), at(8, 15), at(8, 30), at(8, 45), at(9, 0), at(9, 0)), starts(slots));
+            assertEquals(List.of(3L, 3L, 3L, 3L, 2L, 3L), slots.stream().map(FreeSlot::doctorId).toList());
+        }
+
+        @Test
+        @DisplayName("Should continue on the next day when the working day has ended")
+        void shouldContinueOnNextDay() {
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), at(17, 40), DAY.plusDays(3), 30, 2);
+
+            assertEquals(List.of(DAY.plusDays(1).withHour(8), DAY.plusDays(1).withHour(8).withMinute(15)), starts(slots));
+        }
+
+        @Test
+        @DisplayName("Should not offer slots ending after the end of the search range")
+        void shouldRespectSearchEnd() {
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), at(8, 10), at(9, 0), 30, 10);
+
+            assertEquals(List.of(at(8, 15), at(8, 30)), starts(slots));
+        }
+    }
+
+    @Nested
+    @DisplayName("Occupancy Tests")
+    class OccupancyTests {
+
+        @Test
+        @DisplayName("Should query the active consultations of the requested doctors in the search range")
+        void shouldQueryRequestedDoctorsAndRange() {
+            engine.findFreeSlots(List.of(3L, 2L, 3L), at(8, 0), at(12, 0), 30, 5);
+
+            verify(consultationRepository).findActiveSlots(List.of(2L, 3L), at(8, 0), at(12, 0));
+        }
+
+        @Test
+        @DisplayName("Should not query the database when no doctor is requested")
+        void shouldSkipQueryWithoutDoctors() {
+            assertTrue(engine.findFreeSlots(List.of(), DAY, DAY.plusDays(1), 30, 5).isEmpty());
+
+            verifyNoInteractions(consultationRepository);
+        }
+
+        @Test
+        @DisplayName("Should occupy a partially used cell")
+        void shouldOccupyPartialCell() {
+            stubSlots(new ConsultationSlot(1L, 2L, at(9, 0), 32), new ConsultationSlot(2L, 2L, at(9, 40), 20));
+
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), at(9, 0), at(10, 30), 15, 10);
+
+            assertEquals(List.of(at(10, 0), at(10, 15)), starts(slots));
+        }
+
+        @Test
+        @DisplayName("Should occupy the next morning for a consultation crossing midnight")
+        void shouldOccupyBothDaysAcrossMidnight() {
+            stubSlots(new ConsultationSlot(1L, 2L, DAY.minusMinutes(60), 600));
+
+            List<FreeSlot> slots = engine.findFreeSlots(List.of(2L), DAY, DAY.plusDays(1), 30, 2);
+
+            assertEquals(List.of(at(9, 0), at(9, 15)), starts(slots));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bitset Tests")
+    class BitsetTests {
+
+        @Test
+        @DisplayName("Should keep only the starts of free runs that cross a word boundary")
+        void shouldFindRunsAcrossWords() {
+            long[] words = new long[5];
+            AvailabilityEngine.setBits(words, 60, 71, true);
+
+            AvailabilityEngine.keepRunStarts(words, 8);
+
+            long[] expected = new long[5];
+            AvailabilityEngine.setBits(expected, 60, 64, true);
+            assertArrayEquals(expected, words);
+        }
+
+        @Test
+        @DisplayName("Should clear only the requested range")
+        void shouldClearRange() {
+            long[] words = new long[5];
+            AvailabilityEngine.setBits(words, 0, 288, true);
+
+            AvailabilityEngine.setBits(words, 10, 200, false);
+
+            assertEquals(0x3FFL, words[0]);
+            assertEquals(0L, words[2]);
+            assertEquals(-1L << 8, words[3]);
+        }
+    }
+
+    private void stubSlots(ConsultationSlot... slots) {
+        when(consultationRepository.findActiveSlots(any(), any(), any())).thenReturn(List.of(slots));
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.withHour(hour).withMinute(minute);
+    }
+
+    private static List<LocalDateTime> starts(List<FreeSlot> slots) {
+        return slots.stream().map(FreeSlot::startDateTime).toList();
+    }
+}
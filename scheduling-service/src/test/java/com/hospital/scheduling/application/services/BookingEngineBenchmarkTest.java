@@ -0,0 +1,127 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.scheduling.infrastructure.persistence.ConsultationRepositoryImpl;
+import com.hospital.shared.domain.entities.Consultation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Executado apenas com -Pbenchmark; várias threads disputam as agendas de poucos médicos, cada marcação
+// na sua própria transação, e ao final nenhuma consulta ativa pode se sobrepor a outra do mesmo médico
+@Tag("benchmark")
+@DataJpaTest
+@Import({ConsultationRepositoryImpl.class, DoctorScheduleIndex.class, BookingEngine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Booking Engine Benchmark")
+class BookingEngineBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingEngineBenchmarkTest.class);
+
+    private static final int DOCTORS = 4;
+    private static final long FIRST_DOCTOR_ID = 1000L;
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS = 2_000;
+    // Janela de 2 dias em passos de 15 minutos: metade das tentativas, aproximadamente, cai num horário já ocupado
+    private static final int STEPS = 2 * 24 * 4;
+    private static final LocalDateTime WINDOW_START = LocalDateTime.now().plusDays(30).withHour(0).withMinute(0)
+            .withSecond(0).withNano(0);
+
+    @Autowired
+    private BookingEngine bookingEngine;
+
+    @Autowired
+    private ConsultationRepository consultationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> doctors = new ArrayList<>();
+        for (int i = 0; i < DOCTORS; i++) {
+            doctors.add(new Object[]{FIRST_DOCTOR_ID + i, "Doctor " + i, "doctor" + i + "@hospital.com", now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email, password, user_type, created_at, updated_at) "
+                + "VALUES (?, ?, ?, 'password', 'MEDICO', ?, ?)", doctors);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM consultations");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    @DisplayName("Concurrent bookings on contended doctors should never overlap")
+    void concurrentBookingsShouldNeverOverlap() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<CompletableFuture<Void>> bookings = new ArrayList<>(ATTEMPTS);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                long doctorId = FIRST_DOCTOR_ID + i % DOCTORS;
+                bookings.add(CompletableFuture.runAsync(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    Consultation consultation = new Consultation(1L, doctorId,
+                            WINDOW_START.plusMinutes(15L * random.nextInt(STEPS)), random.nextBoolean() ? 30 : 45);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            bookingEngine.reserve(consultation);
+                            consultationRepository.save(consultation);
+                        });
+                        booked.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(bookings.toArray(CompletableFuture[]::new)).join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        logger.info("Booking throughput: {} attempts on {} doctors with {} threads, {} attempts/s ({} booked, {} rejected)",
+                ATTEMPTS, DOCTORS, THREADS, String.format("%.0f", ATTEMPTS / (elapsed / 1_000_000_000.0)),
+                booked.get(), rejected.get());
+
+        assertEquals(ATTEMPTS, booked.get() + rejected.get());
+        assertEquals(booked.get(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM consultations", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM consultations a JOIN consultations b
+                  ON a.doctor_id = b.doctor_id AND a.id < b.id
+                 AND a.scheduled_date_time < b.end_date_time AND b.scheduled_date_time < a.end_date_time
+                WHERE a.status <> 'CANCELADA' AND b.status <> 'CANCELADA'
+                """, Integer.class));
+    }
+}
@@ -0,0 +1,190 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingEngine Tests")
+class BookingEngineTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(3).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    @Mock
+    private DoctorScheduleIndex doctorScheduleIndex;
+
+    @InjectMocks
+    private BookingEngine bookingEngine;
+
+    @Nested
+    @DisplayName("Single Reservation Tests")
+    class SingleReservationTests {
+
+        @Test
+        @DisplayName("Should lock the doctor before checking overlaps in the database")
+        void shouldLockDoctorBeforeCheckingOverlaps() {
+            Consultation consultation = new Consultation(1L, 2L, SLOT, 45);
+
+            bookingEngine.reserve(consultation);
+
+            InOrder inOrder = inOrder(doctorScheduleIndex, consultationRepository);
+            inOrder.verify(doctorScheduleIndex).ensureAvailable(2L, SLOT, 45, null);
+            inOrder.verify(consultationRepository).lockDoctorSchedule(2L);
+            inOrder.verify(consultationRepository).existsOverlapping(2L, SLOT, SLOT.plusMinutes(45), null);
+        }
+
+        @Test
+        @DisplayName("Should reject a consultation overlapping a stored one")
+        void shouldRejectStoredOverlap() {
+            Consultation consultation = new Consultation(1L, 2L, SLOT);
+            when(consultationRepository.existsOverlapping(2L, SLOT, SLOT.plusMinutes(30), null)).thenReturn(true);
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> bookingEngine.reserve(consultation));
+
+            assertEquals("Doctor already has a consultation scheduled at this time", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should not wait for the lock when the index already reports a conflict")
+        void shouldSkipLockWhenIndexRejects() {
+            Consultation consultation = new Consultation(1L, 2L, SLOT);
+            doThrow(new IllegalArgumentException("Doctor already has a consultation scheduled at this time"))
+                    .when(doctorScheduleIndex).ensureAvailable(2L, SLOT, 30, null);
+
+            assertThrows(IllegalArgumentException.class, () -> bookingEngine.reserve(consultation));
+
+            verifyNoInteractions(consultationRepository);
+        }
+
+        @Test
+        @DisplayName("Should ignore the consultation itself when rescheduling")
+        void shouldIgnoreItselfWhenRescheduling() {
+            Consultation consultation = new Consultation(1L, 2L, SLOT);
+            consultation.setId(7L);
+
+            bookingEngine.reserve(consultation);
+
+            verify(consultationRepository).existsOverlapping(2L, SLOT, SLOT.plusMinutes(30), 7L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Reservation Tests")
+    class BatchReservationTests {
+
+        @Test
+        @DisplayName("Should lock each doctor once in ascending id order")
+        void shouldLockDoctorsInAscendingOrder() {
+            bookingEngine.reserveAll(List.of(
+                    new Consultation(1L, 9L, SLOT),
+                    new Consultation(1L, 3L, SLOT),
+                    new Consultation(1L, 9L, SLOT.plusHours(1))));
+
+            InOrder inOrder = inOrder(consultationRepository);
+            inOrder.verify(consultationRepository).lockDoctorSchedule(3L);
+            inOrder.verify(consultationRepository).lockDoctorSchedule(9L);
+            verify(consultationRepository, times(2)).lockDoctorSchedule(any());
+        }
+
+        @Test
+        @DisplayName("Should reject overlapping items within the same batch")
+        void shouldRejectOverlapWithinBatch() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> bookingEngine.reserveAll(List.of(
+                            new Consultation(1L, 2L, SLOT.plusHours(2)),
+                            new Consultation(1L, 2L, SLOT, 60),
+                            new Consultation(1L, 2L, SLOT.plusMinutes(45)))));
+
+            assertEquals("Item 2: Doctor already has a consultation scheduled at this time", exception.getMessage());
+            verifyNoInteractions(consultationRepository);
+        }
+
+        @Test
+        @DisplayName("Should accept back-to-back items for the same doctor")
+        void shouldAcceptBackToBackItems() {
+            assertDoesNotThrow(() -> bookingEngine.reserveAll(List.of(
+                    new Consultation(1L, 2L, SLOT),
+                    new Consultation(1L, 2L, SLOT.plusMinutes(30)))));
+        }
+
+        @Test
+        @DisplayName("Should report the index of an item overlapping a stored consultation")
+        void shouldReportItemOverlappingStoredConsultation() {
+            when(consultationRepository.findActiveSlots(List.of(2L), SLOT, SLOT.plusHours(1).plusMinutes(30)))
+                    .thenReturn(List.of(new ConsultationSlot(50L, 2L, SLOT.plusMinutes(50), 30)));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> bookingEngine.reserveAll(List.of(
+                            new Consultation(1L, 2L, SLOT),
+                            new Consultation(1L, 2L, SLOT.plusHours(1)))));
+
+            assertEquals("Item 1: Doctor already has a consultation scheduled at this time", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should report the lowest index among items overlapping stored consultations")
+        void shouldReportLowestConflictingIndex() {
+            when(consultationRepository.findActiveSlots(List.of(2L), SLOT, SLOT.plusHours(2).plusMinutes(30)))
+                    .thenReturn(List.of(new ConsultationSlot(50L, 2L, SLOT.minusMinutes(15), 30)));
+            when(consultationRepository.findActiveSlots(List.of(3L), SLOT.plusHours(2), SLOT.plusHours(2).plusMinutes(30)))
+                    .thenReturn(List.of(new ConsultationSlot(51L, 3L, SLOT.plusHours(2), 30)));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> bookingEngine.reserveAll(List.of(
+                            new Consultation(1L, 2L, SLOT.plusHours(2)),
+                            new Consultation(1L, 3L, SLOT.plusHours(2)),
+                            new Consultation(1L, 2L, SLOT))));
+
+            assertEquals("Item 1: Doctor already has a consultation scheduled at this time", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should accept items between stored consultations")
+        void shouldAcceptItemsBetweenStoredConsultations() {
+            when(consultationRepository.findActiveSlots(List.of(2L), SLOT, SLOT.plusHours(1).plusMinutes(30)))
+                    .thenReturn(List.of(
+                            new ConsultationSlot(50L, 2L, SLOT.plusMinutes(30), 30),
+                            new ConsultationSlot(51L, 2L, SLOT.plusHours(1).plusMinutes(30), 30)));
+
+            assertDoesNotThrow(() -> bookingEngine.reserveAll(List.of(
+                    new Consultation(1L, 2L, SLOT.plusHours(1)),
+                    new Consultation(1L, 2L, SLOT))));
+        }
+
+        @Test
+        @DisplayName("Should read stored consultations once per doctor regardless of the batch size")
+        void shouldReadStoredConsultationsOncePerDoctor() {
+            List<Consultation> consultations = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                consultations.add(new Consultation(1L, 2L + i % 2, SLOT.plusMinutes(30L * (i / 2))));
+            }
+
+            bookingEngine.reserveAll(consultations);
+
+            verify(consultationRepository).findActiveSlots(List.of(2L), SLOT, SLOT.plusMinutes(30L * 500));
+            verify(consultationRepository).findActiveSlots(List.of(3L), SLOT, SLOT.plusMinutes(30L * 500));
+            verify(consultationRepository, times(2)).findActiveSlots(any(), any(), any());
+            verify(consultationRepository, never()).existsOverlapping(any(), any(), any(), any());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import com.hospital.shared.domain.enums.UserType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultationEnricher Tests")
+class ConsultationEnricherTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private ConsultationEnricher consultationEnricher;
+
+    private User patient;
+    private User otherPatient;
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        patient = new User("João Silva", "joao@email.com", "password", UserType.PACIENTE);
+        patient.setId(1L);
+        otherPatient = new User("Ana Costa", "ana@email.com", "password", UserType.PACIENTE);
+        otherPatient.setId(3L);
+        doctor = new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO);
+        doctor.setId(2L);
+    }
+
+    private ConsultationResponse consultation(Long id, Long patientId, Long doctorId) {
+        Consultation consultation = new Consultation(patientId, doctorId, LocalDateTime.now().plusDays(1));
+        consultation.setId(id);
+        return ConsultationResponse.fromEntity(consultation);
+    }
+
+    @Test
+    @DisplayName("Should resolve distinct user ids in one lookup")
+    @SuppressWarnings("unchecked")
+    void shouldResolveDistinctUserIdsInOneLookup() {
+        when(userRepository.findAllByIds(any())).thenReturn(List.of(patient, otherPatient, doctor));
+
+        List<ConsultationResponse> enriched = consultationEnricher.enrich(List.of(
+            consultation(10L, 1L, 2L),
+            consultation(11L, 3L, 2L),
+            consultation(12L, 1L, 2L)));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(1)).findAllByIds(ids.capture());
+        assertEquals(Set.of(1L, 2L, 3L), Set.copyOf(ids.getValue()));
+
+        assertEquals("João Silva", enriched.get(0).patientName());
+        assertEquals("Ana Costa", enriched.get(1).patientName());
+        assertEquals("ana@email.com", enriched.get(1).patientEmail());
+        assertEquals("Dr. Maria Santos", enriched.get(2).doctorName());
+        assertEquals(10L, enriched.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Should leave names empty when user is missing")
+    void shouldLeaveNamesEmptyWhenUserIsMissing() {
+        when(userRepository.findAllByIds(any())).thenReturn(List.of(doctor));
+        LocalDateTime now = LocalDateTime.now();
+        ConsultationSummaryResponse summary = new ConsultationSummaryResponse(
+            10L, 1L, 2L, now, 30, now.plusMinutes(30), null, null, ConsultationStatus.AGENDADA, now, now, null, null, null);
+
+        List<ConsultationSummaryResponse> enriched = consultationEnricher.enrichSummaries(List.of(summary));
+
+        assertNull(enriched.get(0).patientName());
+        assertNull(enriched.get(0).patientEmail());
+        assertEquals("Dr. Maria Santos", enriched.get(0).doctorName());
+    }
+
+    @Test
+    @DisplayName("Should not query users for empty list")
+    void shouldNotQueryUsersForEmptyList() {
+        assertTrue(consultationEnricher.enrich(List.of()).isEmpty());
+        verifyNoInteractions(userRepository);
+    }
+}
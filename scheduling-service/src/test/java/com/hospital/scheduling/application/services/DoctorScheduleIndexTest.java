@@ -0,0 +1,231 @@
+package com.hospital.scheduling.application.services;
+
+import com.hospital.scheduling.domain.projections.ConsultationSlot;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.ConsultationRescheduledEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DoctorScheduleIndex Tests")
+class DoctorScheduleIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 3, 4, 8, 0);
+    private static final LocalDateTime SLOT = NOW.plusDays(1).withHour(10);
+
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    private DoctorScheduleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        index = new DoctorScheduleIndex(consultationRepository, clock);
+    }
+
+    @Nested
+    @DisplayName("Overlap Query Tests")
+    class OverlapQueryTests {
+
+        @Test
+        @DisplayName("Should report consultations overlapping the requested interval")
+        void shouldReportOverlaps() {
+            index.apply(created(1L, 2L, SLOT, 30));
+
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT, 30, null));
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT.plusMinutes(29), 30, null));
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT.minusMinutes(29), 30, null));
+        }
+
+        @Test
+        @DisplayName("Should allow back-to-back consultations")
+        void shouldAllowAdjacentIntervals() {
+            index.apply(created(1L, 2L, SLOT, 30));
+
+            assertTrue(index.findConflict(2L, SLOT.plusMinutes(30), 30, null).isEmpty());
+            assertTrue(index.findConflict(2L, SLOT.minusMinutes(30), 30, null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep schedules separate per doctor")
+        void shouldKeepDoctorsSeparate() {
+            index.apply(created(1L, 2L, SLOT, 30));
+
+            assertTrue(index.findConflict(3L, SLOT, 30, null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should find a long consultation that started well before the requested interval")
+        void shouldFindLongConsultationStartedEarlier() {
+            index.apply(created(1L, 2L, SLOT, 120));
+            index.apply(created(3L, 2L, SLOT.minusMinutes(30), 15));
+
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT.plusMinutes(100), 10, null));
+            assertTrue(index.findConflict(2L, SLOT.plusMinutes(120), 10, null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should ignore the consultation being rescheduled")
+        void shouldIgnoreConsultationBeingRescheduled() {
+            index.apply(created(1L, 2L, SLOT, 30));
+
+            assertTrue(index.findConflict(2L, SLOT.plusMinutes(15), 30, 1L).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Synchronization Tests")
+    class SynchronizationTests {
+
+        @Test
+        @DisplayName("Should load active consultations at startup")
+        void shouldLoadActiveConsultations() {
+            when(consultationRepository.findActiveSlotsFrom(NOW.minusMinutes(Consultation.MAX_DURATION_MINUTES)))
+                    .thenReturn(List.of(new ConsultationSlot(1L, 2L, SLOT, 30), new ConsultationSlot(3L, 4L, SLOT, 30)));
+
+            index.load();
+
+            assertEquals(2, index.size());
+            assertEquals(Optional.of(3L), index.findConflict(4L, SLOT.plusMinutes(10), 30, null));
+        }
+
+        @Test
+        @DisplayName("Should move a consultation when it is rescheduled")
+        void shouldMoveRescheduledConsultation() {
+            index.apply(created(1L, 2L, SLOT, 30));
+            ConsultationRescheduledEvent event = rescheduled(1L, SLOT, SLOT.plusHours(2));
+            event.setDoctorId(2L);
+            event.setDurationMinutes(60);
+            index.apply(event);
+
+            assertEquals(1, index.size());
+            assertTrue(index.findConflict(2L, SLOT, 30, null).isEmpty());
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT.plusHours(2).plusMinutes(45), 30, null));
+        }
+
+        @Test
+        @DisplayName("Should keep doctor and duration when a reschedule event does not carry them")
+        void shouldKeepDoctorAndDurationOnLegacyReschedule() {
+            index.apply(created(1L, 2L, SLOT, 90));
+            index.apply(rescheduled(1L, SLOT, SLOT.plusHours(3)));
+
+            assertEquals(1, index.size());
+            assertTrue(index.findConflict(2L, SLOT, 30, null).isEmpty());
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT.plusHours(3).plusMinutes(80), 30, null));
+        }
+
+        @Test
+        @DisplayName("Should leave out a rescheduled consultation it cannot place")
+        void shouldSkipUnknownLegacyReschedule() {
+            index.apply(rescheduled(1L, SLOT, SLOT.plusHours(3)));
+
+            assertEquals(0, index.size());
+        }
+
+        @Test
+        @DisplayName("Should use the default duration for events without one")
+        void shouldUseDefaultDurationForEventsWithoutOne() {
+            index.apply(new ConsultationCreatedEvent(1L, 5L, 2L, SLOT, "patient@email.com", "Patient", "Dr. Smith"));
+
+            assertEquals(Optional.of(1L), index.findConflict(2L, SLOT.plusMinutes(29), 30, null));
+            assertTrue(index.findConflict(2L, SLOT.plusMinutes(Consultation.DEFAULT_DURATION_MINUTES), 30, null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should drop a consultation when it is cancelled")
+        void shouldDropCancelledConsultation() {
+            index.apply(created(1L, 2L, SLOT, 30));
+            index.apply(new ConsultationCancelledEvent(1L, 5L, "Doctor unavailable", "patient@email.com", "Patient"));
+
+            assertEquals(0, index.size());
+            assertTrue(index.findConflict(2L, SLOT, 30, null).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should prune consultations that already ended")
+        void shouldPruneEndedConsultations() {
+            index.apply(created(1L, 2L, NOW.minusHours(1), 30));
+            index.apply(created(3L, 2L, SLOT, 30));
+
+            index.prune();
+
+            assertEquals(1, index.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Database Confirmation Tests")
+    class DatabaseConfirmationTests {
+
+        @Test
+        @DisplayName("Should not touch the database when the index reports no conflict")
+        void shouldSkipDatabaseWithoutConflict() {
+            index.ensureAvailable(2L, SLOT, 30, null);
+
+            verifyNoInteractions(consultationRepository);
+        }
+
+        @Test
+        @DisplayName("Should reject a conflict confirmed by the database")
+        void shouldRejectConfirmedConflict() {
+            index.apply(created(1L, 2L, SLOT, 30));
+            when(consultationRepository.findById(1L)).thenReturn(Optional.of(consultation(1L, SLOT, ConsultationStatus.AGENDADA)));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> index.ensureAvailable(2L, SLOT.plusMinutes(10), 30, null));
+
+            assertEquals("Doctor already has a consultation scheduled at this time", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should repair a stale entry the database no longer confirms")
+        void shouldRepairStaleEntry() {
+            index.apply(created(1L, 2L, SLOT, 30));
+            when(consultationRepository.findById(1L)).thenReturn(Optional.of(consultation(1L, SLOT, ConsultationStatus.CANCELADA)));
+
+            assertDoesNotThrow(() -> index.ensureAvailable(2L, SLOT, 30, null));
+
+            assertEquals(0, index.size());
+            verify(consultationRepository).findById(any());
+        }
+    }
+
+    private static ConsultationCreatedEvent created(Long consultationId, Long doctorId, LocalDateTime scheduledDateTime,
+                                                    int durationMinutes) {
+        ConsultationCreatedEvent event = new ConsultationCreatedEvent(consultationId, 5L, doctorId, scheduledDateTime,
+                "patient@email.com", "Patient", "Dr. Smith");
+        event.setDurationMinutes(durationMinutes);
+        return event;
+    }
+
+    private static ConsultationRescheduledEvent rescheduled(Long consultationId, LocalDateTime oldDateTime,
+                                                            LocalDateTime newDateTime) {
+        return new ConsultationRescheduledEvent(consultationId, 5L, oldDateTime, newDateTime,
+                "patient@email.com", "Patient", "Dr. Smith");
+    }
+
+    private static Consultation consultation(Long id, LocalDateTime scheduledDateTime, ConsultationStatus status) {
+        return new Consultation(id, 5L, 2L, scheduledDateTime, null, null, status,
+                null, null, null, null, NOW, NOW);
+    }
+}
@@ -0,0 +1,193 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsRequest;
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsResponse;
+import com.hospital.scheduling.application.dtos.CreateConsultationRequest;
+import com.hospital.scheduling.application.services.BookingEngine;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.scheduling.infrastructure.events.EventPublisher;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkCreateConsultationsUseCase Tests")
+class BulkCreateConsultationsUseCaseTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(1).withNano(0);
+
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private BookingEngine bookingEngine;
+
+    private BulkCreateConsultationsUseCase useCase;
+
+    private User patient;
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new BulkCreateConsultationsUseCase(consultationRepository, userRepository, eventPublisher,
+                bookingEngine, 3);
+
+        patient = new User("João Silva", "joao@email.com", "password", UserType.PACIENTE);
+        patient.setId(1L);
+
+        doctor = new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO);
+        doctor.setId(2L);
+    }
+
+    @Nested
+    @DisplayName("Successful Bulk Creation Tests")
+    class SuccessfulBulkCreationTests {
+
+        @Test
+        @DisplayName("Should save all consultations in a single call and publish one event each")
+        void shouldSaveAllAndPublishEvents() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient, doctor));
+            when(consultationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+                List<Consultation> consultations = invocation.getArgument(0);
+                long id = 10L;
+                for (Consultation consultation : consultations) {
+                    consultation.setId(id++);
+                }
+                return consultations;
+            });
+
+            BulkCreateConsultationsResponse response = useCase.execute(request(
+                    new CreateConsultationRequest(1L, 2L, SLOT),
+                    new CreateConsultationRequest(1L, 2L, SLOT.plusHours(1))));
+
+            assertEquals(2, response.created());
+            assertEquals(List.of(10L, 11L), response.consultations().stream().map(c -> c.id()).toList());
+            assertEquals("João Silva", response.consultations().get(0).patientName());
+            assertEquals("Dr. Maria Santos", response.consultations().get(0).doctorName());
+
+            verify(userRepository).findAllByIds(argThat(ids -> ids.size() == 2 && ids.containsAll(List.of(1L, 2L))));
+            verify(bookingEngine).reserveAll(anyList());
+            verify(consultationRepository).saveAll(anyList());
+
+            ArgumentCaptor<ConsultationCreatedEvent> eventCaptor = ArgumentCaptor.forClass(ConsultationCreatedEvent.class);
+            verify(eventPublisher, times(2)).publishEvent(eventCaptor.capture());
+            assertEquals(10L, eventCaptor.getAllValues().get(0).getConsultationId());
+            assertEquals("joao@email.com", eventCaptor.getAllValues().get(0).getPatientEmail());
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject batches larger than the configured maximum")
+        void shouldRejectOversizedBatch() {
+            BulkCreateConsultationsRequest request = request(
+                    new CreateConsultationRequest(1L, 2L, SLOT),
+                    new CreateConsultationRequest(1L, 2L, SLOT.plusHours(1)),
+                    new CreateConsultationRequest(1L, 2L, SLOT.plusHours(2)),
+                    new CreateConsultationRequest(1L, 2L, SLOT.plusHours(3)));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> useCase.execute(request));
+
+            assertEquals("Batch exceeds the maximum of 3 consultations", exception.getMessage());
+            verifyNoInteractions(userRepository, consultationRepository, eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should report the index of an item with an unknown patient")
+        void shouldRejectUnknownPatient() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient, doctor));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> useCase.execute(request(
+                    new CreateConsultationRequest(1L, 2L, SLOT),
+                    new CreateConsultationRequest(99L, 2L, SLOT.plusHours(1)))));
+
+            assertEquals("Item 1: Patient not found", exception.getMessage());
+            verify(consultationRepository, never()).saveAll(anyList());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject an item whose doctor is not a doctor")
+        void shouldRejectNonDoctor() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> useCase.execute(request(new CreateConsultationRequest(1L, 1L, SLOT))));
+
+            assertEquals("Item 0: Specified user is not a doctor", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should not save a batch rejected by the booking engine")
+        void shouldNotSaveBatchRejectedByBookingEngine() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient, doctor));
+            doThrow(new IllegalArgumentException("Item 1: Doctor already has a consultation scheduled at this time"))
+                    .when(bookingEngine).reserveAll(anyList());
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> useCase.execute(request(
+                    new CreateConsultationRequest(1L, 2L, SLOT),
+                    new CreateConsultationRequest(1L, 2L, SLOT.plusMinutes(10)))));
+
+            assertEquals("Item 1: Doctor already has a consultation scheduled at this time", exception.getMessage());
+            verify(consultationRepository, never()).saveAll(anyList());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should report the index of an item with an invalid duration")
+        void shouldRejectInvalidDuration() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient, doctor));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> useCase.execute(request(
+                    new CreateConsultationRequest(1L, 2L, SLOT),
+                    new CreateConsultationRequest(1L, 2L, SLOT.plusHours(1), 600))));
+
+            assertEquals("Item 1: Consultation duration must be between 1 and 480 minutes", exception.getMessage());
+            verifyNoInteractions(bookingEngine);
+        }
+
+        @Test
+        @DisplayName("Should propagate slot conflicts detected by the database")
+        void shouldPropagateDatabaseSlotConflict() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient, doctor));
+            when(consultationRepository.saveAll(anyList()))
+                    .thenThrow(new IllegalArgumentException("Doctor already has a consultation scheduled at this time"));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> useCase.execute(request(new CreateConsultationRequest(1L, 2L, SLOT))));
+
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    private static BulkCreateConsultationsRequest request(CreateConsultationRequest... items) {
+        return new BulkCreateConsultationsRequest(List.of(items));
+    }
+}
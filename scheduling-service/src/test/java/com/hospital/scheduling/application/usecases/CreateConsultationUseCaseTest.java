@@ -2,6 +2,7 @@ package com.hospital.scheduling.application.usecases;
 
 import com.hospital.scheduling.application.dtos.CreateConsultationRequest;
 import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.services.BookingEngine;
 import com.hospital.scheduling.domain.repositories.ConsultationRepository;
 import com.hospital.scheduling.domain.repositories.UserRepository;
 import com.hospital.scheduling.infrastructure.events.EventPublisher;
@@ -40,6 +41,9 @@ class CreateConsultationUseCaseTest {
     @Mock
     private EventPublisher eventPublisher;
 
+    @Mock
+    private BookingEngine bookingEngine;
+
     @InjectMocks
     private CreateConsultationUseCase createConsultationUseCase;
 
@@ -79,8 +83,6 @@ class CreateConsultationUseCaseTest {
         void shouldCreateConsultationSuccessfully() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class))).thenReturn(savedConsultation);
 
             ConsultationResponse response = createConsultationUseCase.execute(validRequest);
@@ -97,7 +99,6 @@ class CreateConsultationUseCaseTest {
 
             verify(userRepository).findById(1L);
             verify(userRepository).findById(2L);
-            verify(consultationRepository).existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime());
             
             ArgumentCaptor<Consultation> consultationCaptor = ArgumentCaptor.forClass(Consultation.class);
             verify(consultationRepository).save(consultationCaptor.capture());
@@ -107,6 +108,22 @@ class CreateConsultationUseCaseTest {
             assertEquals(validRequest.doctorId(), capturedConsultation.getDoctorId());
             assertEquals(validRequest.scheduledDateTime(), capturedConsultation.getScheduledDateTime());
             assertEquals(ConsultationStatus.AGENDADA, capturedConsultation.getStatus());
+            assertEquals(Consultation.DEFAULT_DURATION_MINUTES, capturedConsultation.getDurationMinutes());
+        }
+
+        @Test
+        @DisplayName("Should use the requested duration")
+        void shouldUseRequestedDuration() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
+            when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
+            when(consultationRepository.save(any(Consultation.class))).thenReturn(savedConsultation);
+
+            createConsultationUseCase.execute(new CreateConsultationRequest(1L, 2L, validRequest.scheduledDateTime(), 50));
+
+            ArgumentCaptor<Consultation> consultationCaptor = ArgumentCaptor.forClass(Consultation.class);
+            verify(bookingEngine).reserve(consultationCaptor.capture());
+            assertEquals(50, consultationCaptor.getValue().getDurationMinutes());
+            assertEquals(validRequest.scheduledDateTime().plusMinutes(50), consultationCaptor.getValue().getEndDateTime());
         }
 
         @Test
@@ -114,8 +131,6 @@ class CreateConsultationUseCaseTest {
         void shouldPublishConsultationCreatedEvent() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class))).thenReturn(savedConsultation);
 
             createConsultationUseCase.execute(validRequest);
@@ -229,8 +244,9 @@ class CreateConsultationUseCaseTest {
         void shouldThrowExceptionWhenDoctorAlreadyHasConsultationAtSameTime() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(true);
+            // O conflito vem da restrição única no banco, traduzida pelo repositório
+            when(consultationRepository.save(any(Consultation.class)))
+                .thenThrow(new IllegalArgumentException("Doctor already has a consultation scheduled at this time"));
 
             IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -240,25 +256,37 @@ class CreateConsultationUseCaseTest {
             assertEquals("Doctor already has a consultation scheduled at this time", exception.getMessage());
             verify(userRepository).findById(1L);
             verify(userRepository).findById(2L);
-            verify(consultationRepository).existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime());
-            verify(consultationRepository, never()).save(any(Consultation.class));
+            verify(consultationRepository).save(any(Consultation.class));
             verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
-        @DisplayName("Should proceed when doctor is available at scheduled time")
-        void shouldProceedWhenDoctorIsAvailableAtScheduledTime() {
+        @DisplayName("Should reserve the slot through the booking engine before saving")
+        void shouldReserveSlotThroughBookingEngineBeforeSaving() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class))).thenReturn(savedConsultation);
 
             ConsultationResponse response = createConsultationUseCase.execute(validRequest);
 
             assertNotNull(response);
-            verify(consultationRepository).existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime());
-            verify(consultationRepository).save(any(Consultation.class));
+            var inOrder = inOrder(bookingEngine, consultationRepository);
+            inOrder.verify(bookingEngine).reserve(any(Consultation.class));
+            inOrder.verify(consultationRepository).save(any(Consultation.class));
+            verifyNoMoreInteractions(consultationRepository);
+        }
+
+        @Test
+        @DisplayName("Should not save a consultation rejected by the booking engine")
+        void shouldNotSaveWhenBookingEngineRejectsSlot() {
+            when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
+            when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
+            doThrow(new IllegalArgumentException("Doctor already has a consultation scheduled at this time"))
+                .when(bookingEngine).reserve(any(Consultation.class));
+
+            assertThrows(IllegalArgumentException.class, () -> createConsultationUseCase.execute(validRequest));
+
+            verifyNoInteractions(consultationRepository, eventPublisher);
         }
     }
 
@@ -271,8 +299,6 @@ class CreateConsultationUseCaseTest {
         void shouldExecuteCompleteFlowInCorrectOrder() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class))).thenReturn(savedConsultation);
 
             ConsultationResponse response = createConsultationUseCase.execute(validRequest);
@@ -282,7 +308,6 @@ class CreateConsultationUseCaseTest {
             var inOrder = inOrder(userRepository, consultationRepository, eventPublisher);
             inOrder.verify(userRepository).findById(1L);
             inOrder.verify(userRepository).findById(2L);
-            inOrder.verify(consultationRepository).existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime());
             inOrder.verify(consultationRepository).save(any(Consultation.class));
             inOrder.verify(eventPublisher).publishEvent(any(ConsultationCreatedEvent.class));
         }
@@ -307,8 +332,6 @@ class CreateConsultationUseCaseTest {
 
             when(userRepository.findById(5L)).thenReturn(Optional.of(specificPatient));
             when(userRepository.findById(6L)).thenReturn(Optional.of(specificDoctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(6L, specificRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class))).thenReturn(specificSavedConsultation);
 
             ConsultationResponse response = createConsultationUseCase.execute(specificRequest);
@@ -326,8 +349,6 @@ class CreateConsultationUseCaseTest {
         void shouldHandleRepositoryExceptionsAppropriately() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class)))
                 .thenThrow(new RuntimeException("Database error"));
 
@@ -345,8 +366,6 @@ class CreateConsultationUseCaseTest {
         void shouldNotCallEventPublisherIfConsultationSaveFails() {
             when(userRepository.findById(1L)).thenReturn(Optional.of(patient));
             when(userRepository.findById(2L)).thenReturn(Optional.of(doctor));
-            when(consultationRepository.existsByDoctorIdAndScheduledDateTime(2L, validRequest.scheduledDateTime()))
-                .thenReturn(false);
             when(consultationRepository.save(any(Consultation.class)))
                 .thenThrow(new RuntimeException("Save failed"));
 
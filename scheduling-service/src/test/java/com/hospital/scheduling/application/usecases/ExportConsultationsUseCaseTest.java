@@ -0,0 +1,100 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ExportConsultationsUseCase Tests")
+class ExportConsultationsUseCaseTest {
+
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    private ObjectMapper objectMapper;
+    private ExportConsultationsUseCase exportConsultationsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        exportConsultationsUseCase = new ExportConsultationsUseCase(consultationRepository, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        Consultation first = new Consultation(1L, 2L, LocalDateTime.now().plusDays(1));
+        first.setId(10L);
+        Consultation second = new Consultation(3L, 2L, LocalDateTime.now().plusDays(2));
+        second.setId(11L);
+        when(consultationRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long written = exportConsultationsUseCase.execute(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, written);
+        assertEquals(2, lines.length);
+
+        JsonNode firstLine = objectMapper.readTree(lines[0]);
+        JsonNode secondLine = objectMapper.readTree(lines[1]);
+        assertEquals(10L, firstLine.get("id").asLong());
+        assertEquals(11L, secondLine.get("id").asLong());
+        assertEquals(3L, secondLine.get("patientId").asLong());
+    }
+
+    @Test
+    @DisplayName("Should terminate every record with a newline")
+    void shouldTerminateEveryRecordWithANewline() throws Exception {
+        Consultation consultation = new Consultation(1L, 2L, LocalDateTime.now().plusDays(1));
+        consultation.setId(1L);
+        when(consultationRepository.streamAll()).thenReturn(Stream.of(consultation));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportConsultationsUseCase.execute(output);
+
+        assertTrue(output.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    @DisplayName("Should write nothing for empty table")
+    void shouldWriteNothingForEmptyTable() throws Exception {
+        when(consultationRepository.streamAll()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long written = exportConsultationsUseCase.execute(output);
+
+        assertEquals(0, written);
+        assertEquals(0, output.size());
+    }
+
+    @Test
+    @DisplayName("Should close repository stream after export")
+    void shouldCloseRepositoryStreamAfterExport() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(consultationRepository.streamAll()).thenReturn(Stream.<Consultation>empty().onClose(() -> closed.set(true)));
+
+        exportConsultationsUseCase.execute(new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+}
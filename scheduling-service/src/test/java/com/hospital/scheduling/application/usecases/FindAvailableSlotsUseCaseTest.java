@@ -0,0 +1,145 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.hospital.scheduling.application.dtos.AvailableSlotResponse;
+import com.hospital.scheduling.application.services.AvailabilityEngine;
+import com.hospital.scheduling.application.services.AvailabilityEngine.FreeSlot;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FindAvailableSlotsUseCase Tests")
+class FindAvailableSlotsUseCaseTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.now().plusDays(2).withHour(8).withMinute(0).withSecond(0).withNano(0);
+
+    @Mock
+    private AvailabilityEngine availabilityEngine;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private FindAvailableSlotsUseCase useCase;
+
+    private User doctor;
+    private User otherDoctor;
+    private User patient;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO);
+        doctor.setId(2L);
+
+        otherDoctor = new User("Dr. Pedro Lima", "pedro@email.com", "password", UserType.MEDICO);
+        otherDoctor.setId(3L);
+
+        patient = new User("João Silva", "joao@email.com", "password", UserType.PACIENTE);
+        patient.setId(1L);
+    }
+
+    @Nested
+    @DisplayName("Successful Search Tests")
+    class SuccessfulSearchTests {
+
+        @Test
+        @DisplayName("Should search every active doctor when no doctor is given")
+        void shouldSearchAllActiveDoctors() {
+            when(userRepository.findActiveUsersByType(UserType.MEDICO)).thenReturn(List.of(doctor, otherDoctor));
+            when(availabilityEngine.findFreeSlots(any(), eq(FROM), eq(FROM.plusDays(7)), eq(30), eq(10)))
+                    .thenReturn(List.of(new FreeSlot(3L, FROM, FROM.plusMinutes(30))));
+
+            List<AvailableSlotResponse> slots = useCase.execute(null, FROM, null, null, null);
+
+            assertEquals(List.of(new AvailableSlotResponse(3L, "Dr. Pedro Lima", FROM, FROM.plusMinutes(30))), slots);
+            verify(availabilityEngine).findFreeSlots(eq(Set.of(2L, 3L)), any(), any(), anyInt(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should search only the requested doctors")
+        void shouldSearchRequestedDoctors() {
+            when(userRepository.findAllByIds(Set.of(2L))).thenReturn(List.of(doctor));
+
+            useCase.execute(List.of(2L, 2L), FROM, FROM.plusDays(1), 45, 5);
+
+            verify(availabilityEngine).findFreeSlots(Set.of(2L), FROM, FROM.plusDays(1), 45, 5);
+        }
+
+        @Test
+        @DisplayName("Should never search before the current time")
+        void shouldNotSearchThePast() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(doctor));
+            LocalDateTime before = LocalDateTime.now();
+
+            useCase.execute(List.of(2L), before.minusDays(1), FROM, null, null);
+
+            verify(availabilityEngine).findFreeSlots(any(), argThat(start -> !start.isBefore(before)), eq(FROM), eq(30), eq(10));
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should reject an unknown doctor")
+        void shouldRejectUnknownDoctor() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(doctor));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> useCase.execute(List.of(2L, 99L), FROM, null, null, null));
+
+            assertEquals("Doctor not found", exception.getMessage());
+            verifyNoInteractions(availabilityEngine);
+        }
+
+        @Test
+        @DisplayName("Should reject a user that is not a doctor")
+        void shouldRejectNonDoctor() {
+            when(userRepository.findAllByIds(any())).thenReturn(List.of(patient));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> useCase.execute(List.of(1L), FROM, null, null, null));
+
+            assertEquals("Specified user is not a doctor", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should reject invalid durations and limits")
+        void shouldRejectInvalidDurationAndLimit() {
+            assertThrows(IllegalArgumentException.class, () -> useCase.execute(null, FROM, null, 0, null));
+            assertThrows(IllegalArgumentException.class, () -> useCase.execute(null, FROM, null, 481, null));
+            assertThrows(IllegalArgumentException.class, () -> useCase.execute(null, FROM, null, null, 0));
+            assertThrows(IllegalArgumentException.class, () -> useCase.execute(null, FROM, null, null, 101));
+
+            verifyNoInteractions(userRepository, availabilityEngine);
+        }
+
+        @Test
+        @DisplayName("Should reject empty or too long search ranges")
+        void shouldRejectInvalidRange() {
+            assertThrows(IllegalArgumentException.class, () -> useCase.execute(null, FROM, FROM, null, null));
+            assertThrows(IllegalArgumentException.class, () -> useCase.execute(null, FROM, FROM.plusDays(32), null, null));
+
+            verifyNoInteractions(userRepository, availabilityEngine);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.hospital.scheduling.application.usecases;
+
+import com.hospital.scheduling.application.dtos.ConsultationCursor;
+import com.hospital.scheduling.application.dtos.ConsultationPageResponse;
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
+import com.hospital.scheduling.application.services.ConsultationEnricher;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import com.hospital.shared.domain.enums.UserType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ListConsultationsUseCase Tests")
+class ListConsultationsUseCaseTest {
+
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ListConsultationsUseCase listConsultationsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        listConsultationsUseCase = new ListConsultationsUseCase(consultationRepository, new ConsultationEnricher(userRepository));
+    }
+
+    private List<Consultation> consultations(int count) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<Consultation> consultations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Consultation consultation = new Consultation(1L, 2L, base.plusMinutes(i * 30L));
+            consultation.setId((long) i + 1);
+            consultations.add(consultation);
+        }
+        return consultations;
+    }
+
+    private List<ConsultationSummary> summaries(int count) {
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        List<ConsultationSummary> summaries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            summaries.add(new ConsultationSummary((long) i + 1, 1L, 2L, base.plusMinutes(i * 30L), 30,
+                null, null, ConsultationStatus.AGENDADA, base, base));
+        }
+        return summaries;
+    }
+
+    @Nested
+    @DisplayName("First Page Tests")
+    class FirstPageTests {
+
+        @Test
+        @DisplayName("Should request one extra row and report next page")
+        void shouldRequestOneExtraRowAndReportNextPage() {
+            List<Consultation> rows = consultations(3);
+            when(consultationRepository.findPage(null, null, 3)).thenReturn(rows);
+
+            ConsultationPageResponse<ConsultationResponse> page = listConsultationsUseCase.execute(null, 2);
+
+            assertEquals(2, page.content().size());
+            assertEquals(2, page.size());
+            assertTrue(page.hasNext());
+            ConsultationCursor nextCursor = ConsultationCursor.decode(page.nextCursor());
+            assertEquals(rows.get(1).getId(), nextCursor.id());
+            assertEquals(rows.get(1).getScheduledDateTime(), nextCursor.scheduledDateTime());
+        }
+
+        @Test
+        @DisplayName("Should report last page without cursor")
+        void shouldReportLastPageWithoutCursor() {
+            when(consultationRepository.findPage(null, null, 3)).thenReturn(consultations(2));
+
+            ConsultationPageResponse<ConsultationResponse> page = listConsultationsUseCase.execute("", 2);
+
+            assertEquals(2, page.content().size());
+            assertFalse(page.hasNext());
+            assertNull(page.nextCursor());
+        }
+
+        @Test
+        @DisplayName("Should use default page size when none is given")
+        void shouldUseDefaultPageSizeWhenNoneIsGiven() {
+            when(consultationRepository.findPage(null, null, ListConsultationsUseCase.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(List.of());
+
+            ConsultationPageResponse<ConsultationResponse> page = listConsultationsUseCase.execute(null, null);
+
+            assertTrue(page.content().isEmpty());
+            assertEquals(ListConsultationsUseCase.DEFAULT_PAGE_SIZE, page.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Tests")
+    class CursorTests {
+
+        @Test
+        @DisplayName("Should seek after cursor position")
+        void shouldSeekAfterCursorPosition() {
+            LocalDateTime scheduledDateTime = LocalDateTime.now().plusDays(2);
+            String cursor = new ConsultationCursor(scheduledDateTime, 15L).encode();
+            when(consultationRepository.findPage(scheduledDateTime, 15L, 11)).thenReturn(consultations(1));
+
+            ConsultationPageResponse<ConsultationResponse> page = listConsultationsUseCase.execute(cursor, 10);
+
+            assertEquals(1, page.content().size());
+            verify(consultationRepository).findPage(scheduledDateTime, 15L, 11);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid cursor without querying")
+        void shouldRejectInvalidCursorWithoutQuerying() {
+            assertThrows(IllegalArgumentException.class, () -> listConsultationsUseCase.execute("invalid", 10));
+            verifyNoInteractions(consultationRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Summary Page Tests")
+    class SummaryPageTests {
+
+        @Test
+        @DisplayName("Should page summaries without loading entities")
+        void shouldPageSummariesWithoutLoadingEntities() {
+            List<ConsultationSummary> rows = summaries(3);
+            when(consultationRepository.findSummaryPage(null, null, 3)).thenReturn(rows);
+
+            ConsultationPageResponse<ConsultationSummaryResponse> page = listConsultationsUseCase.executeSummaries(null, 2);
+
+            assertEquals(2, page.content().size());
+            assertTrue(page.hasNext());
+            ConsultationCursor nextCursor = ConsultationCursor.decode(page.nextCursor());
+            assertEquals(rows.get(1).id(), nextCursor.id());
+            assertEquals(rows.get(1).scheduledDateTime(), nextCursor.scheduledDateTime());
+            verify(consultationRepository, never()).findPage(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should fill user names with a single batched lookup")
+        void shouldFillUserNamesWithSingleBatchedLookup() {
+            User patient = new User("João Silva", "joao@email.com", "password", UserType.PACIENTE);
+            patient.setId(1L);
+            User doctor = new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO);
+            doctor.setId(2L);
+            when(consultationRepository.findSummaryPage(null, null, 4)).thenReturn(summaries(3));
+            when(userRepository.findAllByIds(anyCollection())).thenReturn(List.of(patient, doctor));
+
+            ConsultationPageResponse<ConsultationSummaryResponse> page = listConsultationsUseCase.executeSummaries(null, 3);
+
+            assertEquals(3, page.content().size());
+            page.content().forEach(summary -> {
+                assertEquals("João Silva", summary.patientName());
+                assertEquals("joao@email.com", summary.patientEmail());
+                assertEquals("Dr. Maria Santos", summary.doctorName());
+            });
+            verify(userRepository, times(1)).findAllByIds(anyCollection());
+            verify(userRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should seek summaries after cursor position")
+        void shouldSeekSummariesAfterCursorPosition() {
+            LocalDateTime scheduledDateTime = LocalDateTime.now().plusDays(2);
+            String cursor = new ConsultationCursor(scheduledDateTime, 15L).encode();
+            when(consultationRepository.findSummaryPage(scheduledDateTime, 15L, 6)).thenReturn(summaries(1));
+
+            ConsultationPageResponse<ConsultationSummaryResponse> page = listConsultationsUseCase.executeSummaries(cursor, 5);
+
+            assertEquals(1, page.content().size());
+            assertFalse(page.hasNext());
+            assertNull(page.nextCursor());
+        }
+    }
+
+    @Nested
+    @DisplayName("Without User Info Tests")
+    class WithoutUserInfoTests {
+
+        @Test
+        @DisplayName("Should page consultations without looking up users")
+        void shouldPageConsultationsWithoutLookingUpUsers() {
+            when(consultationRepository.findPage(null, null, 3)).thenReturn(consultations(3));
+
+            ConsultationPageResponse<ConsultationResponse> page = listConsultationsUseCase.executeWithoutUserInfo(null, 2);
+
+            assertEquals(2, page.content().size());
+            assertTrue(page.hasNext());
+            assertNull(page.content().get(0).patientName());
+            verifyNoInteractions(userRepository);
+        }
+
+        @Test
+        @DisplayName("Should page summaries without looking up users")
+        void shouldPageSummariesWithoutLookingUpUsers() {
+            when(consultationRepository.findSummaryPage(null, null, 3)).thenReturn(summaries(2));
+
+            ConsultationPageResponse<ConsultationSummaryResponse> page =
+                    listConsultationsUseCase.executeSummariesWithoutUserInfo(null, 2);
+
+            assertEquals(2, page.content().size());
+            assertFalse(page.hasNext());
+            verifyNoInteractions(userRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Page Size Validation Tests")
+    class PageSizeValidationTests {
+
+        @Test
+        @DisplayName("Should reject page size out of bounds")
+        void shouldRejectPageSizeOutOfBounds() {
+            assertThrows(IllegalArgumentException.class, () -> listConsultationsUseCase.execute(null, 0));
+            assertThrows(IllegalArgumentException.class,
+                () -> listConsultationsUseCase.execute(null, ListConsultationsUseCase.MAX_PAGE_SIZE + 1));
+            verify(consultationRepository, never()).findPage(any(), any(), anyInt());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hospital.scheduling.infrastructure.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BoundedTtlCache Tests")
+class BoundedTtlCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    @DisplayName("Should return cached value before expiration")
+    void shouldReturnCachedValueBeforeExpiration() {
+        BoundedTtlCache<Long, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(5), clock);
+        cache.put(1L, "João");
+
+        clock.advance(Duration.ofMinutes(4));
+
+        assertEquals("João", cache.get(1L).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should expire value after ttl")
+    void shouldExpireValueAfterTtl() {
+        BoundedTtlCache<Long, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(5), clock);
+        cache.put(1L, "João");
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertTrue(cache.get(1L).isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        BoundedTtlCache<Long, String> cache = new BoundedTtlCache<>(2, Duration.ofMinutes(5), clock);
+        cache.put(1L, "João");
+        cache.put(2L, "Maria");
+        cache.get(1L);
+
+        cache.put(3L, "Ana");
+
+        assertEquals(2, cache.size());
+        assertTrue(cache.get(2L).isEmpty());
+        assertTrue(cache.get(1L).isPresent());
+        assertTrue(cache.get(3L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should invalidate by key and by predicate")
+    void shouldInvalidateByKeyAndByPredicate() {
+        BoundedTtlCache<Long, String> cache = new BoundedTtlCache<>(10, Duration.ofMinutes(5), clock);
+        cache.put(1L, "João");
+        cache.put(2L, "Maria");
+        cache.put(3L, "Ana");
+
+        cache.invalidate(1L);
+        cache.invalidateIf(value -> value.startsWith("M"));
+
+        assertEquals(1, cache.size());
+        assertTrue(cache.get(3L).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should reject non positive size")
+    void shouldRejectNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedTtlCache<>(0, Duration.ofMinutes(5), clock));
+    }
+
+    static class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2024-01-01T10:00:00Z");
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
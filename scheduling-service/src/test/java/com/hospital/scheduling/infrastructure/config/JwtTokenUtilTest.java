@@ -0,0 +1,164 @@
+package com.hospital.scheduling.infrastructure.config;
+
+import com.hospital.scheduling.infrastructure.security.CustomUserDetails;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtTokenUtil Tests")
+class JwtTokenUtilTest {
+
+    // Mesmo segredo do JwtTokenUtil, para assinar tokens que ele não emitiria (ex.: já expirados)
+    private static final String SECRET = "hospital-system-secret-key-for-jwt-token-generation-must-be-long-enough-to-be-secure";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private CustomUserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+
+        User user = new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO);
+        user.setId(2L);
+        userDetails = new CustomUserDetails(user);
+    }
+
+    @Nested
+    @DisplayName("Parse Tests")
+    class ParseTests {
+
+        @Test
+        @DisplayName("Should parse generated token into claims")
+        void shouldParseGeneratedTokenIntoClaims() {
+            String token = jwtTokenUtil.generateToken(userDetails);
+
+            Claims claims = jwtTokenUtil.parseToken(token);
+
+            assertEquals("maria@email.com", claims.getSubject());
+            assertNotNull(claims.getExpiration());
+            assertEquals("maria@email.com", jwtTokenUtil.getUsernameFromToken(token));
+        }
+
+        @Test
+        @DisplayName("Should reject tampered token")
+        void shouldRejectTamperedToken() {
+            String token = jwtTokenUtil.generateToken(userDetails);
+            String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+            assertThrows(IllegalArgumentException.class, () -> jwtTokenUtil.parseToken(tampered));
+            assertFalse(jwtTokenUtil.validateToken(tampered, userDetails));
+        }
+
+        @Test
+        @DisplayName("Should reject malformed token")
+        void shouldRejectMalformedToken() {
+            assertThrows(IllegalArgumentException.class, () -> jwtTokenUtil.parseToken("not-a-token"));
+        }
+
+        @Test
+        @DisplayName("Should report an expired token as expired")
+        void shouldReportExpiredToken() {
+            String expired = Jwts.builder()
+                    .subject("maria@email.com")
+                    .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                    .expiration(new Date(System.currentTimeMillis() - 60_000))
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+
+            assertThrows(ExpiredJwtException.class, () -> jwtTokenUtil.parseToken(expired));
+            assertFalse(jwtTokenUtil.validateToken(expired, userDetails));
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should validate parsed claims against matching user")
+        void shouldValidateParsedClaimsAgainstMatchingUser() {
+            Claims claims = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(userDetails));
+
+            assertTrue(jwtTokenUtil.validateToken(claims, userDetails));
+        }
+
+        @Test
+        @DisplayName("Should not validate claims for another user")
+        void shouldNotValidateClaimsForAnotherUser() {
+            Claims claims = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(userDetails));
+            User other = new User("João Silva", "joao@email.com", "password", UserType.PACIENTE);
+            other.setId(1L);
+
+            assertFalse(jwtTokenUtil.validateToken(claims, new CustomUserDetails(other)));
+        }
+
+        @Test
+        @DisplayName("Should keep string based validation working")
+        void shouldKeepStringBasedValidationWorking() {
+            String token = jwtTokenUtil.generateToken(userDetails);
+
+            assertTrue(jwtTokenUtil.validateToken(token, userDetails));
+        }
+    }
+
+    @Nested
+    @DisplayName("Stateless Claims Tests")
+    class StatelessClaimsTests {
+
+        @Test
+        @DisplayName("Should embed user id, role and status in token")
+        void shouldEmbedUserIdRoleAndStatusInToken() {
+            Claims claims = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(userDetails));
+
+            CustomUserDetails fromClaims = jwtTokenUtil.getUserDetailsFromClaims(claims);
+
+            assertNotNull(fromClaims);
+            assertEquals(2L, fromClaims.getId());
+            assertEquals("maria@email.com", fromClaims.getUsername());
+            assertEquals("MEDICO", fromClaims.getUserType());
+            assertTrue(fromClaims.isEnabled());
+            assertEquals("ROLE_MEDICO", fromClaims.getAuthorities().iterator().next().getAuthority());
+            assertNull(fromClaims.getPassword());
+        }
+
+        @Test
+        @DisplayName("Should expose issued-at with millisecond precision")
+        void shouldExposeIssuedAtWithMillisecondPrecision() {
+            long before = System.currentTimeMillis();
+            Claims claims = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(userDetails));
+            long after = System.currentTimeMillis();
+
+            long issuedAt = jwtTokenUtil.getIssuedAt(claims).getTime();
+
+            assertTrue(issuedAt >= before && issuedAt <= after);
+            assertEquals(claims.getIssuedAt().getTime() / 1000, issuedAt / 1000);
+        }
+
+        @Test
+        @DisplayName("Should return null for token without user claims")
+        void shouldReturnNullForTokenWithoutUserClaims() {
+            UserDetails plain = org.springframework.security.core.userdetails.User
+                .withUsername("maria@email.com")
+                .password("password")
+                .authorities("ROLE_MEDICO")
+                .build();
+
+            Claims claims = jwtTokenUtil.parseToken(jwtTokenUtil.generateToken(plain));
+
+            assertNull(jwtTokenUtil.getUserDetailsFromClaims(claims));
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.hospital.scheduling.infrastructure.events;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaEntity;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaRepository;
+import com.hospital.shared.domain.events.ConsultationCancelledEvent;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
 import com.hospital.shared.domain.events.DomainEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.SendResult;
 
-import java.util.concurrent.CompletableFuture;
+import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,143 +26,102 @@ import static org.mockito.Mockito.*;
 class EventPublisherTest {
 
     @Mock
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxEventJpaRepository outboxEventJpaRepository;
 
-    @Mock
-    private SendResult<String, Object> sendResult;
-
-    @InjectMocks
+    private ObjectMapper objectMapper;
     private EventPublisher eventPublisher;
 
-    private TestDomainEvent testEvent;
+    private ConsultationCreatedEvent createdEvent;
 
     @BeforeEach
     void setUp() {
-        testEvent = new TestDomainEvent("TEST_EVENT");
-    }
-
-    @Test
-    @DisplayName("Should publish event successfully")
-    void shouldPublishEventSuccessfully() {
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        eventPublisher = new EventPublisher(outboxEventJpaRepository, objectMapper);
 
-        eventPublisher.publishEvent(testEvent);
-
-        ArgumentCaptor<String> topicCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<String> keyCaptor = ArgumentCaptor.forClass(String.class);
-        ArgumentCaptor<Object> valueCaptor = ArgumentCaptor.forClass(Object.class);
-
-        verify(kafkaTemplate).send(topicCaptor.capture(), keyCaptor.capture(), valueCaptor.capture());
-
-        assertEquals("consultation-events", topicCaptor.getValue());
-        assertEquals(testEvent.getEventId(), keyCaptor.getValue());
-        assertEquals(testEvent, valueCaptor.getValue());
+        createdEvent = new ConsultationCreatedEvent(
+            1L, 2L, 3L, LocalDateTime.of(2024, 12, 25, 14, 30),
+            "joao@email.com", "João Silva", "Dr. Maria Santos");
     }
 
-    @Test
-    @DisplayName("Should handle kafka send exception gracefully")
-    void shouldHandleKafkaSendExceptionGracefully() {
-        when(kafkaTemplate.send(anyString(), anyString(), any()))
-            .thenThrow(new RuntimeException("Kafka connection error"));
-
-        assertDoesNotThrow(() -> eventPublisher.publishEvent(testEvent));
-
-        verify(kafkaTemplate).send(eq("consultation-events"), eq(testEvent.getEventId()), eq(testEvent));
+    private OutboxEventJpaEntity captureSaved() {
+        ArgumentCaptor<OutboxEventJpaEntity> captor = ArgumentCaptor.forClass(OutboxEventJpaEntity.class);
+        verify(outboxEventJpaRepository).save(captor.capture());
+        return captor.getValue();
     }
 
     @Test
-    @DisplayName("Should handle null event gracefully")
-    void shouldHandleNullEventGracefully() {
-        assertThrows(Exception.class, () -> eventPublisher.publishEvent(null));
+    @DisplayName("Should write event to outbox instead of sending it")
+    void shouldWriteEventToOutboxInsteadOfSendingIt() {
+        eventPublisher.publishEvent(createdEvent);
+
+        OutboxEventJpaEntity saved = captureSaved();
+        assertEquals(createdEvent.getEventId(), saved.getEventId());
+        assertEquals("CONSULTATION_CREATED", saved.getEventType());
+        assertNotNull(saved.getCreatedAt());
     }
 
     @Test
-    @DisplayName("Should use correct topic name")
-    void shouldUseCorrectTopicName() {
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+    @DisplayName("Should use patient ID as message key")
+    void shouldUsePatientIdAsMessageKey() {
+        createdEvent.setEventId("test-event-id-123");
 
-        eventPublisher.publishEvent(testEvent);
+        eventPublisher.publishEvent(createdEvent);
 
-        verify(kafkaTemplate).send(eq("consultation-events"), anyString(), any());
+        OutboxEventJpaEntity saved = captureSaved();
+        assertEquals("2", saved.getMessageKey());
+        assertEquals("test-event-id-123", saved.getEventId());
     }
 
     @Test
-    @DisplayName("Should use event ID as message key")
-    void shouldUseEventIdAsMessageKey() {
-        CompletableFuture<SendResult<String, Object>> future = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
-
-        String eventId = "test-event-id-123";
-        TestDomainEvent eventWithSpecificId = new TestDomainEvent("TEST_EVENT");
-        eventWithSpecificId.setEventId(eventId);
+    @DisplayName("Should not serialize partition key into payload")
+    void shouldNotSerializePartitionKeyIntoPayload() {
+        eventPublisher.publishEvent(createdEvent);
 
-        eventPublisher.publishEvent(eventWithSpecificId);
-
-        verify(kafkaTemplate).send(anyString(), eq(eventId), any());
+        assertFalse(captureSaved().getPayload().contains("partitionKey"));
     }
 
     @Test
-    @DisplayName("Should handle completed future success callback")
-    void shouldHandleCompletedFutureSuccessCallback() {
-        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
+    @DisplayName("Should store payload that restores the original event type")
+    void shouldStorePayloadThatRestoresTheOriginalEventType() throws Exception {
+        eventPublisher.publishEvent(createdEvent);
 
-        eventPublisher.publishEvent(testEvent);
-        future.complete(sendResult); 
+        DomainEvent restored = objectMapper.readValue(captureSaved().getPayload(), DomainEvent.class);
 
-        verify(kafkaTemplate).send(anyString(), anyString(), any());
+        ConsultationCreatedEvent event = assertInstanceOf(ConsultationCreatedEvent.class, restored);
+        assertEquals(createdEvent.getEventId(), event.getEventId());
+        assertEquals(1L, event.getConsultationId());
+        assertEquals("João Silva", event.getPatientName());
+        assertEquals(LocalDateTime.of(2024, 12, 25, 14, 30), event.getScheduledDateTime());
     }
 
     @Test
-    @DisplayName("Should handle completed future exception callback")
-    void shouldHandleCompletedFutureExceptionCallback() {
-        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(future);
-
-        eventPublisher.publishEvent(testEvent);
-        future.completeExceptionally(new RuntimeException("Send failed")); 
-
-        verify(kafkaTemplate).send(anyString(), anyString(), any());
+    @DisplayName("Should write one outbox row per event")
+    void shouldWriteOneOutboxRowPerEvent() {
+        ConsultationCancelledEvent cancelledEvent = new ConsultationCancelledEvent(
+            1L, 2L, "Paciente desistiu", "joao@email.com", "João Silva");
+
+        eventPublisher.publishEvent(createdEvent);
+        eventPublisher.publishEvent(cancelledEvent);
+
+        ArgumentCaptor<OutboxEventJpaEntity> captor = ArgumentCaptor.forClass(OutboxEventJpaEntity.class);
+        verify(outboxEventJpaRepository, times(2)).save(captor.capture());
+        List<OutboxEventJpaEntity> saved = captor.getAllValues();
+        assertEquals("CONSULTATION_CREATED", saved.get(0).getEventType());
+        assertEquals("CONSULTATION_CANCELLED", saved.get(1).getEventType());
     }
 
     @Test
-    @DisplayName("Should not fail when kafka template returns null future")
-    void shouldNotFailWhenKafkaTemplateReturnsNullFuture() {
-        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(null);
+    @DisplayName("Should propagate repository failure so the transaction rolls back")
+    void shouldPropagateRepositoryFailureSoTheTransactionRollsBack() {
+        when(outboxEventJpaRepository.save(any())).thenThrow(new RuntimeException("Database error"));
 
-        assertDoesNotThrow(() -> eventPublisher.publishEvent(testEvent));
+        assertThrows(RuntimeException.class, () -> eventPublisher.publishEvent(createdEvent));
     }
 
     @Test
-    @DisplayName("Should publish multiple events independently")
-    void shouldPublishMultipleEventsIndependently() {
-        CompletableFuture<SendResult<String, Object>> future1 = CompletableFuture.completedFuture(sendResult);
-        CompletableFuture<SendResult<String, Object>> future2 = CompletableFuture.completedFuture(sendResult);
-        when(kafkaTemplate.send(anyString(), anyString(), any()))
-            .thenReturn(future1)
-            .thenReturn(future2);
-
-        TestDomainEvent event1 = new TestDomainEvent("EVENT_1");
-        TestDomainEvent event2 = new TestDomainEvent("EVENT_2");
-
-        eventPublisher.publishEvent(event1);
-        eventPublisher.publishEvent(event2);
-
-        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any());
-        verify(kafkaTemplate).send(eq("consultation-events"), eq(event1.getEventId()), eq(event1));
-        verify(kafkaTemplate).send(eq("consultation-events"), eq(event2.getEventId()), eq(event2));
-    }
-
-    private static class TestDomainEvent extends DomainEvent {
-        public TestDomainEvent(String eventType) {
-            super(eventType);
-        }
-
-        @Override
-        public void setEventId(String eventId) {
-            super.setEventId(eventId);
-        }
+    @DisplayName("Should handle null event")
+    void shouldHandleNullEvent() {
+        assertThrows(Exception.class, () -> eventPublisher.publishEvent(null));
+        verifyNoInteractions(outboxEventJpaRepository);
     }
 }
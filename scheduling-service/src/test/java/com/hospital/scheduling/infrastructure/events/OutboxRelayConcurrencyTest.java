@@ -0,0 +1,142 @@
+package com.hospital.scheduling.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaEntity;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaRepository;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Dois relays sobre o mesmo banco, cada um na sua transação, como duas instâncias do serviço
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OutboxRelay Concurrency Tests")
+class OutboxRelayConcurrencyTest {
+
+    @Autowired
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<String> eventIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (long consultationId = 1; consultationId <= 5; consultationId++) {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                consultationId, 2L, 3L, LocalDateTime.of(2024, 12, 25, 14, 30),
+                "joao@email.com", "João Silva", "Dr. Maria Santos");
+            outboxEventJpaRepository.save(new OutboxEventJpaEntity(
+                event.getEventId(), event.getEventType(), "2", objectMapper.writeValueAsString(event)));
+            eventIds.add(event.getEventId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxEventJpaRepository.deleteAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaTemplate<String, Object> kafkaTemplate() {
+        return mock(KafkaTemplate.class);
+    }
+
+    private OutboxRelay relay(KafkaTemplate<String, Object> kafkaTemplate) {
+        return new OutboxRelay(outboxEventJpaRepository, kafkaTemplate, objectMapper,
+            new TransactionTemplate(transactionManager), "consultation-events", 3, 5000);
+    }
+
+    @Test
+    @DisplayName("Should relay each event exactly once and in order with two relays running")
+    @SuppressWarnings("unchecked")
+    void shouldRelayEachEventOnceWithTwoRelaysRunning() throws Exception {
+        KafkaTemplate<String, Object> firstKafka = kafkaTemplate();
+        KafkaTemplate<String, Object> secondKafka = kafkaTemplate();
+        CompletableFuture<SendResult<String, Object>> brokerAck = new CompletableFuture<>();
+        CountDownLatch firstSending = new CountDownLatch(1);
+        when(firstKafka.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            firstSending.countDown();
+            return brokerAck;
+        });
+        when(secondKafka.send(anyString(), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        OutboxRelay first = relay(firstKafka);
+        OutboxRelay second = relay(secondKafka);
+
+        // O primeiro relay reivindica 1-3 e fica aguardando o broker com as linhas travadas
+        CompletableFuture<Integer> firstRelayed = CompletableFuture.supplyAsync(first::relayBatch);
+        assertTrue(firstSending.await(5, TimeUnit.SECONDS));
+
+        // O segundo não espera as travas nem publica 4-5 na frente de 1-3
+        assertEquals(0, second.relayBatch());
+        verifyNoInteractions(secondKafka);
+
+        brokerAck.complete(mock(SendResult.class));
+        assertEquals(3, firstRelayed.get(5, TimeUnit.SECONDS));
+        assertEquals(2, second.relayBatch());
+        assertEquals(0, outboxEventJpaRepository.count());
+
+        List<String> relayed = new ArrayList<>();
+        ArgumentCaptor<Object> firstSent = ArgumentCaptor.forClass(Object.class);
+        verify(firstKafka, times(3)).send(eq("consultation-events"), eq("2"), firstSent.capture());
+        firstSent.getAllValues().forEach(event -> relayed.add(((DomainEvent) event).getEventId()));
+        ArgumentCaptor<Object> secondSent = ArgumentCaptor.forClass(Object.class);
+        verify(secondKafka, times(2)).send(eq("consultation-events"), eq("2"), secondSent.capture());
+        secondSent.getAllValues().forEach(event -> relayed.add(((DomainEvent) event).getEventId()));
+        assertEquals(eventIds, relayed);
+    }
+
+    @Test
+    @DisplayName("Should relay in write order when another instance wrote an earlier event with a higher id")
+    @SuppressWarnings("unchecked")
+    void shouldRelayInWriteOrderAcrossIdBlocks() throws Exception {
+        ConsultationCreatedEvent earlier = new ConsultationCreatedEvent(
+            9L, 2L, 3L, LocalDateTime.of(2024, 12, 25, 9, 0),
+            "joao@email.com", "João Silva", "Dr. Maria Santos");
+        jdbcTemplate.update("INSERT INTO outbox_events (id, event_id, event_type, message_key, payload, created_at) "
+                + "VALUES (?, ?, ?, '2', ?, ?)", 5000L, earlier.getEventId(), earlier.getEventType(),
+            objectMapper.writeValueAsString(earlier), Timestamp.valueOf(LocalDateTime.now().minusMinutes(1)));
+        KafkaTemplate<String, Object> kafka = kafkaTemplate();
+        when(kafka.send(anyString(), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay(kafka).drain();
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(kafka, times(6)).send(eq("consultation-events"), eq("2"), sent.capture());
+        List<String> expected = new ArrayList<>(List.of(earlier.getEventId()));
+        expected.addAll(eventIds);
+        assertEquals(expected, sent.getAllValues().stream().map(event -> ((DomainEvent) event).getEventId()).toList());
+    }
+}
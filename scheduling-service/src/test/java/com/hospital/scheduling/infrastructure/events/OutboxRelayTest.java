@@ -0,0 +1,153 @@
+package com.hospital.scheduling.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaEntity;
+import com.hospital.scheduling.infrastructure.persistence.OutboxEventJpaRepository;
+import com.hospital.shared.domain.events.ConsultationCreatedEvent;
+import com.hospital.shared.domain.events.DomainEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private SendResult<String, Object> sendResult;
+
+    private ObjectMapper objectMapper;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        outboxRelay = new OutboxRelay(outboxEventJpaRepository, kafkaTemplate, objectMapper,
+            TransactionOperations.withoutTransaction(), "consultation-events", 3, 1000);
+    }
+
+    private OutboxEventJpaEntity outboxEvent(long id) throws Exception {
+        ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+            id, 2L, 3L, LocalDateTime.of(2024, 12, 25, 14, 30),
+            "joao@email.com", "João Silva", "Dr. Maria Santos");
+        OutboxEventJpaEntity entity = new OutboxEventJpaEntity(
+            event.getEventId(), event.getEventType(), event.getEventId(), objectMapper.writeValueAsString(event));
+        ReflectionTestUtils.setField(entity, "id", id);
+        return entity;
+    }
+
+    private List<OutboxEventJpaEntity> outboxEvents(long... ids) throws Exception {
+        List<OutboxEventJpaEntity> events = new ArrayList<>();
+        for (long id : ids) {
+            events.add(outboxEvent(id));
+        }
+        return events;
+    }
+
+    @SafeVarargs
+    private void whenClaimed(List<OutboxEventJpaEntity>... batches) {
+        List<OutboxEventJpaEntity>[] rest = Arrays.copyOfRange(batches, 1, batches.length);
+        Long[] restOldestIds = Arrays.stream(rest).map(batch -> batch.get(0).getId()).toArray(Long[]::new);
+        when(outboxEventJpaRepository.claimOldest(anyInt())).thenReturn(batches[0], rest);
+        when(outboxEventJpaRepository.findOldestId()).thenReturn(batches[0].get(0).getId(), restOldestIds);
+    }
+
+    @Test
+    @DisplayName("Should send batch and delete delivered rows")
+    void shouldSendBatchAndDeleteDeliveredRows() throws Exception {
+        List<OutboxEventJpaEntity> batch = outboxEvents(1L, 2L);
+        whenClaimed(batch);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertEquals(2, relayed);
+        ArgumentCaptor<Object> valueCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("consultation-events"), eq(batch.get(0).getMessageKey()), valueCaptor.capture());
+        ConsultationCreatedEvent sent = assertInstanceOf(ConsultationCreatedEvent.class, valueCaptor.getValue());
+        assertEquals(batch.get(0).getEventId(), sent.getEventId());
+        verify(outboxEventJpaRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should keep failed event and everything after it")
+    void shouldKeepFailedEventAndEverythingAfterIt() throws Exception {
+        whenClaimed(outboxEvents(1L, 2L, 3L));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(sendResult))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")))
+            .thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        int relayed = outboxRelay.relayBatch();
+
+        assertEquals(1, relayed);
+        verify(outboxEventJpaRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should not delete anything when first send fails")
+    void shouldNotDeleteAnythingWhenFirstSendFails() throws Exception {
+        whenClaimed(outboxEvents(1L));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verify(outboxEventJpaRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    @DisplayName("Should drain until a partial batch is read")
+    void shouldDrainUntilAPartialBatchIsRead() throws Exception {
+        whenClaimed(outboxEvents(1L, 2L, 3L), outboxEvents(4L));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(sendResult));
+
+        outboxRelay.drain();
+
+        verify(outboxEventJpaRepository, times(2)).claimOldest(3);
+        verify(kafkaTemplate, times(4)).send(anyString(), anyString(), any(DomainEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when outbox is empty")
+    void shouldDoNothingWhenOutboxIsEmpty() {
+        when(outboxEventJpaRepository.claimOldest(anyInt())).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    @DisplayName("Should back off when older rows are claimed by another relay")
+    void shouldBackOffWhenOlderRowsAreClaimedByAnotherRelay() throws Exception {
+        when(outboxEventJpaRepository.claimOldest(anyInt())).thenReturn(outboxEvents(4L, 5L));
+        when(outboxEventJpaRepository.findOldestId()).thenReturn(1L);
+
+        assertEquals(0, outboxRelay.relayBatch());
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxEventJpaRepository, never()).deleteAllByIdInBatch(any());
+    }
+}
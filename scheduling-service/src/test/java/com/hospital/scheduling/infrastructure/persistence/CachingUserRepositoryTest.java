@@ -0,0 +1,173 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingUserRepository Tests")
+class CachingUserRepositoryTest {
+
+    @Mock
+    private UserRepository delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CachingUserRepository cachingUserRepository;
+    private User doctor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cachingUserRepository = new CachingUserRepository(delegate, meterRegistry, 100, Duration.ofMinutes(5), Clock.systemUTC());
+
+        doctor = new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO);
+        doctor.setId(2L);
+        doctor.setCrm("123456");
+    }
+
+    private double requests(String key, String result) {
+        return meterRegistry.get("hospital.user.cache.requests").tag("key", key).tag("result", result).counter().count();
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should load user once and serve repeated lookups from cache")
+        void shouldLoadUserOnceAndServeRepeatedLookupsFromCache() {
+            when(delegate.findById(2L)).thenReturn(Optional.of(doctor));
+
+            cachingUserRepository.findById(2L);
+            cachingUserRepository.findById(2L);
+            Optional<User> result = cachingUserRepository.findById(2L);
+
+            assertEquals("Dr. Maria Santos", result.orElseThrow().getName());
+            verify(delegate, times(1)).findById(2L);
+            assertEquals(2.0, requests("id", "hit"));
+            assertEquals(1.0, requests("id", "miss"));
+        }
+
+        @Test
+        @DisplayName("Should share loaded user between id and email lookups")
+        void shouldShareLoadedUserBetweenIdAndEmailLookups() {
+            when(delegate.findById(2L)).thenReturn(Optional.of(doctor));
+
+            cachingUserRepository.findById(2L);
+            Optional<User> byEmail = cachingUserRepository.findByEmail("maria@email.com");
+
+            assertEquals(2L, byEmail.orElseThrow().getId());
+            verify(delegate, never()).findByEmail(any());
+            assertEquals(1.0, requests("email", "hit"));
+        }
+
+        @Test
+        @DisplayName("Should not cache missing users")
+        void shouldNotCacheMissingUsers() {
+            when(delegate.findById(99L)).thenReturn(Optional.empty());
+
+            assertTrue(cachingUserRepository.findById(99L).isEmpty());
+            assertTrue(cachingUserRepository.findById(99L).isEmpty());
+
+            verify(delegate, times(2)).findById(99L);
+        }
+
+        @Test
+        @DisplayName("Should return copies so callers cannot mutate cached users")
+        void shouldReturnCopiesSoCallersCannotMutateCachedUsers() {
+            when(delegate.findById(2L)).thenReturn(Optional.of(doctor));
+
+            cachingUserRepository.findById(2L).orElseThrow().deactivate();
+
+            assertTrue(cachingUserRepository.findById(2L).orElseThrow().isActive());
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict user on save")
+        void shouldEvictUserOnSave() {
+            User deactivated = new User(2L, "Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO,
+                "123456", null, null, doctor.getCreatedAt(), doctor.getUpdatedAt(), false);
+            when(delegate.findById(2L)).thenReturn(Optional.of(doctor), Optional.of(deactivated));
+            when(delegate.findByEmail("maria@email.com")).thenReturn(Optional.of(deactivated));
+            when(delegate.save(any(User.class))).thenReturn(deactivated);
+
+            cachingUserRepository.findById(2L);
+            cachingUserRepository.save(deactivated);
+
+            assertFalse(cachingUserRepository.findByEmail("maria@email.com").orElseThrow().isActive());
+            assertFalse(cachingUserRepository.findById(2L).orElseThrow().isActive());
+            verify(delegate, times(1)).findByEmail("maria@email.com");
+        }
+
+        @Test
+        @DisplayName("Should evict again when the saving transaction completes")
+        void shouldEvictAgainWhenTransactionCompletes() {
+            when(delegate.findById(2L)).thenReturn(Optional.of(doctor));
+            when(delegate.save(any(User.class))).thenReturn(doctor);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cachingUserRepository.save(doctor);
+                // Leitura concorrente antes do commit: ainda vê a linha antiga e a coloca no cache
+                cachingUserRepository.findById(2L);
+
+                TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            cachingUserRepository.findById(2L);
+            verify(delegate, times(2)).findById(2L);
+        }
+
+        @Test
+        @DisplayName("Should not cache a user loaded before a concurrent eviction")
+        void shouldNotCacheUserLoadedBeforeEviction() throws Exception {
+            CountDownLatch loading = new CountDownLatch(1);
+            CountDownLatch evicted = new CountDownLatch(1);
+            when(delegate.findById(2L))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    assertTrue(evicted.await(5, TimeUnit.SECONDS));
+                    return Optional.of(doctor);
+                })
+                .thenReturn(Optional.of(doctor));
+
+            CompletableFuture<Optional<User>> staleLoad = CompletableFuture.supplyAsync(() -> cachingUserRepository.findById(2L));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            cachingUserRepository.evict(2L);
+            evicted.countDown();
+            staleLoad.get(5, TimeUnit.SECONDS);
+
+            cachingUserRepository.findById(2L);
+            verify(delegate, times(2)).findById(2L);
+        }
+    }
+}
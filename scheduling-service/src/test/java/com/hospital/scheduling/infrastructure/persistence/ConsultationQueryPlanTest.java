@@ -0,0 +1,127 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Executa cada método do repositório, captura o SQL gerado pelo Hibernate e confere no EXPLAIN do H2
+// que a consulta é resolvida por um índice, e não por varredura da tabela
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.hospital.scheduling.infrastructure.persistence.ConsultationQueryPlanTest$CapturingStatementInspector")
+@DisplayName("Consultation Query Plan Tests")
+class ConsultationQueryPlanTest {
+
+    private static final String PATIENT_STATUS_DATE_INDEX = "IDX_CONSULTATIONS_PATIENT_STATUS_DATE";
+    private static final String DOCTOR_START_END_INDEX = "IDX_CONSULTATIONS_DOCTOR_START_END";
+
+    @Autowired
+    private ConsultationJpaRepository consultationJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 2, 8, 0);
+        Timestamp now = Timestamp.valueOf(start);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ConsultationStatus status = ConsultationStatus.values()[i % ConsultationStatus.values().length];
+            rows.add(new Object[]{(long) (i % 100), (long) (i % 20), Timestamp.valueOf(start.plusMinutes(30L * i)),
+                status.name(), now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO consultations (patient_id, doctor_id, scheduled_date_time, status, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    @DisplayName("findByPatientId should use the patient index")
+    void findByPatientIdShouldUseIndex() {
+        consultationJpaRepository.findByPatientId(7L);
+
+        assertEveryQueryUses(PATIENT_STATUS_DATE_INDEX);
+    }
+
+    @Test
+    @DisplayName("findByPatientIdAndStatus should use the patient index")
+    void findByPatientIdAndStatusShouldUseIndex() {
+        consultationJpaRepository.findByPatientIdAndStatus(7L, ConsultationStatus.AGENDADA);
+
+        assertEveryQueryUses(PATIENT_STATUS_DATE_INDEX);
+    }
+
+    @Test
+    @DisplayName("findFutureConsultationsByPatientId should use the patient index")
+    void findFutureConsultationsByPatientIdShouldUseIndex() {
+        consultationJpaRepository.findFutureConsultationsByPatientId(7L, LocalDateTime.of(2024, 12, 5, 0, 0));
+
+        assertEveryQueryUses(PATIENT_STATUS_DATE_INDEX);
+    }
+
+    @Test
+    @DisplayName("existsOverlapping should use the doctor start/end index")
+    void existsOverlappingShouldUseIndex() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 2, 9, 30);
+        consultationJpaRepository.existsOverlapping(3L, start.minusHours(8), start, start.plusMinutes(30), 11L);
+
+        assertEveryQueryUses(DOCTOR_START_END_INDEX);
+    }
+
+    @Test
+    @DisplayName("findActiveSlots should use the doctor start/end index")
+    void findActiveSlotsShouldUseIndex() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 2, 8, 0);
+        consultationJpaRepository.findActiveSlots(List.of(3L, 4L), start.minusHours(8), start, start.plusDays(7));
+
+        assertEveryQueryUses(DOCTOR_START_END_INDEX);
+    }
+
+    private void assertEveryQueryUses(String index) {
+        List<String> queries = CapturingStatementInspector.statements().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertFalse(queries.isEmpty(), "No query was captured");
+
+        for (String sql : queries) {
+            // Sem ANALYZE o EXPLAIN não exige valores para os parâmetros
+            String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+            assertNotNull(plan);
+            assertTrue(plan.toUpperCase(Locale.ROOT).contains(index), "Expected " + index + " in plan:\n" + plan);
+            assertFalse(plan.contains("tableScan"), "Unexpected table scan in plan:\n" + plan);
+        }
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static void clear() {
+            STATEMENTS.clear();
+        }
+
+        static List<String> statements() {
+            return List.copyOf(STATEMENTS);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
+import com.hospital.shared.domain.entities.Consultation;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import com.hospital.shared.domain.enums.UserType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import(ConsultationRepositoryImpl.class)
+@DisplayName("ConsultationRepositoryImpl Tests")
+class ConsultationRepositoryImplTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(7).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private ConsultationRepositoryImpl consultationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Nested
+    @DisplayName("Slot Uniqueness Tests")
+    class SlotUniquenessTests {
+
+        @Test
+        @DisplayName("Should reject a second active consultation for the same doctor and slot")
+        void shouldRejectDoubleBooking() {
+            consultationRepository.save(new Consultation(1L, 2L, SLOT));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> consultationRepository.save(new Consultation(3L, 2L, SLOT)));
+
+            assertEquals("Doctor already has a consultation scheduled at this time", exception.getMessage());
+        }
+
+        @Test
+        @DisplayName("Should allow the same slot for different doctors")
+        void shouldAllowSameSlotForDifferentDoctors() {
+            consultationRepository.save(new Consultation(1L, 2L, SLOT));
+
+            Consultation saved = consultationRepository.save(new Consultation(3L, 4L, SLOT));
+
+            assertNotNull(saved.getId());
+        }
+
+        @Test
+        @DisplayName("Should free the slot when the consultation is cancelled")
+        void shouldFreeSlotWhenCancelled() {
+            Consultation first = consultationRepository.save(new Consultation(1L, 2L, SLOT));
+            first.cancel("Patient request");
+            consultationRepository.save(first);
+
+            Consultation second = consultationRepository.save(new Consultation(3L, 2L, SLOT));
+
+            assertNotNull(second.getId());
+        }
+
+        @Test
+        @DisplayName("Should reject rescheduling into an occupied slot")
+        void shouldRejectReschedulingIntoOccupiedSlot() {
+            consultationRepository.save(new Consultation(1L, 2L, SLOT));
+            Consultation other = consultationRepository.save(new Consultation(3L, 2L, SLOT.plusHours(1)));
+
+            other.reschedule(SLOT);
+
+            assertThrows(IllegalArgumentException.class, () -> consultationRepository.save(other));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Insert Tests")
+    class BulkInsertTests {
+
+        @Test
+        @DisplayName("Should insert consultations spanning several JDBC batches and assign ids")
+        void shouldInsertAcrossSeveralBatches() {
+            List<Consultation> consultations = IntStream.range(0, 120)
+                    .mapToObj(i -> new Consultation(1L, 2L, SLOT.plusMinutes(30L * i)))
+                    .toList();
+
+            List<Consultation> saved = consultationRepository.saveAll(consultations);
+
+            assertEquals(120, saved.size());
+            assertEquals(120, saved.stream().map(Consultation::getId).filter(Objects::nonNull).distinct().count());
+            assertEquals(SLOT.plusMinutes(30L * 119), saved.get(119).getScheduledDateTime());
+            assertTrue(consultationRepository.findById(saved.get(119).getId()).isPresent());
+        }
+
+        @Test
+        @DisplayName("Should reject a batch that collides with an existing consultation")
+        void shouldRejectBatchCollidingWithExistingSlot() {
+            consultationRepository.save(new Consultation(1L, 2L, SLOT));
+
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> consultationRepository.saveAll(List.of(
+                            new Consultation(3L, 2L, SLOT.plusHours(1)),
+                            new Consultation(3L, 2L, SLOT))));
+
+            assertEquals("Doctor already has a consultation scheduled at this time", exception.getMessage());
+        }
+    }
+
+    @Nested
+    @DisplayName("Optimistic Locking Tests")
+    class OptimisticLockingTests {
+
+        @Test
+        @DisplayName("Should start new consultations at version zero")
+        void shouldStartAtVersionZero() {
+            Consultation saved = consultationRepository.save(new Consultation(1L, 2L, SLOT));
+
+            assertEquals(0L, saved.getVersion());
+        }
+
+        @Test
+        @DisplayName("Should increment the version on each update")
+        void shouldIncrementVersionOnUpdate() {
+            Consultation saved = consultationRepository.save(new Consultation(1L, 2L, SLOT));
+
+            saved.reschedule(SLOT.plusHours(1));
+            Consultation updated = consultationRepository.save(saved);
+
+            assertEquals(1L, updated.getVersion());
+            Consultation reloaded = consultationRepository.findById(saved.getId()).orElseThrow();
+            assertEquals(1L, reloaded.getVersion());
+            assertEquals(SLOT.plusHours(1), reloaded.getScheduledDateTime());
+        }
+
+        @Test
+        @DisplayName("Should reject an update based on a stale version")
+        void shouldRejectStaleVersion() {
+            Long id = consultationRepository.save(new Consultation(1L, 2L, SLOT)).getId();
+            Consultation first = consultationRepository.findById(id).orElseThrow();
+            Consultation second = consultationRepository.findById(id).orElseThrow();
+
+            first.cancel("Patient request");
+            consultationRepository.save(first);
+            second.reschedule(SLOT.plusHours(2));
+
+            assertThrows(OptimisticLockingFailureException.class, () -> consultationRepository.save(second));
+            assertEquals(ConsultationStatus.CANCELADA, consultationRepository.findById(id).orElseThrow().getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject an update without a version")
+        void shouldRejectUpdateWithoutVersion() {
+            Consultation saved = consultationRepository.save(new Consultation(1L, 2L, SLOT));
+            saved.setVersion(null);
+
+            assertThrows(IllegalArgumentException.class, () -> consultationRepository.save(saved));
+        }
+    }
+
+    @Nested
+    @DisplayName("Overlap Tests")
+    class OverlapTests {
+
+        @Test
+        @DisplayName("Should persist the duration and derive the end time")
+        void shouldPersistDuration() {
+            Consultation saved = consultationRepository.save(new Consultation(1L, 2L, SLOT, 50));
+
+            Consultation reloaded = consultationRepository.findById(saved.getId()).orElseThrow();
+
+            assertEquals(50, reloaded.getDurationMinutes());
+            assertEquals(SLOT.plusMinutes(50), reloaded.getEndDateTime());
+        }
+
+        @Test
+        @DisplayName("Should carry the duration and end time on the summary projection")
+        void shouldCarryDurationOnSummaries() {
+            consultationRepository.save(new Consultation(1L, 2L, SLOT, 50));
+
+            List<ConsultationSummary> page = consultationRepository.findSummaryPage(null, null, 10);
+            List<ConsultationSummary> byPatient = consultationRepository.findSummariesByPatientId(1L);
+
+            assertEquals(50, page.get(0).durationMinutes());
+            assertEquals(SLOT.plusMinutes(50), page.get(0).endDateTime());
+            assertEquals(50, byPatient.get(0).durationMinutes());
+        }
+
+        @Test
+        @DisplayName("Should detect a consultation that starts earlier and runs into the interval")
+        void shouldDetectOverlapFromEarlierStart() {
+            consultationRepository.save(new Consultation(1L, 2L, SLOT, 90));
+
+            assertTrue(consultationRepository.existsOverlapping(2L, SLOT.plusHours(1), SLOT.plusHours(2), null));
+            assertFalse(consultationRepository.existsOverlapping(2L, SLOT.plusMinutes(90), SLOT.plusHours(2), null));
+            assertFalse(consultationRepository.existsOverlapping(4L, SLOT.plusHours(1), SLOT.plusHours(2), null));
+        }
+
+        @Test
+        @DisplayName("Should ignore cancelled consultations and the consultation being rescheduled")
+        void shouldIgnoreCancelledAndItself() {
+            Consultation saved = consultationRepository.save(new Consultation(1L, 2L, SLOT, 60));
+
+            assertFalse(consultationRepository.existsOverlapping(2L, SLOT.plusMinutes(30), SLOT.plusMinutes(90), saved.getId()));
+
+            saved.cancel("Patient request");
+            consultationRepository.save(saved);
+
+            assertFalse(consultationRepository.existsOverlapping(2L, SLOT.plusMinutes(30), SLOT.plusMinutes(90), null));
+        }
+
+        @Test
+        @DisplayName("Should lock the schedule of an existing doctor")
+        void shouldLockExistingDoctor() {
+            UserJpaEntity doctor = entityManager.persistFlushFind(
+                    new UserJpaEntity(new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO)));
+
+            assertDoesNotThrow(() -> consultationRepository.lockDoctorSchedule(doctor.getId()));
+        }
+
+        @Test
+        @DisplayName("Should reject locking the schedule of an unknown doctor")
+        void shouldRejectUnknownDoctorLock() {
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> consultationRepository.lockDoctorSchedule(999L));
+
+            assertEquals("Doctor not found", exception.getMessage());
+        }
+    }
+}
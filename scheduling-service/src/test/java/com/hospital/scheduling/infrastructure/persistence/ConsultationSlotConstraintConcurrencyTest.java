@@ -0,0 +1,90 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import com.hospital.shared.domain.entities.Consultation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Duas marcações do mesmo horário em transações próprias, sem o lock do BookingEngine: a verificação de
+// sobreposição de cada uma passa, e a restrição única é quem recusa a segunda na gravação
+@DataJpaTest
+@Import(ConsultationRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Consultation Slot Constraint Concurrency Tests")
+class ConsultationSlotConstraintConcurrencyTest {
+
+    private static final Long DOCTOR_ID = 2L;
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(7).withHour(10).withMinute(0).withSecond(0).withNano(0);
+
+    @Autowired
+    private ConsultationRepositoryImpl consultationRepository;
+
+    @Autowired
+    private ConsultationJpaRepository consultationJpaRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        consultationJpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Should reject a concurrent double booking that passed the overlap pre-check")
+    void shouldRejectConcurrentDoubleBookingThatPassedPreCheck() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstInserted = new CountDownLatch(1);
+        CountDownLatch secondChecked = new CountDownLatch(1);
+
+        CompletableFuture<Consultation> first = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            assertFalse(consultationRepository.existsOverlapping(DOCTOR_ID, SLOT, SLOT.plusMinutes(30), null));
+            Consultation saved = consultationRepository.save(new Consultation(1L, DOCTOR_ID, SLOT));
+            firstInserted.countDown();
+            // Só confirma depois que a segunda já fez a verificação
+            await(secondChecked);
+            return saved;
+        }));
+        CompletableFuture<Boolean> secondPreCheck = new CompletableFuture<>();
+        CompletableFuture<Consultation> second = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            await(firstInserted);
+            // A primeira ainda não confirmou, então a verificação não enxerga a consulta dela
+            secondPreCheck.complete(consultationRepository.existsOverlapping(DOCTOR_ID, SLOT, SLOT.plusMinutes(30), null));
+            secondChecked.countDown();
+            return consultationRepository.save(new Consultation(3L, DOCTOR_ID, SLOT));
+        }));
+
+        assertNotNull(first.get(10, TimeUnit.SECONDS).getId());
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertFalse(secondPreCheck.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals("Doctor already has a consultation scheduled at this time", exception.getCause().getMessage());
+        assertEquals(1, consultationJpaRepository.count());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the other booking");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Simula um banco criado antes do V5, com ids já gerados por IDENTITY, e confere que após as migrações
+// o primeiro bloco reservado pelo Hibernate (nextval - 49 .. nextval) fica acima do maior id existente
+@DisplayName("Id Sequence Migration Tests")
+class IdSequenceMigrationTest {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Test
+    @DisplayName("Should restart sequences above the existing ids")
+    void shouldRestartSequencesAboveExistingIds() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:idseq;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).target("4").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < 120; i++) {
+            jdbc.update("INSERT INTO users (name, email, password, user_type, created_at, updated_at) "
+                    + "VALUES (?, ?, 'x', 'PACIENTE', ?, ?)", "User " + i, "user" + i + "@test.com", now, now);
+        }
+        for (int i = 0; i < 7; i++) {
+            jdbc.update("INSERT INTO outbox_events (event_id, event_type, message_key, payload, created_at) "
+                    + "VALUES (?, 'CONSULTATION_CREATED', '1', '{}', ?)", "event-" + i, now);
+        }
+
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        long maxUserId = jdbc.queryForObject("SELECT MAX(id) FROM users", Long.class);
+        long nextUsers = jdbc.queryForObject("SELECT NEXT VALUE FOR users_seq", Long.class);
+        long nextConsultations = jdbc.queryForObject("SELECT NEXT VALUE FOR consultations_seq", Long.class);
+        assertTrue(nextUsers - ALLOCATION_SIZE + 1 > maxUserId);
+        assertTrue(nextConsultations - ALLOCATION_SIZE + 1 > 0);
+        long maxOutboxId = jdbc.queryForObject("SELECT MAX(id) FROM outbox_events", Long.class);
+        long nextOutbox = jdbc.queryForObject("SELECT NEXT VALUE FOR outbox_events_seq", Long.class);
+        long followingOutbox = jdbc.queryForObject("SELECT NEXT VALUE FOR outbox_events_seq", Long.class);
+        assertTrue(nextOutbox - ALLOCATION_SIZE + 1 > maxOutboxId);
+        assertEquals(nextOutbox + ALLOCATION_SIZE, followingOutbox);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hospital.scheduling.infrastructure.persistence;
+
+import com.hospital.scheduling.infrastructure.security.TokenRevocationService;
+import com.hospital.shared.domain.entities.User;
+import com.hospital.shared.domain.enums.UserType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({UserRepositoryImpl.class, TokenRevocationService.class})
+@DisplayName("UserRepositoryImpl Tests")
+class UserRepositoryImplTest {
+
+    @Autowired
+    private UserRepositoryImpl userRepository;
+
+    @Autowired
+    private UserJpaRepository userJpaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Nested
+    @DisplayName("Token Revocation Tests")
+    class TokenRevocationTests {
+
+        @Test
+        @DisplayName("Should persist the token cutoff when the user is deactivated")
+        void shouldPersistTokenCutoffOnDeactivation() {
+            User user = userRepository.save(new User("João Silva", "joao@email.com", "password", UserType.PACIENTE));
+            assertTrue(userJpaRepository.findTokensValidAfterById(user.getId()).isEmpty());
+
+            long before = Instant.now().toEpochMilli();
+            user.deactivate();
+            userRepository.save(user);
+            entityManager.flush();
+            entityManager.clear();
+
+            long validAfter = userJpaRepository.findTokensValidAfterById(user.getId()).orElseThrow();
+            assertTrue(validAfter >= before);
+            assertTrue(validAfter <= Instant.now().toEpochMilli());
+        }
+
+        @Test
+        @DisplayName("Should keep issued tokens valid when only profile data changes")
+        void shouldKeepTokensWhenOnlyProfileDataChanges() {
+            User user = userRepository.save(new User("João Silva", "joao@email.com", "password", UserType.PACIENTE));
+
+            user.setCpf("123.456.789-00");
+            userRepository.save(user);
+            entityManager.flush();
+            entityManager.clear();
+
+            assertTrue(userJpaRepository.findTokensValidAfterById(user.getId()).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should return only active users of the given type")
+        void shouldFindActiveUsersByType() {
+            User doctor = userRepository.save(new User("Dr. Maria Santos", "maria@email.com", "password", UserType.MEDICO));
+            User inactiveDoctor = new User("Dr. Pedro Lima", "pedro@email.com", "password", UserType.MEDICO);
+            inactiveDoctor.deactivate();
+            userRepository.save(inactiveDoctor);
+            userRepository.save(new User("João Silva", "joao@email.com", "password", UserType.PACIENTE));
+
+            List<User> doctors = userRepository.findActiveUsersByType(UserType.MEDICO);
+
+            assertEquals(List.of(doctor.getId()), doctors.stream().map(User::getId).toList());
+        }
+    }
+}
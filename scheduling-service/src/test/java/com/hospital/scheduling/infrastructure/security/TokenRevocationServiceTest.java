@@ -0,0 +1,126 @@
+package com.hospital.scheduling.infrastructure.security;
+
+import com.hospital.scheduling.infrastructure.persistence.UserJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationService Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private UserJpaRepository userJpaRepository;
+
+    private MutableClock clock;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        tokenRevocationService = new TokenRevocationService(userJpaRepository, 100, Duration.ofSeconds(5), clock);
+    }
+
+    @Test
+    @DisplayName("Should not revoke tokens of unchanged users")
+    void shouldNotRevokeTokensOfUnchangedUsers() {
+        when(userJpaRepository.findTokensValidAfterById(1L)).thenReturn(Optional.empty());
+
+        assertFalse(tokenRevocationService.isRevoked(1L, new Date()));
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens issued before the user change")
+    void shouldRevokeTokensIssuedBeforeTheUserChange() {
+        Instant changedAt = Instant.ofEpochMilli(1_700_000_000_500L);
+        when(userJpaRepository.findTokensValidAfterById(1L)).thenReturn(Optional.of(changedAt.toEpochMilli()));
+
+        assertTrue(tokenRevocationService.isRevoked(1L, Date.from(changedAt.minusSeconds(60))));
+        assertTrue(tokenRevocationService.isRevoked(1L, Date.from(changedAt.minusMillis(1))));
+        assertTrue(tokenRevocationService.isRevoked(1L, null));
+        assertFalse(tokenRevocationService.isRevoked(1L, Date.from(changedAt)));
+        assertFalse(tokenRevocationService.isRevoked(1L, Date.from(changedAt.plusSeconds(1))));
+    }
+
+    @Test
+    @DisplayName("Should revoke tokens issued earlier in the same second as the change")
+    void shouldRevokeTokensIssuedEarlierInTheSameSecond() {
+        Instant changedAt = Instant.ofEpochMilli(1_700_000_000_500L);
+        when(userJpaRepository.findTokensValidAfterById(1L)).thenReturn(Optional.of(changedAt.toEpochMilli()));
+
+        // Com precisão de ms um token emitido no mesmo segundo, mas antes da mudança, não escapa do corte
+        assertTrue(tokenRevocationService.isRevoked(1L, Date.from(changedAt.minusMillis(400))));
+        assertFalse(tokenRevocationService.isRevoked(1L, Date.from(changedAt.plusMillis(1))));
+    }
+
+    @Test
+    @DisplayName("Should serve the cutoff from cache until the TTL expires")
+    void shouldServeCutoffFromCacheUntilTtlExpires() {
+        when(userJpaRepository.findTokensValidAfterById(1L)).thenReturn(Optional.empty());
+
+        tokenRevocationService.isRevoked(1L, new Date());
+        tokenRevocationService.isRevoked(1L, new Date());
+        verify(userJpaRepository, times(1)).findTokensValidAfterById(1L);
+
+        clock.advance(Duration.ofSeconds(5));
+        tokenRevocationService.isRevoked(1L, new Date());
+        verify(userJpaRepository, times(2)).findTokensValidAfterById(1L);
+    }
+
+    @Test
+    @DisplayName("Should read the cutoff again after eviction")
+    void shouldReadCutoffAgainAfterEviction() {
+        Instant changedAt = Instant.ofEpochMilli(1_700_000_000_500L);
+        when(userJpaRepository.findTokensValidAfterById(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(changedAt.toEpochMilli()));
+        Date issuedAt = Date.from(changedAt.minusSeconds(1));
+
+        assertFalse(tokenRevocationService.isRevoked(1L, issuedAt));
+        tokenRevocationService.evict(1L);
+
+        assertTrue(tokenRevocationService.isRevoked(1L, issuedAt));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
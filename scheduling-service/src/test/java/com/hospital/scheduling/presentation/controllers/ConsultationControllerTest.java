@@ -0,0 +1,99 @@
+package com.hospital.scheduling.presentation.controllers;
+
+import com.hospital.scheduling.application.dtos.BulkCreateConsultationsRequest;
+import com.hospital.scheduling.application.dtos.ConsultationPageResponse;
+import com.hospital.scheduling.application.dtos.ConsultationSummaryResponse;
+import com.hospital.scheduling.application.dtos.CreateConsultationRequest;
+import com.hospital.scheduling.application.services.ConsultationEnricher;
+import com.hospital.scheduling.application.usecases.BulkCreateConsultationsUseCase;
+import com.hospital.scheduling.application.usecases.CancelConsultationUseCase;
+import com.hospital.scheduling.application.usecases.CreateConsultationUseCase;
+import com.hospital.scheduling.application.usecases.ExportConsultationsUseCase;
+import com.hospital.scheduling.application.usecases.ListConsultationsUseCase;
+import com.hospital.scheduling.application.usecases.UpdateConsultationUseCase;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConsultationController Tests")
+class ConsultationControllerTest {
+
+    @Mock
+    private CreateConsultationUseCase createConsultationUseCase;
+    @Mock
+    private BulkCreateConsultationsUseCase bulkCreateConsultationsUseCase;
+    @Mock
+    private UpdateConsultationUseCase updateConsultationUseCase;
+    @Mock
+    private CancelConsultationUseCase cancelConsultationUseCase;
+    @Mock
+    private ListConsultationsUseCase listConsultationsUseCase;
+    @Mock
+    private ExportConsultationsUseCase exportConsultationsUseCase;
+    @Mock
+    private ConsultationEnricher consultationEnricher;
+    @Mock
+    private ConsultationRepository consultationRepository;
+
+    private ConsultationController controller;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ConsultationController(createConsultationUseCase, bulkCreateConsultationsUseCase,
+                updateConsultationUseCase, cancelConsultationUseCase, listConsultationsUseCase,
+                exportConsultationsUseCase, consultationEnricher, consultationRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the rejected batch item in the 400 body")
+    void shouldReturnRejectedItemInBody() {
+        when(bulkCreateConsultationsUseCase.execute(any()))
+                .thenThrow(new IllegalArgumentException("Item 3: Patient not found"));
+
+        ResponseEntity<?> response = controller.createConsultations(new BulkCreateConsultationsRequest(
+                List.of(new CreateConsultationRequest(1L, 2L, LocalDateTime.now().plusDays(1)))));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ProblemDetail body = assertInstanceOf(ProblemDetail.class, response.getBody());
+        assertEquals("Item 3: Patient not found", body.getDetail());
+    }
+
+    @Test
+    @DisplayName("Should list consultations with their duration and end time")
+    void shouldListDurationAndEndTime() {
+        LocalDateTime slot = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+        ConsultationSummary summary = new ConsultationSummary(10L, 1L, 2L, slot, 45,
+                null, null, ConsultationStatus.AGENDADA, slot, slot);
+        when(consultationRepository.findSummaryPage(null, null, 21)).thenReturn(List.of(summary));
+        when(consultationEnricher.enrichSummaries(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ConsultationController listingController = new ConsultationController(createConsultationUseCase,
+                bulkCreateConsultationsUseCase, updateConsultationUseCase, cancelConsultationUseCase,
+                new ListConsultationsUseCase(consultationRepository, consultationEnricher),
+                exportConsultationsUseCase, consultationEnricher, consultationRepository);
+
+        ResponseEntity<ConsultationPageResponse<ConsultationSummaryResponse>> response =
+                listingController.getAllConsultations(null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        ConsultationSummaryResponse listed = response.getBody().content().get(0);
+        assertEquals(45, listed.durationMinutes());
+        assertEquals(slot.plusMinutes(45), listed.endDateTime());
+    }
+}
@@ -0,0 +1,100 @@
+package com.hospital.scheduling.presentation.graphql;
+
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.dtos.UserResponse;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import com.hospital.shared.domain.enums.UserType;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConsultationFieldResolver Tests")
+class ConsultationFieldResolverTest {
+
+    private final ConsultationFieldResolver resolver = new ConsultationFieldResolver();
+
+    private final List<Set<Long>> batches = new ArrayList<>();
+    private DataLoader<Long, UserResponse> userLoader;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, UserResponse> users = List.of(
+                new UserResponse(1L, "João Silva", "joao@email.com", UserType.PACIENTE, null, null, null, true, now, now),
+                new UserResponse(3L, "Ana Costa", "ana@email.com", UserType.PACIENTE, null, null, null, true, now, now),
+                new UserResponse(2L, "Dr. Maria Santos", "maria@email.com", UserType.MEDICO, "123456", null, null, true, now, now))
+            .stream()
+            .collect(Collectors.toMap(UserResponse::id, Function.identity()));
+
+        userLoader = DataLoaderFactory.newMappedDataLoader((Set<Long> ids) -> {
+            batches.add(Set.copyOf(ids));
+            return CompletableFuture.completedFuture(users.entrySet().stream()
+                .filter(entry -> ids.contains(entry.getKey()))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+        });
+    }
+
+    private ConsultationResponse consultation(Long id, Long patientId, Long doctorId) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ConsultationResponse(id, patientId, doctorId, now.plusDays(1), 30, now.plusDays(1).plusMinutes(30), null, null,
+            ConsultationStatus.AGENDADA, null, null, null, null, now, now, null, null, null);
+    }
+
+    @Test
+    @DisplayName("Should batch user lookups across consultations and fields")
+    void shouldBatchUserLookupsAcrossConsultationsAndFields() {
+        ConsultationResponse first = consultation(10L, 1L, 2L);
+        ConsultationResponse second = consultation(11L, 3L, 2L);
+
+        CompletableFuture<String> firstPatientName = resolver.patientName(first, userLoader);
+        CompletableFuture<String> secondPatientEmail = resolver.patientEmail(second, userLoader);
+        CompletableFuture<String> firstDoctorName = resolver.doctorName(first, userLoader);
+        CompletableFuture<UserResponse> secondDoctor = resolver.doctor(second, userLoader);
+        CompletableFuture<UserResponse> firstPatient = resolver.patient(first, userLoader);
+
+        userLoader.dispatchAndJoin();
+
+        assertEquals("João Silva", firstPatientName.join());
+        assertEquals("ana@email.com", secondPatientEmail.join());
+        assertEquals("Dr. Maria Santos", firstDoctorName.join());
+        assertEquals("123456", secondDoctor.join().crm());
+        assertEquals(1L, firstPatient.join().id());
+        assertEquals(List.of(Set.of(1L, 2L, 3L)), batches);
+    }
+
+    @Test
+    @DisplayName("Should reuse names already present on the consultation")
+    void shouldReuseNamesAlreadyPresentOnTheConsultation() {
+        ConsultationResponse enriched = consultation(10L, 1L, 2L)
+            .withUserInfo("João Silva", "joao@email.com", "Dr. Maria Santos");
+
+        assertEquals("João Silva", resolver.patientName(enriched, userLoader).join());
+        assertEquals("joao@email.com", resolver.patientEmail(enriched, userLoader).join());
+        assertEquals("Dr. Maria Santos", resolver.doctorName(enriched, userLoader).join());
+        assertEquals(0, userLoader.dispatchDepth());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should resolve missing user to null")
+    void shouldResolveMissingUserToNull() {
+        CompletableFuture<String> patientName = resolver.patientName(consultation(10L, 99L, 2L), userLoader);
+
+        userLoader.dispatchAndJoin();
+
+        assertNull(patientName.join());
+    }
+}
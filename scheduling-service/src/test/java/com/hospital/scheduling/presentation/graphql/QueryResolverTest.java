@@ -0,0 +1,98 @@
+package com.hospital.scheduling.presentation.graphql;
+
+import com.hospital.scheduling.application.dtos.ConsultationResponse;
+import com.hospital.scheduling.application.services.ConsultationEnricher;
+import com.hospital.scheduling.application.usecases.FindAvailableSlotsUseCase;
+import com.hospital.scheduling.application.usecases.ListConsultationsUseCase;
+import com.hospital.scheduling.domain.projections.ConsultationSummary;
+import com.hospital.scheduling.domain.repositories.ConsultationRepository;
+import com.hospital.scheduling.domain.repositories.UserRepository;
+import com.hospital.shared.domain.enums.ConsultationStatus;
+import graphql.GraphQLError;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.graphql.execution.ErrorType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QueryResolver Tests")
+class QueryResolverTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.now().plusDays(1).withSecond(0).withNano(0);
+
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ConsultationRepository consultationRepository;
+    @Mock
+    private ConsultationEnricher consultationEnricher;
+    @Mock
+    private FindAvailableSlotsUseCase findAvailableSlotsUseCase;
+    @Mock
+    private DataFetchingFieldSelectionSet selectionSet;
+
+    private QueryResolver resolver;
+
+    private final Authentication doctor = new UsernamePasswordAuthenticationToken(
+            "maria@email.com", null, List.of(new SimpleGrantedAuthority("ROLE_MEDICO")));
+
+    @BeforeEach
+    void setUp() {
+        resolver = new QueryResolver(userRepository, consultationRepository,
+                new ListConsultationsUseCase(consultationRepository, consultationEnricher), findAvailableSlotsUseCase);
+    }
+
+    private ConsultationSummary summary() {
+        return new ConsultationSummary(10L, 1L, 2L, SLOT, 45, null, null, ConsultationStatus.AGENDADA, SLOT, SLOT);
+    }
+
+    @Test
+    @DisplayName("Should expose duration and end time on the summary-backed patient query")
+    void shouldExposeDurationOnPatientConsultations() {
+        when(consultationRepository.findSummariesByPatientId(1L)).thenReturn(List.of(summary()));
+
+        List<ConsultationResponse> consultations = resolver.patientConsultations(1L, doctor, selectionSet);
+
+        assertEquals(45, consultations.get(0).durationMinutes());
+        assertEquals(SLOT.plusMinutes(45), consultations.get(0).endDateTime());
+    }
+
+    @Test
+    @DisplayName("Should expose duration and end time on the summary-backed connection")
+    void shouldExposeDurationOnConnection() {
+        when(consultationRepository.findSummaryPage(null, null, 21)).thenReturn(List.of(summary()));
+
+        ConsultationConnection connection = resolver.consultationsConnection(null, null, selectionSet);
+
+        ConsultationResponse node = connection.edges().get(0).node();
+        assertEquals(45, node.durationMinutes());
+        assertEquals(SLOT.plusMinutes(45), node.endDateTime());
+    }
+
+    @Test
+    @DisplayName("Should report a malformed availability date as a bad request")
+    void shouldRejectMalformedAvailabilityDate() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> resolver.availableSlots(List.of(2L), "02/12/2024 08:00", null, 30, 10));
+
+        GraphQLError error = resolver.handleIllegalArgument(exception);
+
+        assertEquals(ErrorType.BAD_REQUEST, error.getErrorType());
+        assertEquals("Invalid from: expected an ISO date-time", error.getMessage());
+        verifyNoInteractions(findAvailableSlotsUseCase);
+    }
+}
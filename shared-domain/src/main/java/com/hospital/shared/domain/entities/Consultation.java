@@ -5,10 +5,14 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 public class Consultation {
+	public static final int DEFAULT_DURATION_MINUTES = 30;
+	public static final int MAX_DURATION_MINUTES = 480;
+
 	private Long id;
 	private Long patientId;
 	private Long doctorId;
 	private LocalDateTime scheduledDateTime;
+	private int durationMinutes;
 	private LocalDateTime actualStartTime;
 	private LocalDateTime actualEndTime;
 	private ConsultationStatus status;
@@ -18,11 +22,17 @@ public class Consultation {
 	private String prescription;
 	private LocalDateTime createdAt;
 	private LocalDateTime updatedAt;
+	private Long version;
 
 	public Consultation(Long patientId, Long doctorId, LocalDateTime scheduledDateTime) {
+		this(patientId, doctorId, scheduledDateTime, DEFAULT_DURATION_MINUTES);
+	}
+
+	public Consultation(Long patientId, Long doctorId, LocalDateTime scheduledDateTime, int durationMinutes) {
 		this.patientId = Objects.requireNonNull(patientId, "Patient ID is required");
 		this.doctorId = Objects.requireNonNull(doctorId, "Doctor ID is required");
 		this.scheduledDateTime = validateScheduledDateTime(scheduledDateTime);
+		this.durationMinutes = validateDurationMinutes(durationMinutes);
 		this.status = ConsultationStatus.AGENDADA;
 		this.createdAt = LocalDateTime.now();
 		this.updatedAt = LocalDateTime.now();
@@ -33,10 +43,20 @@ public class Consultation {
 			ConsultationStatus status, String notes, String symptoms,
 			String diagnosis, String prescription, LocalDateTime createdAt,
 			LocalDateTime updatedAt) {
+		this(id, patientId, doctorId, scheduledDateTime, DEFAULT_DURATION_MINUTES, actualStartTime, actualEndTime,
+				status, notes, symptoms, diagnosis, prescription, createdAt, updatedAt);
+	}
+
+	public Consultation(Long id, Long patientId, Long doctorId, LocalDateTime scheduledDateTime,
+			int durationMinutes, LocalDateTime actualStartTime, LocalDateTime actualEndTime,
+			ConsultationStatus status, String notes, String symptoms,
+			String diagnosis, String prescription, LocalDateTime createdAt,
+			LocalDateTime updatedAt) {
 		this.id = id;
 		this.patientId = Objects.requireNonNull(patientId, "Patient ID is required");
 		this.doctorId = Objects.requireNonNull(doctorId, "Doctor ID is required");
 		this.scheduledDateTime = validateScheduledDateTime(scheduledDateTime);
+		this.durationMinutes = validateDurationMinutes(durationMinutes);
 		this.actualStartTime = actualStartTime;
 		this.actualEndTime = actualEndTime;
 		this.status = Objects.requireNonNull(status, "Status is required");
@@ -56,6 +76,14 @@ public class Consultation {
 		return scheduledDateTime;
 	}
 
+	private int validateDurationMinutes(int durationMinutes) {
+		if (durationMinutes < 1 || durationMinutes > MAX_DURATION_MINUTES) {
+			throw new IllegalArgumentException(
+					"Consultation duration must be between 1 and " + MAX_DURATION_MINUTES + " minutes");
+		}
+		return durationMinutes;
+	}
+
 	public void reschedule(LocalDateTime newDateTime) {
 		if (this.status == ConsultationStatus.CONCLUIDA) {
 			throw new IllegalStateException("Cannot reschedule completed consultation");
@@ -80,6 +108,11 @@ public class Consultation {
 		return this.status != ConsultationStatus.CANCELADA;
 	}
 
+	// Intervalo semiaberto [início, fim): consultas em sequência (uma termina às 10:30, outra começa às 10:30) não conflitam
+	public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+		return scheduledDateTime.isBefore(end) && start.isBefore(getEndDateTime());
+	}
+
 	public boolean isCompleted() {
 		return this.status == ConsultationStatus.CONCLUIDA;
 	}
@@ -108,6 +141,14 @@ public class Consultation {
 		return scheduledDateTime;
 	}
 
+	public int getDurationMinutes() {
+		return durationMinutes;
+	}
+
+	public LocalDateTime getEndDateTime() {
+		return scheduledDateTime.plusMinutes(durationMinutes);
+	}
+
 	public LocalDateTime getActualStartTime() {
 		return actualStartTime;
 	}
@@ -144,6 +185,14 @@ public class Consultation {
 		return updatedAt;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	public void setId(Long id) {
 		this.id = id;
 	}
@@ -25,6 +25,14 @@ public class ConsultationCancelledEvent extends DomainEvent {
 		return consultationId;
 	}
 
+	@Override
+	public String getPartitionKey() {
+		if (patientId != null) {
+			return patientId.toString();
+		}
+		return consultationId != null ? consultationId.toString() : super.getPartitionKey();
+	}
+
 	public Long getPatientId() {
 		return patientId;
 	}
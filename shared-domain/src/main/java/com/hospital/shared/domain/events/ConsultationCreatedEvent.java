@@ -10,6 +10,8 @@ public class ConsultationCreatedEvent extends DomainEvent {
 	private String patientEmail;
 	private String patientName;
 	private String doctorName;
+	// Opcional: eventos antigos não trazem a duração
+	private Integer durationMinutes;
 
 	protected ConsultationCreatedEvent() {
 		super();
@@ -32,6 +34,14 @@ public class ConsultationCreatedEvent extends DomainEvent {
 		return consultationId;
 	}
 
+	@Override
+	public String getPartitionKey() {
+		if (patientId != null) {
+			return patientId.toString();
+		}
+		return consultationId != null ? consultationId.toString() : super.getPartitionKey();
+	}
+
 	public Long getPatientId() {
 		return patientId;
 	}
@@ -56,6 +66,10 @@ public class ConsultationCreatedEvent extends DomainEvent {
 		return doctorName;
 	}
 
+	public Integer getDurationMinutes() {
+		return durationMinutes;
+	}
+
 	public void setConsultationId(Long consultationId) {
 		this.consultationId = consultationId;
 	}
@@ -83,4 +97,8 @@ public class ConsultationCreatedEvent extends DomainEvent {
 	public void setDoctorName(String doctorName) {
 		this.doctorName = doctorName;
 	}
+
+	public void setDurationMinutes(Integer durationMinutes) {
+		this.durationMinutes = durationMinutes;
+	}
 }
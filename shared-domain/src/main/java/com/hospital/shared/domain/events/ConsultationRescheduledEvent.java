@@ -10,6 +10,9 @@ public class ConsultationRescheduledEvent extends DomainEvent {
 	private String patientEmail;
 	private String patientName;
 	private String doctorName;
+	// Opcionais: eventos antigos não trazem o médico nem a duração
+	private Long doctorId;
+	private Integer durationMinutes;
 
 	protected ConsultationRescheduledEvent() {
 		super();
@@ -32,6 +35,14 @@ public class ConsultationRescheduledEvent extends DomainEvent {
 		return consultationId;
 	}
 
+	@Override
+	public String getPartitionKey() {
+		if (patientId != null) {
+			return patientId.toString();
+		}
+		return consultationId != null ? consultationId.toString() : super.getPartitionKey();
+	}
+
 	public Long getPatientId() {
 		return patientId;
 	}
@@ -55,4 +66,20 @@ public class ConsultationRescheduledEvent extends DomainEvent {
 	public String getDoctorName() {
 		return doctorName;
 	}
+
+	public Long getDoctorId() {
+		return doctorId;
+	}
+
+	public Integer getDurationMinutes() {
+		return durationMinutes;
+	}
+
+	public void setDoctorId(Long doctorId) {
+		this.doctorId = doctorId;
+	}
+
+	public void setDurationMinutes(Integer durationMinutes) {
+		this.durationMinutes = durationMinutes;
+	}
 }
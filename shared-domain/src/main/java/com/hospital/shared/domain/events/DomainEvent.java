@@ -1,5 +1,6 @@
 package com.hospital.shared.domain.events;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
@@ -42,6 +43,11 @@ public abstract class DomainEvent {
 		return eventType;
 	}
 
+	@JsonIgnore
+	public String getPartitionKey() {
+		return eventId;
+	}
+
 	public void setEventId(String eventId) {
 		this.eventId = eventId;
 	}
@@ -46,6 +46,48 @@ class DomainEventsTest {
             assertEquals(newEventType, event.getEventType());
         }
 
+        @Test
+        @DisplayName("Should use event id as default partition key")
+        void shouldUseEventIdAsDefaultPartitionKey() {
+            TestDomainEvent event = new TestDomainEvent("TEST_EVENT");
+
+            assertEquals(event.getEventId(), event.getPartitionKey());
+        }
+
+        @Test
+        @DisplayName("Should key consultation events by patient id")
+        void shouldKeyConsultationEventsByPatientId() {
+            LocalDateTime scheduledDateTime = LocalDateTime.now().plusDays(1);
+            ConsultationCreatedEvent created = new ConsultationCreatedEvent(
+                42L, 2L, 3L, scheduledDateTime, "patient@email.com", "Patient", "Doctor");
+            ConsultationRescheduledEvent rescheduled = new ConsultationRescheduledEvent(
+                42L, 2L, scheduledDateTime, scheduledDateTime.plusDays(1), "patient@email.com", "Patient", "Doctor");
+            ConsultationCancelledEvent cancelled = new ConsultationCancelledEvent(
+                42L, 2L, "Reason", "patient@email.com", "Patient");
+
+            assertEquals("2", created.getPartitionKey());
+            assertEquals("2", rescheduled.getPartitionKey());
+            assertEquals("2", cancelled.getPartitionKey());
+        }
+
+        @Test
+        @DisplayName("Should fall back to consultation id when patient id is missing")
+        void shouldFallBackToConsultationIdWhenPatientIdIsMissing() {
+            ConsultationCancelledEvent event = new ConsultationCancelledEvent(
+                42L, null, "Reason", "patient@email.com", "Patient");
+
+            assertEquals("42", event.getPartitionKey());
+        }
+
+        @Test
+        @DisplayName("Should fall back to event id when patient and consultation ids are missing")
+        void shouldFallBackToEventIdWhenIdsAreMissing() {
+            ConsultationCreatedEvent event = new ConsultationCreatedEvent(
+                null, null, 3L, LocalDateTime.now(), "patient@email.com", "Patient", "Doctor");
+
+            assertEquals(event.getEventId(), event.getPartitionKey());
+        }
+
         @Test
         @DisplayName("Should create event with default constructor")
         void shouldCreateEventWithDefaultConstructor() {
@@ -143,6 +185,11 @@ class DomainEventsTest {
             assertEquals(patientEmail, event.getPatientEmail());
             assertEquals(patientName, event.getPatientName());
             assertEquals(doctorName, event.getDoctorName());
+            assertNull(event.getDurationMinutes());
+
+            event.setDurationMinutes(45);
+
+            assertEquals(45, event.getDurationMinutes());
         }
     }
 
@@ -236,6 +283,22 @@ class DomainEventsTest {
             assertNull(event.getPatientEmail());
             assertNull(event.getPatientName());
             assertNull(event.getDoctorName());
+            assertNull(event.getDoctorId());
+            assertNull(event.getDurationMinutes());
+        }
+
+        @Test
+        @DisplayName("Should carry the doctor and duration of the new slot")
+        void shouldCarryDoctorAndDurationOfNewSlot() {
+            ConsultationRescheduledEvent event = new ConsultationRescheduledEvent(
+                1L, 2L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                "patient@email.com", "João Silva", "Dr. Maria Santos");
+
+            event.setDoctorId(3L);
+            event.setDurationMinutes(45);
+
+            assertEquals(3L, event.getDoctorId());
+            assertEquals(45, event.getDurationMinutes());
         }
     }
 }
\ No newline at end of file